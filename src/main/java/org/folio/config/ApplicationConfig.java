@@ -1,10 +1,13 @@
 package org.folio.config;
 
+import org.folio.service.inventory.InventoryItemBatchCreator;
 import org.folio.service.inventory.InventoryManager;
+import org.folio.service.inventory.ReferenceDataCache;
 import org.folio.service.ProtectionService;
 import org.folio.service.AcquisitionsUnitsService;
 import org.folio.rest.core.RestClient;
 import org.folio.service.FundsDistributionService;
+import org.folio.service.MetricsService;
 import org.folio.service.PrefixService;
 import org.folio.service.ReasonForClosureService;
 import org.folio.service.SuffixService;
@@ -41,12 +44,15 @@ import org.folio.service.orders.OrderInvoiceRelationService;
 import org.folio.service.orders.OrderLinesSummaryPopulateService;
 import org.folio.service.orders.OrderReEncumberService;
 import org.folio.service.orders.OrderRolloverService;
+import org.folio.service.orders.OrdersExportService;
 import org.folio.service.orders.PurchaseOrderLineService;
 import org.folio.service.orders.PurchaseOrderService;
 import org.folio.service.orders.ReEncumbranceHoldersBuilder;
 import org.folio.service.orders.TransactionsTotalFieldsPopulateService;
 import org.folio.service.pieces.PieceChangeReceiptStatusPublisher;
+import org.folio.service.pieces.PieceUpdater;
 import org.folio.service.pieces.PiecesService;
+import org.folio.service.pieces.ReceivingJobService;
 import org.folio.service.titles.TitlesService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
@@ -64,8 +70,8 @@ public class ApplicationConfig {
   }
 
   @Bean
-  ExchangeRateProviderResolver exchangeRateProviderResolver() {
-    return new ExchangeRateProviderResolver();
+  ExchangeRateProviderResolver exchangeRateProviderResolver(FinanceExchangeRateService financeExchangeRateService) {
+    return new ExchangeRateProviderResolver(financeExchangeRateService);
   }
 
   @Bean
@@ -298,8 +304,8 @@ public class ApplicationConfig {
   }
 
   @Bean
-  CompositeOrderDynamicDataPopulateService combinedPopulateService(CompositeOrderRetrieveHolderBuilder compositeOrderRetrieveHolderBuilder,
-                                                                   Set<CompositeOrderDynamicDataPopulateService> populateServices) {
+  CombinedOrderDataPopulateService combinedPopulateService(CompositeOrderRetrieveHolderBuilder compositeOrderRetrieveHolderBuilder,
+                                                           Set<CompositeOrderDynamicDataPopulateService> populateServices) {
     return new CombinedOrderDataPopulateService(compositeOrderRetrieveHolderBuilder, populateServices);
   }
 
@@ -319,8 +325,27 @@ public class ApplicationConfig {
   }
 
   @Bean
-  InventoryManager inventoryManager(RestClient restClient, ConfigurationEntriesService configurationEntriesService) {
-    return new InventoryManager(restClient, configurationEntriesService);
+  ReferenceDataCache referenceDataCache() {
+    return new ReferenceDataCache();
+  }
+
+  @Bean
+  MetricsService metricsService(ConfigurationEntriesService configurationEntriesService, ReferenceDataCache referenceDataCache,
+                                FinanceExchangeRateService financeExchangeRateService,
+                                CombinedOrderDataPopulateService combinedPopulateService) {
+    return new MetricsService(configurationEntriesService, referenceDataCache, financeExchangeRateService,
+      combinedPopulateService);
+  }
+
+  @Bean
+  InventoryItemBatchCreator inventoryItemBatchCreator(RestClient restClient) {
+    return new InventoryItemBatchCreator(restClient);
+  }
+
+  @Bean
+  InventoryManager inventoryManager(RestClient restClient, ConfigurationEntriesService configurationEntriesService,
+                                    ReferenceDataCache referenceDataCache, InventoryItemBatchCreator itemBatchCreator) {
+    return new InventoryManager(restClient, configurationEntriesService, referenceDataCache, itemBatchCreator);
   }
 
   @Bean
@@ -328,10 +353,29 @@ public class ApplicationConfig {
     return new PieceChangeReceiptStatusPublisher();
   }
 
+  @Bean
+  PieceUpdater pieceUpdater(RestClient restClient) {
+    return new PieceUpdater(restClient);
+  }
+
   @Bean
   PiecesService piecesService(RestClient restClient, TitlesService titlesService, ProtectionService protectionService,
                               CompositePurchaseOrderService compositePurchaseOrderService, PurchaseOrderLineService purchaseOrderLineService,
-                              InventoryManager inventoryManager, PieceChangeReceiptStatusPublisher receiptStatusPublisher) {
-    return new PiecesService(restClient, titlesService, protectionService, compositePurchaseOrderService, purchaseOrderLineService, inventoryManager, receiptStatusPublisher);
+                              InventoryManager inventoryManager, PieceChangeReceiptStatusPublisher receiptStatusPublisher,
+                              PieceUpdater pieceUpdater) {
+    return new PiecesService(restClient, titlesService, protectionService, compositePurchaseOrderService, purchaseOrderLineService,
+      inventoryManager, receiptStatusPublisher, pieceUpdater);
+  }
+
+  @Bean
+  OrdersExportService ordersExportService(PurchaseOrderService purchaseOrderService, PurchaseOrderLineService purchaseOrderLineService,
+                                          TitlesService titlesService, PiecesService piecesService,
+                                          AcquisitionsUnitsService acquisitionsUnitsService) {
+    return new OrdersExportService(purchaseOrderService, purchaseOrderLineService, titlesService, piecesService, acquisitionsUnitsService);
+  }
+
+  @Bean
+  ReceivingJobService receivingJobService() {
+    return new ReceivingJobService();
   }
 }
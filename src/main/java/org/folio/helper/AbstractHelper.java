@@ -29,10 +29,10 @@ import org.apache.logging.log4j.Logger;
 import org.folio.orders.events.handlers.MessageAddress;
 import org.folio.orders.rest.exceptions.HttpException;
 import org.folio.orders.utils.HelperUtils;
+import org.folio.rest.core.HttpClientPool;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.jaxrs.model.Error;
 import org.folio.rest.jaxrs.model.Errors;
-import org.folio.rest.tools.client.HttpClientFactory;
 import org.folio.rest.tools.client.interfaces.HttpClientInterface;
 import org.folio.rest.tools.utils.TenantTool;
 import org.folio.service.configuration.ConfigurationEntriesService;
@@ -102,7 +102,7 @@ public abstract class AbstractHelper {
     final String okapiURL = okapiHeaders.getOrDefault(OKAPI_URL, "");
     final String tenantId = TenantTool.calculateTenantId(okapiHeaders.get(OKAPI_HEADER_TENANT));
 
-    HttpClientInterface httpClient = HttpClientFactory.getHttpClient(okapiURL, tenantId);
+    HttpClientInterface httpClient = HttpClientPool.getInstance().lease(okapiURL, tenantId);
 
     // Some requests do not have body and in happy flow do not produce response body. The Accept header is required for calls to storage
     if (setDefaultHeaders) {
@@ -115,8 +115,11 @@ public abstract class AbstractHelper {
     return getHttpClient(okapiHeaders, false);
   }
 
+  /**
+   * Returns the http client to the shared pool. The client must not be used by the helper afterwards.
+   */
   public void closeHttpClient() {
-    httpClient.closeClient();
+    HttpClientPool.getInstance().release(httpClient);
   }
 
   public List<Error> getErrors() {
@@ -129,12 +132,12 @@ public abstract class AbstractHelper {
     CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenAccept(v -> {
       // Sending reply message just in case some logic requires it
       message.reply(Response.Status.OK.getReasonPhrase());
-      httpClient.closeClient();
+      HttpClientPool.getInstance().release(httpClient);
     })
       .exceptionally(e -> {
         message.fail(handleProcessingError(e), getErrors().get(0)
           .getMessage());
-        httpClient.closeClient();
+        HttpClientPool.getInstance().release(httpClient);
         return null;
       });
   }
@@ -4,13 +4,11 @@ import static java.util.stream.Collectors.collectingAndThen;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.mapping;
 import static java.util.stream.Collectors.toList;
-import static org.folio.orders.utils.ErrorCodes.ITEM_UPDATE_FAILED;
 import static org.folio.orders.utils.HelperUtils.collectResultsOnSuccess;
 import static org.folio.orders.utils.HelperUtils.updatePoLineReceiptStatus;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -70,20 +68,11 @@ public class CheckinHelper extends CheckinReceivePiecesHelper<CheckInPiece> {
   private CompletionStage<ReceivingResults> processCheckInPieces(CheckinCollection checkinCollection, RequestContext requestContext) {
     Map<String, Map<String, String>> pieceLocationsGroupedByPoLine = groupLocationsByPoLineIdOnCheckin(checkinCollection);
 
-    // 1. Get piece records from storage
-    return retrievePieceRecords(checkinPieces, requestContext)
-      // 2. Filter locationId
-      .thenCompose(this::filterMissingLocations)
-      // 3. Update items in the Inventory if required
-      .thenCompose(pieces -> updateInventoryItems(pieceLocationsGroupedByPoLine, pieces, requestContext))
-      // 4. Update piece records with checkIn details which do not have
-      // associated item
-      .thenApply(this::updatePieceRecordsWithoutItems)
-      // 5. Update received piece records in the storage
-      .thenCompose(this::storeUpdatedPieceRecords)
-      // 6. Update PO Line status
+    // 1. Check-in pieces window by window: get piece records, update items in the Inventory and store the pieces
+    return processPiecesInWindows(checkinPieces, pieceLocationsGroupedByPoLine, requestContext)
+      // 2. Update PO Line status once for all the pieces
       .thenCompose(piecesGroupedByPoLine -> updateOrderAndPoLinesStatus(piecesGroupedByPoLine, checkinCollection))
-      // 7. Return results to the client
+      // 3. Return results to the client
       .thenApply(piecesGroupedByPoLine -> prepareResponseBody(checkinCollection, piecesGroupedByPoLine));
   }
 
@@ -103,7 +92,7 @@ public class CheckinHelper extends CheckinReceivePiecesHelper<CheckInPiece> {
     }
 
   private ReceivingResults prepareResponseBody(CheckinCollection checkinCollection,
-                                               Map<String, List<Piece>> piecesGroupedByPoLine) {
+                                               Map<String, ProcessedPieces> piecesGroupedByPoLine) {
     ReceivingResults results = new ReceivingResults();
     results.setTotalRecords(checkinCollection.getTotalRecords());
     for (ToBeCheckedIn toBeCheckedIn : checkinCollection.getToBeCheckedIn()) {
@@ -112,9 +101,7 @@ public class CheckinHelper extends CheckinReceivePiecesHelper<CheckInPiece> {
       results.getReceivingResults().add(result);
 
       // Get all processed piece records for PO Line
-      Map<String, Piece> processedPiecesForPoLine = StreamEx
-        .of(piecesGroupedByPoLine.getOrDefault(poLineId, Collections.emptyList()))
-        .toMap(Piece::getId, piece -> piece);
+      ProcessedPieces processedPiecesForPoLine = piecesGroupedByPoLine.getOrDefault(poLineId, ProcessedPieces.EMPTY);
 
       Map<String, Integer> resultCounts = new HashMap<>();
       resultCounts.put(ProcessingStatus.Type.SUCCESS.toString(), 0);
@@ -159,26 +146,13 @@ public class CheckinHelper extends CheckinReceivePiecesHelper<CheckInPiece> {
   }
 
   @Override
-  CompletableFuture<Boolean> receiveInventoryItemAndUpdatePiece(JsonObject item, Piece piece, RequestContext requestContext) {
+  void applyRequestDetailsToItem(JsonObject item, Piece piece) {
+    inventoryManager.applyCheckinDetails(item, piecesByLineId.get(piece.getPoLineId()).get(piece.getId()));
+  }
 
-    CheckInPiece checkinPiece = piecesByLineId.get(piece.getPoLineId())
-      .get(piece.getId());
-    return inventoryManager
-      // Update item records with check-in information and send updates to
-      // Inventory
-      .checkinItem(item, checkinPiece, requestContext)
-      // Update Piece record object with check-in details if item updated
-      // successfully
-      .thenApply(v -> {
-        updatePieceWithCheckinInfo(piece);
-        return true;
-      })
-      // Add processing error if item failed to be updated
-      .exceptionally(e -> {
-        logger.error("Item associated with piece '{}' cannot be updated", piece.getId());
-        addError(piece.getPoLineId(), piece.getId(), ITEM_UPDATE_FAILED.toError());
-        return false;
-      });
+  @Override
+  void updatePieceWithItemProcessed(Piece piece) {
+    updatePieceWithCheckinInfo(piece);
   }
 
   private void updatePieceWithCheckinInfo(Piece piece) {
@@ -228,24 +202,23 @@ public class CheckinHelper extends CheckinReceivePiecesHelper<CheckInPiece> {
       });
   }
 
-  private CompletableFuture<Map<String, List<Piece>>> updateOrderAndPoLinesStatus(Map<String, List<Piece>> piecesGroupedByPoLine,
+  private CompletableFuture<Map<String, ProcessedPieces>> updateOrderAndPoLinesStatus(Map<String, ProcessedPieces> piecesGroupedByPoLine,
       CheckinCollection checkinCollection) {
     List<String> poLineIdsForUpdatedPieces = getPoLineIdsForUpdatedPieces(piecesGroupedByPoLine);
     // Once all PO Lines are retrieved from storage check if receipt status
     // requires update and persist in storage
     return getPoLines(poLineIdsForUpdatedPieces).thenCompose(poLines -> {
-      // Calculate expected status for each PO Line and update with new one if required
+      // Calculate expected status for all PO Lines at once and update each with new one if required
       // Skip status update if PO line status is Ongoing
-      List<CompletableFuture<String>> futures = new ArrayList<>();
-      for (PoLine poLine : poLines) {
-        if (!poLine.getPaymentStatus().equals(PoLine.PaymentStatus.ONGOING)) {
-          List<Piece> successfullyProcessedPieces = getSuccessfullyProcessedPieces(poLine.getId(), piecesGroupedByPoLine);
-          futures.add(calculatePoLineReceiptStatus(poLine, successfullyProcessedPieces)
-            .thenCompose(status -> updatePoLineReceiptStatus(poLine, status, httpClient, okapiHeaders, logger)));
-        }
-      }
-
-      return collectResultsOnSuccess(futures).thenAccept(updatedPoLines -> {
+      List<PoLine> poLinesToUpdate = StreamEx.of(poLines)
+        .filter(poLine -> !poLine.getPaymentStatus().equals(PoLine.PaymentStatus.ONGOING))
+        .toList();
+      return calculatePoLinesReceiptStatus(poLinesToUpdate, piecesGroupedByPoLine).thenCompose(receiptStatuses -> {
+        List<CompletableFuture<String>> futures = StreamEx.of(poLinesToUpdate)
+          .map(poLine -> updatePoLineReceiptStatus(poLine, receiptStatuses.get(poLine.getId()), httpClient, okapiHeaders, logger))
+          .toList();
+        return collectResultsOnSuccess(futures);
+      }).thenAccept(updatedPoLines -> {
         logger.debug("{} out of {} PO Line(s) updated with new status", updatedPoLines.size(), piecesGroupedByPoLine.size());
 
         // Send event to check order status for successfully processed PO Lines
@@ -15,35 +15,41 @@ import static org.folio.orders.utils.ErrorCodes.PIECE_POL_MISMATCH;
 import static org.folio.orders.utils.ErrorCodes.PIECE_UPDATE_FAILED;
 import static org.folio.orders.utils.ErrorCodes.USER_HAS_NO_PERMISSIONS;
 import static org.folio.orders.utils.HelperUtils.buildQuery;
+import static org.folio.orders.utils.HelperUtils.calculatePoLineReceiptStatus;
 import static org.folio.orders.utils.HelperUtils.collectResultsOnSuccess;
+import static org.folio.orders.utils.HelperUtils.convertFieldListToCqlQuery;
 import static org.folio.orders.utils.HelperUtils.convertIdsToCqlQuery;
 import static org.folio.orders.utils.HelperUtils.encodeQuery;
 import static org.folio.orders.utils.HelperUtils.handleGetRequest;
-import static org.folio.orders.utils.HelperUtils.handlePutRequest;
 import static org.folio.orders.utils.HelperUtils.isHoldingUpdateRequiredForEresource;
 import static org.folio.orders.utils.HelperUtils.isHoldingUpdateRequiredForPhysical;
 import static org.folio.orders.utils.ResourcePathResolver.PIECES;
-import static org.folio.orders.utils.ResourcePathResolver.resourceByIdPath;
 import static org.folio.orders.utils.ResourcePathResolver.resourcesPath;
-import static org.folio.rest.jaxrs.model.PoLine.ReceiptStatus.AWAITING_RECEIPT;
-import static org.folio.rest.jaxrs.model.PoLine.ReceiptStatus.FULLY_RECEIVED;
-import static org.folio.rest.jaxrs.model.PoLine.ReceiptStatus.PARTIALLY_RECEIVED;
+import static org.folio.rest.core.IdBatchPlanner.encodedLength;
+import static org.folio.rest.core.IdBatchPlanner.planBatches;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.folio.models.PieceItemPair;
 import org.folio.orders.utils.HelperUtils;
+import org.folio.orders.utils.KeysetCursor;
 import org.folio.orders.utils.ProtectedOperationType;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.jaxrs.model.CompositePoLine;
@@ -63,7 +69,9 @@ import org.folio.rest.jaxrs.model.ReceivingResult;
 import org.folio.rest.jaxrs.model.Title;
 import org.folio.rest.tools.client.interfaces.HttpClientInterface;
 import org.folio.service.ProtectionService;
+import org.folio.service.inventory.HoldingsResolver;
 import org.folio.service.inventory.InventoryManager;
+import org.folio.service.pieces.PiecesService;
 import org.folio.service.titles.TitlesService;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -75,7 +83,17 @@ import one.util.streamex.StreamEx;
 public abstract class CheckinReceivePiecesHelper<T> extends AbstractHelper {
 
   private static final String PIECES_WITH_QUERY_ENDPOINT = resourcesPath(PIECES) + "?limit=%d&lang=%s&query=%s";
-  private static final String PIECES_BY_POL_ID_AND_STATUS_QUERY = "poLineId==%s and receivingStatus==%s";
+  private static final String PIECES_PAGE_WITH_QUERY_ENDPOINT = resourcesPath(PIECES) + "?limit=%d&offset=%d&lang=%s&query=%s";
+  static final int PIECE_COUNT_PAGE_SIZE = 1000;
+  // Longest condition and sorting added to the query by the keyset pagination of the pieces
+  private static final String PIECE_COUNT_PAGING_QUERY = "() and (id > \"00000000-0000-0000-0000-000000000000\") sortBy id";
+  private static final String PO_LINE_ID = "poLineId";
+  private static final String RECEIVING_STATUS = "receivingStatus";
+  // Statuses which receipt status of PO Line depends on
+  private static final List<String> COUNTED_PIECE_STATUSES = List.of(Piece.ReceivingStatus.EXPECTED.value(),
+      Piece.ReceivingStatus.RECEIVED.value());
+  static final String PIECE_WINDOW_SIZE_CONFIG = "receiving-pieceWindowSize";
+  static final int DEFAULT_PIECE_WINDOW_SIZE = 100;
   Map<String, Map<String, T>> piecesByLineId;
   Map<String, Map<String, Error>> processingErrors;
   Set<String> processedHoldingsParams;
@@ -87,8 +105,13 @@ public abstract class CheckinReceivePiecesHelper<T> extends AbstractHelper {
   protected TitlesService titlesService;
   @Autowired
   protected InventoryManager inventoryManager;
+  @Autowired
+  private PiecesService piecesService;
 
   private List<PoLine> poLineList;
+  private final PoLineAndTitleById loadedPoLinesAndTitles = new PoLineAndTitleById();
+  private HoldingsResolver holdingsResolver;
+  private IntConsumer progressHandler = processedPieces -> {};
 
 
   public CheckinReceivePiecesHelper(HttpClientInterface httpClient, Map<String, String> okapiHeaders, Context ctx, String lang) {
@@ -100,18 +123,84 @@ public abstract class CheckinReceivePiecesHelper<T> extends AbstractHelper {
   }
 
   /**
-   * Retrieves piece records from storage based on request data
+   * @param progressHandler accepts the number of pieces processed so far after each window
+   */
+  public void setProgressHandler(IntConsumer progressHandler) {
+    this.progressHandler = progressHandler;
+  }
+
+  /**
+   * Receives/checks-in the pieces of the request window by window: piece records of a window are retrieved, holdings and
+   * items are updated and the pieces are stored before the next window is started. So the number of records held in memory
+   * and of requests in flight depends on the window size ({@value #PIECE_WINDOW_SIZE_CONFIG} entry of the ORDERS module
+   * configuration) rather than on the request size. PO line receipt statuses are not updated, the caller recalculates them
+   * once for all the windows.
    *
+   * @param piecesByLineId map with PO line id as a key and value is map with piece id as a key and request data as a value
+   * @param pieceLocationsGroupedByPoLine map with PO line id as a key and value is map with piece id as a key and location
+   *          id as a value
+   * @return {@link CompletableFuture} which holds map with PO line id as key and outcome of the corresponding pieces of all
+   *         the windows as value
+   */
+  CompletableFuture<Map<String, ProcessedPieces>> processPiecesInWindows(Map<String, Map<String, T>> piecesByLineId,
+      Map<String, Map<String, String>> pieceLocationsGroupedByPoLine, RequestContext requestContext) {
+    this.piecesByLineId = piecesByLineId;
+    Map<String, ProcessedPieces> processedPieces = new HashMap<>();
+    return getTenantConfiguration()
+      .thenApply(CheckinReceivePiecesHelper::getPieceWindowSize)
+      .thenCompose(windowSize -> {
+        CompletableFuture<Void> future = completedFuture(null);
+        List<String> pieceIds = getPieceIds();
+        for (int from = 0; from < pieceIds.size(); from += windowSize) {
+          List<String> windowPieceIds = pieceIds.subList(from, Math.min(from + windowSize, pieceIds.size()));
+          int processedCount = from + windowPieceIds.size();
+          future = future
+            .thenCompose(v -> processPiecesWindow(windowPieceIds, pieceLocationsGroupedByPoLine, requestContext))
+            .thenAccept(pieces -> {
+              // Only the outcome of the window is kept, its piece records are released before the next window
+              pieces.forEach((poLineId, windowPieces) -> {
+                ProcessedPieces processed = processedPieces.computeIfAbsent(poLineId, k -> new ProcessedPieces());
+                windowPieces.forEach(piece -> processed.add(piece, isSuccessfullyProcessedPiece(piece)));
+              });
+              progressHandler.accept(processedCount);
+            });
+        }
+        return future.thenApply(v -> processedPieces);
+      });
+  }
+
+  private CompletableFuture<Map<String, List<Piece>>> processPiecesWindow(List<String> pieceIds,
+      Map<String, Map<String, String>> pieceLocationsGroupedByPoLine, RequestContext requestContext) {
+    // 1. Get piece records from storage
+    return retrievePieceRecords(pieceIds, requestContext)
+      // 2. Filter locationId
+      .thenCompose(this::filterMissingLocations)
+      // 3. Update items in the Inventory if required
+      .thenCompose(pieces -> updateInventoryItems(pieceLocationsGroupedByPoLine, pieces, requestContext))
+      // 4. Update piece records with receiving/check-in details which do not have associated item
+      .thenApply(this::updatePieceRecordsWithoutItems)
+      // 5. Update received piece records in the storage
+      .thenCompose(pieces -> storeUpdatedPieceRecords(pieces, requestContext));
+  }
+
+  static int getPieceWindowSize(JsonObject config) {
+    int windowSize = NumberUtils.toInt(config == null ? null : config.getString(PIECE_WINDOW_SIZE_CONFIG),
+      DEFAULT_PIECE_WINDOW_SIZE);
+    return windowSize > 0 ? windowSize : DEFAULT_PIECE_WINDOW_SIZE;
+  }
+
+  /**
+   * Retrieves piece records from storage
+   *
+   * @param pieceIds ids of the pieces from request data
    * @return {@link CompletableFuture} which holds map with PO line id as key
    *         and list of corresponding pieces as value
    */
-  CompletableFuture<Map<String, List<Piece>>> retrievePieceRecords(Map<String, Map<String, T>> piecesByLineId,
-                                                                   RequestContext requestContext) {
+  private CompletableFuture<Map<String, List<Piece>>> retrievePieceRecords(List<String> pieceIds, RequestContext requestContext) {
     Map<String, List<Piece>> piecesByPoLine = new HashMap<>();
-    this.piecesByLineId = piecesByLineId;
-    // Split all piece id's by maximum number of id's for get query
+    // Split all piece id's into batches fitting into URL length limit
     CompletableFuture<?>[] futures = StreamEx
-      .ofSubLists(getPieceIds(), MAX_IDS_FOR_GET_RQ)
+      .of(planBatches(pieceIds, ID))
       // Send get request for each CQL query
       .map(ids -> getPiecesByIds(ids, piecesByPoLine, requestContext))
       .toArray(CompletableFuture.class);
@@ -231,10 +320,10 @@ public abstract class CheckinReceivePiecesHelper<T> extends AbstractHelper {
   }
 
   private CompletableFuture<Boolean> createHoldingsForChangedLocations(Piece piece, String instanceId, String receivedPieceLocationId,
-                                                                       RequestContext requestContext) {
+                                                                       HoldingsResolver holdingsResolver) {
     if (ifHoldingNotProcessed(receivedPieceLocationId, instanceId) && !isRevertToOnOrder(piece)) {
 
-      return inventoryManager.getOrCreateHoldingsRecord(instanceId, receivedPieceLocationId, requestContext)
+      return holdingsResolver.getHoldingId(instanceId, receivedPieceLocationId)
         .thenCompose(holdingId -> {
           processedHoldings.put(receivedPieceLocationId + instanceId, holdingId);
           return completedFuture(true);
@@ -272,9 +361,9 @@ public abstract class CheckinReceivePiecesHelper<T> extends AbstractHelper {
    * @return future with list of item records
    */
   private CompletableFuture<List<JsonObject>> getItemRecords(Map<String, Piece> piecesWithItems, RequestContext requestContext) {
-    // Split all id's by maximum number of id's for get query
+    // Split all id's into batches fitting into URL length limit
     List<CompletableFuture<List<JsonObject>>> futures = StreamEx
-      .ofSubLists(new ArrayList<>(piecesWithItems.keySet()), MAX_IDS_FOR_GET_RQ)
+      .of(planBatches(piecesWithItems.keySet(), ID))
       // Get item records from Inventory storage
       .map(ids -> getItemRecordsByIds(ids, piecesWithItems, requestContext))
       .toList();
@@ -354,13 +443,23 @@ public abstract class CheckinReceivePiecesHelper<T> extends AbstractHelper {
   }
 
   /**
+   * Updates the item record with receiving/check-in details of the piece from request data, the record is not sent to
+   * Inventory
+   *
    * @param item
    *          inventory item
    * @param piece
    *          piece associated with the item
-   * @return future indicating if the item update is successful.
    */
-  abstract CompletableFuture<Boolean> receiveInventoryItemAndUpdatePiece(JsonObject item, Piece piece, RequestContext requestContext);
+  abstract void applyRequestDetailsToItem(JsonObject item, Piece piece);
+
+  /**
+   * Updates the piece record with receiving/check-in details from request data once its item is updated in Inventory
+   *
+   * @param piece
+   *          piece associated with the updated item
+   */
+  abstract void updatePieceWithItemProcessed(Piece piece);
 
   /**
    * Updates piece records with receiving details which do not have associated
@@ -374,54 +473,41 @@ public abstract class CheckinReceivePiecesHelper<T> extends AbstractHelper {
   abstract Map<String, List<Piece>> updatePieceRecordsWithoutItems(Map<String, List<Piece>> piecesGroupedByPoLine);
 
   /**
-   * Stores updated piece records with receiving details into storage.
+   * Stores updated piece records with receiving details into storage. Pieces which could not be updated are collected as
+   * errors to return in the response to client.
    *
    * @param piecesGroupedByPoLine
    *          map with PO line id as key and list of corresponding pieces as
    *          value
    * @return map passed as a parameter
    */
-  CompletableFuture<Map<String, List<Piece>>> storeUpdatedPieceRecords(Map<String, List<Piece>> piecesGroupedByPoLine) {
+  CompletableFuture<Map<String, List<Piece>>> storeUpdatedPieceRecords(Map<String, List<Piece>> piecesGroupedByPoLine,
+                                                                       RequestContext requestContext) {
     // Collect all piece records which marked as ready to be received and update
     // storage
-    CompletableFuture<?>[] futures = StreamEx
+    List<Piece> pieces = StreamEx
       .ofValues(piecesGroupedByPoLine)
       .flatMap(List::stream)
       .filter(this::isSuccessfullyProcessedPiece)
-      .map(this::storeUpdatedPieceRecord)
-      .toArray(new CompletableFuture[0]);
-
-    return CompletableFuture.allOf(futures)
-      .thenApply(v -> piecesGroupedByPoLine);
-  }
+      .toList();
+    if (pieces.isEmpty()) {
+      return completedFuture(piecesGroupedByPoLine);
+    }
 
-  /**
-   * Sends request to update piece record with receiving/check-in details in the storage.
-   * In case of an error updating the piece, this is collected to return in
-   * the response to client
-   *
-   * @param piece
-   *          {@link Piece} with receiving information
-   */
-  private CompletableFuture<Void> storeUpdatedPieceRecord(Piece piece) {
-    String pieceId = piece.getId();
-    return handlePutRequest(resourceByIdPath(PIECES, pieceId), JsonObject.mapFrom(piece), httpClient, okapiHeaders,
-        logger)
-          .exceptionally(e -> {
-            addError(getPoLineIdByPieceId(pieceId), pieceId, PIECE_UPDATE_FAILED.toError());
-            return null;
-          });
+    return getTenantConfiguration()
+      .thenCompose(config -> piecesService.updatePieces(pieces, config, requestContext))
+      .thenApply(failedPieces -> {
+        // In case of an error updating the piece, this is collected to return in the response to client
+        failedPieces.forEach((pieceId, cause) -> addError(getPoLineIdByPieceId(pieceId), pieceId, PIECE_UPDATE_FAILED.toError()));
+        return piecesGroupedByPoLine;
+      });
   }
 
-
-  protected List<String> getPoLineIdsForUpdatedPieces(Map<String, List<Piece>> piecesGroupedByPoLine) {
+  protected List<String> getPoLineIdsForUpdatedPieces(Map<String, ProcessedPieces> processedPiecesByPoLine) {
     return EntryStream
-      .of(piecesGroupedByPoLine)
-      .filter(entry -> entry.getValue()
-        .stream()
-        // Check if there is at least one piece record which processed
-        // successfully
-        .anyMatch(this::isSuccessfullyProcessedPiece))
+      .of(processedPiecesByPoLine)
+      // Check if there is at least one piece record which processed successfully
+      .filterValues(processedPieces -> processedPieces.getSuccessfulQuantity() > 0)
       .keys()
       .toList();
   }
@@ -429,7 +515,7 @@ public abstract class CheckinReceivePiecesHelper<T> extends AbstractHelper {
   public CompletableFuture<List<PoLine>> getPoLines(List<String> poLineIds) {
     if(poLineList == null) {
       return collectResultsOnSuccess(StreamEx
-        .ofSubLists(poLineIds, MAX_IDS_FOR_GET_RQ)
+        .of(planBatches(poLineIds, ID))
         // Transform piece id's to CQL query
         .map(HelperUtils::convertIdsToCqlQuery)
         // Send get request for each CQL query
@@ -449,14 +535,25 @@ public abstract class CheckinReceivePiecesHelper<T> extends AbstractHelper {
   }
 
   /**
-   * Retrieves the PO lines and associated titles.
+   * Retrieves the PO lines and associated titles. Lines loaded for the previous window are not retrieved again if the
+   * current window references them, other lines are released.
    * Also checks all po lines have at least one title, and not more for non-packages.
    * @param poLineIds List of po lines ids
    * @param requestContext Used to initiate more requests
    * @return An object with 2 maps: poLineById (with composite po lines) and titleById
    */
   private CompletableFuture<PoLineAndTitleById> getPoLineAndTitleById(List<String> poLineIds, RequestContext requestContext) {
-    return getPoLines(poLineIds)
+    // Lines which are not referenced by the current window are released
+    Set<String> windowPoLineIds = new HashSet<>(poLineIds);
+    loadedPoLinesAndTitles.poLineById.keySet().retainAll(windowPoLineIds);
+    loadedPoLinesAndTitles.titleById.values().removeIf(title -> !windowPoLineIds.contains(title.getPoLineId()));
+    List<String> notLoadedPoLineIds = StreamEx.of(poLineIds)
+      .remove(loadedPoLinesAndTitles.poLineById::containsKey)
+      .toList();
+    if (notLoadedPoLineIds.isEmpty()) {
+      return completedFuture(loadedPoLinesAndTitles);
+    }
+    return getPoLines(notLoadedPoLineIds)
       .thenCompose(poLines -> {
         List<String> ids = poLines.stream().map(PoLine::getId).collect(Collectors.toList());
         return titlesService.getTitlesByPoLineIds(ids, requestContext)
@@ -466,11 +563,10 @@ public abstract class CheckinReceivePiecesHelper<T> extends AbstractHelper {
             Map<String, CompositePoLine> poLineById = compositePoLines.stream()
               .collect(Collectors.toMap(CompositePoLine::getId, Function.identity()));
             HelperUtils.verifyTitles(titles, poLineById);
-            PoLineAndTitleById result = new PoLineAndTitleById();
-            result.poLineById = poLineById;
-            result.titleById = titles.values().stream().flatMap(Collection::stream)
-              .collect(Collectors.toMap(Title::getId, Function.identity()));
-            return result;
+            loadedPoLinesAndTitles.poLineById.putAll(poLineById);
+            titles.values().stream().flatMap(Collection::stream)
+              .forEach(title -> loadedPoLinesAndTitles.titleById.put(title.getId(), title));
+            return loadedPoLinesAndTitles;
           });
       });
   }
@@ -483,7 +579,7 @@ public abstract class CheckinReceivePiecesHelper<T> extends AbstractHelper {
   }
 
   private CompletableFuture<List<PoLine>> getPoLinesByQuery(String query) {
-    return poLineHelper.getPoLines(MAX_IDS_FOR_GET_RQ, 0, query)
+    return poLineHelper.getPoLines(Integer.MAX_VALUE, 0, query)
       .thenApply(PoLineCollection::getPoLines)
       .exceptionally(e -> {
         logger.error("The issue happened getting PO Lines", e);
@@ -491,71 +587,98 @@ public abstract class CheckinReceivePiecesHelper<T> extends AbstractHelper {
       });
   }
 
-  protected List<Piece> getSuccessfullyProcessedPieces(String poLineId, Map<String, List<Piece>> piecesGroupedByPoLine) {
-    return StreamEx.of(piecesGroupedByPoLine.get(poLineId))
-      .filter(this::isSuccessfullyProcessedPiece)
-      .toList();
-  }
-
   /**
-   * @param poLine
-   *          PO Line record from storage
-   * @param pieces
-   *          list of pieces
-   * @return resulting PO Line status
+   * Calculates receipt status of the PO Lines. Expected and received pieces of all PO Lines are counted from a search paged
+   * by id per batch of PO Line ids instead of count requests per PO Line and status.
+   *
+   * @param poLines
+   *          PO Line records from storage
+   * @param processedPiecesByPoLine
+   *          map with PO line id as key and outcome of corresponding pieces as value
+   * @return map with PO Line id as key and resulting PO Line status as value, the status is {@code null} if it cannot be
+   *         calculated
    */
-  protected CompletableFuture<ReceiptStatus> calculatePoLineReceiptStatus(PoLine poLine, List<Piece> pieces) {
-    // Search for pieces with Expected status
-    return pieces.isEmpty()
-      // No successfully pieces processed - receipt status unchanged
-      ? completedFuture(poLine.getReceiptStatus())
-      : getPiecesQuantityByPoLineAndStatus(poLine.getId(), Piece.ReceivingStatus.EXPECTED)
-        // Calculate receipt status
-        .thenCompose(expectedQty -> calculatePoLineReceiptStatus(expectedQty, poLine, pieces))
-        .exceptionally(e -> {
-          logger.error("The expected receipt status for PO Line '{}' cannot be calculated", poLine.getId(), e);
-          return null;
+  protected CompletableFuture<Map<String, ReceiptStatus>> calculatePoLinesReceiptStatus(List<PoLine> poLines,
+      Map<String, ProcessedPieces> processedPiecesByPoLine) {
+    Map<String, ReceiptStatus> receiptStatuses = new HashMap<>();
+    Map<String, Long> receivedQuantityByPoLine = new HashMap<>();
+    for (PoLine poLine : poLines) {
+      ProcessedPieces processedPieces = processedPiecesByPoLine.get(poLine.getId());
+      if (processedPieces == null || processedPieces.getSuccessfulQuantity() == 0) {
+        // No successfully pieces processed - receipt status unchanged
+        receiptStatuses.put(poLine.getId(), poLine.getReceiptStatus());
+      } else {
+        receivedQuantityByPoLine.put(poLine.getId(), processedPieces.getReceivedQuantity());
+      }
+    }
+    if (receivedQuantityByPoLine.isEmpty()) {
+      return completedFuture(receiptStatuses);
+    }
+
+    List<String> poLineIds = new ArrayList<>(receivedQuantityByPoLine.keySet());
+    return countPiecesByPoLineIdsAndCountedStatuses(poLineIds)
+      .thenApply(quantitiesByPoLine -> {
+        for (PoLine poLine : poLines) {
+          if (receivedQuantityByPoLine.containsKey(poLine.getId())) {
+            Map<Piece.ReceivingStatus, Long> quantities = quantitiesByPoLine.getOrDefault(poLine.getId(), Collections.emptyMap());
+            // Pieces received by this request count even if the search does not reflect them yet
+            long receivedQuantity = Math.max(quantities.getOrDefault(Piece.ReceivingStatus.RECEIVED, 0L),
+                receivedQuantityByPoLine.get(poLine.getId()));
+            receiptStatuses.put(poLine.getId(), calculatePoLineReceiptStatus(quantities.getOrDefault(Piece.ReceivingStatus.EXPECTED, 0L),
+                receivedQuantity, Boolean.TRUE.equals(poLine.getCheckinItems())));
+          }
+        }
+        return receiptStatuses;
+      })
+      .exceptionally(e -> {
+        logger.error("The expected receipt status for PO Lines {} cannot be calculated", poLineIds, e);
+        return receiptStatuses;
+      });
+  }
+
+  private CompletableFuture<Map<String, Map<Piece.ReceivingStatus, Long>>> countPiecesByPoLineIdsAndCountedStatuses(
+      List<String> poLineIds) {
+    String statusQuery = " and " + convertFieldListToCqlQuery(COUNTED_PIECE_STATUSES, RECEIVING_STATUS, true);
+    // Split all PO Line id's into batches fitting into URL length limit
+    List<CompletableFuture<Map<String, Map<Piece.ReceivingStatus, Long>>>> futures = StreamEx
+      .of(planBatches(poLineIds, PO_LINE_ID, encodedLength(statusQuery + PIECE_COUNT_PAGING_QUERY)))
+      .map(ids -> {
+        String query = convertFieldListToCqlQuery(ids, PO_LINE_ID, true) + statusQuery;
+        Map<String, Map<Piece.ReceivingStatus, Long>> quantities = new HashMap<>();
+        return countPiecesPage(query, KeysetCursor.parse(KeysetCursor.FIRST_PAGE), quantities).thenApply(v -> quantities);
+      })
+      .toList();
+
+    return collectResultsOnSuccess(futures)
+      .thenApply(batches -> {
+        // Batches never share PO Line id's
+        Map<String, Map<Piece.ReceivingStatus, Long>> quantities = new HashMap<>();
+        batches.forEach(quantities::putAll);
+        return quantities;
       });
   }
 
   /**
-   * Returns "Fully Received" status if quantity of expected piece records is
-   * zero, otherwise checks how many received pieces. If quantity of received
-   * piece records is zero, returns "Awaiting Receipt" status, otherwise -
-   * "Partially Received"
-   *
-   * @param expectedPiecesQuantity
-   *          expected piece records quantity
-   * @param poLine
-   *          PO Line record representation from storage
-   * @return completable future holding calculated PO Line's receipt status
+   * Counts pieces page by page, so only one page of pieces per batch of PO Lines is held in memory at a time. Pages are
+   * sorted by id and the next page starts after the id of the last piece of the previous one, so the storage does not read
+   * and skip all preceding pieces and pieces created or deleted meanwhile do not shift the pages.
    */
-  private CompletableFuture<ReceiptStatus> calculatePoLineReceiptStatus(int expectedPiecesQuantity, PoLine poLine,
-      List<Piece> pieces) {
-    // Fully Received:If receiving and there is no expected piece remaining
-    if (!poLine.getCheckinItems().equals(Boolean.TRUE) && expectedPiecesQuantity == 0) {
-      return CompletableFuture.completedFuture(FULLY_RECEIVED);
-    }
-    // Partially Received: In case there is at least one successfully received
-    // piece
-    if (StreamEx.of(pieces).anyMatch(piece -> Piece.ReceivingStatus.RECEIVED == piece.getReceivingStatus())) {
-      return CompletableFuture.completedFuture(PARTIALLY_RECEIVED);
-    }
-    // Pieces were rolled-back to Expected. In this case we have to check if
-    // there is any Received piece in the storage
-    return getPiecesQuantityByPoLineAndStatus(poLine.getId(), Piece.ReceivingStatus.RECEIVED)
-      .thenApply(receivedQty -> receivedQty == 0 ? AWAITING_RECEIPT : PARTIALLY_RECEIVED);
-  }
-
-  public CompletableFuture<Integer> getPiecesQuantityByPoLineAndStatus(String poLineId,
-      Piece.ReceivingStatus receivingStatus) {
-    String query = String.format(PIECES_BY_POL_ID_AND_STATUS_QUERY, poLineId, receivingStatus.value());
-    // Limit to 0 because only total number is important
-    String endpoint = String.format(PIECES_WITH_QUERY_ENDPOINT, 0, lang, encodeQuery(query, logger));
-    // Search for pieces with Expected status
+  private CompletableFuture<Void> countPiecesPage(String query, KeysetCursor cursor,
+      Map<String, Map<Piece.ReceivingStatus, Long>> quantities) {
+    String endpoint = String.format(PIECES_PAGE_WITH_QUERY_ENDPOINT, PIECE_COUNT_PAGE_SIZE, 0, lang,
+        encodeQuery(cursor.buildQuery(query), logger));
     return handleGetRequest(endpoint, httpClient, okapiHeaders, logger)
-      // Return total records quantity
-      .thenApply(json -> json.mapTo(PieceCollection.class).getTotalRecords());
+      .thenCompose(json -> {
+        PieceCollection page = json.mapTo(PieceCollection.class);
+        page.getPieces().forEach(piece -> quantities
+          .computeIfAbsent(piece.getPoLineId(), id -> new EnumMap<>(Piece.ReceivingStatus.class))
+          .merge(piece.getReceivingStatus(), 1L, Long::sum));
+        String nextCursor = KeysetCursor.next(query, page.getPieces(), PIECE_COUNT_PAGE_SIZE);
+        if (nextCursor == null) {
+          return completedFuture(null);
+        }
+        return countPiecesPage(query, KeysetCursor.parse(nextCursor), quantities);
+      });
   }
 
   /**
@@ -585,11 +708,11 @@ public abstract class CheckinReceivePiecesHelper<T> extends AbstractHelper {
   }
 
   public void calculateProcessingErrors(String poLineId, ReceivingResult result,
-      Map<String, Piece> processedPiecesForPoLine, Map<String, Integer> resultCounts, String pieceId) {
+      ProcessedPieces processedPiecesForPoLine, Map<String, Integer> resultCounts, String pieceId) {
     // Calculate processing status
     ProcessingStatus status = new ProcessingStatus();
     Error error = getError(poLineId, pieceId);
-    if (processedPiecesForPoLine.get(pieceId) != null && error == null) {
+    if (processedPiecesForPoLine.contains(pieceId) && error == null) {
       status.setType(ProcessingStatus.Type.SUCCESS);
       resultCounts.merge(ProcessingStatus.Type.SUCCESS.toString(), 1, Integer::sum);
     } else {
@@ -668,7 +791,7 @@ public abstract class CheckinReceivePiecesHelper<T> extends AbstractHelper {
   private CompletableFuture<Map<String, List<Piece>>> processItemsUpdate(
       Map<String, Map<String, String>> pieceLocationsGroupedByPoLine, Map<String, List<Piece>> piecesGroupedByPoLine,
       List<JsonObject> items, PoLineAndTitleById poLinesAndTitlesById, RequestContext requestContext) {
-    List<CompletableFuture<Boolean>> futuresForItemsUpdates = new ArrayList<>();
+    List<PieceItemPair> itemsToUpdate = new ArrayList<>();
     Map<String, Piece> piecesWithItems = collectPiecesWithItemId(piecesGroupedByPoLine);
 
     // If there are no pieces with ItemId, continue
@@ -692,22 +815,43 @@ public abstract class CheckinReceivePiecesHelper<T> extends AbstractHelper {
         String holdingId = processedHoldings.get(pieceLocation + title.getInstanceId());
         item.put(ITEM_HOLDINGS_RECORD_ID, holdingId);
       }
-      futuresForItemsUpdates.add(receiveInventoryItemAndUpdatePiece(item, piece, requestContext));
+      // Update item records with receiving/check-in information
+      applyRequestDetailsToItem(item, piece);
+      itemsToUpdate.add(new PieceItemPair().withPiece(piece).withItem(item));
     }
-    return collectResultsOnSuccess(futuresForItemsUpdates).thenApply(results -> {
-      if (logger.isDebugEnabled()) {
-        long successQty = results.stream()
-          .filter(result -> result)
-          .count();
-        logger.debug("{} out of {} inventory item(s) successfully updated", successQty, results.size());
-      }
-      return piecesGroupedByPoLine;
-    });
+    if (itemsToUpdate.isEmpty()) {
+      return completedFuture(piecesGroupedByPoLine);
+    }
+
+    // Send updates to Inventory with bounded concurrency and map the outcome of each item back to its piece
+    return getTenantConfiguration()
+      .thenCompose(config -> inventoryManager.updateItems(StreamEx.of(itemsToUpdate).map(PieceItemPair::getItem).toList(),
+        config, requestContext))
+      .thenApply(failedItems -> {
+        for (PieceItemPair pair : itemsToUpdate) {
+          Piece piece = pair.getPiece();
+          if (failedItems.containsKey(pair.getItem().getString(ID))) {
+            // Add processing error if item failed to be updated
+            logger.error("Item associated with piece '{}' cannot be updated", piece.getId());
+            addError(piece.getPoLineId(), piece.getId(), ITEM_UPDATE_FAILED.toError());
+          } else {
+            // Update Piece record object with receiving/check-in details if item updated successfully
+            updatePieceWithItemProcessed(piece);
+          }
+        }
+        logger.debug("{} out of {} inventory item(s) successfully updated", itemsToUpdate.size() - failedItems.size(),
+          itemsToUpdate.size());
+        return piecesGroupedByPoLine;
+      });
   }
 
   private CompletableFuture<Void> processHoldingsUpdate(Map<String, Map<String, String>> pieceLocationsGroupedByPoLine,
       Map<String, List<Piece>> piecesGroupedByPoLine, PoLineAndTitleById poLinesAndTitlesById, RequestContext requestContext) {
-    List<CompletableFuture<Boolean>> futuresForHoldingsUpdates = new ArrayList<>();
+    if (holdingsResolver == null) {
+      // Shared by all the windows, so holdings of each instance and location are resolved once per request
+      holdingsResolver = new HoldingsResolver(inventoryManager, requestContext);
+    }
+    Map<Pair<String, String>, List<Piece>> piecesByHolding = new LinkedHashMap<>();
     StreamEx.ofValues(piecesGroupedByPoLine)
       .flatMap(List::stream)
       .forEach(piece -> {
@@ -727,19 +871,33 @@ public abstract class CheckinReceivePiecesHelper<T> extends AbstractHelper {
         String receivedPieceLocationId = pieceLocationsGroupedByPoLine.get(poLine.getId()).get(piece.getId());
 
         if (holdingUpdateOnCheckinReceiveRequired(piece, receivedPieceLocationId, poLine)) {
-          futuresForHoldingsUpdates.add(createHoldingsForChangedLocations(piece, title.getInstanceId(),
-            receivedPieceLocationId, requestContext));
+          piecesByHolding.computeIfAbsent(Pair.of(title.getInstanceId(), receivedPieceLocationId), pair -> new ArrayList<>())
+            .add(piece);
         }
       });
 
-    return collectResultsOnSuccess(futuresForHoldingsUpdates).thenAccept(results -> {
-      if (logger.isDebugEnabled()) {
-        long successQty = results.stream()
-          .filter(result -> result)
-          .count();
-        logger.debug("{} out of {} holdings successfully processed", successQty, results.size());
-      }
-    });
+    // Holdings of all pieces are searched with batched queries, failed pairs are retried and reported per piece below
+    List<Pair<String, String>> instanceLocationPairs = piecesByHolding.entrySet().stream()
+      .filter(entry -> !processedHoldingsParams.contains(entry.getKey().getRight() + entry.getKey().getLeft()))
+      .filter(entry -> entry.getValue().stream().anyMatch(piece -> !isRevertToOnOrder(piece)))
+      .map(Map.Entry::getKey)
+      .collect(Collectors.toList());
+    return holdingsResolver.prefetch(instanceLocationPairs)
+      .exceptionally(t -> null)
+      .thenCompose(v -> {
+        List<CompletableFuture<Boolean>> futuresForHoldingsUpdates = new ArrayList<>();
+        piecesByHolding.forEach((pair, pieces) -> pieces.forEach(piece -> futuresForHoldingsUpdates.add(
+          createHoldingsForChangedLocations(piece, pair.getLeft(), pair.getRight(), holdingsResolver))));
+        return collectResultsOnSuccess(futuresForHoldingsUpdates);
+      })
+      .thenAccept(results -> {
+        if (logger.isDebugEnabled()) {
+          long successQty = results.stream()
+            .filter(result -> result)
+            .count();
+          logger.debug("{} out of {} holdings successfully processed", successQty, results.size());
+        }
+      });
   }
 
   private CompletableFuture<?>[] getListOfRestrictionCheckingFutures(List<PurchaseOrder> orders,  Map<String, List<PoLine>> poLinesGroupedByOrderId,
@@ -770,8 +928,41 @@ public abstract class CheckinReceivePiecesHelper<T> extends AbstractHelper {
     }
   }
 
+  /**
+   * Outcome of the pieces of one PO Line processed by all the windows. Only piece ids and counters are kept.
+   */
+  static class ProcessedPieces {
+    static final ProcessedPieces EMPTY = new ProcessedPieces();
+
+    private final Set<String> pieceIds = new HashSet<>();
+    private int successfulQuantity;
+    private long receivedQuantity;
+
+    void add(Piece piece, boolean successful) {
+      pieceIds.add(piece.getId());
+      if (successful) {
+        successfulQuantity++;
+        if (Piece.ReceivingStatus.RECEIVED == piece.getReceivingStatus()) {
+          receivedQuantity++;
+        }
+      }
+    }
+
+    boolean contains(String pieceId) {
+      return pieceIds.contains(pieceId);
+    }
+
+    int getSuccessfulQuantity() {
+      return successfulQuantity;
+    }
+
+    long getReceivedQuantity() {
+      return receivedQuantity;
+    }
+  }
+
   private static class PoLineAndTitleById {
-    Map<String, CompositePoLine> poLineById;
-    Map<String, Title> titleById;
+    final Map<String, CompositePoLine> poLineById = new HashMap<>();
+    final Map<String, Title> titleById = new HashMap<>();
   }
 }
@@ -2,11 +2,11 @@ package org.folio.helper;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.stream.Collectors.toList;
-import static one.util.streamex.StreamEx.ofSubLists;
 import static org.apache.commons.collections4.CollectionUtils.isEmpty;
 import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
 import static org.folio.orders.utils.AcqDesiredPermissions.ASSIGN;
 import static org.folio.orders.utils.AcqDesiredPermissions.MANAGE;
+import static org.folio.orders.utils.BoundedAsyncMapper.getWindowSize;
 import static org.folio.orders.utils.ErrorCodes.APPROVAL_REQUIRED_TO_OPEN;
 import static org.folio.orders.utils.ErrorCodes.MISSING_ONGOING;
 import static org.folio.orders.utils.ErrorCodes.ONGOING_NOT_ALLOWED;
@@ -17,6 +17,7 @@ import static org.folio.orders.utils.ErrorCodes.USER_HAS_NO_UNOPEN_PERMISSIONS;
 import static org.folio.orders.utils.HelperUtils.COMPOSITE_PO_LINES;
 import static org.folio.orders.utils.HelperUtils.WORKFLOW_STATUS;
 import static org.folio.orders.utils.HelperUtils.buildQuery;
+import static org.folio.orders.utils.HelperUtils.buildTotalRecordsParam;
 import static org.folio.orders.utils.HelperUtils.changeOrderStatus;
 import static org.folio.orders.utils.HelperUtils.collectResultsOnSuccess;
 import static org.folio.orders.utils.HelperUtils.combineCqlExpressions;
@@ -24,12 +25,14 @@ import static org.folio.orders.utils.HelperUtils.convertIdsToCqlQuery;
 import static org.folio.orders.utils.HelperUtils.convertToCompositePurchaseOrder;
 import static org.folio.orders.utils.HelperUtils.deletePoLine;
 import static org.folio.orders.utils.HelperUtils.deletePoLines;
+import static org.folio.orders.utils.HelperUtils.getInstanceLocationPairs;
 import static org.folio.orders.utils.HelperUtils.getPoLineLimit;
 import static org.folio.orders.utils.HelperUtils.getPoLines;
 import static org.folio.orders.utils.HelperUtils.getPurchaseOrderById;
 import static org.folio.orders.utils.HelperUtils.handleDeleteRequest;
 import static org.folio.orders.utils.HelperUtils.handleGetRequest;
 import static org.folio.orders.utils.HelperUtils.handlePutRequest;
+import static org.folio.orders.utils.HelperUtils.inventoryUpdateNotRequired;
 import static org.folio.orders.utils.HelperUtils.verifyLocationsAndPiecesConsistency;
 import static org.folio.orders.utils.HelperUtils.verifyProtectedFieldsChanged;
 import static org.folio.orders.utils.OrderStatusTransitionUtil.isOrderClosing;
@@ -51,6 +54,8 @@ import static org.folio.orders.utils.ResourcePathResolver.PURCHASE_ORDER;
 import static org.folio.orders.utils.ResourcePathResolver.REPORTING_CODES;
 import static org.folio.orders.utils.ResourcePathResolver.resourceByIdPath;
 import static org.folio.orders.utils.ResourcePathResolver.resourcesPath;
+import static org.folio.rest.core.IdBatchPlanner.encodedLength;
+import static org.folio.rest.core.IdBatchPlanner.planBatches;
 import static org.folio.rest.jaxrs.model.CompositePurchaseOrder.WorkflowStatus.OPEN;
 import static org.folio.rest.jaxrs.model.CompositePurchaseOrder.WorkflowStatus.PENDING;
 
@@ -67,24 +72,31 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.folio.HttpStatus;
 import org.folio.completablefuture.FolioVertxCompletableFuture;
 import org.folio.models.CompositeOrderRetrieveHolder;
 import org.folio.orders.rest.exceptions.HttpException;
 import org.folio.orders.utils.AcqDesiredPermissions;
+import org.folio.orders.utils.BoundedAsyncMapper;
+import org.folio.orders.utils.BoundedAsyncMapper.Downstream;
 import org.folio.orders.utils.ErrorCodes;
 import org.folio.orders.utils.FundDistributionUtils;
 import org.folio.orders.utils.HelperUtils;
+import org.folio.orders.utils.JsonDiff;
+import org.folio.orders.utils.KeysetCursor;
 import org.folio.orders.utils.POLineProtectedFields;
 import org.folio.orders.utils.ProtectedOperationType;
 import org.folio.orders.utils.validators.CompositePoLineValidationUtil;
 import org.folio.orders.utils.validators.OngoingOrderValidator;
+import org.folio.rest.acq.model.finance.FiscalYear;
 import org.folio.rest.core.RestClient;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.core.models.RequestEntry;
@@ -110,8 +122,11 @@ import org.folio.service.finance.expenceclass.ExpenseClassValidationService;
 import org.folio.service.finance.transaction.EncumbranceService;
 import org.folio.service.finance.transaction.EncumbranceWorkflowStrategy;
 import org.folio.service.finance.transaction.EncumbranceWorkflowStrategyFactory;
+import org.folio.service.inventory.HoldingsResolver;
+import org.folio.service.inventory.InstanceLookupIndex;
 import org.folio.service.inventory.InventoryManager;
-import org.folio.service.orders.CompositeOrderDynamicDataPopulateService;
+import org.folio.service.orders.CombinedOrderDataPopulateService;
+import org.folio.service.orders.CompositeOrderRetrieveHolderBuilder;
 import org.folio.service.orders.OrderInvoiceRelationService;
 import org.folio.service.orders.OrderLinesSummaryPopulateService;
 import org.folio.service.orders.OrderWorkflowType;
@@ -122,6 +137,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import io.vertx.core.Context;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import one.util.streamex.IntStreamEx;
 import one.util.streamex.StreamEx;
 
 public class PurchaseOrderHelper extends AbstractHelper {
@@ -130,6 +146,8 @@ public class PurchaseOrderHelper extends AbstractHelper {
   private static final String PERMISSION_ORDER_UNOPEN = "orders.item.unopen";
   private static final String PERMISSION_ORDER_REOPEN = "orders.item.reopen";
   private static final String SEARCH_ORDERS_BY_LINES_DATA = resourcesPath(PURCHASE_ORDER) + SEARCH_PARAMS;
+  // Fields maintained by the storage, not taken into account when the lines of the request are compared with the stored ones
+  private static final Set<String> PO_LINE_NOT_COMPARED_FIELDS = Set.of("metadata");
   public static final String GET_PURCHASE_ORDERS = resourcesPath(PURCHASE_ORDER) + SEARCH_PARAMS;
   public static final String EMPTY_ARRAY = "[]";
   public static final String OKAPI_HEADER_PERMISSIONS = "X-Okapi-Permissions";
@@ -146,7 +164,9 @@ public class PurchaseOrderHelper extends AbstractHelper {
   @Autowired
   private EncumbranceService encumbranceService;
   @Autowired
-  private CompositeOrderDynamicDataPopulateService combinedPopulateService;
+  private CombinedOrderDataPopulateService combinedPopulateService;
+  @Autowired
+  private CompositeOrderRetrieveHolderBuilder holderBuilder;
   @Autowired
   private ExpenseClassValidationService expenseClassValidationService;
   @Autowired
@@ -172,7 +192,7 @@ public class PurchaseOrderHelper extends AbstractHelper {
     super(httpClient, okapiHeaders, ctx, lang);
 
     this.poNumberHelper = new PoNumberHelper(httpClient, okapiHeaders, ctx, lang);
-    this.orderLineHelper = new PurchaseOrderLineHelper(getHttpClient(okapiHeaders), okapiHeaders, ctx, lang);
+    this.orderLineHelper = new PurchaseOrderLineHelper(httpClient, okapiHeaders, ctx, lang);
   }
 
   public PurchaseOrderHelper(HttpClientInterface httpClient, Map<String, String> okapiHeaders, Context ctx, String lang,
@@ -195,10 +215,23 @@ public class PurchaseOrderHelper extends AbstractHelper {
    * @return completable future with {@link PurchaseOrderCollection} object on success or an exception if processing fails
    */
   public CompletableFuture<PurchaseOrderCollection> getPurchaseOrders(int limit, int offset, String query) {
+    return getPurchaseOrders(limit, offset, query, null, true);
+  }
+
+  /**
+   * Gets page of purchase orders either by offset or by cursor
+   *
+   * @param cursor       {@link KeysetCursor} of the page, the offset is ignored if specified
+   * @param totalRecords whether the storage should count all orders matching the query
+   */
+  public CompletableFuture<PurchaseOrderCollection> getPurchaseOrders(int limit, int offset, String query, String cursor,
+                                                                      boolean totalRecords) {
     CompletableFuture<PurchaseOrderCollection> future = new CompletableFuture<>();
 
     try {
-      buildGetOrdersPath(limit, offset, query)
+      KeysetCursor keysetCursor = KeysetCursor.parse(cursor);
+      String pageQuery = keysetCursor == null ? query : keysetCursor.buildQuery(query);
+      buildGetOrdersPath(limit, keysetCursor == null ? offset : 0, pageQuery, totalRecords)
         .thenCompose(endpoint -> handleGetRequest(endpoint, httpClient, okapiHeaders, logger))
         .thenAccept(jsonOrders -> future.complete(jsonOrders.mapTo(PurchaseOrderCollection.class)))
         .exceptionally(t -> {
@@ -212,14 +245,15 @@ public class PurchaseOrderHelper extends AbstractHelper {
     return future;
   }
 
-  private CompletableFuture<String> buildGetOrdersPath(int limit, int offset, String query) {
+  private CompletableFuture<String> buildGetOrdersPath(int limit, int offset, String query, boolean totalRecords) {
     return acquisitionsUnitsService.buildAcqUnitsCqlExprToSearchRecords(getRequestContext(), StringUtils.EMPTY)
       .thenApply(acqUnitsCqlExpr -> {
         if (StringUtils.isEmpty(query)) {
-          String queryParam = buildQuery(acqUnitsCqlExpr, logger);
+          String queryParam = buildQuery(acqUnitsCqlExpr, logger) + buildTotalRecordsParam(totalRecords);
           return String.format(GET_PURCHASE_ORDERS, limit, offset, queryParam, lang);
         } else {
-          String queryParam = buildQuery(combineCqlExpressions("and", acqUnitsCqlExpr, query), logger);
+          String queryParam = buildQuery(combineCqlExpressions("and", acqUnitsCqlExpr, query), logger)
+            + buildTotalRecordsParam(totalRecords);
           return String.format(SEARCH_ORDERS_BY_LINES_DATA, limit, offset, queryParam, lang);
         }
       });
@@ -370,7 +404,7 @@ public class PurchaseOrderHelper extends AbstractHelper {
   public CompletableFuture<List<Piece>> getPiecesByLineIdsByChunks(List<String> lineIds, RequestContext requestContext) {
     logger.info("getPiecesByLineIdsByChunks start");
     return collectResultsOnSuccess(
-      ofSubLists(new ArrayList<>(lineIds), MAX_IDS_FOR_GET_RQ).map(ids -> getPieceChunkByLineIds(ids, requestContext))
+      StreamEx.of(planBatches(lineIds, "poLineId")).map(ids -> getPieceChunkByLineIds(ids, requestContext))
         .toList()).thenApply(
       lists -> lists.stream()
         .flatMap(Collection::stream)
@@ -381,7 +415,7 @@ public class PurchaseOrderHelper extends AbstractHelper {
     String query = convertIdsToCqlQuery(poLineIds, "poLineId");
     RequestEntry requestEntry = new RequestEntry(resourcesPath(PIECES)).withQuery(query)
       .withOffset(0)
-      .withLimit(poLineIds.size());
+      .withLimit(Integer.MAX_VALUE);
     return restClient.get(requestEntry, requestContext, PieceCollection.class)
                      .thenApply(PieceCollection::getPieces);
   }
@@ -435,12 +469,13 @@ public class PurchaseOrderHelper extends AbstractHelper {
   private CompletableFuture<List<JsonObject>> getItemsByStatus(List<PoLine> compositePoLines, String itemStatus, RequestContext requestContext) {
     logger.info("org.folio.helper.PurchaseOrderHelper.getItemsByStatus start");
     List<String> lineIds = compositePoLines.stream().map(PoLine::getId).collect(toList());
-    // Split all id's by maximum number of id's for get query
+    String statusQuery = String.format("status.name==%s and ", itemStatus);
+    // Split all id's into batches fitting into URL length limit
     List<CompletableFuture<List<JsonObject>>> futures = StreamEx
-      .ofSubLists(lineIds, MAX_IDS_FOR_GET_RQ)
+      .of(planBatches(lineIds, InventoryManager.ITEM_PURCHASE_ORDER_LINE_IDENTIFIER, encodedLength(statusQuery)))
       // Get item records from Inventory storage
       .map(ids -> {
-        String query = String.format("status.name==%s and %s", itemStatus, HelperUtils.convertFieldListToCqlQuery(ids, InventoryManager.ITEM_PURCHASE_ORDER_LINE_IDENTIFIER, true));
+        String query = statusQuery + HelperUtils.convertFieldListToCqlQuery(ids, InventoryManager.ITEM_PURCHASE_ORDER_LINE_IDENTIFIER, true);
         return inventoryManager.getItemRecordsByQuery(query, requestContext);
       })
       .toList();
@@ -498,15 +533,6 @@ public class PurchaseOrderHelper extends AbstractHelper {
     return completedFuture(compPOFromStorageJson);
   }
 
-  private JsonObject findCorrespondingCompositePoLine(CompositePoLine poLine, List<PoLine> poLinesFromStorage) {
-    return poLinesFromStorage.stream()
-      .filter(line -> line.getId()
-        .equals(poLine.getId()))
-      .findFirst()
-      .map(JsonObject::mapFrom)
-      .orElse(null);
-  }
-
   /**
    * Delete a purchase order with given uuid. As a first step the logic deletes all associated PO Lines and then order.
    * @param id purchase order id
@@ -557,40 +583,80 @@ public class PurchaseOrderHelper extends AbstractHelper {
   }
 
   /**
-   * Gets purchase order by id
+   * Gets purchase order by id with all calculated fields populated
    *
    * @param id purchase order uuid
    * @return completable future with {@link CompositePurchaseOrder} on success or an exception if processing fails
    */
   public CompletableFuture<CompositePurchaseOrder> getCompositeOrder(String id) {
+    return getCompositeOrder(id, null);
+  }
 
-    CompletableFuture<CompositePurchaseOrder> future = new CompletableFuture<>();
-    getPurchaseOrderById(id, lang, httpClient, okapiHeaders, logger)
-      .thenApply(HelperUtils::convertToCompositePurchaseOrder)
-      .thenAccept(compPO -> protectionService.isOperationRestricted(compPO.getAcqUnitIds(), ProtectedOperationType.READ, getRequestContext())
-        .thenAccept(ok -> updateAndGetOrderWithLines(compPO)
-          .thenCompose(this::fetchNonPackageTitles)
-          .thenAccept(linesIdTitles -> populateInstanceId(linesIdTitles, compPO.getCompositePoLines()))
-          .thenCompose(po -> combinedPopulateService.populate(new CompositeOrderRetrieveHolder(compPO), getRequestContext()))
-          .thenApply(CompositeOrderRetrieveHolder::getOrder)
-          .thenAccept(future::complete)
-          .exceptionally(t -> {
-            logger.error("Failed to get lines for order with id={}", id, t.getCause());
-            future.completeExceptionally(t);
-            return null;
-          }))
-        .exceptionally(t -> {
-          logger.error("User with id={} is forbidden to view order with id={}", getCurrentUserId(), id, t.getCause());
-          future.completeExceptionally(t);
-          return null;
-        }))
-      .exceptionally(t -> {
-        logger.error("Failed to build composite purchase order with id={}", id, t.getCause());
-        future.completeExceptionally(t);
-        return null;
-      });
+  /**
+   * Gets purchase order by id. Only the READ check depends on the order record, so the lines and the data depending on them
+   * (titles and the current fiscal year) are fetched speculatively at the same time and cancelled if the check fails:
+   * <pre>
+   * order ---> READ check ---------------------+
+   * lines -+-> titles -------------------------+--> dynamic data (totals, summary) --> composite order
+   *        +-> current fiscal year ------------+
+   * </pre>
+   * Only the services setting the requested calculated fields are run, and the current fiscal year is not retrieved if none
+   * of them depends on it.
+   * <p>
+   * Cancelling only completes the futures of the speculative fetches, it does not abort HTTP requests: the fetches which have
+   * not started yet (e.g. titles and the current fiscal year if the lines are still being retrieved) are never sent, and the
+   * responses of the requests already sent are discarded.
+   *
+   * @param id purchase order uuid
+   * @param fields names of the calculated fields to populate, all fields are populated if {@code null} or empty
+   * @return completable future with {@link CompositePurchaseOrder} on success or an exception if processing fails, 400 if
+   * some of the fields are not calculated
+   */
+  public CompletableFuture<CompositePurchaseOrder> getCompositeOrder(String id, Set<String> fields) {
+    try {
+      combinedPopulateService.validateFields(fields);
+    } catch (HttpException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    RequestContext requestContext = getRequestContext();
+    boolean fiscalYearRequired = combinedPopulateService.isFiscalYearRequired(fields);
+
+    CompletableFuture<CompositePurchaseOrder> orderFuture = getPurchaseOrderById(id, lang, httpClient, okapiHeaders, logger)
+      .thenApply(HelperUtils::convertToCompositePurchaseOrder);
+    CompletableFuture<Void> readCheckFuture = orderFuture
+      .thenCompose(compPO -> protectionService.isOperationRestricted(compPO.getAcqUnitIds(), ProtectedOperationType.READ, requestContext));
+
+    CompletableFuture<List<CompositePoLine>> linesFuture = purchaseOrderLineService.getCompositePoLinesByOrderId(id, requestContext);
+    CompletableFuture<Map<String, List<Title>>> titlesFuture = linesFuture
+      .thenCompose(lines -> titlesService.getTitlesByPoLineIds(getNonPackageLineIds(lines), requestContext));
+    CompletableFuture<FiscalYear> fiscalYearFuture = fiscalYearRequired
+      ? linesFuture.thenCompose(lines -> holderBuilder.getCurrentFiscalYear(lines, requestContext))
+      : CompletableFuture.completedFuture(null);
+
+    readCheckFuture.whenComplete((v, t) -> {
+      if (t != null) {
+        // Skips the dependent fetches not started yet, requests in flight run to the end and their results are dropped
+        Stream.of(linesFuture, titlesFuture, fiscalYearFuture).forEach(future -> future.cancel(false));
+      }
+    });
 
-    return future;
+    return readCheckFuture
+      .thenCompose(v -> CompletableFuture.allOf(titlesFuture, fiscalYearFuture))
+      .thenCompose(v -> {
+        CompositePurchaseOrder compPO = orderFuture.join();
+        List<CompositePoLine> lines = linesFuture.join();
+        orderLineHelper.sortPoLinesByPoLineNumber(lines);
+        populateInstanceId(titlesFuture.join(), lines);
+        CompositeOrderRetrieveHolder holder = new CompositeOrderRetrieveHolder(compPO.withCompositePoLines(lines))
+          .withFiscalYear(fiscalYearFuture.join());
+        return combinedPopulateService.populateDynamicData(holder, fields, requestContext);
+      })
+      .thenApply(CompositeOrderRetrieveHolder::getOrder)
+      .whenComplete((compPO, t) -> {
+        if (t != null) {
+          logger.error("Failed to build composite purchase order with id={}", id, t.getCause());
+        }
+      });
   }
 
   private CompletableFuture<CompositePurchaseOrder> populateOrderSummary(CompositePurchaseOrder order) {
@@ -892,12 +958,13 @@ public class PurchaseOrderHelper extends AbstractHelper {
   }
 
   private CompletableFuture<List<CompositePoLine>> createPoLines(CompositePurchaseOrder compPO) {
-    List<CompletableFuture<CompositePoLine>> futures =
-      compPO.getCompositePoLines()
-            .stream()
-            .map(compositePoLine -> orderLineHelper.createPoLine(compositePoLine, compPO))
-            .collect(Collectors.toList());
-    return HelperUtils.collectResultsOnSuccess(futures);
+    List<CompositePoLine> poLines = compPO.getCompositePoLines();
+    // Line numbers are reserved at once and lines are created with limited concurrency, so big orders do not flood the storage
+    return getTenantConfiguration()
+      .thenApply(config -> getWindowSize(config, Downstream.ORDERS_STORAGE))
+      .thenCompose(windowSize -> orderLineHelper.generateLineNumbers(compPO, poLines.size(), windowSize)
+        .thenCompose(lineNumbers -> BoundedAsyncMapper.map(IntStreamEx.range(poLines.size()).boxed().toList(), windowSize,
+          index -> orderLineHelper.createPoLine(poLines.get(index), compPO, lineNumbers.get(index)))));
   }
 
   private CompletableFuture<List<CompositePoLine>> fetchCompositePoLines(CompositePurchaseOrder compPO) {
@@ -979,9 +1046,12 @@ public class PurchaseOrderHelper extends AbstractHelper {
             if (poFromStorage.getWorkflowStatus() != PENDING && hasNewPoLines(compPO, existingPoLines)) {
               throw new HttpException(422, poFromStorage.getWorkflowStatus() == OPEN ? ErrorCodes.ORDER_OPEN : ErrorCodes.ORDER_CLOSED);
             }
-            validatePOLineProtectedFieldsChangedInPO(poFromStorage, compPO, existingPoLines);
-            logger.info("updatePoLines start");
-            return handlePoLines(compPO, existingPoLines);
+            normalizeUpdatedPoLines(compPO, existingPoLines);
+            return getPoLinesChanges(compPO, existingPoLines)
+              .thenCompose(linesChanges -> {
+                validatePOLineProtectedFieldsChangedInPO(poFromStorage, linesChanges);
+                return handlePoLines(compPO, existingPoLines, linesChanges);
+              });
           } else {
             return updatePoLinesNumber(compPO, existingPoLines);
           }
@@ -990,15 +1060,57 @@ public class PurchaseOrderHelper extends AbstractHelper {
     return completedFuture(null);
   }
 
-  private void validatePOLineProtectedFieldsChangedInPO(CompositePurchaseOrder poFromStorage, CompositePurchaseOrder compPO,
-                                                        List<PoLine> existingPoLines) {
+  private void validatePOLineProtectedFieldsChangedInPO(CompositePurchaseOrder poFromStorage, Map<String, JsonDiff> linesChanges) {
     if (poFromStorage.getWorkflowStatus() != PENDING) {
-      compPO.getCompositePoLines()
-        .forEach(poLine -> verifyProtectedFieldsChanged(POLineProtectedFields.getFieldNames(),
-            findCorrespondingCompositePoLine(poLine, existingPoLines), JsonObject.mapFrom(poLine)));
+      linesChanges.values()
+        .forEach(changes -> verifyProtectedFieldsChanged(POLineProtectedFields.getFieldNames(), changes));
     }
   }
 
+  /**
+   * Sets the values calculated by the module (PO line number, locations quantity and estimated price) to the lines of the
+   * request existing in storage, so they are compared with the stored lines as they are going to be saved
+   */
+  private void normalizeUpdatedPoLines(CompositePurchaseOrder compOrder, List<PoLine> poLinesFromStorage) {
+    Map<String, PoLine> linesFromStorage = poLinesFromStorage.stream()
+      .collect(Collectors.toMap(PoLine::getId, Function.identity()));
+    compOrder.getCompositePoLines().stream()
+      .filter(line -> linesFromStorage.containsKey(line.getId()))
+      .forEach(line -> {
+        line.setPoLineNumber(orderLineHelper.buildNewPoLineNumber(linesFromStorage.get(line.getId()), compOrder.getPoNumber()));
+        orderLineHelper.updateLocationsQuantity(line.getLocations());
+        orderLineHelper.updateEstimatedPrice(line);
+      });
+  }
+
+  /**
+   * Compares the lines of the request with the lines in storage including their alerts and reporting codes
+   *
+   * @return changes of the lines existing in storage by line id
+   */
+  private CompletableFuture<Map<String, JsonDiff>> getPoLinesChanges(CompositePurchaseOrder compOrder,
+                                                                    List<PoLine> poLinesFromStorage) {
+    Map<String, CompositePoLine> updatedLines = compOrder.getCompositePoLines().stream()
+      .filter(line -> line.getId() != null)
+      .collect(Collectors.toMap(CompositePoLine::getId, Function.identity(), (first, second) -> first));
+    List<PoLine> linesToCompare = poLinesFromStorage.stream()
+      .filter(line -> updatedLines.containsKey(line.getId()))
+      .collect(toList());
+
+    return purchaseOrderLineService.getCompositePoLines(linesToCompare, getRequestContext())
+      .thenApply(storedLines -> {
+        Map<String, JsonDiff> linesChanges = storedLines.stream()
+          .collect(Collectors.toMap(CompositePoLine::getId, storedLine -> JsonDiff.compare(JsonObject.mapFrom(storedLine),
+            JsonObject.mapFrom(updatedLines.get(storedLine.getId())), PO_LINE_NOT_COMPARED_FIELDS)));
+        if (logger.isDebugEnabled()) {
+          linesChanges.forEach((id, changes) -> logger.debug("PO line {} changed fields: {}", id, changes));
+        }
+        logger.info("Order {}: {} of {} existing PO lines changed", compOrder.getId(),
+          linesChanges.values().stream().filter(changes -> !changes.isEmpty()).count(), linesChanges.size());
+        return linesChanges;
+      });
+  }
+
   private boolean isPoLinesUpdateRequired(CompositePurchaseOrder poFromStorage, CompositePurchaseOrder compPO) {
     return isNotEmpty(compPO.getCompositePoLines()) || isPoNumberChanged(poFromStorage, compPO);
   }
@@ -1039,14 +1151,39 @@ public class PurchaseOrderHelper extends AbstractHelper {
     return CompletableFuture.allOf(futures);
   }
 
+  /**
+   * Creates the Inventory records and pieces of the lines of the order being opened in two steps:
+   * <ol>
+   * <li>the instances of all lines are resolved, then the holdings of all distinct (instanceId, locationId) pairs are searched
+   * with batched queries, so each distinct instance and holding is looked up and, if missing, created only once</li>
+   * <li>the items and pieces of each line are created, reusing the resolved instances and holdings</li>
+   * </ol>
+   * Both steps run with the inventory concurrency window of the tenant. The items and pieces are still written line by line, the
+   * copies of an item of a line are created in batches by {@link org.folio.service.inventory.InventoryItemBatchCreator}.
+   */
   private CompletableFuture<Void> openOrderUpdateInventory(Map<String, List<Title>> lineIdsTitles, CompositePurchaseOrder compPO,
                                                            RequestContext requestContext) {
-    return CompletableFuture.allOf(
-      compPO.getCompositePoLines()
-        .stream()
-        .map(poLine -> orderLineHelper.openOrderUpdateInventory(poLine, getFirstTitleIdIfExist(lineIdsTitles, poLine), requestContext))
-        .toArray(CompletableFuture[]::new)
-    );
+    // Lines of the order with the same products share one instance, lines with the same instance and location share one holding
+    InstanceLookupIndex instanceLookupIndex = new InstanceLookupIndex(requestContext);
+    HoldingsResolver holdingsResolver = new HoldingsResolver(inventoryManager, requestContext);
+    List<CompositePoLine> inventoryLines = compPO.getCompositePoLines()
+      .stream()
+      .filter(poLine -> !Boolean.TRUE.equals(poLine.getIsPackage()) && !inventoryUpdateNotRequired(poLine))
+      .collect(toList());
+    return getTenantConfiguration()
+      .thenCompose(config -> {
+        int windowSize = getWindowSize(config, Downstream.INVENTORY);
+        // The instances and holdings of all lines are resolved first, so the lines only create their items and pieces
+        return BoundedAsyncMapper.map(inventoryLines, windowSize,
+            poLine -> inventoryManager.handleInstanceRecord(poLine, instanceLookupIndex, requestContext))
+          .thenCompose(poLines -> holdingsResolver.prefetch(poLines.stream()
+            .flatMap(poLine -> getInstanceLocationPairs(poLine).stream())
+            .collect(toList())))
+          .thenCompose(v -> BoundedAsyncMapper.map(compPO.getCompositePoLines(), windowSize,
+            poLine -> orderLineHelper.openOrderUpdateInventory(poLine, getFirstTitleIdIfExist(lineIdsTitles, poLine),
+              instanceLookupIndex, holdingsResolver, requestContext)));
+      })
+      .thenAccept(results -> logger.debug("Inventory is updated for {} PO line(s)", results.size()));
   }
 
   private String getFirstTitleIdIfExist(Map<String, List<Title>> lineIdsTitles, CompositePoLine poLine) {
@@ -1056,11 +1193,12 @@ public class PurchaseOrderHelper extends AbstractHelper {
       .orElse(null);
   }
 
-  private CompletableFuture<Void> handlePoLines(CompositePurchaseOrder compOrder, List<PoLine> poLinesFromStorage) {
+  private CompletableFuture<Void> handlePoLines(CompositePurchaseOrder compOrder, List<PoLine> poLinesFromStorage,
+                                                Map<String, JsonDiff> linesChanges) {
     logger.info("handlePoLines start");
     List<CompletableFuture<?>> futures = new ArrayList<>(processPoLinesCreation(compOrder, poLinesFromStorage));
     if (!poLinesFromStorage.isEmpty()) {
-      futures.addAll(processPoLinesUpdate(compOrder, poLinesFromStorage));
+      futures.add(processPoLinesUpdate(compOrder, poLinesFromStorage, linesChanges));
       // The remaining unprocessed PoLines should be removed
       poLinesFromStorage
         .forEach(poLine -> futures.add(orderInvoiceRelationService.checkOrderInvoiceRelationship(compOrder.getId(), getRequestContext())
@@ -1071,24 +1209,29 @@ public class PurchaseOrderHelper extends AbstractHelper {
     return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
   }
 
-  private List<CompletableFuture<?>> processPoLinesUpdate(CompositePurchaseOrder compOrder, List<PoLine> poLinesFromStorage) {
-    List<CompletableFuture<?>> futures = new ArrayList<>();
+  private CompletableFuture<List<Void>> processPoLinesUpdate(CompositePurchaseOrder compOrder, List<PoLine> poLinesFromStorage,
+                                                            Map<String, JsonDiff> linesChanges) {
+    List<Pair<CompositePoLine, PoLine>> linesToUpdate = new ArrayList<>();
     Iterator<PoLine> iterator = poLinesFromStorage.iterator();
     while (iterator.hasNext()) {
       PoLine lineFromStorage = iterator.next();
       for (CompositePoLine line : compOrder.getCompositePoLines()) {
         if (StringUtils.equals(lineFromStorage.getId(), line.getId())) {
-          line.setPoLineNumber(orderLineHelper.buildNewPoLineNumber(lineFromStorage, compOrder.getPoNumber()));
-          orderLineHelper.updateLocationsQuantity(line.getLocations());
-          orderLineHelper.updateEstimatedPrice(line);
-
-          futures.add(orderLineHelper.updateOrderLine(line, JsonObject.mapFrom(lineFromStorage)));
+          // Lines which are the same as in storage are neither deleted nor updated
+          JsonDiff changes = linesChanges.get(line.getId());
+          if (changes == null || !changes.isEmpty()) {
+            linesToUpdate.add(Pair.of(line, lineFromStorage));
+          }
           iterator.remove();
           break;
         }
       }
     }
-    return futures;
+    // Limit number of concurrent PO line updates so big orders do not flood the storage
+    return getTenantConfiguration()
+      .thenCompose(config -> BoundedAsyncMapper.map(linesToUpdate, getWindowSize(config, Downstream.ORDERS_STORAGE),
+        pair -> orderLineHelper.updateOrderLine(pair.getLeft(), JsonObject.mapFrom(pair.getRight()),
+          linesChanges.get(pair.getLeft().getId()))));
   }
 
   private List<CompletableFuture<CompositePoLine>> processPoLinesCreation(CompositePurchaseOrder compOrder, List<PoLine> poLinesFromStorage) {
@@ -10,6 +10,7 @@ import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 import static org.folio.orders.utils.ErrorCodes.LOCATION_CAN_NOT_BE_MODIFIER_AFTER_OPEN;
 import static org.folio.orders.utils.HelperUtils.URL_WITH_LANG_PARAM;
+import static org.folio.orders.utils.HelperUtils.buildTotalRecordsParam;
 import static org.folio.orders.utils.HelperUtils.calculateEstimatedPrice;
 import static org.folio.orders.utils.HelperUtils.calculateTotalLocationQuantity;
 import static org.folio.orders.utils.HelperUtils.collectResultsOnSuccess;
@@ -36,6 +37,7 @@ import static org.folio.rest.jaxrs.model.CompositePurchaseOrder.WorkflowStatus.P
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -45,6 +47,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -52,11 +55,15 @@ import javax.ws.rs.core.Response;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.folio.completablefuture.FolioVertxCompletableFuture;
 import org.folio.orders.events.handlers.MessageAddress;
 import org.folio.orders.rest.exceptions.HttpException;
+import org.folio.orders.utils.BoundedAsyncMapper;
 import org.folio.orders.utils.ErrorCodes;
 import org.folio.orders.utils.HelperUtils;
+import org.folio.orders.utils.JsonDiff;
+import org.folio.orders.utils.KeysetCursor;
 import org.folio.orders.utils.POLineProtectedFields;
 import org.folio.orders.utils.ProtectedOperationType;
 import org.folio.rest.acq.model.SequenceNumber;
@@ -88,6 +95,8 @@ import org.folio.service.finance.expenceclass.ExpenseClassValidationService;
 import org.folio.service.finance.transaction.EncumbranceService;
 import org.folio.service.finance.transaction.EncumbranceWorkflowStrategy;
 import org.folio.service.finance.transaction.EncumbranceWorkflowStrategyFactory;
+import org.folio.service.inventory.HoldingsResolver;
+import org.folio.service.inventory.InstanceLookupIndex;
 import org.folio.service.inventory.InventoryManager;
 import org.folio.service.orders.OrderInvoiceRelationService;
 import org.folio.service.orders.OrderWorkflowType;
@@ -107,7 +116,10 @@ public class PurchaseOrderLineHelper extends AbstractHelper {
   private static final String PURCHASE_ORDER_ID = "purchaseOrderId";
   private static final String GET_PO_LINES_BY_QUERY = resourcesPath(PO_LINES) + SEARCH_PARAMS;
   private static final String PO_LINE_NUMBER_ENDPOINT = resourcesPath(PO_LINE_NUMBER) + "?" + PURCHASE_ORDER_ID + "=";
-  private static final Pattern PO_LINE_NUMBER_PATTERN = Pattern.compile("([a-zA-Z0-9]{1,22}-)([0-9]{1,3})");
+  private static final String PO_LINE_NUMBERS_PARAM = "poLineNumbers";
+  private static final String SEQUENCE_NUMBER = "sequenceNumber";
+  private static final String SEQUENCE_NUMBERS = "sequenceNumbers";
+  private static final Pattern PO_LINE_NUMBER_PATTERN = Pattern.compile("([a-zA-Z0-9]{1,22}-)([0-9]+)");
   private static final String CREATE_INVENTORY = "createInventory";
   private static final String ERESOURCE = "eresource";
   private static final String PHYSICAL = "physical";
@@ -147,9 +159,13 @@ public class PurchaseOrderLineHelper extends AbstractHelper {
   }
 
   CompletableFuture<PoLineCollection> getPoLines(int limit, int offset, String query, String path) {
+    return getPoLines(limit, offset, query, path, true);
+  }
+
+  private CompletableFuture<PoLineCollection> getPoLines(int limit, int offset, String query, String path, boolean totalRecords) {
     CompletableFuture<PoLineCollection> future = new CompletableFuture<>();
     try {
-      String queryParam = isEmpty(query) ? EMPTY : "&query=" + encodeQuery(query, logger);
+      String queryParam = (isEmpty(query) ? EMPTY : "&query=" + encodeQuery(query, logger)) + buildTotalRecordsParam(totalRecords);
       String endpoint = String.format(path, limit, offset, queryParam, lang);
       handleGetRequest(endpoint, httpClient, okapiHeaders, logger)
         .thenAccept(jsonOrderLines -> {
@@ -192,12 +208,32 @@ public class PurchaseOrderLineHelper extends AbstractHelper {
    * @return Completable future which holds {@link PoLineCollection} on success or an exception on any error
    */
   public CompletableFuture<PoLineCollection> getOrderLines(int limit, int offset, String query) {
+    return getOrderLines(limit, offset, query, null, true);
+  }
+
+  /**
+   * Same as {@link #getOrderLines(int, int, String)} but the page can be selected by cursor
+   *
+   * @param cursor       {@link KeysetCursor} of the page, the offset is ignored if specified
+   * @param totalRecords whether the storage should count all PO lines matching the query
+   */
+  public CompletableFuture<PoLineCollection> getOrderLines(int limit, int offset, String query, String cursor,
+                                                           boolean totalRecords) {
+    KeysetCursor keysetCursor;
+    try {
+      keysetCursor = KeysetCursor.parse(cursor);
+    } catch (Exception e) {
+      return CompletableFuture.failedFuture(e);
+    }
     return acquisitionsUnitsService.buildAcqUnitsCqlExprToSearchRecords(getRequestContext(), "purchaseOrder.")
       .thenCompose(acqUnitsCqlExpr -> {
-        if (isEmpty(query)) {
-          return getPoLines(limit, offset, acqUnitsCqlExpr);
+        int pageOffset = keysetCursor == null ? offset : 0;
+        String pageQuery = keysetCursor == null ? query : keysetCursor.buildQuery(query);
+        if (isEmpty(pageQuery)) {
+          return getPoLines(limit, pageOffset, acqUnitsCqlExpr, GET_PO_LINES_BY_QUERY, totalRecords);
         }
-        return getPoLines(limit, offset, combineCqlExpressions("and", acqUnitsCqlExpr, query), GET_PO_LINES_BY_QUERY);
+        return getPoLines(limit, pageOffset, combineCqlExpressions("and", acqUnitsCqlExpr, pageQuery), GET_PO_LINES_BY_QUERY,
+          totalRecords);
       });
   }
 
@@ -250,6 +286,19 @@ public class PurchaseOrderLineHelper extends AbstractHelper {
    * @return completable future which might hold {@link CompositePoLine} on success or an exception if any issue happens
    */
   CompletableFuture<CompositePoLine> createPoLine(CompositePoLine compPoLine, CompositePurchaseOrder compOrder) {
+    return createPoLine(compPoLine, compOrder, () -> generateLineNumber(compOrder));
+  }
+
+  /**
+   * Same as {@link #createPoLine(CompositePoLine, CompositePurchaseOrder)} but with the line number already reserved by
+   * {@link #generateLineNumbers(CompositePurchaseOrder, int, int)}
+   */
+  CompletableFuture<CompositePoLine> createPoLine(CompositePoLine compPoLine, CompositePurchaseOrder compOrder, String lineNumber) {
+    return createPoLine(compPoLine, compOrder, () -> completedFuture(lineNumber));
+  }
+
+  private CompletableFuture<CompositePoLine> createPoLine(CompositePoLine compPoLine, CompositePurchaseOrder compOrder,
+                                                         Supplier<CompletableFuture<String>> lineNumberSupplier) {
     // The id is required because sub-objects are being created first
     if (isEmpty(compPoLine.getId())) {
       compPoLine.setId(UUID.randomUUID().toString());
@@ -265,11 +314,65 @@ public class PurchaseOrderLineHelper extends AbstractHelper {
     subObjFuts.add(createReportingCodes(compPoLine, line));
 
     return allOf(subObjFuts.toArray(new CompletableFuture[0]))
-      .thenCompose(v -> generateLineNumber(compOrder))
+      .thenCompose(v -> lineNumberSupplier.get())
       .thenAccept(lineNumber -> line.put(PO_LINE_NUMBER, lineNumber))
       .thenCompose(v -> createPoLineSummary(compPoLine, line));
   }
 
+  /**
+   * Reserves numbers for new lines of the order. All numbers are requested from the storage at once, the numbers the storage
+   * does not return in one response are requested one by one with up to {@code windowSize} concurrent requests. If the
+   * request for all numbers fails, every number is requested one by one. The numbers are sorted, so the lines get them in
+   * the order they are listed in the order.
+   *
+   * @param compOrder the order the lines are created for
+   * @param count     number of the lines
+   * @return future with {@code count} line numbers in ascending order
+   */
+  CompletableFuture<List<String>> generateLineNumbers(CompositePurchaseOrder compOrder, int count, int windowSize) {
+    if (count <= 1) {
+      return count == 1 ? generateLineNumber(compOrder).thenApply(Collections::singletonList) : completedFuture(Collections.emptyList());
+    }
+    String endpoint = getPoLineNumberEndpoint(compOrder.getId()) + "&" + PO_LINE_NUMBERS_PARAM + "=" + count;
+    return handleGetRequest(endpoint, httpClient, okapiHeaders, logger)
+      .thenApply(this::getSequenceNumbers)
+      .exceptionally(t -> {
+        logger.warn("Line numbers cannot be reserved at once, requesting them one by one", t);
+        return Collections.emptyList();
+      })
+      .thenCompose(sequenceNumbers -> {
+        int missing = count - sequenceNumbers.size();
+        if (missing <= 0) {
+          return completedFuture(sequenceNumbers.subList(0, count));
+        }
+        logger.debug("{} of {} line numbers are reserved at once, requesting the rest one by one", sequenceNumbers.size(), count);
+        return BoundedAsyncMapper.map(Collections.nCopies(missing, compOrder.getId()), windowSize,
+            orderId -> handleGetRequest(getPoLineNumberEndpoint(orderId), httpClient, okapiHeaders, logger))
+          .thenApply(results -> {
+            List<String> allNumbers = new ArrayList<>(sequenceNumbers);
+            results.forEach(json -> allNumbers.add(json.mapTo(SequenceNumber.class).getSequenceNumber()));
+            return allNumbers;
+          });
+      })
+      .thenApply(sequenceNumbers -> sequenceNumbers.stream()
+        .sorted(Comparator.comparingLong(NumberUtils::toLong))
+        .map(sequenceNumber -> buildPoLineNumber(compOrder.getPoNumber(), sequenceNumber))
+        .collect(toList()));
+  }
+
+  private List<String> getSequenceNumbers(JsonObject sequenceNumbersJson) {
+    JsonArray sequenceNumbers = sequenceNumbersJson.getJsonArray(SEQUENCE_NUMBERS);
+    if (sequenceNumbers != null) {
+      return sequenceNumbers.stream()
+        .map(Object::toString)
+        .collect(toList());
+    }
+    // The storage without support of ranges returns single number
+    return Optional.ofNullable(sequenceNumbersJson.getValue(SEQUENCE_NUMBER))
+      .map(sequenceNumber -> Collections.singletonList(sequenceNumber.toString()))
+      .orElse(Collections.emptyList());
+  }
+
   public CompletableFuture<Void> setTenantDefaultCreateInventoryValues(CompositePoLine compPOL) {
     CompletableFuture<JsonObject> future = new CompletableFuture<>();
 
@@ -490,9 +593,19 @@ public class PurchaseOrderLineHelper extends AbstractHelper {
    * @param lineFromStorage {@link JsonObject} representing PO line from storage (/acq-models/mod-orders-storage/schemas/po_line.json)
    */
   CompletableFuture<Void> updateOrderLine(CompositePoLine compOrderLine, JsonObject lineFromStorage) {
+    return updateOrderLine(compOrderLine, lineFromStorage, null);
+  }
+
+  /**
+   * Same as {@link #updateOrderLine(CompositePoLine, JsonObject)} but alerts and reporting codes are not sent to storage if they
+   * are not changed
+   *
+   * @param changes difference between the line in storage and the one in the request, {@code null} if not calculated
+   */
+  CompletableFuture<Void> updateOrderLine(CompositePoLine compOrderLine, JsonObject lineFromStorage, JsonDiff changes) {
     CompletableFuture<Void> future = new CompletableFuture<>();
 
-    updatePoLineSubObjects(compOrderLine, lineFromStorage)
+    updatePoLineSubObjects(compOrderLine, lineFromStorage, changes)
       .thenCompose(poLine -> updateOrderLineSummary(compOrderLine.getId(), poLine))
       .thenAccept(json -> {
         if (getErrors().isEmpty()) {
@@ -521,12 +634,14 @@ public class PurchaseOrderLineHelper extends AbstractHelper {
   }
 
   /**
-   * Creates Inventory records associated with given PO line and updates PO line with corresponding links.
+   * Creates Inventory records associated with given PO line and updates PO line with corresponding links. The instances of the
+   * products already looked up in the index and the holdings already resolved by the resolver of the operation are reused
    *
    * @param compPOL Composite PO line to update Inventory for
    * @return CompletableFuture with void.
    */
-  CompletableFuture<Void> openOrderUpdateInventory(CompositePoLine compPOL, String titleId, RequestContext requestContext) {
+  CompletableFuture<Void> openOrderUpdateInventory(CompositePoLine compPOL, String titleId, InstanceLookupIndex instanceLookupIndex,
+                                                   HoldingsResolver holdingsResolver, RequestContext requestContext) {
     if (Boolean.TRUE.equals(compPOL.getIsPackage())) {
       return completedFuture(null);
     }
@@ -539,8 +654,9 @@ public class PurchaseOrderLineHelper extends AbstractHelper {
           () -> logger.info("Create pieces for PO Line with '{}' id where inventory updates are not required", compPOL.getId()));
     }
 
-    return inventoryManager.handleInstanceRecord(compPOL, requestContext)
-      .thenCompose(compPOLWithInstanceId -> inventoryManager.handleHoldingsAndItemsRecords(compPOLWithInstanceId, requestContext))
+    return inventoryManager.handleInstanceRecord(compPOL, instanceLookupIndex, requestContext)
+      .thenCompose(compPOLWithInstanceId -> inventoryManager.handleHoldingsAndItemsRecords(compPOLWithInstanceId, holdingsResolver,
+        requestContext))
       .thenCompose(piecesWithItemId -> {
         if (isReceiptNotRequired(compPOL.getReceiptStatus())) {
           return completedFuture(null);
@@ -551,7 +667,7 @@ public class PurchaseOrderLineHelper extends AbstractHelper {
   }
 
   CompletableFuture<Void> updateInventory(CompositePoLine compPOL, PoLine storagePoLine, String titleId, boolean isOpenOrderFlow,
-                                          RequestContext requestContext) {
+                                          InstanceLookupIndex instanceLookupIndex, RequestContext requestContext) {
     if (Boolean.TRUE.equals(compPOL.getIsPackage())) {
       return completedFuture(null);
     }
@@ -564,7 +680,7 @@ public class PurchaseOrderLineHelper extends AbstractHelper {
         () -> logger.info("Create pieces for PO Line with '{}' id where inventory updates are not required", compPOL.getId()));
     }
 
-    return inventoryManager.handleInstanceRecord(compPOL, requestContext)
+    return inventoryManager.handleInstanceRecord(compPOL, instanceLookupIndex, requestContext)
       .thenCompose(compPoLineWithInstanceId -> inventoryManager.handleHoldingsAndItemsRecords(compPoLineWithInstanceId, storagePoLine, requestContext))
       .thenCompose(piecesWithItemId -> {
         if (isReceiptNotRequired(compPOL.getReceiptStatus())) {
@@ -718,14 +834,21 @@ public class PurchaseOrderLineHelper extends AbstractHelper {
       });
   }
 
-  private CompletionStage<JsonObject> updatePoLineSubObjects(CompositePoLine compOrderLine, JsonObject lineFromStorage) {
+  private CompletionStage<JsonObject> updatePoLineSubObjects(CompositePoLine compOrderLine, JsonObject lineFromStorage,
+                                                             JsonDiff changes) {
     JsonObject updatedLineJson = mapFrom(compOrderLine);
     logger.debug("Updating PO line sub-objects...");
 
     List<CompletableFuture<Void>> futures = new ArrayList<>();
 
-    futures.add(handleSubObjsOperation(ALERTS, updatedLineJson, lineFromStorage));
-    futures.add(handleSubObjsOperation(REPORTING_CODES, updatedLineJson, lineFromStorage));
+    for (String prop : List.of(ALERTS, REPORTING_CODES)) {
+      if (changes == null || changes.isChanged(prop)) {
+        futures.add(handleSubObjsOperation(prop, updatedLineJson, lineFromStorage));
+      } else {
+        // Sub-objects are the same as in storage, so the line keeps referencing them
+        updatedLineJson.put(prop, lineFromStorage.getJsonArray(prop, new JsonArray()).copy());
+      }
+    }
 
     // Once all operations completed, return updated PO Line with new sub-object id's as json object
     return allOf(futures.toArray(new CompletableFuture[0]))
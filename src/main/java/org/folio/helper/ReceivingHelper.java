@@ -3,7 +3,6 @@ package org.folio.helper;
 import static java.util.stream.Collectors.collectingAndThen;
 import static java.util.stream.Collectors.mapping;
 import static java.util.stream.Collectors.toList;
-import static org.folio.orders.utils.ErrorCodes.ITEM_UPDATE_FAILED;
 import static org.folio.orders.utils.HelperUtils.buildQuery;
 import static org.folio.orders.utils.HelperUtils.collectResultsOnSuccess;
 import static org.folio.orders.utils.HelperUtils.combineCqlExpressions;
@@ -13,7 +12,6 @@ import static org.folio.orders.utils.ResourcePathResolver.RECEIVING_HISTORY;
 import static org.folio.orders.utils.ResourcePathResolver.resourcesPath;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -79,19 +77,11 @@ public class ReceivingHelper extends CheckinReceivePiecesHelper<ReceivedItem> {
 
   private CompletableFuture<ReceivingResults> processReceiveItems(ReceivingCollection receivingCollection, RequestContext requestContext) {
     Map<String, Map<String, String>> pieceLocationsGroupedByPoLine = groupLocationsByPoLineIdOnReceiving(receivingCollection);
-    // 1. Get piece records from storage
-    return this.retrievePieceRecords(receivingItems, requestContext)
-      // 2. Filter locationId
-      .thenCompose(this::filterMissingLocations)
-      // 3. Update items in the Inventory if required
-      .thenCompose(pieces -> updateInventoryItems(pieceLocationsGroupedByPoLine, pieces, requestContext))
-      // 4. Update piece records with receiving details which do not have associated item
-      .thenApply(this::updatePieceRecordsWithoutItems)
-      // 5. Update received piece records in the storage
-      .thenCompose(this::storeUpdatedPieceRecords)
-      // 6. Update PO Line status
+    // 1. Receive pieces window by window: get piece records, update items in the Inventory and store the pieces
+    return processPiecesInWindows(receivingItems, pieceLocationsGroupedByPoLine, requestContext)
+      // 2. Update PO Line status once for all the pieces
       .thenCompose(this::updatePoLinesStatus)
-      // 7. Return results to the client
+      // 3. Return results to the client
       .thenApply(piecesGroupedByPoLine -> prepareResponseBody(receivingCollection, piecesGroupedByPoLine));
   }
 
@@ -103,7 +93,7 @@ public class ReceivingHelper extends CheckinReceivePiecesHelper<ReceivedItem> {
    *          value
    * @return map passed as a parameter
    */
-  protected CompletableFuture<Map<String, List<Piece>>> updatePoLinesStatus(Map<String, List<Piece>> piecesGroupedByPoLine) {
+  protected CompletableFuture<Map<String, ProcessedPieces>> updatePoLinesStatus(Map<String, ProcessedPieces> piecesGroupedByPoLine) {
     if (piecesGroupedByPoLine.isEmpty()) {
       return CompletableFuture.completedFuture(piecesGroupedByPoLine);
     } else {
@@ -111,18 +101,17 @@ public class ReceivingHelper extends CheckinReceivePiecesHelper<ReceivedItem> {
       // Once all PO Lines are retrieved from storage check if receipt status
       // requires update and persist in storage
       return getPoLines(poLineIdsForUpdatedPieces).thenCompose(poLines -> {
-        // Calculate expected status for each PO Line and update with new one if required
+        // Calculate expected status for all PO Lines at once and update each with new one if required
         // Skip status update if PO line status is Ongoing
-        List<CompletableFuture<String>> futures = new ArrayList<>();
-        for (PoLine poLine : poLines) {
-          if (!poLine.getPaymentStatus().equals(PoLine.PaymentStatus.ONGOING)) {
-            List<Piece> successfullyProcessedPieces = getSuccessfullyProcessedPieces(poLine.getId(), piecesGroupedByPoLine);
-            futures.add(calculatePoLineReceiptStatus(poLine, successfullyProcessedPieces)
-              .thenCompose(status -> updatePoLineReceiptStatus(poLine, status, httpClient, okapiHeaders, logger)));
-          }
-        }
-
-        return collectResultsOnSuccess(futures).thenAccept(updatedPoLines -> {
+        List<PoLine> poLinesToUpdate = StreamEx.of(poLines)
+          .filter(poLine -> !poLine.getPaymentStatus().equals(PoLine.PaymentStatus.ONGOING))
+          .toList();
+        return calculatePoLinesReceiptStatus(poLinesToUpdate, piecesGroupedByPoLine).thenCompose(receiptStatuses -> {
+          List<CompletableFuture<String>> futures = StreamEx.of(poLinesToUpdate)
+            .map(poLine -> updatePoLineReceiptStatus(poLine, receiptStatuses.get(poLine.getId()), httpClient, okapiHeaders, logger))
+            .toList();
+          return collectResultsOnSuccess(futures);
+        }).thenAccept(updatedPoLines -> {
           logger.debug("{} out of {} PO Line(s) updated with new status", updatedPoLines.size(), piecesGroupedByPoLine.size());
 
           // Send event to check order status for successfully processed PO Lines
@@ -192,7 +181,7 @@ public class ReceivingHelper extends CheckinReceivePiecesHelper<ReceivedItem> {
     return future;
   }
 
-  private ReceivingResults prepareResponseBody(ReceivingCollection receivingCollection, Map<String, List<Piece>> piecesGroupedByPoLine) {
+  private ReceivingResults prepareResponseBody(ReceivingCollection receivingCollection, Map<String, ProcessedPieces> piecesGroupedByPoLine) {
     ReceivingResults results = new ReceivingResults();
     results.setTotalRecords(receivingCollection.getTotalRecords());
     for (ToBeReceived toBeReceived : receivingCollection.getToBeReceived()) {
@@ -201,9 +190,7 @@ public class ReceivingHelper extends CheckinReceivePiecesHelper<ReceivedItem> {
       results.getReceivingResults().add(result);
 
       // Get all processed piece records for PO Line
-      Map<String, Piece> processedPiecesForPoLine = StreamEx
-        .of(piecesGroupedByPoLine.getOrDefault(poLineId, Collections.emptyList()))
-        .toMap(Piece::getId, piece -> piece);
+      ProcessedPieces processedPiecesForPoLine = piecesGroupedByPoLine.getOrDefault(poLineId, ProcessedPieces.EMPTY);
 
       Map<String, Integer> resultCounts = new HashMap<>();
       resultCounts.put(ProcessingStatus.Type.SUCCESS.toString(), 0);
@@ -248,25 +235,13 @@ public class ReceivingHelper extends CheckinReceivePiecesHelper<ReceivedItem> {
 
 
   @Override
-  CompletableFuture<Boolean> receiveInventoryItemAndUpdatePiece(JsonObject item, Piece piece, RequestContext requestContext) {
-    ReceivedItem receivedItem = piecesByLineId.get(piece.getPoLineId())
-      .get(piece.getId());
-    return inventoryManager
-      // Update item records with receiving information and send updates to
-      // Inventory
-      .receiveItem(item, receivedItem, requestContext)
-      // Update Piece record object with receiving details if item updated
-      // successfully
-      .thenApply(v -> {
-        updatePieceWithReceivingInfo(piece);
-        return true;
-      })
-      // Add processing error if item failed to be updated
-      .exceptionally(e -> {
-        logger.error("Item associated with piece '{}' cannot be updated", piece.getId());
-        addError(piece.getPoLineId(), piece.getId(), ITEM_UPDATE_FAILED.toError());
-        return false;
-      });
+  void applyRequestDetailsToItem(JsonObject item, Piece piece) {
+    inventoryManager.applyReceivingDetails(item, piecesByLineId.get(piece.getPoLineId()).get(piece.getId()));
+  }
+
+  @Override
+  void updatePieceWithItemProcessed(Piece piece) {
+    updatePieceWithReceivingInfo(piece);
   }
 
   @Override
@@ -0,0 +1,44 @@
+package org.folio.models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-item result of the inventory items creation: ids of the created items and the cause of failure for each item which
+ * could not be created. Ids are generated before the items are sent, so failed items are identified by their intended id.
+ */
+public class ItemCreationReport {
+  private final List<String> createdItemIds = new ArrayList<>();
+  private final Map<String, Throwable> failedItems = new LinkedHashMap<>();
+
+  public ItemCreationReport withCreatedItemId(String itemId) {
+    createdItemIds.add(itemId);
+    return this;
+  }
+
+  public ItemCreationReport withFailedItem(String itemId, Throwable cause) {
+    failedItems.put(itemId, cause);
+    return this;
+  }
+
+  public ItemCreationReport withReport(ItemCreationReport report) {
+    createdItemIds.addAll(report.getCreatedItemIds());
+    failedItems.putAll(report.getFailedItems());
+    return this;
+  }
+
+  public List<String> getCreatedItemIds() {
+    return Collections.unmodifiableList(createdItemIds);
+  }
+
+  public Map<String, Throwable> getFailedItems() {
+    return Collections.unmodifiableMap(failedItems);
+  }
+
+  public boolean hasFailures() {
+    return !failedItems.isEmpty();
+  }
+}
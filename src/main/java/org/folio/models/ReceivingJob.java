@@ -0,0 +1,131 @@
+package org.folio.models;
+
+import java.util.Date;
+
+import org.folio.rest.jaxrs.model.Errors;
+import org.folio.rest.jaxrs.model.ReceivingResults;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Receiving or check-in request processed in the background. The state is updated by the job executor and read by the polling
+ * requests, so the mutable fields are volatile.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReceivingJob {
+
+  public enum Type {
+    RECEIVE, CHECK_IN
+  }
+
+  public enum Status {
+    PENDING, IN_PROGRESS, COMPLETED, FAILED
+  }
+
+  private final String id;
+  private final Type type;
+  private final String tenantId;
+  private final int totalRecords;
+  private final Date createdDate;
+
+  private volatile Status status = Status.PENDING;
+  private volatile int processedRecords;
+  private volatile Date startedDate;
+  private volatile Date completedDate;
+  private volatile ReceivingResults result;
+  private volatile Errors errors;
+  private volatile boolean resultFetched;
+
+  public ReceivingJob(String id, Type type, String tenantId, int totalRecords, Date createdDate) {
+    this.id = id;
+    this.type = type;
+    this.tenantId = tenantId;
+    this.totalRecords = totalRecords;
+    this.createdDate = createdDate;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  @JsonIgnore
+  public String getTenantId() {
+    return tenantId;
+  }
+
+  public int getTotalRecords() {
+    return totalRecords;
+  }
+
+  public Date getCreatedDate() {
+    return createdDate;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public int getProcessedRecords() {
+    return processedRecords;
+  }
+
+  public Date getStartedDate() {
+    return startedDate;
+  }
+
+  public Date getCompletedDate() {
+    return completedDate;
+  }
+
+  public ReceivingResults getResult() {
+    return result;
+  }
+
+  public Errors getErrors() {
+    return errors;
+  }
+
+  @JsonIgnore
+  public boolean isFinished() {
+    return status == Status.COMPLETED || status == Status.FAILED;
+  }
+
+  /**
+   * @return {@code true} if the job was fetched after it had finished, so its result or errors are delivered
+   */
+  @JsonIgnore
+  public boolean isResultFetched() {
+    return resultFetched;
+  }
+
+  public void markResultFetched() {
+    this.resultFetched = true;
+  }
+
+  public void start(Date startedDate) {
+    this.startedDate = startedDate;
+    this.status = Status.IN_PROGRESS;
+  }
+
+  public void setProcessedRecords(int processedRecords) {
+    this.processedRecords = processedRecords;
+  }
+
+  public void complete(ReceivingResults result, Date completedDate) {
+    this.result = result;
+    this.processedRecords = totalRecords;
+    this.completedDate = completedDate;
+    this.status = Status.COMPLETED;
+  }
+
+  public void fail(Errors errors, Date completedDate) {
+    this.errors = errors;
+    this.completedDate = completedDate;
+    this.status = Status.FAILED;
+  }
+}
@@ -5,24 +5,21 @@ import static org.folio.orders.utils.HelperUtils.handleGetRequest;
 import static org.folio.orders.utils.HelperUtils.updatePoLineReceiptStatus;
 import static org.folio.orders.utils.ResourcePathResolver.PIECES;
 import static org.folio.orders.utils.ResourcePathResolver.resourcesPath;
-import static org.folio.rest.jaxrs.model.PoLine.ReceiptStatus.AWAITING_RECEIPT;
-import static org.folio.rest.jaxrs.model.PoLine.ReceiptStatus.FULLY_RECEIVED;
-import static org.folio.rest.jaxrs.model.PoLine.ReceiptStatus.PARTIALLY_RECEIVED;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.Logger;
 import org.folio.helper.AbstractHelper;
-import org.folio.orders.utils.AsyncUtil;
+import org.folio.orders.utils.HelperUtils;
 import org.folio.rest.acq.model.Piece;
 import org.folio.rest.acq.model.Piece.ReceivingStatus;
 import org.folio.rest.acq.model.PieceCollection;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.jaxrs.model.PoLine;
-import org.folio.rest.jaxrs.model.PoLine.ReceiptStatus;
 import org.folio.rest.tools.client.interfaces.HttpClientInterface;
 import org.folio.service.orders.PurchaseOrderLineService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -120,38 +117,12 @@ public class ReceiptStatusConsistency extends AbstractHelper implements Handler<
 
     if (pieces.isEmpty()) {
       return completedFuture(poLine.getReceiptStatus());
-    } else {
-      return getPiecesQuantityByPoLineAndStatus(ReceivingStatus.EXPECTED, pieces)
-        .thenCompose(expectedQty -> calculatePoLineReceiptStatus(expectedQty, pieces))
-        .exceptionally(e -> {
-          logger.error("The expected receipt status for PO Line '{}' cannot be calculated", poLine.getId(), e);
-          return null;
-        });
     }
-  }
-
-  private CompletableFuture<ReceiptStatus> calculatePoLineReceiptStatus(int expectedPiecesQuantity,
-      List<org.folio.rest.acq.model.Piece> pieces) {
-
-    if (expectedPiecesQuantity == 0) {
-      return CompletableFuture.completedFuture(FULLY_RECEIVED);
-    }
-    // Partially Received: In case there is at least one successfully received
-    // piece
-    if (StreamEx.of(pieces)
-      .anyMatch(piece -> ReceivingStatus.RECEIVED == piece.getReceivingStatus())) {
-      return CompletableFuture.completedFuture(PARTIALLY_RECEIVED);
-    }
-    // Pieces were rolled-back to Expected. In this case we have to check if
-    // there is any Received piece in the storage
-    return getPiecesQuantityByPoLineAndStatus(ReceivingStatus.RECEIVED, pieces)
-      .thenApply(receivedQty -> receivedQty == 0 ? AWAITING_RECEIPT : PARTIALLY_RECEIVED);
-  }
-
-  private CompletableFuture<Integer> getPiecesQuantityByPoLineAndStatus(ReceivingStatus receivingStatus, List<Piece> pieces) {
-    return AsyncUtil.executeBlocking(ctx, false, () -> (int) pieces.stream()
-      .filter(piece -> piece.getReceivingStatus() == receivingStatus)
-      .count());
+    // All pieces of the PO Line are already loaded, so they are counted by status in one pass
+    Map<ReceivingStatus, Long> quantities = StreamEx.of(pieces)
+      .groupingBy(Piece::getReceivingStatus, Collectors.counting());
+    return completedFuture(HelperUtils.calculatePoLineReceiptStatus(quantities.getOrDefault(ReceivingStatus.EXPECTED, 0L),
+        quantities.getOrDefault(ReceivingStatus.RECEIVED, 0L), false));
   }
 
   CompletableFuture<PieceCollection> getPieces(String endpoint, HttpClientInterface httpClient, Map<String, String> okapiHeaders,
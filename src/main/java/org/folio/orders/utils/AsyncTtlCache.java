@@ -0,0 +1,185 @@
+package org.folio.orders.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Size bounded cache of asynchronously loaded values with time-to-live.
+ * <ul>
+ * <li>a value younger than {@code ttlMs} is returned as is</li>
+ * <li>a value older than {@code ttlMs} but younger than {@code ttlMs + staleMs} is still returned and reloaded in the
+ * background (stale-while-revalidate)</li>
+ * <li>otherwise the caller waits for the value to be loaded; concurrent loads of the same key share one request</li>
+ * </ul>
+ * Failed loads are not cached. When the cache is full, the least recently used entry is evicted. Since cached values are
+ * shared between requests, {@code copier} is applied to each returned value if the callers can modify it.
+ */
+public class AsyncTtlCache<K, V> {
+
+  private static final Logger logger = LogManager.getLogger();
+
+  private final String name;
+  private final long ttlMs;
+  private final long staleMs;
+  private final int maxSize;
+  private final UnaryOperator<V> copier;
+  private final LongSupplier clock;
+
+  private final Map<K, Entry<V>> entries;
+  private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong staleHits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong loadFailures = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+
+  public AsyncTtlCache(String name, long ttlMs, long staleMs, int maxSize, UnaryOperator<V> copier) {
+    this(name, ttlMs, staleMs, maxSize, copier, System::currentTimeMillis);
+  }
+
+  AsyncTtlCache(String name, long ttlMs, long staleMs, int maxSize, UnaryOperator<V> copier, LongSupplier clock) {
+    this.name = name;
+    this.ttlMs = ttlMs;
+    this.staleMs = staleMs;
+    this.maxSize = maxSize;
+    this.copier = copier;
+    this.clock = clock;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+        boolean evict = size() > AsyncTtlCache.this.maxSize;
+        if (evict) {
+          evictions.incrementAndGet();
+        }
+        return evict;
+      }
+    };
+  }
+
+  /**
+   * Returns cached value for the key or loads it with the loader
+   */
+  public CompletableFuture<V> get(K key, Function<K, CompletableFuture<V>> loader) {
+    long now = clock.getAsLong();
+    Entry<V> entry;
+    synchronized (entries) {
+      entry = entries.get(key);
+    }
+
+    if (entry != null) {
+      long age = now - entry.loadedAt;
+      if (age < ttlMs) {
+        hits.incrementAndGet();
+        return CompletableFuture.completedFuture(copy(entry.value));
+      }
+      if (age < ttlMs + staleMs) {
+        staleHits.incrementAndGet();
+        load(key, loader);
+        return CompletableFuture.completedFuture(copy(entry.value));
+      }
+    }
+
+    misses.incrementAndGet();
+    return load(key, loader).thenApply(this::copy);
+  }
+
+  public void invalidate(K key) {
+    synchronized (entries) {
+      entries.remove(key);
+    }
+    inFlight.remove(key);
+  }
+
+  public void invalidateIf(Predicate<K> predicate) {
+    synchronized (entries) {
+      entries.keySet().removeIf(predicate);
+    }
+    inFlight.keySet().removeIf(predicate);
+  }
+
+  public void invalidateAll() {
+    synchronized (entries) {
+      entries.clear();
+    }
+    inFlight.clear();
+  }
+
+  /**
+   * @return cache counters and the current number of entries
+   */
+  public JsonObject getMetrics() {
+    int size;
+    synchronized (entries) {
+      size = entries.size();
+    }
+    return new JsonObject()
+      .put("name", name)
+      .put("size", size)
+      .put("maxSize", maxSize)
+      .put("ttlMs", ttlMs)
+      .put("hits", hits.get())
+      .put("staleHits", staleHits.get())
+      .put("misses", misses.get())
+      .put("loadFailures", loadFailures.get())
+      .put("evictions", evictions.get());
+  }
+
+  private V copy(V value) {
+    return value == null ? null : copier.apply(value);
+  }
+
+  private CompletableFuture<V> load(K key, Function<K, CompletableFuture<V>> loader) {
+    CompletableFuture<V> future = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+    if (existing != null) {
+      return existing;
+    }
+
+    CompletableFuture<V> loading;
+    try {
+      loading = loader.apply(key);
+    } catch (Exception e) {
+      loading = CompletableFuture.failedFuture(e);
+    }
+    loading.whenComplete((value, t) -> {
+      // The value is not stored if the key was invalidated while it was being loaded
+      if (inFlight.remove(key, future) && t == null) {
+        synchronized (entries) {
+          entries.put(key, new Entry<>(value, clock.getAsLong()));
+        }
+      }
+      if (t == null) {
+        future.complete(value);
+      } else {
+        loadFailures.incrementAndGet();
+        logger.warn("Failed to load '{}' cache entry for key {}", name, key);
+        future.completeExceptionally(t instanceof CompletionException && t.getCause() != null ? t.getCause() : t);
+      }
+    });
+    return future;
+  }
+
+  private static class Entry<V> {
+    private final V value;
+    private final long loadedAt;
+
+    Entry(V value, long loadedAt) {
+      this.value = value;
+      this.loadedAt = loadedAt;
+    }
+  }
+}
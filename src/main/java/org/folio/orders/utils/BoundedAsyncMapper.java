@@ -0,0 +1,202 @@
+package org.folio.orders.utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.math.NumberUtils;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Maps list of items to asynchronous operations keeping no more than {@code windowSize} operations in flight, so a big
+ * fan-out (e.g. one request per item copy or per PO line) does not flood the downstream module. Results are returned in the
+ * order of the source items. Two modes are supported:
+ * <ul>
+ * <li>{@link #map} - fail-fast: no new operations are started after the first failure and the resulting future is completed
+ * exceptionally with its cause</li>
+ * <li>{@link #mapCollectingErrors} - all operations are executed and the outcome of each one is returned, or only the
+ * failures by key of the item with {@link #mapCollectingFailures}</li>
+ * </ul>
+ * The window size is configured per downstream module and tenant with {@value #MAX_CONCURRENCY_CONFIG_PREFIX}&lt;downstream&gt;
+ * entry of the ORDERS module configuration.
+ */
+public final class BoundedAsyncMapper {
+
+  public static final String MAX_CONCURRENCY_CONFIG_PREFIX = "maxConcurrency.";
+  public static final int DEFAULT_WINDOW_SIZE = 10;
+
+  public enum Downstream {
+    INVENTORY("inventory"),
+    ORDERS_STORAGE("orders-storage");
+
+    private final String configName;
+
+    Downstream(String name) {
+      this.configName = MAX_CONCURRENCY_CONFIG_PREFIX + name;
+    }
+
+    public String getConfigName() {
+      return configName;
+    }
+  }
+
+  private BoundedAsyncMapper() {
+  }
+
+  /**
+   * @param tenantConfig ORDERS module configuration of the tenant
+   * @param downstream   the module the operations are sent to
+   * @return max number of concurrent operations for the downstream module
+   */
+  public static int getWindowSize(JsonObject tenantConfig, Downstream downstream) {
+    if (tenantConfig == null) {
+      return DEFAULT_WINDOW_SIZE;
+    }
+    int windowSize = NumberUtils.toInt(tenantConfig.getString(downstream.getConfigName()), DEFAULT_WINDOW_SIZE);
+    return windowSize > 0 ? windowSize : DEFAULT_WINDOW_SIZE;
+  }
+
+  /**
+   * Fail-fast mapping of the items
+   *
+   * @return future with results in order of the items or failed future with cause of the first failed operation
+   */
+  public static <T, R> CompletableFuture<List<R>> map(List<T> items, int windowSize, Function<T, CompletableFuture<R>> mapper) {
+    return new Window<>(items, windowSize, true, mapper).start()
+      .thenApply(outcomes -> outcomes.stream()
+        .map(Outcome::getResult)
+        .collect(Collectors.toList()));
+  }
+
+  /**
+   * Maps all the items regardless of failures
+   *
+   * @return future with outcome of each operation in order of the items
+   */
+  public static <T, R> CompletableFuture<List<Outcome<R>>> mapCollectingErrors(List<T> items, int windowSize,
+                                                                            Function<T, CompletableFuture<R>> mapper) {
+    return new Window<>(items, windowSize, false, mapper).start();
+  }
+
+  /**
+   * Maps all the items regardless of failures and keeps only the failures
+   *
+   * @param keyMapper returns the key the failure of the item is reported by, e.g. id of the record
+   * @return future with the cause of failure by key of each failed item in order of the items, empty if all operations
+   *         succeeded
+   */
+  public static <T, K, R> CompletableFuture<Map<K, Throwable>> mapCollectingFailures(List<T> items, int windowSize,
+                                                                                 Function<T, K> keyMapper,
+                                                                                 Function<T, CompletableFuture<R>> mapper) {
+    return mapCollectingErrors(items, windowSize, mapper)
+      .thenApply(outcomes -> {
+        Map<K, Throwable> failures = new LinkedHashMap<>();
+        for (int i = 0; i < outcomes.size(); i++) {
+          if (!outcomes.get(i).isSucceeded()) {
+            failures.put(keyMapper.apply(items.get(i)), outcomes.get(i).getError());
+          }
+        }
+        return failures;
+      });
+  }
+
+  public static final class Outcome<R> {
+    private final R result;
+    private final Throwable error;
+
+    private Outcome(R result, Throwable error) {
+      this.result = result;
+      this.error = error;
+    }
+
+    public R getResult() {
+      return result;
+    }
+
+    public Throwable getError() {
+      return error;
+    }
+
+    public boolean isSucceeded() {
+      return error == null;
+    }
+  }
+
+  private static final class Window<T, R> {
+    private final List<T> items;
+    private final int windowSize;
+    private final boolean failFast;
+    private final Function<T, CompletableFuture<R>> mapper;
+
+    private final AtomicReferenceArray<Outcome<R>> outcomes;
+    private final CompletableFuture<List<Outcome<R>>> result = new CompletableFuture<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+    // Guards the drain loop so operations completed synchronously do not start nested loops
+    private final AtomicInteger wip = new AtomicInteger();
+    private int nextIndex;
+
+    Window(List<T> items, int windowSize, boolean failFast, Function<T, CompletableFuture<R>> mapper) {
+      this.items = items;
+      this.windowSize = Math.max(1, windowSize);
+      this.failFast = failFast;
+      this.mapper = mapper;
+      this.outcomes = new AtomicReferenceArray<>(items.size());
+    }
+
+    CompletableFuture<List<Outcome<R>>> start() {
+      if (items.isEmpty()) {
+        result.complete(new ArrayList<>());
+      } else {
+        drain();
+      }
+      return result;
+    }
+
+    private void drain() {
+      if (wip.getAndIncrement() != 0) {
+        return;
+      }
+      do {
+        while (active.get() < windowSize && nextIndex < items.size() && !result.isDone()) {
+          int index = nextIndex++;
+          active.incrementAndGet();
+          launch(index);
+        }
+      } while (wip.decrementAndGet() != 0);
+    }
+
+    private void launch(int index) {
+      CompletableFuture<R> future;
+      try {
+        future = mapper.apply(items.get(index));
+      } catch (Exception e) {
+        future = CompletableFuture.failedFuture(e);
+      }
+      future.whenComplete((value, t) -> {
+        Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+        outcomes.set(index, new Outcome<>(value, cause));
+        active.decrementAndGet();
+        if (cause != null && failFast) {
+          result.completeExceptionally(cause);
+        } else if (completed.incrementAndGet() == items.size()) {
+          List<Outcome<R>> list = new ArrayList<>(items.size());
+          for (int i = 0; i < items.size(); i++) {
+            list.add(outcomes.get(i));
+          }
+          result.complete(list);
+        } else {
+          drain();
+        }
+      });
+    }
+  }
+}
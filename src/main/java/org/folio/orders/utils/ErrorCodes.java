@@ -82,7 +82,14 @@ public enum ErrorCodes {
   ORDER_RELATES_TO_INVOICE("orderRelatesToInvoice", "This order or order line is linked to Invoice number(s) and can not be deleted"),
   ROLLOVER_NOT_COMPLETED("rolloverNotCompleted", "Rollover has not been completed for some ledgers related to this order"),
   RENEWAL_INTERVAL_IS_NOT_SET("renewalIntervalIsNotSet", "Renewal interval is not set"),
-  RENEWAL_DATE_IS_NOT_SET("renewalDateIsNotSet", "Renewal date is not set");
+  RENEWAL_DATE_IS_NOT_SET("renewalDateIsNotSet", "Renewal date is not set"),
+  INVALID_CURSOR("invalidCursor", "Cursor is not valid or does not match the query"),
+  CURSOR_SORTING_NOT_SUPPORTED("cursorSortingNotSupported", "Only a query sorted by a single field in ascending order can be paged with a cursor"),
+  INVALID_EXPORT_INCLUDE("invalidExportInclude", "Only titles and pieces can be included into the export of orders"),
+  RECEIVING_JOB_NOT_FOUND("receivingJobNotFound", "Receiving job is not found or its results have expired"),
+  RECEIVING_JOBS_LIMIT_EXCEEDED("receivingJobsLimitExceeded", "Too many receiving jobs are waiting to be processed, try again later"),
+  RECEIVING_JOB_RESULTS_LIMIT_EXCEEDED("receivingJobResultsLimitExceeded", "Too many finished receiving jobs have results which are not fetched yet, fetch them or try again later"),
+  UNKNOWN_CALCULATED_FIELDS("unknownCalculatedFields", "Requested calculated fields of the order are not supported");
 
   private final String code;
   private final String description;
@@ -62,9 +62,11 @@ import org.apache.commons.collections4.map.CaseInsensitiveMap;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.Logger;
 import org.folio.helper.AbstractHelper;
 import org.folio.orders.rest.exceptions.HttpException;
+import org.folio.rest.core.OutboundCallMetrics;
 import org.folio.rest.jaxrs.model.Alert;
 import org.folio.rest.jaxrs.model.CloseReason;
 import org.folio.rest.jaxrs.model.CompositePoLine;
@@ -90,6 +92,7 @@ import org.javamoney.moneta.function.MonetaryOperators;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonArray;
@@ -311,6 +314,14 @@ public class HelperUtils {
     return isEmpty(query) ? EMPTY : "&query=" + encodeQuery(query, logger);
   }
 
+  /**
+   * @param totalRecords whether the storage should count all records matching the query
+   * @return parameter asking the storage to skip counting the records, empty if they should be counted
+   */
+  public static String buildTotalRecordsParam(boolean totalRecords) {
+    return totalRecords ? EMPTY : "&totalRecords=none";
+  }
+
   public static String combineCqlExpressions(String operator, String... expressions) {
     if (ArrayUtils.isEmpty(expressions)) {
       return EMPTY;
@@ -641,6 +652,21 @@ public class HelperUtils {
                   .collect(Collectors.groupingBy(Location::getLocationId));
   }
 
+  /**
+   * Returns pairs of instance id and location id of the holdings which should be created for the PO line
+   * @param compPOL PO line with instance id and locations
+   * @return list of distinct pairs where left is instance id and right is location id
+   */
+  public static List<Pair<String, String>> getInstanceLocationPairs(CompositePoLine compPOL) {
+    if (!isHoldingsUpdateRequired(compPOL.getEresource(), compPOL.getPhysical())) {
+      return Collections.emptyList();
+    }
+    return groupLocationsById(compPOL).keySet()
+      .stream()
+      .map(locationId -> Pair.of(compPOL.getInstanceId(), locationId))
+      .collect(toList());
+  }
+
   public static boolean isHoldingCreationRequiredForLocation(CompositePoLine compPOL, Location location) {
     return (isHoldingUpdateRequiredForPhysical(compPOL.getPhysical()) && ObjectUtils.defaultIfNull(location.getQuantityPhysical(), 0) > 0)
       || (isHoldingUpdateRequiredForEresource(compPOL.getEresource()) && ObjectUtils.defaultIfNull(location.getQuantityElectronic(), 0) > 0);
@@ -695,8 +721,8 @@ public class HelperUtils {
     try {
       logger.info("Calling GET {}", endpoint);
 
-      httpClient
-        .request(HttpMethod.GET, endpoint, okapiHeaders)
+      OutboundCallMetrics.getInstance()
+        .record(HttpMethod.GET, endpoint, okapiHeaders, 0, () -> httpClient.request(HttpMethod.GET, endpoint, okapiHeaders))
         .thenApply(response -> {
           logger.debug("Validating response for GET {}", endpoint);
           return verifyAndExtractBody(response);
@@ -732,8 +758,10 @@ public class HelperUtils {
       if (logger.isDebugEnabled()) {
         logger.debug("Sending 'PUT {}' with body: {}", endpoint, recordData.encodePrettily());
       }
-      httpClient
-        .request(HttpMethod.PUT, recordData.toBuffer(), endpoint, okapiHeaders)
+      Buffer payload = recordData.toBuffer();
+      OutboundCallMetrics.getInstance()
+        .record(HttpMethod.PUT, endpoint, okapiHeaders, payload.length(),
+          () -> httpClient.request(HttpMethod.PUT, payload, endpoint, okapiHeaders))
         .thenApply(HelperUtils::verifyAndExtractBody)
         .thenAccept(response -> {
           logger.debug("'PUT {}' request successfully processed", endpoint);
@@ -769,7 +797,8 @@ public class HelperUtils {
     logger.debug(CALLING_ENDPOINT_MSG, HttpMethod.DELETE, endpoint);
 
     try {
-      httpClient.request(HttpMethod.DELETE, endpoint, okapiHeaders)
+      OutboundCallMetrics.getInstance()
+        .record(HttpMethod.DELETE, endpoint, okapiHeaders, 0, () -> httpClient.request(HttpMethod.DELETE, endpoint, okapiHeaders))
         .thenAccept(HelperUtils::verifyResponse)
         .thenApply(future::complete)
         .exceptionally(t -> {
@@ -880,6 +909,23 @@ public class HelperUtils {
     return poLine;
   }
 
+  /**
+   * Returns "Fully Received" status if there is no expected piece remaining (unless the pieces are checked in), otherwise
+   * "Partially Received" if there is at least one received piece and "Awaiting Receipt" if there is none
+   *
+   * @param expectedPiecesQuantity quantity of expected piece records of the PO Line
+   * @param receivedPiecesQuantity quantity of received piece records of the PO Line
+   * @param checkinItems           whether the PO Line is checked in
+   * @return calculated PO Line's receipt status
+   */
+  public static ReceiptStatus calculatePoLineReceiptStatus(long expectedPiecesQuantity, long receivedPiecesQuantity,
+      boolean checkinItems) {
+    if (!checkinItems && expectedPiecesQuantity == 0) {
+      return FULLY_RECEIVED;
+    }
+    return receivedPiecesQuantity == 0 ? ReceiptStatus.AWAITING_RECEIPT : ReceiptStatus.PARTIALLY_RECEIVED;
+  }
+
   public static CompletableFuture<String> updatePoLineReceiptStatus(PoLine poLine, ReceiptStatus status, HttpClientInterface httpClient,
       Map<String, String> okapiHeaders, Logger logger) {
 
@@ -920,13 +966,24 @@ public class HelperUtils {
       }
     }
 
+    throwIfProtectedFieldsChanged(fields);
+    return objectFromStorage;
+  }
+
+  /**
+   * Same as {@link #verifyProtectedFieldsChanged(List, JsonObject, JsonObject)} but uses already calculated difference between
+   * the record in storage and the one in the request
+   */
+  public static void verifyProtectedFieldsChanged(List<String> protectedFields, JsonDiff diff) {
+    throwIfProtectedFieldsChanged(diff.getChangedFields(protectedFields));
+  }
+
+  private static void throwIfProtectedFieldsChanged(Set<String> fields) {
     if (CollectionUtils.isNotEmpty(fields)) {
       Error error = PROHIBITED_FIELD_CHANGING.toError()
         .withAdditionalProperty(PROTECTED_AND_MODIFIED_FIELDS, fields);
       throw new HttpException(400, error);
     }
-
-    return objectFromStorage;
   }
 
   public static List<PoLine> convertJsonToPoLines(List<JsonObject> linesArray) {
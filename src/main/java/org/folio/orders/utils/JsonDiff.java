@@ -0,0 +1,124 @@
+package org.folio.orders.utils;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Structural difference between two versions of a JSON record. Nested objects are compared field by field and their changed
+ * fields are reported with dot separated paths, e.g. {@code cost.listUnitPrice}. A missing or {@code null} object is compared
+ * as an empty one, so adding an empty {@code eresource} object is not a change. Arrays are compared element by element and
+ * reported as a whole by their own path. Numbers are compared by value regardless of their type.
+ */
+public final class JsonDiff {
+
+  private final Set<String> changedPaths;
+
+  private JsonDiff(Set<String> changedPaths) {
+    this.changedPaths = changedPaths;
+  }
+
+  /**
+   * @param before        the record as it is in storage
+   * @param after         the record as it is in the request
+   * @param ignoredFields names of the fields skipped on all levels, e.g. {@code metadata} maintained by the storage
+   */
+  public static JsonDiff compare(JsonObject before, JsonObject after, Set<String> ignoredFields) {
+    Set<String> changedPaths = new TreeSet<>();
+    compareObjects("", before, after, ignoredFields, changedPaths);
+    return new JsonDiff(Collections.unmodifiableSet(changedPaths));
+  }
+
+  public boolean isEmpty() {
+    return changedPaths.isEmpty();
+  }
+
+  public Set<String> getChangedPaths() {
+    return changedPaths;
+  }
+
+  /**
+   * @param path dot separated path of the field
+   * @return {@code true} if the field, one of its nested fields or the object holding it is changed
+   */
+  public boolean isChanged(String path) {
+    return changedPaths.stream()
+      .anyMatch(changed -> changed.equals(path) || changed.startsWith(path + ".") || path.startsWith(changed + "."));
+  }
+
+  /**
+   * @return the fields of {@code paths} which are changed
+   */
+  public Set<String> getChangedFields(Collection<String> paths) {
+    Set<String> fields = new HashSet<>();
+    paths.stream()
+      .filter(this::isChanged)
+      .forEach(fields::add);
+    return fields;
+  }
+
+  @Override
+  public String toString() {
+    return changedPaths.toString();
+  }
+
+  private static void compareObjects(String prefix, JsonObject before, JsonObject after, Set<String> ignoredFields,
+                                     Set<String> changedPaths) {
+    Set<String> fieldNames = new HashSet<>();
+    if (before != null) {
+      fieldNames.addAll(before.fieldNames());
+    }
+    if (after != null) {
+      fieldNames.addAll(after.fieldNames());
+    }
+    for (String field : fieldNames) {
+      if (ignoredFields.contains(field)) {
+        continue;
+      }
+      Object beforeValue = before == null ? null : before.getValue(field);
+      Object afterValue = after == null ? null : after.getValue(field);
+      String path = prefix + field;
+      if (isObjectOrNull(beforeValue) && isObjectOrNull(afterValue)) {
+        compareObjects(path + ".", (JsonObject) beforeValue, (JsonObject) afterValue, ignoredFields, changedPaths);
+      } else if (!valuesEqual(beforeValue, afterValue, ignoredFields)) {
+        changedPaths.add(path);
+      }
+    }
+  }
+
+  private static boolean isObjectOrNull(Object value) {
+    return value == null || value instanceof JsonObject;
+  }
+
+  private static boolean valuesEqual(Object before, Object after, Set<String> ignoredFields) {
+    if (before instanceof JsonObject && after instanceof JsonObject) {
+      Set<String> changedPaths = new HashSet<>();
+      compareObjects("", (JsonObject) before, (JsonObject) after, ignoredFields, changedPaths);
+      return changedPaths.isEmpty();
+    }
+    if (before instanceof JsonArray && after instanceof JsonArray) {
+      JsonArray beforeArray = (JsonArray) before;
+      JsonArray afterArray = (JsonArray) after;
+      if (beforeArray.size() != afterArray.size()) {
+        return false;
+      }
+      for (int i = 0; i < beforeArray.size(); i++) {
+        if (!valuesEqual(beforeArray.getValue(i), afterArray.getValue(i), ignoredFields)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    if (before instanceof Number && after instanceof Number) {
+      return new BigDecimal(before.toString()).compareTo(new BigDecimal(after.toString())) == 0;
+    }
+    return Objects.equals(before, after);
+  }
+}
@@ -0,0 +1,183 @@
+package org.folio.orders.utils;
+
+import static org.folio.orders.utils.ErrorCodes.CURSOR_SORTING_NOT_SUPPORTED;
+import static org.folio.orders.utils.ErrorCodes.INVALID_CURSOR;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.ws.rs.core.Response;
+
+import org.apache.commons.lang3.StringUtils;
+import org.folio.orders.rest.exceptions.HttpException;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Opaque cursor for keyset pagination of the collections. Instead of skipping {@code offset} records, which the storage does by
+ * reading all of them, the next page is selected by the sort field value and id of the last record of the previous page:
+ * <pre>
+ * (query) and (field &gt; "value" or (field == "value" and id &gt; "lastId") or (records without field)) sortBy field id
+ * </pre>
+ * so deep pages are as fast as the first one and do not shift when records are added or deleted concurrently. Only a query
+ * sorted by a single field in ascending order, or not sorted at all, can be paged with a cursor.
+ * <p>
+ * The first page is requested with {@value #FIRST_PAGE} cursor, the cursor of the next page is returned in
+ * {@value #NEXT_CURSOR_HEADER} header if the page is full.
+ */
+public final class KeysetCursor {
+
+  public static final String FIRST_PAGE = "*";
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  private static final String ID = "id";
+  private static final String SORT_BY = "sortBy";
+  private static final String VALUE = "value";
+  private static final String ALL_RECORDS = "cql.allRecords=1";
+  private static final Pattern SORT_BY_PATTERN = Pattern.compile("^(.*?)\\s+sortBy\\s+(.+)$",
+    Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+  private static final Pattern SORT_FIELD_PATTERN = Pattern.compile("^([\\w.]+)(/sort\\.ascending)?$");
+  private static final Pattern CQL_SPECIAL_CHARS = Pattern.compile("([\\\\\"*?^])");
+
+  private final String sortField;
+  private final String lastValue;
+  private final String lastId;
+
+  private KeysetCursor(String sortField, String lastValue, String lastId) {
+    this.sortField = sortField;
+    this.lastValue = lastValue;
+    this.lastId = lastId;
+  }
+
+  /**
+   * @param cursor {@value #FIRST_PAGE} or value of {@value #NEXT_CURSOR_HEADER} header of the previous page
+   * @return decoded cursor or {@code null} if the cursor is not specified
+   */
+  public static KeysetCursor parse(String cursor) {
+    if (StringUtils.isEmpty(cursor)) {
+      return null;
+    }
+    if (FIRST_PAGE.equals(cursor)) {
+      return new KeysetCursor(null, null, null);
+    }
+    try {
+      JsonObject json = new JsonObject(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+      String lastId = json.getString(ID);
+      if (StringUtils.isEmpty(lastId)) {
+        throw new HttpException(400, INVALID_CURSOR);
+      }
+      return new KeysetCursor(json.getString(SORT_BY), json.getString(VALUE), lastId);
+    } catch (HttpException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new HttpException(400, INVALID_CURSOR);
+    }
+  }
+
+  /**
+   * @param query CQL query of the client
+   * @return query selecting the page of the cursor
+   */
+  public String buildQuery(String query) {
+    String[] querySorting = splitSorting(query);
+    String sortField = querySorting[1];
+    if (lastId != null && !Objects.equals(sortField, this.sortField)) {
+      // The cursor was issued for another query
+      throw new HttpException(400, INVALID_CURSOR);
+    }
+
+    StringBuilder cql = new StringBuilder("(").append(StringUtils.defaultIfBlank(querySorting[0], ALL_RECORDS)).append(")");
+    if (lastId != null) {
+      cql.append(" and (");
+      if (sortField == null) {
+        cql.append(ID).append(" > ").append(quote(lastId));
+      } else if (lastValue == null) {
+        // Records without the field are sorted last, so only such records with greater ids are left
+        cql.append(withoutField(sortField)).append(" and ").append(ID).append(" > ").append(quote(lastId));
+      } else {
+        cql.append(sortField).append(" > ").append(quote(lastValue))
+          .append(" or (").append(sortField).append(" == ").append(quote(lastValue))
+          .append(" and ").append(ID).append(" > ").append(quote(lastId)).append(")")
+          .append(" or (").append(withoutField(sortField)).append(")");
+      }
+      cql.append(")");
+    }
+    cql.append(" sortBy ");
+    if (sortField != null) {
+      cql.append(sortField).append(" ");
+    }
+    return cql.append(ID).toString();
+  }
+
+  /**
+   * @param query   CQL query of the client
+   * @param records records of the returned page
+   * @param limit   requested page size
+   * @return cursor of the next page or {@code null} if the page is the last one
+   */
+  public static String next(String query, List<?> records, int limit) {
+    if (records == null || records.isEmpty() || records.size() < limit) {
+      return null;
+    }
+    String sortField = splitSorting(query)[1];
+    JsonObject lastRecord = JsonObject.mapFrom(records.get(records.size() - 1));
+    JsonObject json = new JsonObject().put(ID, lastRecord.getString(ID));
+    if (sortField != null) {
+      json.put(SORT_BY, sortField).put(VALUE, getValue(lastRecord, sortField));
+    }
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(json.encode().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Adds {@value #NEXT_CURSOR_HEADER} header to the response if the page is requested with a cursor and is not the last one
+   */
+  public static Response withNextCursor(Response response, String cursor, String query, List<?> records, int limit) {
+    String nextCursor = StringUtils.isEmpty(cursor) ? null : next(query, records, limit);
+    if (nextCursor == null) {
+      return response;
+    }
+    return Response.fromResponse(response).header(NEXT_CURSOR_HEADER, nextCursor).build();
+  }
+
+  /**
+   * @return the query without sorting and the sort field, {@code null} if the query is not sorted or sorted by id
+   */
+  private static String[] splitSorting(String query) {
+    if (StringUtils.isBlank(query)) {
+      return new String[] { null, null };
+    }
+    Matcher matcher = SORT_BY_PATTERN.matcher(query.trim());
+    if (!matcher.matches()) {
+      return new String[] { query, null };
+    }
+    Matcher sortFieldMatcher = SORT_FIELD_PATTERN.matcher(matcher.group(2).trim());
+    if (!sortFieldMatcher.matches()) {
+      throw new HttpException(400, CURSOR_SORTING_NOT_SUPPORTED);
+    }
+    String sortField = sortFieldMatcher.group(1);
+    return new String[] { matcher.group(1), ID.equals(sortField) ? null : sortField };
+  }
+
+  private static String getValue(JsonObject record, String path) {
+    Object value = record;
+    for (String field : path.split("\\.")) {
+      if (!(value instanceof JsonObject)) {
+        return null;
+      }
+      value = ((JsonObject) value).getValue(field);
+    }
+    return value == null || value instanceof JsonObject ? null : value.toString();
+  }
+
+  private static String withoutField(String field) {
+    return ALL_RECORDS + " NOT " + field + "=\"\"";
+  }
+
+  private static String quote(String value) {
+    return "\"" + CQL_SPECIAL_CHARS.matcher(value).replaceAll("\\\\$1") + "\"";
+  }
+}
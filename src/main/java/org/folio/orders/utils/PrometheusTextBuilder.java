@@ -0,0 +1,61 @@
+package org.folio.orders.utils;
+
+/**
+ * Builds metrics in the Prometheus text exposition format (version 0.0.4). Labels are passed as name/value pairs.
+ */
+public class PrometheusTextBuilder {
+
+  public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private final StringBuilder text = new StringBuilder();
+
+  public PrometheusTextBuilder family(String name, String type, String help) {
+    text.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    text.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    return this;
+  }
+
+  public PrometheusTextBuilder sample(String name, double value, String... labels) {
+    text.append(name);
+    if (labels.length > 0) {
+      text.append('{');
+      for (int i = 0; i + 1 < labels.length; i += 2) {
+        if (i > 0) {
+          text.append(',');
+        }
+        text.append(labels[i]).append("=\"");
+        escape(labels[i + 1]);
+        text.append('"');
+      }
+      text.append('}');
+    }
+    text.append(' ');
+    if (value == Math.rint(value) && !Double.isInfinite(value)) {
+      text.append((long) value);
+    } else {
+      text.append(value);
+    }
+    text.append('\n');
+    return this;
+  }
+
+  public String build() {
+    return text.toString();
+  }
+
+  private void escape(String value) {
+    if (value == null) {
+      return;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '\\' || c == '"') {
+        text.append('\\').append(c);
+      } else if (c == '\n') {
+        text.append("\\n");
+      } else {
+        text.append(c);
+      }
+    }
+  }
+}
@@ -0,0 +1,238 @@
+package org.folio.rest.core;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.tools.client.HttpClientFactory;
+import org.folio.rest.tools.client.interfaces.HttpClientInterface;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Pool of keep-alive HTTP clients shared per (Okapi URL, tenant) pair.
+ * <p>
+ * Clients are leased for the duration of a request (or a helper lifetime) and returned to the pool instead of being closed,
+ * so the underlying connections are reused by subsequent calls to the same Okapi instance. Idle clients that exceed the idle
+ * timeout are closed lazily on the next lease/release. The number of leased clients is capped too: when the cap is reached,
+ * a non-pooled client which closes its connections after each request is returned instead, so clients which are never
+ * released cannot open an unbounded number of keep-alive connections. The pool is sized and timed by the following system
+ * properties:
+ * <ul>
+ * <li>{@value #MAX_POOL_SIZE_PROPERTY} - max number of idle clients kept per (Okapi URL, tenant), default {@value #DEFAULT_MAX_POOL_SIZE}</li>
+ * <li>{@value #MAX_LEASED_PROPERTY} - max number of leased keep-alive clients per (Okapi URL, tenant), default {@value #DEFAULT_MAX_LEASED}</li>
+ * <li>{@value #IDLE_TIMEOUT_PROPERTY} - time in ms an idle client is kept in the pool, default {@value #DEFAULT_IDLE_TIMEOUT_MS}</li>
+ * <li>{@value #CONNECT_TIMEOUT_PROPERTY} - connect timeout in ms, default {@value #DEFAULT_CONNECT_TIMEOUT_MS}</li>
+ * </ul>
+ */
+public class HttpClientPool {
+
+  private static final Logger logger = LogManager.getLogger();
+
+  public static final String MAX_POOL_SIZE_PROPERTY = "orders.http.pool.maxSize";
+  public static final String MAX_LEASED_PROPERTY = "orders.http.pool.maxLeased";
+  public static final String IDLE_TIMEOUT_PROPERTY = "orders.http.pool.idleTimeoutMs";
+  public static final String CONNECT_TIMEOUT_PROPERTY = "orders.http.pool.connectTimeoutMs";
+
+  static final int DEFAULT_MAX_POOL_SIZE = 20;
+  static final int DEFAULT_MAX_LEASED = 100;
+  static final long DEFAULT_IDLE_TIMEOUT_MS = 60_000;
+  static final int DEFAULT_CONNECT_TIMEOUT_MS = 2_000;
+  private static final long CACHE_TIMEOUT_MIN = 30;
+
+  private static final HttpClientPool INSTANCE = new HttpClientPool(
+    Integer.getInteger(MAX_POOL_SIZE_PROPERTY, DEFAULT_MAX_POOL_SIZE),
+    Integer.getInteger(MAX_LEASED_PROPERTY, DEFAULT_MAX_LEASED),
+    Long.getLong(IDLE_TIMEOUT_PROPERTY, DEFAULT_IDLE_TIMEOUT_MS),
+    Integer.getInteger(CONNECT_TIMEOUT_PROPERTY, DEFAULT_CONNECT_TIMEOUT_MS));
+
+  private final int maxPoolSize;
+  private final int maxLeased;
+  private final long idleTimeoutMs;
+  private final int connectTimeoutMs;
+
+  private final ConcurrentMap<String, Deque<IdleClient>> idleClients = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, AtomicInteger> leasedClients = new ConcurrentHashMap<>();
+  // Weak keys so clients which are never released (e.g. leaked by callers) do not pin memory
+  private final Map<HttpClientInterface, String> poolKeys = Collections.synchronizedMap(new WeakHashMap<>());
+
+  private final AtomicLong created = new AtomicLong();
+  private final AtomicLong reused = new AtomicLong();
+  private final AtomicLong released = new AtomicLong();
+  private final AtomicLong evicted = new AtomicLong();
+  private final AtomicLong unpooled = new AtomicLong();
+
+  public HttpClientPool(int maxPoolSize, int maxLeased, long idleTimeoutMs, int connectTimeoutMs) {
+    this.maxPoolSize = maxPoolSize;
+    this.maxLeased = maxLeased;
+    this.idleTimeoutMs = idleTimeoutMs;
+    this.connectTimeoutMs = connectTimeoutMs;
+  }
+
+  public static HttpClientPool getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns idle client for the given Okapi URL and tenant if there is one, otherwise creates a new keep-alive client, or a
+   * non-pooled one if the max number of leased clients is reached. The client must be returned by
+   * {@link #release(HttpClientInterface)} when it is no longer used.
+   */
+  public HttpClientInterface lease(String okapiUrl, String tenantId) {
+    String key = buildKey(okapiUrl, tenantId);
+    Deque<IdleClient> idle = idleClients.computeIfAbsent(key, k -> new ArrayDeque<>());
+    AtomicInteger leased = leasedClients.computeIfAbsent(key, k -> new AtomicInteger());
+    long now = System.currentTimeMillis();
+    synchronized (idle) {
+      IdleClient idleClient;
+      while ((idleClient = idle.pollFirst()) != null) {
+        if (idleClient.isExpired(now, idleTimeoutMs)) {
+          evict(idleClient.client);
+        } else {
+          reused.incrementAndGet();
+          leased.incrementAndGet();
+          return idleClient.client;
+        }
+      }
+    }
+
+    if (leased.incrementAndGet() > maxLeased) {
+      leased.decrementAndGet();
+      unpooled.incrementAndGet();
+      logger.warn("Max number of {} leased http clients is reached for {}, using non-pooled client", maxLeased, key);
+      return createUnpooledClient(okapiUrl, tenantId);
+    }
+    HttpClientInterface client = createClient(okapiUrl, tenantId);
+    poolKeys.put(client, key);
+    created.incrementAndGet();
+    return client;
+  }
+
+  /**
+   * Returns the client to the pool. Clients which were not created by this pool or which do not fit into the pool are closed.
+   */
+  public void release(HttpClientInterface client) {
+    if (client == null) {
+      return;
+    }
+    String key = poolKeys.get(client);
+    if (key == null) {
+      client.closeClient();
+      return;
+    }
+
+    Deque<IdleClient> idle = idleClients.computeIfAbsent(key, k -> new ArrayDeque<>());
+    long now = System.currentTimeMillis();
+    synchronized (idle) {
+      if (idle.stream().anyMatch(idleClient -> idleClient.client == client)) {
+        // Already released
+        return;
+      }
+      leasedClients.get(key).decrementAndGet();
+      evictExpired(idle, now);
+      if (idle.size() >= maxPoolSize) {
+        evict(client);
+      } else {
+        idle.offerFirst(new IdleClient(client, now));
+        released.incrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * @return pool counters and the number of currently idle and leased clients per (Okapi URL, tenant)
+   */
+  public JsonObject getMetrics() {
+    JsonObject idlePerKey = new JsonObject();
+    JsonObject leasedPerKey = new JsonObject();
+    int idleTotal = 0;
+    int leasedTotal = 0;
+    for (Map.Entry<String, Deque<IdleClient>> entry : idleClients.entrySet()) {
+      int size;
+      synchronized (entry.getValue()) {
+        size = entry.getValue().size();
+      }
+      idlePerKey.put(entry.getKey(), size);
+      idleTotal += size;
+    }
+    for (Map.Entry<String, AtomicInteger> entry : leasedClients.entrySet()) {
+      int size = entry.getValue().get();
+      leasedPerKey.put(entry.getKey(), size);
+      leasedTotal += size;
+    }
+    return new JsonObject()
+      .put("maxPoolSize", maxPoolSize)
+      .put("maxLeased", maxLeased)
+      .put("idleTimeoutMs", idleTimeoutMs)
+      .put("created", created.get())
+      .put("reused", reused.get())
+      .put("released", released.get())
+      .put("evicted", evicted.get())
+      .put("unpooled", unpooled.get())
+      .put("idle", idleTotal)
+      .put("idleByTenant", idlePerKey)
+      .put("leased", leasedTotal)
+      .put("leasedByTenant", leasedPerKey);
+  }
+
+  HttpClientInterface createClient(String okapiUrl, String tenantId) {
+    logger.debug("Creating keep-alive http client for {} and tenant {}", okapiUrl, tenantId);
+    // The idle timeout of RMB client is in seconds, connections are kept open between requests (no auto-close)
+    int idleTimeoutSec = (int) Math.max(1, idleTimeoutMs / 1000);
+    return HttpClientFactory.getHttpClient(okapiUrl, tenantId, true, connectTimeoutMs, idleTimeoutSec, false, CACHE_TIMEOUT_MIN);
+  }
+
+  HttpClientInterface createUnpooledClient(String okapiUrl, String tenantId) {
+    // Same client as without the pool: connections are closed after each request
+    return HttpClientFactory.getHttpClient(okapiUrl, tenantId);
+  }
+
+  private void evictExpired(Deque<IdleClient> idle, long now) {
+    Iterator<IdleClient> iterator = idle.descendingIterator();
+    while (iterator.hasNext()) {
+      IdleClient idleClient = iterator.next();
+      if (!idleClient.isExpired(now, idleTimeoutMs)) {
+        break;
+      }
+      iterator.remove();
+      evict(idleClient.client);
+    }
+  }
+
+  private void evict(HttpClientInterface client) {
+    poolKeys.remove(client);
+    evicted.incrementAndGet();
+    try {
+      client.closeClient();
+    } catch (Exception e) {
+      logger.warn("Failed to close pooled http client", e);
+    }
+  }
+
+  private static String buildKey(String okapiUrl, String tenantId) {
+    return tenantId + "@" + okapiUrl;
+  }
+
+  private static class IdleClient {
+    private final HttpClientInterface client;
+    private final long releasedAt;
+
+    IdleClient(HttpClientInterface client, long releasedAt) {
+      this.client = client;
+      this.releasedAt = releasedAt;
+    }
+
+    boolean isExpired(long now, long idleTimeoutMs) {
+      return now - releasedAt >= idleTimeoutMs;
+    }
+  }
+}
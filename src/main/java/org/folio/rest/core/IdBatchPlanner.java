@@ -0,0 +1,106 @@
+package org.folio.rest.core;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Splits ids into batches for {@code field==(id1 or id2 ...)} CQL queries sent as GET query parameter.
+ * <p>
+ * Instead of a fixed number of ids per request, ids are packed while the URL-encoded query still fits into the URL budget,
+ * so requests for UUIDs carry several times more ids than the fixed {@code MAX_IDS_FOR_GET_RQ} chunks. The budget is
+ * controlled by the following system properties:
+ * <ul>
+ * <li>{@value #MAX_URL_LENGTH_PROPERTY} - max length of request URL, default {@value #DEFAULT_MAX_URL_LENGTH}</li>
+ * <li>{@value #MAX_IDS_PER_BATCH_PROPERTY} - upper limit of ids in one batch, default {@value #DEFAULT_MAX_IDS_PER_BATCH}</li>
+ * </ul>
+ * Ids are de-duplicated and keep their original order. An id which does not fit into the budget on its own is sent alone.
+ */
+public final class IdBatchPlanner {
+
+  public static final String MAX_URL_LENGTH_PROPERTY = "orders.http.maxUrlLength";
+  public static final String MAX_IDS_PER_BATCH_PROPERTY = "orders.http.maxIdsPerBatch";
+
+  // Okapi and storage modules reject request lines longer than 4096 bytes by default
+  static final int DEFAULT_MAX_URL_LENGTH = 3500;
+  static final int DEFAULT_MAX_IDS_PER_BATCH = 150;
+  // Room for the endpoint path, limit/offset/lang parameters and the "query=" key, always kept aside
+  static final int DEFAULT_RESERVED_LENGTH = 200;
+
+  private IdBatchPlanner() {
+  }
+
+  public static List<List<String>> planBatches(Collection<String> ids, String idField) {
+    return planBatches(ids, idField, 0);
+  }
+
+  /**
+   * Plans batches for {@code <idField>==(id1 or id2 ...)} query
+   *
+   * @param ids            ids to split
+   * @param idField        the property the ids are matched against
+   * @param reservedLength encoded length of additional query conditions sent along with the ids
+   * @return batches of ids each of which fits into URL budget
+   */
+  public static List<List<String>> planBatches(Collection<String> ids, String idField, int reservedLength) {
+    int wrapperLength = encodedLength(idField + "==(") + encodedLength(")");
+    return planBatches(ids, "%s", " or ", reservedLength + wrapperLength);
+  }
+
+  /**
+   * Plans batches for queries where each id is rendered by {@code termTemplate} and terms are joined by {@code separator},
+   * e.g. {@code (purchaseOrderId == id1) or (purchaseOrderId == id2)}
+   *
+   * @param ids            ids to split
+   * @param termTemplate   format of single query term with one {@code %s} placeholder for id
+   * @param separator      delimiter of the terms
+   * @param reservedLength encoded length of additional query conditions sent along with the terms
+   * @return batches of ids each of which fits into URL budget
+   */
+  public static List<List<String>> planBatches(Collection<String> ids, String termTemplate, String separator, int reservedLength) {
+    return planBatches(ids, termTemplate, separator, reservedLength,
+      Integer.getInteger(MAX_URL_LENGTH_PROPERTY, DEFAULT_MAX_URL_LENGTH),
+      Integer.getInteger(MAX_IDS_PER_BATCH_PROPERTY, DEFAULT_MAX_IDS_PER_BATCH));
+  }
+
+  /**
+   * @return URL-encoded length of query part, e.g. additional conditions which are sent along with batch of ids
+   */
+  public static int encodedLength(String queryPart) {
+    return encode(queryPart).length();
+  }
+
+  static List<List<String>> planBatches(Collection<String> ids, String termTemplate, String separator, int reservedLength,
+                                        int maxUrlLength, int maxIdsPerBatch) {
+    List<List<String>> batches = new ArrayList<>();
+    if (ids == null || ids.isEmpty()) {
+      return batches;
+    }
+
+    int budget = maxUrlLength - DEFAULT_RESERVED_LENGTH - reservedLength;
+    int separatorLength = encodedLength(separator);
+    List<String> batch = new ArrayList<>();
+    int batchLength = 0;
+    for (String id : new LinkedHashSet<>(ids)) {
+      int termLength = encodedLength(String.format(termTemplate, id));
+      int requiredLength = batch.isEmpty() ? termLength : termLength + separatorLength;
+      if (!batch.isEmpty() && (batchLength + requiredLength > budget || batch.size() >= maxIdsPerBatch)) {
+        batches.add(batch);
+        batch = new ArrayList<>();
+        batchLength = 0;
+        requiredLength = termLength;
+      }
+      batch.add(id);
+      batchLength += requiredLength;
+    }
+    batches.add(batch);
+    return batches;
+  }
+
+  private static String encode(String value) {
+    return URLEncoder.encode(value, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,46 @@
+package org.folio.rest.core;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.EncodeException;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.jackson.DatabindCodec;
+
+/**
+ * JSON encoder for outbound calls. Entities are serialized straight to {@link Buffer} with the mapper configured in
+ * {@link org.folio.rest.impl.InitAPIs}, without building an intermediate {@link JsonObject} as
+ * {@link JsonObject#mapFrom(Object)} does. Responses are still bound with {@link JsonObject#mapTo(Class)}, because the HTTP
+ * client hands the body over already parsed.
+ */
+public final class JsonCodec {
+
+  private static volatile ObjectWriter writer;
+
+  private JsonCodec() {
+  }
+
+  /**
+   * Serializes entity directly to buffer. {@link JsonObject} entities are encoded as is.
+   */
+  public static Buffer encode(Object entity) {
+    if (entity instanceof JsonObject) {
+      return ((JsonObject) entity).toBuffer();
+    }
+    try {
+      return Buffer.buffer(getWriter().writeValueAsBytes(entity));
+    } catch (JsonProcessingException e) {
+      throw new EncodeException("Failed to encode as JSON: " + e.getMessage());
+    }
+  }
+
+  private static ObjectWriter getWriter() {
+    ObjectWriter result = writer;
+    if (result == null) {
+      result = DatabindCodec.mapper().writer();
+      writer = result;
+    }
+    return result;
+  }
+}
@@ -0,0 +1,173 @@
+package org.folio.rest.core;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.folio.orders.rest.exceptions.HttpException;
+import org.folio.orders.utils.PrometheusTextBuilder;
+import org.folio.rest.tools.client.Response;
+import org.folio.rest.tools.utils.TenantTool;
+
+import io.vertx.core.http.HttpMethod;
+
+/**
+ * Counters of the calls to other modules per (method, endpoint template, tenant): number of calls per response status,
+ * latency histogram and size of the request payloads. Ids in the endpoint path are replaced by {@value #ID_PLACEHOLDER}
+ * and the query string is dropped, so the endpoints of the same resource share one series. Recording a call costs a few
+ * lock-free counter increments. The number of series is bounded by {@value #MAX_SERIES_PROPERTY} system property
+ * (default {@value #DEFAULT_MAX_SERIES}), calls beyond the limit are recorded with {@value #OTHER_ENDPOINT} endpoint.
+ */
+public class OutboundCallMetrics {
+
+  public static final String MAX_SERIES_PROPERTY = "orders.metrics.outbound.maxSeries";
+  static final int DEFAULT_MAX_SERIES = 5_000;
+
+  static final String ID_PLACEHOLDER = "{id}";
+  static final String OTHER_ENDPOINT = "other";
+  /** Upper bounds of the latency histogram buckets in ms */
+  static final long[] LATENCY_BUCKETS_MS = {5, 10, 25, 50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000};
+  /** Status of the calls failed without response, e.g. connection errors */
+  static final int NO_RESPONSE_STATUS = 0;
+
+  private static final String REQUESTS_METRIC = "mod_orders_outbound_requests_total";
+  private static final String DURATION_METRIC = "mod_orders_outbound_request_duration_seconds";
+  private static final String PAYLOAD_METRIC = "mod_orders_outbound_request_payload_bytes_total";
+
+  private static final Pattern ID_SEGMENT = Pattern.compile(
+    "/(?:[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|\\d+)(?=/|$)");
+
+  private static final OutboundCallMetrics INSTANCE = new OutboundCallMetrics(
+    Integer.getInteger(MAX_SERIES_PROPERTY, DEFAULT_MAX_SERIES), System::nanoTime);
+
+  private final int maxSeries;
+  private final LongSupplier nanoClock;
+  private final Map<String, Series> series = new ConcurrentHashMap<>();
+
+  OutboundCallMetrics(int maxSeries, LongSupplier nanoClock) {
+    this.maxSeries = maxSeries;
+    this.nanoClock = nanoClock;
+  }
+
+  public static OutboundCallMetrics getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Sends the request with {@code call} and records its outcome once the response is received
+   *
+   * @param payloadBytes size of the request body, 0 if there is no body
+   */
+  public CompletableFuture<Response> record(HttpMethod method, String endpoint, Map<String, String> okapiHeaders,
+                                            long payloadBytes, Callable<CompletableFuture<Response>> call) throws Exception {
+    Series callSeries = getSeries(method, endpoint, TenantTool.tenantId(okapiHeaders));
+    long start = nanoClock.getAsLong();
+    return call.call()
+      .whenComplete((response, t) -> callSeries.record(getStatus(response, t), nanoClock.getAsLong() - start, payloadBytes));
+  }
+
+  /**
+   * Writes the series of the tenant in the Prometheus text format, the series of other tenants are not exposed
+   */
+  public void writeTo(PrometheusTextBuilder builder, String tenantId) {
+    List<Series> tenantSeries = series.values().stream()
+      .filter(s -> s.tenant.equals(tenantId))
+      .collect(Collectors.toList());
+
+    builder.family(REQUESTS_METRIC, "counter", "Calls to other modules by response status");
+    tenantSeries.forEach(s -> s.statuses.forEach((status, count) -> builder.sample(REQUESTS_METRIC, count.sum(),
+      "method", s.method, "endpoint", s.endpoint, "tenant", s.tenant, "status", String.valueOf(status))));
+
+    builder.family(DURATION_METRIC, "histogram", "Latency of the calls to other modules");
+    tenantSeries.forEach(s -> {
+      long cumulative = 0;
+      for (int i = 0; i < LATENCY_BUCKETS_MS.length; i++) {
+        cumulative += s.buckets[i].sum();
+        builder.sample(DURATION_METRIC + "_bucket", cumulative,
+          "method", s.method, "endpoint", s.endpoint, "tenant", s.tenant, "le", String.valueOf(LATENCY_BUCKETS_MS[i] / 1000.0));
+      }
+      cumulative += s.buckets[LATENCY_BUCKETS_MS.length].sum();
+      builder.sample(DURATION_METRIC + "_bucket", cumulative,
+        "method", s.method, "endpoint", s.endpoint, "tenant", s.tenant, "le", "+Inf");
+      builder.sample(DURATION_METRIC + "_sum", s.durationNanos.sum() / 1e9,
+        "method", s.method, "endpoint", s.endpoint, "tenant", s.tenant);
+      builder.sample(DURATION_METRIC + "_count", cumulative,
+        "method", s.method, "endpoint", s.endpoint, "tenant", s.tenant);
+    });
+
+    builder.family(PAYLOAD_METRIC, "counter", "Size of the request bodies sent to other modules");
+    tenantSeries.forEach(s -> builder.sample(PAYLOAD_METRIC, s.payloadBytes.sum(),
+      "method", s.method, "endpoint", s.endpoint, "tenant", s.tenant));
+  }
+
+  /**
+   * @return endpoint path without query string and with ids replaced by {@value #ID_PLACEHOLDER}
+   */
+  static String normalizeEndpoint(String endpoint) {
+    if (endpoint == null) {
+      return OTHER_ENDPOINT;
+    }
+    int queryStart = endpoint.indexOf('?');
+    String path = queryStart < 0 ? endpoint : endpoint.substring(0, queryStart);
+    return ID_SEGMENT.matcher(path).replaceAll("/" + ID_PLACEHOLDER);
+  }
+
+  private Series getSeries(HttpMethod method, String endpoint, String tenantId) {
+    String normalizedEndpoint = normalizeEndpoint(endpoint);
+    String key = method + " " + normalizedEndpoint + " " + tenantId;
+    Series existing = series.get(key);
+    if (existing != null) {
+      return existing;
+    }
+    if (series.size() >= maxSeries) {
+      String otherKey = method + " " + OTHER_ENDPOINT + " " + tenantId;
+      return series.computeIfAbsent(otherKey, k -> new Series(method.name(), OTHER_ENDPOINT, tenantId));
+    }
+    return series.computeIfAbsent(key, k -> new Series(method.name(), normalizedEndpoint, tenantId));
+  }
+
+  private static int getStatus(Response response, Throwable t) {
+    if (response != null) {
+      return response.getCode();
+    }
+    Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+    return cause instanceof HttpException ? ((HttpException) cause).getCode() : NO_RESPONSE_STATUS;
+  }
+
+  private static class Series {
+    private final String method;
+    private final String endpoint;
+    private final String tenant;
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder[] buckets = new LongAdder[LATENCY_BUCKETS_MS.length + 1];
+    private final LongAdder durationNanos = new LongAdder();
+    private final LongAdder payloadBytes = new LongAdder();
+
+    Series(String method, String endpoint, String tenant) {
+      this.method = method;
+      this.endpoint = endpoint;
+      this.tenant = tenant;
+      for (int i = 0; i < buckets.length; i++) {
+        buckets[i] = new LongAdder();
+      }
+    }
+
+    void record(int status, long elapsedNanos, long payloadSize) {
+      statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+      int bucket = 0;
+      while (bucket < LATENCY_BUCKETS_MS.length && elapsedNanos > LATENCY_BUCKETS_MS[bucket] * 1_000_000) {
+        bucket++;
+      }
+      buckets[bucket].increment();
+      durationNanos.add(elapsedNanos);
+      payloadBytes.add(payloadSize);
+    }
+  }
+}
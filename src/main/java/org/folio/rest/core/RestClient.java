@@ -5,10 +5,14 @@ import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
 import static org.folio.orders.utils.HelperUtils.verifyAndExtractBody;
 import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TOKEN;
+import static org.folio.rest.RestVerticle.OKAPI_USERID_HEADER;
 
 import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -16,10 +20,10 @@ import org.folio.orders.utils.HelperUtils;
 import org.folio.rest.RestConstants;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.core.models.RequestEntry;
-import org.folio.rest.tools.client.HttpClientFactory;
 import org.folio.rest.tools.client.interfaces.HttpClientInterface;
 import org.folio.rest.tools.utils.TenantTool;
 
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonObject;
 
@@ -29,28 +33,46 @@ public class RestClient {
     private static final String CALLING_ENDPOINT_MSG = "Sending {} {}";
     private static final String EXCEPTION_CALLING_ENDPOINT_MSG = "Exception calling %s %s - %s";
 
+    private final HttpClientPool httpClientPool;
+    private final OutboundCallMetrics callMetrics = OutboundCallMetrics.getInstance();
+    private final Map<String, CompletableFuture<JsonObject>> inFlightGets = new ConcurrentHashMap<>();
+
+    public RestClient() {
+        this(HttpClientPool.getInstance());
+    }
+
+    public RestClient(HttpClientPool httpClientPool) {
+        this.httpClientPool = httpClientPool;
+    }
 
     public <T> CompletableFuture<T> getById(String baseEndpoint, String id, RequestContext requestContext, Class<T> responseType) {
         RequestEntry requestEntry = new RequestEntry(baseEndpoint).withPathParameter("id", id);
         return get(requestEntry, requestContext, responseType);
     }
 
+    public <T> CompletableFuture<T> getById(String baseEndpoint, String id, boolean coalesce, RequestContext requestContext,
+                                            Class<T> responseType) {
+        RequestEntry requestEntry = new RequestEntry(baseEndpoint).withPathParameter("id", id);
+        return get(requestEntry, coalesce, requestContext, responseType);
+    }
+
     public <T> CompletableFuture<T> post(RequestEntry requestEntry, T entity, RequestContext requestContext, Class<T> responseType) {
         CompletableFuture<T> future = new CompletableFuture<>();
         String endpoint = requestEntry.buildEndpoint();
-        JsonObject recordData = JsonObject.mapFrom(entity);
+        Buffer recordData = JsonCodec.encode(entity);
 
         if (logger.isDebugEnabled()) {
-            logger.debug("Sending 'POST {}' with body: {}", endpoint, recordData.encodePrettily());
+            logger.debug("Sending 'POST {}' with body: {}", endpoint, recordData);
         }
 
         HttpClientInterface client = getHttpClient(requestContext.getHeaders());
         try {
-            client
-                    .request(HttpMethod.POST, recordData.toBuffer(), endpoint, requestContext.getHeaders())
+            callMetrics
+                    .record(HttpMethod.POST, endpoint, requestContext.getHeaders(), recordData.length(),
+                      () -> client.request(HttpMethod.POST, recordData, endpoint, requestContext.getHeaders()))
                     .thenApply(HelperUtils::verifyAndExtractBody)
                     .thenAccept(body -> {
-                        client.closeClient();
+                        releaseHttpClient(client);
                         T responseEntity = body.mapTo(responseType);
                         if (logger.isDebugEnabled()) {
                             logger.debug("'POST {}' request successfully processed. Record with '{}' id has been created", endpoint, body);
@@ -58,14 +80,14 @@ public class RestClient {
                         future.complete(responseEntity);
                     })
                     .exceptionally(t -> {
-                        client.closeClient();
-                        logger.error("'POST {}' request failed. Request body: {}", endpoint, recordData.encodePrettily(), t.getCause());
+                        releaseHttpClient(client);
+                        logger.error("'POST {}' request failed. Request body: {}", endpoint, recordData, t.getCause());
                         future.completeExceptionally(t.getCause());
                         return null;
                     });
         } catch (Exception e) {
-            logger.error("'POST {}' request failed. Request body: {}", endpoint, recordData.encodePrettily(), e);
-            client.closeClient();
+            logger.error("'POST {}' request failed. Request body: {}", endpoint, recordData, e);
+            releaseHttpClient(client);
             future.completeExceptionally(e);
         }
 
@@ -81,10 +103,12 @@ public class RestClient {
       logger.debug("Sending 'POST {}' with body: {}", endpoint, recordData.encodePrettily());
     }
 
+    Buffer payload = recordData.toBuffer();
     HttpClientInterface client = getHttpClient(requestContext.getHeaders());
     try {
-      client
-        .request(HttpMethod.POST, recordData.toBuffer(), endpoint, requestContext.getHeaders())
+      callMetrics
+        .record(HttpMethod.POST, endpoint, requestContext.getHeaders(), payload.length(),
+          () -> client.request(HttpMethod.POST, payload, endpoint, requestContext.getHeaders()))
         .thenApply(response -> {
           if (postResponseType == PostResponseType.BODY) {
             return HelperUtils.verifyAndExtractBody(response);
@@ -94,21 +118,21 @@ public class RestClient {
           return HelperUtils.verifyAndExtractBody(response);
         })
         .thenAccept(body -> {
-          client.closeClient();
+          releaseHttpClient(client);
           if (logger.isDebugEnabled()) {
             logger.debug("'POST {}' request successfully processed. Record with '{}' id has been created", endpoint, body);
           }
           future.complete(responseType.cast(body));
         })
         .exceptionally(t -> {
-          client.closeClient();
+          releaseHttpClient(client);
           logger.error("'POST {}' request failed. Request body: {}", endpoint, recordData.encodePrettily(), t.getCause());
           future.completeExceptionally(t.getCause());
           return null;
         });
     } catch (Exception e) {
       logger.error("'POST {}' request failed. Request body: {}", endpoint, recordData.encodePrettily(), e);
-      client.closeClient();
+      releaseHttpClient(client);
       future.completeExceptionally(e);
     }
 
@@ -118,31 +142,32 @@ public class RestClient {
     public <T> CompletableFuture<Void> put(RequestEntry requestEntry, T entity, RequestContext requestContext) {
         CompletableFuture<Void> future = new CompletableFuture<>();
         String endpoint = requestEntry.buildEndpoint();
-        JsonObject recordData = JsonObject.mapFrom(entity);
+        Buffer recordData = JsonCodec.encode(entity);
 
         if (logger.isDebugEnabled()) {
-            logger.debug("Sending 'PUT {}' with body: {}", endpoint, recordData.encodePrettily());
+            logger.debug("Sending 'PUT {}' with body: {}", endpoint, recordData);
         }
 
         HttpClientInterface client = getHttpClient(requestContext.getHeaders());
         setDefaultHeaders(client);
         try {
-            client
-                    .request(HttpMethod.PUT, recordData.toBuffer(), endpoint, requestContext.getHeaders())
+            callMetrics
+                    .record(HttpMethod.PUT, endpoint, requestContext.getHeaders(), recordData.length(),
+                      () -> client.request(HttpMethod.PUT, recordData, endpoint, requestContext.getHeaders()))
                     .thenAccept(HelperUtils::verifyResponse)
                     .thenAccept(avoid -> {
-                        client.closeClient();
+                        releaseHttpClient(client);
                         future.complete(null);
                     })
                     .exceptionally(t -> {
-                        client.closeClient();
+                        releaseHttpClient(client);
                         future.completeExceptionally(t.getCause());
-                        logger.error("'PUT {}' request failed. Request body: {}", endpoint, recordData.encodePrettily(), t.getCause());
+                        logger.error("'PUT {}' request failed. Request body: {}", endpoint, recordData, t.getCause());
                         return null;
                     });
         } catch (Exception e) {
-            logger.error("'PUT {}' request failed. Request body: {}", endpoint, recordData.encodePrettily(), e);
-            client.closeClient();
+            logger.error("'PUT {}' request failed. Request body: {}", endpoint, recordData, e);
+            releaseHttpClient(client);
             future.completeExceptionally(e);
         }
 
@@ -157,25 +182,27 @@ public class RestClient {
       logger.debug("Sending 'PUT {}' with body: {}", endpoint, recordData.encodePrettily());
     }
 
+    Buffer payload = recordData.toBuffer();
     HttpClientInterface client = getHttpClient(requestContext.getHeaders());
     setDefaultHeaders(client);
     try {
-      client
-        .request(HttpMethod.PUT, recordData.toBuffer(), endpoint, requestContext.getHeaders())
+      callMetrics
+        .record(HttpMethod.PUT, endpoint, requestContext.getHeaders(), payload.length(),
+          () -> client.request(HttpMethod.PUT, payload, endpoint, requestContext.getHeaders()))
         .thenAccept(HelperUtils::verifyResponse)
         .thenAccept(avoid -> {
-          client.closeClient();
+          releaseHttpClient(client);
           future.complete(null);
         })
         .exceptionally(t -> {
-          client.closeClient();
+          releaseHttpClient(client);
           future.completeExceptionally(t.getCause());
           logger.error("'PUT {}' request failed. Request body: {}", endpoint, recordData.encodePrettily(), t.getCause());
           return null;
         });
     } catch (Exception e) {
       logger.error("'PUT {}' request failed. Request body: {}", endpoint, recordData.encodePrettily(), e);
-      client.closeClient();
+      releaseHttpClient(client);
       future.completeExceptionally(e);
     }
 
@@ -192,20 +219,21 @@ public class RestClient {
         setDefaultHeaders(client);
 
         try {
-          client.request(HttpMethod.DELETE, endpoint, requestContext.getHeaders())
+          callMetrics.record(HttpMethod.DELETE, endpoint, requestContext.getHeaders(), 0,
+              () -> client.request(HttpMethod.DELETE, endpoint, requestContext.getHeaders()))
             .thenAccept(HelperUtils::verifyResponse)
             .thenAccept(aVoid -> {
-              client.closeClient();
+              releaseHttpClient(client);
               future.complete(null);
             })
             .exceptionally(t -> {
-              client.closeClient();
+              releaseHttpClient(client);
               logger.error(String.format(EXCEPTION_CALLING_ENDPOINT_MSG, HttpMethod.DELETE, endpoint, requestContext), t);
               future.completeExceptionally(t.getCause());
               return null;
             });
         } catch (Exception e) {
-          client.closeClient();
+          releaseHttpClient(client);
           logger.error(String.format(EXCEPTION_CALLING_ENDPOINT_MSG, HttpMethod.DELETE, endpoint, requestContext), e);
           future.completeExceptionally(e);
         }
@@ -222,8 +250,9 @@ public class RestClient {
         }
 
         try {
-            client
-                    .request(HttpMethod.GET, endpoint, requestContext.getHeaders())
+            callMetrics
+                    .record(HttpMethod.GET, endpoint, requestContext.getHeaders(), 0,
+                      () -> client.request(HttpMethod.GET, endpoint, requestContext.getHeaders()))
                     .thenApply(response -> {
                         if (logger.isDebugEnabled()) {
                             logger.debug("Validating response for GET {}", endpoint);
@@ -231,7 +260,7 @@ public class RestClient {
                         return verifyAndExtractBody(response);
                     })
                     .thenAccept(body -> {
-                        client.closeClient();
+                        releaseHttpClient(client);
                         if (logger.isDebugEnabled()) {
                             logger.debug("The response body for GET {}: {}", endpoint, nonNull(body) ? body.encodePrettily() : null);
                         }
@@ -239,19 +268,64 @@ public class RestClient {
                         future.complete(responseEntity);
                     })
                     .exceptionally(t -> {
-                        client.closeClient();
+                        releaseHttpClient(client);
                         logger.error(String.format(EXCEPTION_CALLING_ENDPOINT_MSG, HttpMethod.GET, endpoint, requestContext), t);
                         future.completeExceptionally(t.getCause());
                         return null;
                     });
         } catch (Exception e) {
           logger.error(String.format(EXCEPTION_CALLING_ENDPOINT_MSG, HttpMethod.GET, requestEntry.getBaseEndpoint(), requestContext), e);
-          client.closeClient();
+          releaseHttpClient(client);
           future.completeExceptionally(e);
         }
         return future;
     }
 
+  /**
+   * Same as {@link #get(RequestEntry, RequestContext, Class)} but if {@code coalesce} is set, concurrent GETs of the same
+   * endpoint by the same tenant, user and token share one outbound call, so a caller never gets a response fetched with the
+   * permissions of another one. Each caller gets its own instance of the response entity
+   * bound from the shared response body, so callers can modify the result independently.
+   */
+  public <S> CompletableFuture<S> get(RequestEntry requestEntry, boolean coalesce, RequestContext requestContext, Class<S> responseType) {
+    if (!coalesce) {
+      return get(requestEntry, requestContext, responseType);
+    }
+
+    String endpoint = requestEntry.buildEndpoint();
+    String key = buildInFlightKey(endpoint, requestContext.getHeaders());
+    CompletableFuture<JsonObject> inFlight = new CompletableFuture<>();
+    CompletableFuture<JsonObject> existing = inFlightGets.putIfAbsent(key, inFlight);
+    if (existing == null) {
+      getAsJsonObject(requestEntry, requestContext)
+        .whenComplete((body, t) -> {
+          inFlightGets.remove(key, inFlight);
+          if (t != null) {
+            inFlight.completeExceptionally(t);
+          } else {
+            inFlight.complete(body);
+          }
+        });
+      existing = inFlight;
+    } else if (logger.isDebugEnabled()) {
+      logger.debug("Joining in-flight GET {}", endpoint);
+    }
+
+    CompletableFuture<S> future = new CompletableFuture<>();
+    existing.whenComplete((body, t) -> {
+      if (t != null) {
+        future.completeExceptionally(t);
+      } else {
+        try {
+          future.complete(body == null ? null : body.mapTo(responseType));
+        } catch (Exception e) {
+          future.completeExceptionally(e);
+        }
+      }
+    });
+    return future;
+  }
+
   public CompletableFuture<JsonObject> getAsJsonObject(RequestEntry requestEntry, RequestContext requestContext) {
     CompletableFuture<JsonObject> future = new CompletableFuture<>();
     String endpoint = requestEntry.buildEndpoint();
@@ -261,8 +335,9 @@ public class RestClient {
     }
 
     try {
-      client
-        .request(HttpMethod.GET, endpoint, requestContext.getHeaders())
+      callMetrics
+        .record(HttpMethod.GET, endpoint, requestContext.getHeaders(), 0,
+          () -> client.request(HttpMethod.GET, endpoint, requestContext.getHeaders()))
         .thenApply(response -> {
           if (logger.isDebugEnabled()) {
             logger.debug("Validating response for GET {}", endpoint);
@@ -270,31 +345,59 @@ public class RestClient {
           return verifyAndExtractBody(response);
         })
         .thenAccept(body -> {
-          client.closeClient();
+          releaseHttpClient(client);
           if (logger.isDebugEnabled()) {
             logger.debug("The response body for GET {}: {}", endpoint, nonNull(body) ? body.encodePrettily() : null);
           }
           future.complete(body);
         })
         .exceptionally(t -> {
-          client.closeClient();
+          releaseHttpClient(client);
           logger.error(String.format(EXCEPTION_CALLING_ENDPOINT_MSG, HttpMethod.GET, endpoint, requestContext), t);
           future.completeExceptionally(t.getCause());
           return null;
         });
     } catch (Exception e) {
       logger.error(String.format(EXCEPTION_CALLING_ENDPOINT_MSG, HttpMethod.GET, requestEntry.getBaseEndpoint(), requestContext), e);
-      client.closeClient();
+      releaseHttpClient(client);
       future.completeExceptionally(e);
     }
     return future;
   }
 
+  /**
+   * Leases pooled keep-alive client for Okapi URL and tenant from the headers.
+   * The client must be returned by {@link #releaseHttpClient(HttpClientInterface)}.
+   */
   public HttpClientInterface getHttpClient(Map<String, String> okapiHeaders) {
     final String okapiURL = okapiHeaders.getOrDefault(RestConstants.OKAPI_URL, "");
     final String tenantId = TenantTool.calculateTenantId(okapiHeaders.get(OKAPI_HEADER_TENANT));
 
-     return HttpClientFactory.getHttpClient(okapiURL, tenantId);
+    return httpClientPool.lease(okapiURL, tenantId);
+  }
+
+  public void releaseHttpClient(HttpClientInterface client) {
+    httpClientPool.release(client);
+  }
+
+  /**
+   * Runs operation with leased http client and returns the client to the pool once the operation is completed
+   */
+  public <T> CompletableFuture<T> withHttpClient(Map<String, String> okapiHeaders,
+                                                 Function<HttpClientInterface, CompletableFuture<T>> operation) {
+    HttpClientInterface client = getHttpClient(okapiHeaders);
+    try {
+      return operation.apply(client)
+        .whenComplete((result, t) -> releaseHttpClient(client));
+    } catch (Exception e) {
+      releaseHttpClient(client);
+      throw e;
+    }
+  }
+
+  private String buildInFlightKey(String endpoint, Map<String, String> okapiHeaders) {
+    return String.join(":", TenantTool.tenantId(okapiHeaders), String.valueOf(okapiHeaders.get(OKAPI_USERID_HEADER)),
+      String.valueOf(okapiHeaders.get(OKAPI_HEADER_TOKEN)), endpoint);
   }
 
   private void setDefaultHeaders(HttpClientInterface httpClient) {
@@ -107,6 +107,7 @@ public class BaseApi {
       case 403:
       case 404:
       case 422:
+      case 429:
         responseBuilder = Response.status(code);
         break;
       default:
@@ -16,6 +16,7 @@ import org.apache.logging.log4j.Logger;
 import org.folio.helper.PurchaseOrderLineHelper;
 import org.folio.orders.rest.exceptions.HttpException;
 import org.folio.orders.utils.ErrorCodes;
+import org.folio.orders.utils.KeysetCursor;
 import org.folio.rest.annotations.Validate;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.jaxrs.model.CompositePoLine;
@@ -36,11 +37,12 @@ public class CompositePoLineAPI implements OrdersOrderLines {
 
   @Override
   @Validate
-  public void getOrdersOrderLines(int offset, int limit, String query, String lang, Map<String, String> okapiHeaders,
-      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+  public void getOrdersOrderLines(String cursor, boolean totalRecords, int offset, int limit, String query, String lang,
+      Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
     PurchaseOrderLineHelper helper = new PurchaseOrderLineHelper(okapiHeaders, vertxContext, lang);
-    helper.getOrderLines(limit, offset, query)
-      .thenAccept(lines -> asyncResultHandler.handle(succeededFuture(helper.buildOkResponse(lines))))
+    helper.getOrderLines(limit, offset, query, cursor, totalRecords)
+      .thenAccept(lines -> asyncResultHandler.handle(succeededFuture(KeysetCursor.withNextCursor(helper.buildOkResponse(lines),
+        cursor, query, lines.getPoLines(), limit))))
       .exceptionally(t -> handleErrorResponse(asyncResultHandler, helper, t));
   }
 
@@ -0,0 +1,54 @@
+package org.folio.rest.impl;
+
+import static io.vertx.core.Future.succeededFuture;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+
+import java.util.Map;
+
+import javax.ws.rs.core.Response;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.orders.utils.PrometheusTextBuilder;
+import org.folio.rest.jaxrs.resource.OrdersAdmin;
+import org.folio.rest.tools.utils.TenantTool;
+import org.folio.service.MetricsService;
+import org.folio.service.inventory.ReferenceDataCache;
+import org.folio.spring.SpringContextUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+public class OrdersAdminApi extends BaseApi implements OrdersAdmin {
+
+  private static final Logger logger = LogManager.getLogger();
+
+  @Autowired
+  private ReferenceDataCache referenceDataCache;
+  @Autowired
+  private MetricsService metricsService;
+
+  public OrdersAdminApi() {
+    SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
+  }
+
+  @Override
+  public void deleteOrdersAdminCachesReferenceData(Map<String, String> okapiHeaders,
+                                                   Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    String tenantId = TenantTool.calculateTenantId(okapiHeaders.get(OKAPI_HEADER_TENANT));
+    logger.info("Flushing reference data cache of tenant {}", tenantId);
+    referenceDataCache.invalidate(tenantId);
+    asyncResultHandler.handle(succeededFuture(buildNoContentResponse()));
+  }
+
+  @Override
+  public void getOrdersAdminMetrics(Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler,
+                                    Context vertxContext) {
+    String tenantId = TenantTool.calculateTenantId(okapiHeaders.get(OKAPI_HEADER_TENANT));
+    asyncResultHandler.handle(succeededFuture(Response.ok(metricsService.getPrometheusMetrics(tenantId),
+      PrometheusTextBuilder.CONTENT_TYPE).build()));
+  }
+}
@@ -3,7 +3,11 @@ package org.folio.rest.impl;
 import static io.vertx.core.Future.succeededFuture;
 import static org.folio.orders.utils.ErrorCodes.GENERIC_ERROR_CODE;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import javax.ws.rs.core.Response;
 
@@ -15,6 +19,7 @@ import org.folio.completablefuture.FolioVertxCompletableFuture;
 import org.folio.helper.PurchaseOrderHelper;
 import org.folio.orders.rest.exceptions.HttpException;
 import org.folio.orders.utils.HelperUtils;
+import org.folio.orders.utils.KeysetCursor;
 import org.folio.rest.annotations.Validate;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.jaxrs.model.CompositePurchaseOrder;
@@ -61,12 +66,12 @@ public class OrdersApi extends BaseApi implements OrdersCompositeOrders, OrdersR
 
   @Override
   @Validate
-  public void getOrdersCompositeOrdersById(String id, String lang, Map<String, String> okapiHeaders,
+  public void getOrdersCompositeOrdersById(String id, String fields, String lang, Map<String, String> okapiHeaders,
       Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
 
     PurchaseOrderHelper helper = new PurchaseOrderHelper(okapiHeaders, vertxContext, lang);
     helper
-      .getCompositeOrder(id)
+      .getCompositeOrder(id, parseFields(fields))
       .thenAccept(order -> asyncResultHandler.handle(succeededFuture(helper.buildOkResponse(order))))
       .exceptionally(t -> HelperUtils.handleErrorResponse(asyncResultHandler, helper, t));
   }
@@ -128,6 +133,16 @@ public class OrdersApi extends BaseApi implements OrdersCompositeOrders, OrdersR
       });
   }
 
+  private Set<String> parseFields(String fields) {
+    if (StringUtils.isBlank(fields)) {
+      return Collections.emptySet();
+    }
+    return Arrays.stream(fields.split(","))
+      .map(String::trim)
+      .filter(StringUtils::isNotEmpty)
+      .collect(Collectors.toSet());
+  }
+
   private void populateOrderId(String orderId, CompositePurchaseOrder compPO) {
     if (StringUtils.isEmpty(compPO.getId())) {
       compPO.setId(orderId);
@@ -143,16 +158,17 @@ public class OrdersApi extends BaseApi implements OrdersCompositeOrders, OrdersR
 
   @Override
   @Validate
-  public void getOrdersCompositeOrders(int offset, int limit, String query, String lang,
+  public void getOrdersCompositeOrders(String cursor, boolean totalRecords, int offset, int limit, String query, String lang,
       Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
     PurchaseOrderHelper helper = new PurchaseOrderHelper(okapiHeaders, vertxContext, lang);
     helper
-      .getPurchaseOrders(limit, offset, query)
+      .getPurchaseOrders(limit, offset, query, cursor, totalRecords)
       .thenAccept(orders -> {
         if (logger.isInfoEnabled()) {
           logger.info("Successfully retrieved orders: {}", JsonObject.mapFrom(orders).encodePrettily());
         }
-        asyncResultHandler.handle(succeededFuture(helper.buildOkResponse(orders)));
+        asyncResultHandler.handle(succeededFuture(KeysetCursor.withNextCursor(helper.buildOkResponse(orders), cursor, query,
+          orders.getPurchaseOrders(), limit)));
       })
       .exceptionally(t -> HelperUtils.handleErrorResponse(asyncResultHandler, helper, t));
   }
@@ -0,0 +1,69 @@
+package org.folio.rest.impl;
+
+import java.util.Map;
+import java.util.Set;
+
+import javax.ws.rs.core.Response;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.annotations.Validate;
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.jaxrs.resource.OrdersExport;
+import org.folio.service.orders.OrdersExportService;
+import org.folio.spring.SpringContextUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+
+public class OrdersExportApi extends BaseApi implements OrdersExport {
+
+  private static final Logger logger = LogManager.getLogger();
+
+  private static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+
+  @Autowired
+  private OrdersExportService ordersExportService;
+
+  public OrdersExportApi() {
+    SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
+  }
+
+  @Override
+  @Validate
+  public void getOrdersExport(String include, String query, String lang, RoutingContext routingContext,
+      Map<String, String> okapiHeaders, Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+
+    Set<String> includedRecords;
+    try {
+      includedRecords = OrdersExportService.parseInclude(include);
+    } catch (Exception e) {
+      handleErrorResponse(asyncResultHandler, e);
+      return;
+    }
+
+    // The records are written directly to the response as they are read, the headers are sent with the first chunk
+    HttpServerResponse response = routingContext.response();
+    response.setChunked(true).putHeader(HttpHeaders.CONTENT_TYPE, NDJSON_CONTENT_TYPE);
+    ordersExportService.exportOrders(query, includedRecords, response, new RequestContext(vertxContext, okapiHeaders))
+      .whenComplete((exported, t) -> vertxContext.runOnContext(v -> {
+        if (t == null) {
+          response.end();
+        } else if (!response.headWritten()) {
+          response.headers().remove(HttpHeaders.CONTENT_TYPE);
+          handleErrorResponse(asyncResultHandler, t);
+        } else if (!response.closed()) {
+          // Part of the records is already sent, so the status cannot be changed: the connection is closed without the last
+          // chunk to let the client know that the export is incomplete
+          logger.error("Closing the connection of the incomplete export of orders", t);
+          response.reset();
+        }
+      }));
+  }
+}
@@ -1,9 +1,15 @@
 package org.folio.rest.impl;
 
 import static io.vertx.core.Future.succeededFuture;
-import static org.folio.orders.utils.HelperUtils.handleErrorResponse;
+import static javax.ws.rs.core.HttpHeaders.CONTENT_TYPE;
+import static javax.ws.rs.core.HttpHeaders.LOCATION;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static org.folio.orders.utils.HelperUtils.getEndpoint;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
 
 import javax.ws.rs.core.Response;
 
@@ -11,43 +17,76 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.helper.CheckinHelper;
 import org.folio.helper.ReceivingHelper;
+import org.folio.models.ReceivingJob;
+import org.folio.orders.utils.HelperUtils;
 import org.folio.rest.annotations.Validate;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.jaxrs.model.CheckinCollection;
 import org.folio.rest.jaxrs.model.ReceivingCollection;
+import org.folio.rest.jaxrs.model.ReceivingResults;
 import org.folio.rest.jaxrs.resource.OrdersCheckIn;
 import org.folio.rest.jaxrs.resource.OrdersReceive;
 import org.folio.rest.jaxrs.resource.OrdersReceivingHistory;
+import org.folio.rest.jaxrs.resource.OrdersReceivingJobs;
+import org.folio.service.pieces.ReceivingJobService;
+import org.folio.spring.SpringContextUtil;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
 
-public class ReceivingAPI implements OrdersReceive, OrdersCheckIn, OrdersReceivingHistory {
+public class ReceivingAPI extends BaseApi implements OrdersReceive, OrdersCheckIn, OrdersReceivingHistory, OrdersReceivingJobs {
 
   private static final Logger logger = LogManager.getLogger();
 
+  @Autowired
+  private ReceivingJobService receivingJobService;
+
+  public ReceivingAPI() {
+    SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
+  }
+
   @Override
   @Validate
-  public void postOrdersReceive(String lang, ReceivingCollection entity, Map<String, String> okapiHeaders,
+  public void postOrdersReceive(boolean async, String lang, ReceivingCollection entity, Map<String, String> okapiHeaders,
       Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
     logger.info("Receiving {} items", entity.getTotalRecords());
+    if (async) {
+      // The helper is created when the job starts, it releases its HTTP client once the job is finished
+      submitJob(ReceivingJob.Type.RECEIVE, entity.getTotalRecords(), progressHandler -> {
+        ReceivingHelper helper = new ReceivingHelper(entity, okapiHeaders, vertxContext, lang);
+        helper.setProgressHandler(progressHandler);
+        return helper.receiveItems(entity).whenComplete((result, t) -> helper.closeHttpClient());
+      }, okapiHeaders, asyncResultHandler, vertxContext);
+      return;
+    }
     ReceivingHelper helper = new ReceivingHelper(entity, okapiHeaders, vertxContext, lang);
     helper.receiveItems(entity)
       .thenAccept(result -> asyncResultHandler.handle(succeededFuture(helper.buildOkResponse(result))))
-      .exceptionally(t -> handleErrorResponse(asyncResultHandler, helper, t));
+      .exceptionally(t -> HelperUtils.handleErrorResponse(asyncResultHandler, helper, t));
   }
 
   @Override
   @Validate
-  public void postOrdersCheckIn(String lang, CheckinCollection entity, Map<String, String> okapiHeaders,
+  public void postOrdersCheckIn(boolean async, String lang, CheckinCollection entity, Map<String, String> okapiHeaders,
       Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
     logger.info("Checkin {} items", entity.getTotalRecords());
+    if (async) {
+      submitJob(ReceivingJob.Type.CHECK_IN, entity.getTotalRecords(), progressHandler -> {
+        CheckinHelper helper = new CheckinHelper(entity, okapiHeaders, vertxContext, lang);
+        helper.setProgressHandler(progressHandler);
+        return helper.checkinPieces(entity, new RequestContext(vertxContext, okapiHeaders))
+          .whenComplete((result, t) -> helper.closeHttpClient());
+      }, okapiHeaders, asyncResultHandler, vertxContext);
+      return;
+    }
     CheckinHelper helper = new CheckinHelper(entity, okapiHeaders, vertxContext, lang);
     helper.checkinPieces(entity, new RequestContext(vertxContext, okapiHeaders))
       .thenAccept(result -> asyncResultHandler.handle(succeededFuture(helper.buildOkResponse(result))))
-      .exceptionally(t -> handleErrorResponse(asyncResultHandler, helper, t));
+      .exceptionally(t -> HelperUtils.handleErrorResponse(asyncResultHandler, helper, t));
   }
 
   @Override
@@ -64,6 +103,26 @@ public class ReceivingAPI implements OrdersReceive, OrdersCheckIn, OrdersReceivi
         }
         asyncResultHandler.handle(succeededFuture(helper.buildOkResponse(receivingHistory)));
       })
-      .exceptionally(t -> handleErrorResponse(asyncResultHandler, helper, t));
+      .exceptionally(t -> HelperUtils.handleErrorResponse(asyncResultHandler, helper, t));
+  }
+
+  @Override
+  @Validate
+  public void getOrdersReceivingJobsById(String id, String lang, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    receivingJobService.getJob(id, new RequestContext(vertxContext, okapiHeaders))
+      .thenAccept(job -> asyncResultHandler.handle(succeededFuture(buildOkResponse(job))))
+      .exceptionally(t -> handleErrorResponse(asyncResultHandler, t));
+  }
+
+  private void submitJob(ReceivingJob.Type type, int totalRecords,
+      Function<IntConsumer, CompletableFuture<ReceivingResults>> task, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    receivingJobService.submit(type, totalRecords, task, new RequestContext(vertxContext, okapiHeaders))
+      .thenAccept(job -> asyncResultHandler.handle(succeededFuture(Response.accepted(job)
+        .header(CONTENT_TYPE, APPLICATION_JSON)
+        .header(LOCATION, getEndpoint(OrdersReceivingJobs.class) + "/" + job.getId())
+        .build())))
+      .exceptionally(t -> handleErrorResponse(asyncResultHandler, t));
   }
 }
@@ -0,0 +1,88 @@
+package org.folio.service;
+
+import java.util.List;
+
+import org.folio.orders.utils.PrometheusTextBuilder;
+import org.folio.rest.core.HttpClientPool;
+import org.folio.rest.core.OutboundCallMetrics;
+import org.folio.service.configuration.ConfigurationEntriesService;
+import org.folio.service.exchange.FinanceExchangeRateService;
+import org.folio.service.inventory.InstanceLookupIndex;
+import org.folio.service.inventory.ReferenceDataCache;
+import org.folio.service.orders.CombinedOrderDataPopulateService;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Collects the module metrics (calls to other modules, HTTP client pool, caches and order data population) in the Prometheus text format
+ */
+public class MetricsService {
+
+  private static final String CACHE_ENTRIES_METRIC = "mod_orders_cache_entries";
+  private static final String CACHE_LOOKUPS_METRIC = "mod_orders_cache_lookups_total";
+  private static final String CACHE_LOAD_FAILURES_METRIC = "mod_orders_cache_load_failures_total";
+  private static final String CACHE_EVICTIONS_METRIC = "mod_orders_cache_evictions_total";
+  private static final String POOL_CLIENTS_METRIC = "mod_orders_http_pool_clients_total";
+  private static final String POOL_IDLE_METRIC = "mod_orders_http_pool_idle_clients";
+  private static final String POOL_LEASED_METRIC = "mod_orders_http_pool_leased_clients";
+
+  private final ConfigurationEntriesService configurationEntriesService;
+  private final ReferenceDataCache referenceDataCache;
+  private final FinanceExchangeRateService financeExchangeRateService;
+  private final CombinedOrderDataPopulateService combinedPopulateService;
+
+  public MetricsService(ConfigurationEntriesService configurationEntriesService, ReferenceDataCache referenceDataCache,
+                        FinanceExchangeRateService financeExchangeRateService,
+                        CombinedOrderDataPopulateService combinedPopulateService) {
+    this.configurationEntriesService = configurationEntriesService;
+    this.referenceDataCache = referenceDataCache;
+    this.financeExchangeRateService = financeExchangeRateService;
+    this.combinedPopulateService = combinedPopulateService;
+  }
+
+  /**
+   * Returns the metrics of the calls to other modules made for the tenant, and the module wide metrics of the HTTP client pool,
+   * caches and order data population, which are not broken down by tenant
+   */
+  public String getPrometheusMetrics(String tenantId) {
+    PrometheusTextBuilder builder = new PrometheusTextBuilder();
+    OutboundCallMetrics.getInstance().writeTo(builder, tenantId);
+    writePoolMetrics(HttpClientPool.getInstance().getMetrics(), builder);
+    writeCacheMetrics(List.of(configurationEntriesService.getCacheMetrics(), referenceDataCache.getMetrics(),
+      financeExchangeRateService.getCacheMetrics(), InstanceLookupIndex.getCacheMetrics()), builder);
+    combinedPopulateService.writeTo(builder);
+    return builder.build();
+  }
+
+  private void writePoolMetrics(JsonObject poolMetrics, PrometheusTextBuilder builder) {
+    builder.family(POOL_CLIENTS_METRIC, "counter", "HTTP clients of the pool by event");
+    for (String event : List.of("created", "reused", "released", "evicted", "unpooled")) {
+      builder.sample(POOL_CLIENTS_METRIC, poolMetrics.getLong(event, 0L), "event", event);
+    }
+    builder.family(POOL_IDLE_METRIC, "gauge", "Idle HTTP clients of the pool");
+    builder.sample(POOL_IDLE_METRIC, poolMetrics.getInteger("idle", 0));
+    builder.family(POOL_LEASED_METRIC, "gauge", "Leased HTTP clients of the pool");
+    builder.sample(POOL_LEASED_METRIC, poolMetrics.getInteger("leased", 0));
+  }
+
+  private void writeCacheMetrics(List<JsonObject> cachesMetrics, PrometheusTextBuilder builder) {
+    builder.family(CACHE_ENTRIES_METRIC, "gauge", "Number of cached entries");
+    cachesMetrics.forEach(metrics -> builder.sample(CACHE_ENTRIES_METRIC, metrics.getInteger("size", 0),
+      "cache", metrics.getString("name")));
+
+    builder.family(CACHE_LOOKUPS_METRIC, "counter", "Cache lookups by result");
+    cachesMetrics.forEach(metrics -> {
+      builder.sample(CACHE_LOOKUPS_METRIC, metrics.getLong("hits", 0L), "cache", metrics.getString("name"), "result", "hit");
+      builder.sample(CACHE_LOOKUPS_METRIC, metrics.getLong("staleHits", 0L), "cache", metrics.getString("name"), "result", "stale");
+      builder.sample(CACHE_LOOKUPS_METRIC, metrics.getLong("misses", 0L), "cache", metrics.getString("name"), "result", "miss");
+    });
+
+    builder.family(CACHE_LOAD_FAILURES_METRIC, "counter", "Failed cache loads");
+    cachesMetrics.forEach(metrics -> builder.sample(CACHE_LOAD_FAILURES_METRIC, metrics.getLong("loadFailures", 0L),
+      "cache", metrics.getString("name")));
+
+    builder.family(CACHE_EVICTIONS_METRIC, "counter", "Cache entries evicted because the cache was full");
+    cachesMetrics.forEach(metrics -> builder.sample(CACHE_EVICTIONS_METRIC, metrics.getLong("evictions", 0L),
+      "cache", metrics.getString("name")));
+  }
+}
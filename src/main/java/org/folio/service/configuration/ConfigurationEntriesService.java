@@ -1,16 +1,19 @@
 package org.folio.service.configuration;
 
 import static org.folio.orders.utils.HelperUtils.SYSTEM_CONFIG_MODULE_NAME;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
 
 import java.util.concurrent.CompletableFuture;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.orders.utils.AsyncTtlCache;
 import org.folio.rest.core.RestClient;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.core.models.RequestEntry;
 import org.folio.rest.jaxrs.model.Configs;
+import org.folio.rest.tools.utils.TenantTool;
 
 import io.vertx.core.json.JsonObject;
 
@@ -22,13 +25,49 @@ public class ConfigurationEntriesService {
   public static final String LOCALE_SETTINGS = "localeSettings";
   public static final String CURRENCY_USD = "USD";
 
+  /**
+   * Module configurations are cached per tenant. A cached configuration is served for {@value #CACHE_TTL_PROPERTY} ms and
+   * then for up to {@value #CACHE_STALE_PROPERTY} ms more while it is being reloaded in the background. The entries are
+   * written to mod-configuration directly, not through this module, so changes are picked up by the reload only.
+   */
+  public static final String CACHE_TTL_PROPERTY = "orders.cache.configuration.ttlMs";
+  public static final String CACHE_STALE_PROPERTY = "orders.cache.configuration.staleMs";
+  public static final String CACHE_MAX_SIZE_PROPERTY = "orders.cache.configuration.maxSize";
+  private static final long DEFAULT_CACHE_TTL_MS = 5_000;
+  private static final long DEFAULT_CACHE_STALE_MS = 60_000;
+  private static final int DEFAULT_CACHE_MAX_SIZE = 1_000;
+  private static final String CACHE_KEY_SEPARATOR = ":";
+
   private final RestClient restClient;
+  private final AsyncTtlCache<String, JsonObject> configurationCache;
 
   public ConfigurationEntriesService(RestClient restClient) {
+    this(restClient, new AsyncTtlCache<>("configuration",
+      Long.getLong(CACHE_TTL_PROPERTY, DEFAULT_CACHE_TTL_MS),
+      Long.getLong(CACHE_STALE_PROPERTY, DEFAULT_CACHE_STALE_MS),
+      Integer.getInteger(CACHE_MAX_SIZE_PROPERTY, DEFAULT_CACHE_MAX_SIZE),
+      JsonObject::copy));
+  }
+
+  ConfigurationEntriesService(RestClient restClient, AsyncTtlCache<String, JsonObject> configurationCache) {
     this.restClient = restClient;
+    this.configurationCache = configurationCache;
   }
 
+  /**
+   * Returns module configuration of the tenant as configName to value map from the per-tenant cache
+   */
   public CompletableFuture<JsonObject> loadConfiguration(String moduleConfig, RequestContext requestContext) {
+    String tenantId = TenantTool.calculateTenantId(requestContext.getHeaders().get(OKAPI_HEADER_TENANT));
+    return configurationCache.get(tenantId + CACHE_KEY_SEPARATOR + moduleConfig,
+      key -> fetchConfiguration(moduleConfig, requestContext));
+  }
+
+  public JsonObject getCacheMetrics() {
+    return configurationCache.getMetrics();
+  }
+
+  private CompletableFuture<JsonObject> fetchConfiguration(String moduleConfig, RequestContext requestContext) {
     RequestEntry requestEntry = new RequestEntry(TENANT_CONFIGURATION_ENTRIES).withQuery(String.format(CONFIG_QUERY, moduleConfig))
             .withOffset(0).withLimit(Integer.MAX_VALUE);
     logger.info("GET request: {}", CONFIG_QUERY);
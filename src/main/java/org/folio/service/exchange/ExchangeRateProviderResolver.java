@@ -1,10 +1,15 @@
 package org.folio.service.exchange;
 
+import java.util.Collection;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import javax.money.convert.ConversionQuery;
 import javax.money.convert.ExchangeRateProvider;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.rest.core.models.RequestContext;
@@ -13,12 +18,30 @@ public class ExchangeRateProviderResolver {
   private final Logger logger = LogManager.getLogger();
   public static final String RATE_KEY = "factor";
 
-  public ExchangeRateProvider resolve(ConversionQuery conversionQuery, RequestContext requestContext){
+  private final FinanceExchangeRateService financeExchangeRateService;
+
+  public ExchangeRateProviderResolver(FinanceExchangeRateService financeExchangeRateService) {
+    this.financeExchangeRateService = financeExchangeRateService;
+  }
+
+  public ExchangeRateProvider resolve(ConversionQuery conversionQuery, PrefetchedExchangeRates exchangeRates){
     ExchangeRateProvider exchangeRateProvider = Optional.ofNullable(conversionQuery)
             .map(query -> query.get(RATE_KEY, Double.class))
             .map(rate -> (ExchangeRateProvider) new ManualExchangeRateProvider())
-            .orElseGet(() -> new FinanceApiExchangeRateProvider(requestContext));
+            .orElseGet(() -> new FinanceApiExchangeRateProvider(exchangeRates));
     logger.debug("Created ExchangeRateProvider name: {}", exchangeRateProvider.getContext().getProviderName());
     return exchangeRateProvider;
   }
+
+  /**
+   * Loads rates required by the queries which are resolved to the finance API provider. The returned rates are passed
+   * to {@link #resolve}, so the conversions built afterwards never wait for mod-finance.
+   */
+  public CompletableFuture<PrefetchedExchangeRates> prefetchExchangeRates(Collection<ConversionQuery> conversionQueries, RequestContext requestContext) {
+    return financeExchangeRateService.prefetchExchangeRates(conversionQueries.stream()
+      .filter(Objects::nonNull)
+      .filter(query -> query.get(RATE_KEY, Double.class) == null)
+      .map(query -> Pair.of(query.getBaseCurrency().getCurrencyCode(), query.getCurrency().getCurrencyCode()))
+      .collect(Collectors.toList()), requestContext);
+  }
 }
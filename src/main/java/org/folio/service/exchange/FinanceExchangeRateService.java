@@ -1,29 +1,83 @@
 package org.folio.service.exchange;
 
 
+import static org.folio.orders.utils.HelperUtils.collectResultsOnSuccess;
 import static org.folio.orders.utils.ResourcePathResolver.FINANCE_EXCHANGE_RATE;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
+import org.apache.commons.lang3.tuple.Pair;
+import org.folio.orders.utils.AsyncTtlCache;
 import org.folio.orders.utils.ResourcePathResolver;
 import org.folio.rest.acq.model.finance.ExchangeRate;
 import org.folio.rest.core.RestClient;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.core.models.RequestEntry;
+import org.folio.rest.tools.utils.TenantTool;
 
+import io.vertx.core.json.JsonObject;
 
+
+/**
+ * Exchange rates of mod-finance cached per tenant for a short time ({@value #CACHE_TTL_PROPERTY} ms, default
+ * {@value #DEFAULT_CACHE_TTL_MS}), so the rates of an order can be prefetched in parallel and then pinned for the
+ * synchronous JSR-354 conversions of the operation.
+ */
 public class FinanceExchangeRateService {
   private static final String ENDPOINT = ResourcePathResolver.resourcesPath(FINANCE_EXCHANGE_RATE);
+
+  public static final String CACHE_TTL_PROPERTY = "orders.cache.exchangeRate.ttlMs";
+  public static final String CACHE_MAX_SIZE_PROPERTY = "orders.cache.exchangeRate.maxSize";
+  static final long DEFAULT_CACHE_TTL_MS = 60_000;
+  static final int DEFAULT_CACHE_MAX_SIZE = 1_000;
+
   private final RestClient restClient;
+  private final AsyncTtlCache<String, ExchangeRate> exchangeRateCache;
 
   public FinanceExchangeRateService(RestClient restClient) {
     this.restClient = restClient;
+    this.exchangeRateCache = new AsyncTtlCache<>("exchangeRate",
+      Long.getLong(CACHE_TTL_PROPERTY, DEFAULT_CACHE_TTL_MS), 0,
+      Integer.getInteger(CACHE_MAX_SIZE_PROPERTY, DEFAULT_CACHE_MAX_SIZE),
+      UnaryOperator.identity());
   }
 
   public CompletableFuture<ExchangeRate> getExchangeRate(String from, String to, RequestContext requestContext) {
+    String tenantId = TenantTool.calculateTenantId(requestContext.getHeaders().get(OKAPI_HEADER_TENANT));
+    return exchangeRateCache.get(tenantId + ":" + from + ":" + to, key -> {
+      RequestEntry requestEntry = new RequestEntry(ENDPOINT).withQueryParameter("from", from).withQueryParameter("to", to);
+      return restClient.get(requestEntry, requestContext, ExchangeRate.class);
+    });
+  }
+
+  /**
+   * Loads rates of all distinct (from, to) currency pairs in parallel and pins them for the calling operation
+   */
+  public CompletableFuture<PrefetchedExchangeRates> prefetchExchangeRates(Collection<Pair<String, String>> currencyPairs,
+                                                                          RequestContext requestContext) {
+    List<Pair<String, String>> distinctPairs = currencyPairs.stream().distinct().collect(Collectors.toList());
+    return collectResultsOnSuccess(distinctPairs.stream()
+      .map(pair -> getExchangeRate(pair.getLeft(), pair.getRight(), requestContext))
+      .collect(Collectors.toList()))
+      .thenApply(rates -> {
+        Map<String, ExchangeRate> rateMap = new HashMap<>();
+        for (int i = 0; i < distinctPairs.size(); i++) {
+          Pair<String, String> pair = distinctPairs.get(i);
+          rateMap.put(PrefetchedExchangeRates.buildKey(pair.getLeft(), pair.getRight()), rates.get(i));
+        }
+        return new PrefetchedExchangeRates(rateMap);
+      });
+  }
 
-    RequestEntry requestEntry = new RequestEntry(ENDPOINT).withQueryParameter("from", from).withQueryParameter("to", to);
-    return restClient.get(requestEntry, requestContext, ExchangeRate.class);
+  public JsonObject getCacheMetrics() {
+    return exchangeRateCache.getMetrics();
   }
 
 }
@@ -0,0 +1,30 @@
+package org.folio.service.exchange;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.folio.rest.acq.model.finance.ExchangeRate;
+
+/**
+ * Exchange rates of mod-finance loaded for a single operation. Conversions of the operation read the rates from here
+ * rather than from the shared rate cache, so an expired or evicted cache entry never forces a blocking call.
+ */
+public class PrefetchedExchangeRates {
+  public static final PrefetchedExchangeRates EMPTY = new PrefetchedExchangeRates(Collections.emptyMap());
+
+  private final Map<String, ExchangeRate> rates;
+
+  public PrefetchedExchangeRates(Map<String, ExchangeRate> rates) {
+    this.rates = new HashMap<>(rates);
+  }
+
+  public Optional<ExchangeRate> getExchangeRate(String from, String to) {
+    return Optional.ofNullable(rates.get(buildKey(from, to)));
+  }
+
+  static String buildKey(String from, String to) {
+    return from + ":" + to;
+  }
+}
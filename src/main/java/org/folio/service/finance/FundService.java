@@ -1,12 +1,11 @@
 package org.folio.service.finance;
 
-import static one.util.streamex.StreamEx.ofSubLists;
 import static org.folio.orders.utils.ErrorCodes.FUNDS_NOT_FOUND;
+import static org.folio.orders.utils.HelperUtils.ID;
 import static org.folio.orders.utils.HelperUtils.collectResultsOnSuccess;
 import static org.folio.orders.utils.HelperUtils.convertIdsToCqlQuery;
-import static org.folio.rest.RestConstants.MAX_IDS_FOR_GET_RQ;
+import static org.folio.rest.core.IdBatchPlanner.planBatches;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -24,6 +23,8 @@ import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.core.models.RequestEntry;
 import org.folio.rest.jaxrs.model.Parameter;
 
+import one.util.streamex.StreamEx;
+
 public class FundService {
 
   private static final String ENDPOINT = "/finance/funds";
@@ -37,7 +38,7 @@ public class FundService {
 
   public CompletableFuture<List<Fund>> getAllFunds(Collection<String> fundIds, RequestContext requestContext) {
     return collectResultsOnSuccess(
-        ofSubLists(new ArrayList<>(fundIds), MAX_IDS_FOR_GET_RQ).map(ids -> getAllFundsByIds(ids, requestContext))
+        StreamEx.of(planBatches(fundIds, ID)).map(ids -> getAllFundsByIds(ids, requestContext))
           .toList()).thenApply(
               lists -> lists.stream()
                 .flatMap(Collection::stream)
@@ -46,7 +47,7 @@ public class FundService {
 
   public CompletableFuture<List<Fund>> getFunds(Collection<String> fundIds, RequestContext requestContext) {
     return collectResultsOnSuccess(
-        ofSubLists(new ArrayList<>(fundIds), MAX_IDS_FOR_GET_RQ).map(ids -> getFundsByIds(ids, requestContext))
+        StreamEx.of(planBatches(fundIds, ID)).map(ids -> getFundsByIds(ids, requestContext))
           .toList()).thenApply(
               lists -> lists.stream()
                 .flatMap(Collection::stream)
@@ -56,7 +57,7 @@ public class FundService {
   private CompletableFuture<List<Fund>> getFundsByIds(Collection<String> ids, RequestContext requestContext) {
     String query = convertIdsToCqlQuery(ids);
     RequestEntry requestEntry = new RequestEntry(ENDPOINT).withQuery(query)
-      .withLimit(MAX_IDS_FOR_GET_RQ)
+      .withLimit(ids.size())
       .withOffset(0);
     return restClient.get(requestEntry, requestContext, FundCollection.class)
       .thenApply(FundCollection::getFunds);
@@ -90,7 +91,7 @@ public class FundService {
   private CompletableFuture<List<Fund>> getAllFundsByIds(Collection<String> ids, RequestContext requestContext) {
     String query = convertIdsToCqlQuery(ids);
     RequestEntry requestEntry = new RequestEntry(ENDPOINT).withQuery(query)
-      .withLimit(MAX_IDS_FOR_GET_RQ)
+      .withLimit(ids.size())
       .withOffset(0);
     return restClient.get(requestEntry, requestContext, FundCollection.class)
       .thenApply(FundCollection::getFunds)
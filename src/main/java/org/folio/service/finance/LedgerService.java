@@ -3,8 +3,9 @@ package org.folio.service.finance;
 import static java.util.stream.Collectors.toList;
 import static org.folio.orders.utils.ErrorCodes.LEDGER_NOT_FOUND_FOR_TRANSACTION;
 import static org.folio.orders.utils.HelperUtils.ID;
+import static org.folio.orders.utils.HelperUtils.collectResultsOnSuccess;
 import static org.folio.orders.utils.HelperUtils.convertIdsToCqlQuery;
-import static org.folio.rest.RestConstants.MAX_IDS_FOR_GET_RQ;
+import static org.folio.rest.core.IdBatchPlanner.planBatches;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -20,6 +21,8 @@ import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.core.models.RequestEntry;
 import org.folio.rest.jaxrs.model.Parameter;
 
+import one.util.streamex.StreamEx;
+
 public class LedgerService {
 
   private static final String ENDPOINT = "/finance/ledgers";
@@ -31,22 +34,31 @@ public class LedgerService {
   }
 
   public CompletableFuture<List<Ledger>> getLedgersByIds(Collection<String> ledgerIds, RequestContext requestContext) {
-    String query = convertIdsToCqlQuery(ledgerIds, ID);
-    RequestEntry requestEntry = new RequestEntry(ENDPOINT).withQuery(query)
-              .withLimit(MAX_IDS_FOR_GET_RQ).withOffset(0);
-    return restClient.get(requestEntry, requestContext, LedgerCollection.class)
-      .thenApply(ledgerCollection -> {
-        if (ledgerIds.size() == ledgerCollection.getLedgers()
-          .size()) {
-          return ledgerCollection.getLedgers();
-        }
-        String missingIds = String.join(", ", CollectionUtils.subtract(ledgerIds, ledgerCollection.getLedgers()
+    return collectResultsOnSuccess(StreamEx.of(planBatches(ledgerIds, ID))
+        .map(ids -> getLedgersChunk(ids, requestContext))
+        .toList())
+      .thenApply(lists -> {
+        List<Ledger> ledgers = lists.stream()
+          .flatMap(Collection::stream)
+          .collect(toList());
+        String missingIds = String.join(", ", CollectionUtils.subtract(ledgerIds, ledgers
           .stream()
           .map(Ledger::getId)
           .collect(toList())));
+        if (missingIds.isEmpty()) {
+          return ledgers;
+        }
         throw new HttpException(404, LEDGER_NOT_FOUND_FOR_TRANSACTION.toError()
           .withParameters(Collections.singletonList(new Parameter().withKey("ledgers")
             .withValue(missingIds))));
       });
   }
+
+  private CompletableFuture<List<Ledger>> getLedgersChunk(Collection<String> ids, RequestContext requestContext) {
+    String query = convertIdsToCqlQuery(ids, ID);
+    RequestEntry requestEntry = new RequestEntry(ENDPOINT).withQuery(query)
+              .withLimit(ids.size()).withOffset(0);
+    return restClient.get(requestEntry, requestContext, LedgerCollection.class)
+      .thenApply(LedgerCollection::getLedgers);
+  }
 }
@@ -5,6 +5,7 @@ import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static org.folio.orders.utils.HelperUtils.getConversionQuery;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -17,7 +18,6 @@ import javax.money.convert.ConversionQuery;
 import javax.money.convert.CurrencyConversion;
 import javax.money.convert.ExchangeRateProvider;
 
-import org.folio.completablefuture.FolioVertxCompletableFuture;
 import org.folio.models.EncumbranceRelationsHolder;
 import org.folio.rest.acq.model.finance.Budget;
 import org.folio.rest.acq.model.finance.Encumbrance;
@@ -163,9 +163,9 @@ public class EncumbranceRelationsHoldersBuilder {
   public CompletableFuture<List<EncumbranceRelationsHolder>> withConversion(List<EncumbranceRelationsHolder> encumbranceHolders,
                                                                             RequestContext requestContext) {
     return encumbranceHolders.stream().map(EncumbranceRelationsHolder::getCurrency)
-        .filter(Objects::nonNull).findFirst().map(transactionCurrency -> FolioVertxCompletableFuture.supplyBlockingAsync(requestContext.getContext(), () ->  {
-
+        .filter(Objects::nonNull).findFirst().map(transactionCurrency -> {
           Map<String, List<EncumbranceRelationsHolder>> currencyHolderMap = encumbranceHolders.stream().filter(holder -> Objects.nonNull(holder.getPoLine())).collect(groupingBy(holder -> holder.getPoLine().getCost().getCurrency()));
+          Map<String, ConversionQuery> currencyQueryMap = new HashMap<>();
           currencyHolderMap.forEach((poLineCurrency, encumbranceRelationsHolders) -> {
             Double exchangeRate = encumbranceRelationsHolders.stream()
                 .map(EncumbranceRelationsHolder::getPoLine)
@@ -174,13 +174,19 @@ public class EncumbranceRelationsHoldersBuilder {
                 .filter(Objects::nonNull)
                 .findFirst()
                 .orElse(null);
-            ConversionQuery conversionQuery = getConversionQuery(exchangeRate, poLineCurrency, transactionCurrency);
-            ExchangeRateProvider exchangeRateProvider = exchangeRateProviderResolver.resolve(conversionQuery, requestContext);
-            CurrencyConversion conversion = exchangeRateProvider.getCurrencyConversion(conversionQuery);
-            encumbranceRelationsHolders.forEach(holder -> holder.withPoLineToFyConversion(conversion));
+            currencyQueryMap.put(poLineCurrency, getConversionQuery(exchangeRate, poLineCurrency, transactionCurrency));
           });
-          return encumbranceHolders;
-        }))
+          // Rates of all currencies are loaded in parallel and pinned to the conversions, so they never block
+          return exchangeRateProviderResolver.prefetchExchangeRates(currencyQueryMap.values(), requestContext)
+            .thenApply(exchangeRates -> {
+              currencyQueryMap.forEach((poLineCurrency, conversionQuery) -> {
+                ExchangeRateProvider exchangeRateProvider = exchangeRateProviderResolver.resolve(conversionQuery, exchangeRates);
+                CurrencyConversion conversion = exchangeRateProvider.getCurrencyConversion(conversionQuery);
+                currencyHolderMap.get(poLineCurrency).forEach(holder -> holder.withPoLineToFyConversion(conversion));
+              });
+              return encumbranceHolders;
+            });
+        })
         .orElseGet(() -> CompletableFuture.completedFuture(encumbranceHolders));
   }
 
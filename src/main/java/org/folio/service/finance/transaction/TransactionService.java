@@ -1,11 +1,10 @@
 package org.folio.service.finance.transaction;
 
-import static one.util.streamex.StreamEx.ofSubLists;
 import static org.folio.orders.utils.HelperUtils.collectResultsOnSuccess;
 import static org.folio.orders.utils.HelperUtils.convertIdsToCqlQuery;
-import static org.folio.rest.RestConstants.MAX_IDS_FOR_GET_RQ;
+import static org.folio.rest.core.IdBatchPlanner.encodedLength;
+import static org.folio.rest.core.IdBatchPlanner.planBatches;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -17,6 +16,8 @@ import org.folio.rest.core.RestClient;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.core.models.RequestEntry;
 
+import one.util.streamex.StreamEx;
+
 public class TransactionService {
 
   private static final String ENDPOINT = "/finance/transactions";
@@ -41,7 +42,8 @@ public class TransactionService {
 
   public CompletableFuture<List<Transaction>> getTransactionsByPoLinesIds(List<String> trIds, String searchCriteria, RequestContext requestContext) {
     return collectResultsOnSuccess(
-        ofSubLists(new ArrayList<>(trIds), MAX_IDS_FOR_GET_RQ).map(ids -> getTransactionsChunksByPoLineIds(ids, searchCriteria, requestContext))
+        StreamEx.of(planBatches(trIds, "encumbrance.sourcePoLineId", encodedLength(" AND " + searchCriteria)))
+          .map(ids -> getTransactionsChunksByPoLineIds(ids, searchCriteria, requestContext))
           .toList()).thenApply(
               lists -> lists.stream()
                 .flatMap(Collection::stream)
@@ -0,0 +1,116 @@
+package org.folio.service.inventory;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.core.models.RequestContext;
+
+/**
+ * Holdings ids resolved by instance and permanent location within one operation, e.g. opening an order or receiving pieces.
+ * The holding of each distinct (instanceId, locationId) pair is searched and, if it does not exist yet, created only once:
+ * concurrent requests for the same pair share one lookup instead of creating duplicate holdings. Known pairs can be
+ * prefetched with one batched search instead of a search per pair.
+ */
+public class HoldingsResolver {
+
+  private static final Logger logger = LogManager.getLogger(HoldingsResolver.class);
+
+  private final InventoryManager inventoryManager;
+  private final RequestContext requestContext;
+  private final Map<Pair<String, String>, CompletableFuture<String>> holdingIds = new HashMap<>();
+
+  public HoldingsResolver(InventoryManager inventoryManager, RequestContext requestContext) {
+    this.inventoryManager = inventoryManager;
+    this.requestContext = requestContext;
+  }
+
+  /**
+   * Searches for the holdings of all pairs which are not resolved yet with batched queries. Holdings which are not found are
+   * created. If the search fails, the pairs are looked up one by one.
+   *
+   * @param instanceLocationPairs pairs of instance id and permanent location id
+   * @return future completed when all pairs are resolved, failed if any of them cannot be resolved
+   */
+  public CompletableFuture<Void> prefetch(Collection<Pair<String, String>> instanceLocationPairs) {
+    Map<Pair<String, String>, CompletableFuture<String>> pending = new HashMap<>();
+    List<CompletableFuture<String>> futures;
+    synchronized (holdingIds) {
+      futures = new LinkedHashSet<>(instanceLocationPairs).stream()
+        .map(pair -> holdingIds.computeIfAbsent(pair, key -> {
+          CompletableFuture<String> future = new CompletableFuture<>();
+          pending.put(key, future);
+          return future;
+        }))
+        .collect(toList());
+    }
+
+    if (!pending.isEmpty()) {
+      inventoryManager.searchHoldingIds(pending.keySet(), requestContext)
+        .whenComplete((foundIds, t) -> {
+          if (t != null) {
+            logger.warn("Batched search of {} holdings failed, searching one by one", pending.size(), t);
+          }
+          pending.forEach((pair, future) -> {
+            String holdingId = t == null ? foundIds.get(pair) : null;
+            if (holdingId != null) {
+              future.complete(holdingId);
+            } else if (t == null) {
+              complete(pair, future, inventoryManager.createHoldingsRecord(pair.getLeft(), pair.getRight(), requestContext));
+            } else {
+              complete(pair, future, lookup(pair));
+            }
+          });
+        });
+    }
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+  }
+
+  /**
+   * Returns id of the holding with given instance and permanent location. The holding is searched or created only if the pair
+   * is not resolved or being resolved yet.
+   */
+  public CompletableFuture<String> getHoldingId(String instanceId, String locationId) {
+    Pair<String, String> pair = Pair.of(instanceId, locationId);
+    CompletableFuture<String> future = new CompletableFuture<>();
+    synchronized (holdingIds) {
+      CompletableFuture<String> existing = holdingIds.putIfAbsent(pair, future);
+      if (existing != null) {
+        return existing;
+      }
+    }
+    complete(pair, future, lookup(pair));
+    return future;
+  }
+
+  private CompletableFuture<String> lookup(Pair<String, String> pair) {
+    try {
+      return inventoryManager.getOrCreateHoldingsRecord(pair.getLeft(), pair.getRight(), requestContext);
+    } catch (Exception e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  private void complete(Pair<String, String> pair, CompletableFuture<String> future, CompletableFuture<String> result) {
+    result.whenComplete((holdingId, t) -> {
+      if (t == null) {
+        future.complete(holdingId);
+      } else {
+        // Failed pair is not kept, so it is resolved again by the next request
+        synchronized (holdingIds) {
+          holdingIds.remove(pair, future);
+        }
+        future.completeExceptionally(t instanceof CompletionException && t.getCause() != null ? t.getCause() : t);
+      }
+    });
+  }
+}
@@ -0,0 +1,200 @@
+package org.folio.service.inventory;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static org.folio.service.inventory.InventoryManager.INSTANCE_IDENTIFIERS;
+import static org.folio.service.inventory.InventoryManager.INSTANCE_IDENTIFIER_TYPE_ID;
+import static org.folio.service.inventory.InventoryManager.INSTANCE_IDENTIFIER_TYPE_VALUE;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.apache.commons.lang3.StringUtils;
+import org.folio.orders.utils.AsyncTtlCache;
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.jaxrs.model.ProductId;
+import org.folio.rest.tools.utils.TenantTool;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Instance ids resolved by product identifiers within one operation, e.g. opening an order. The caller creates one index for
+ * the operation and passes it to every lookup of the operation. The lines of an order often share products, so the instance of
+ * each distinct product is searched or created only once: a lookup for products of which at least one is already looked up (or
+ * being looked up) reuses that result instead of searching again or creating a duplicate instance. Products are compared by
+ * identifier type and value ignoring case, spaces and hyphens.
+ * <p>
+ * Only the products the instance actually has are bound to it: the products of a found instance which match its identifiers,
+ * or all products of a created instance. Other products of the lookup, and the products of a lookup which reused the instance,
+ * are not bound, so they are looked up on their own by the next lookups.
+ * <p>
+ * Resolved ids can also be shared between operations of the tenant for a short time, which is controlled by the following
+ * system properties:
+ * <ul>
+ * <li>{@value #CACHE_TTL_PROPERTY} - time in ms an id is cached, default {@value #DEFAULT_CACHE_TTL_MS} (not cached)</li>
+ * <li>{@value #CACHE_MAX_SIZE_PROPERTY} - max number of cached ids for all tenants, default {@value #DEFAULT_CACHE_MAX_SIZE}</li>
+ * </ul>
+ */
+public class InstanceLookupIndex {
+
+  public static final String CACHE_TTL_PROPERTY = "orders.cache.instanceLookup.ttlMs";
+  public static final String CACHE_MAX_SIZE_PROPERTY = "orders.cache.instanceLookup.maxSize";
+
+  static final long DEFAULT_CACHE_TTL_MS = 0;
+  static final int DEFAULT_CACHE_MAX_SIZE = 10_000;
+
+  private static final long CACHE_TTL_MS = Long.getLong(CACHE_TTL_PROPERTY, DEFAULT_CACHE_TTL_MS);
+  private static final AsyncTtlCache<String, Match> TENANT_CACHE = new AsyncTtlCache<>("instanceLookup", CACHE_TTL_MS, 0,
+    Integer.getInteger(CACHE_MAX_SIZE_PROPERTY, DEFAULT_CACHE_MAX_SIZE), UnaryOperator.identity());
+
+  private final String tenantId;
+  private final AsyncTtlCache<String, Match> tenantCache;
+  private final Map<String, CompletableFuture<Match>> instanceIds = new HashMap<>();
+
+  public InstanceLookupIndex(RequestContext requestContext) {
+    this(CACHE_TTL_MS > 0 ? TenantTool.tenantId(requestContext.getHeaders()) : null, CACHE_TTL_MS > 0 ? TENANT_CACHE : null);
+  }
+
+  InstanceLookupIndex(String tenantId, AsyncTtlCache<String, Match> tenantCache) {
+    this.tenantId = tenantId;
+    this.tenantCache = tenantCache;
+  }
+
+  /**
+   * @return metrics of the instance ids cache shared by the operations of all tenants
+   */
+  public static JsonObject getCacheMetrics() {
+    return TENANT_CACHE.getMetrics();
+  }
+
+  /**
+   * Returns id of the instance with given products
+   *
+   * @param productIds products of the PO line or title
+   * @param lookup     searches for the instance by the products or creates a new one, run only if none of the products is
+   *                   bound to an instance yet
+   */
+  public CompletableFuture<String> getInstanceId(List<ProductId> productIds, Supplier<CompletableFuture<Match>> lookup) {
+    List<String> keys = productIds.stream()
+      .map(InstanceLookupIndex::normalize)
+      .distinct()
+      .sorted()
+      .collect(toList());
+    if (keys.isEmpty()) {
+      return lookup.get().thenApply(Match::getInstanceId);
+    }
+
+    CompletableFuture<Match> future = new CompletableFuture<>();
+    CompletableFuture<Match> existing;
+    synchronized (instanceIds) {
+      existing = keys.stream()
+        .map(instanceIds::get)
+        .filter(Objects::nonNull)
+        .findFirst()
+        .orElse(null);
+      if (existing == null) {
+        keys.forEach(key -> instanceIds.put(key, future));
+      }
+    }
+    if (existing != null) {
+      // The products are unbound from a failed lookup or from an instance without them, so they are looked up again then
+      return existing.handle((match, t) -> t == null && match.hasAnyOf(keys)
+          ? CompletableFuture.completedFuture(match.getInstanceId())
+          : getInstanceId(productIds, lookup))
+        .thenCompose(Function.identity());
+    }
+
+    lookup(keys, lookup).whenComplete((match, t) -> {
+      synchronized (instanceIds) {
+        instanceIds.entrySet().removeIf(entry -> entry.getValue() == future && (t != null || !match.hasKey(entry.getKey())));
+      }
+      if (t == null) {
+        future.complete(match);
+      } else {
+        future.completeExceptionally(t instanceof CompletionException && t.getCause() != null ? t.getCause() : t);
+      }
+    });
+    return future.thenApply(Match::getInstanceId);
+  }
+
+  static String normalize(ProductId productId) {
+    return normalize(productId.getProductIdType(), productId.getProductId());
+  }
+
+  private static String normalize(String type, String value) {
+    return StringUtils.trimToEmpty(type).toLowerCase(Locale.ROOT) + ":"
+      + StringUtils.defaultString(value).replaceAll("[\\s-]", "").toLowerCase(Locale.ROOT);
+  }
+
+  private CompletableFuture<Match> lookup(List<String> keys, Supplier<CompletableFuture<Match>> lookup) {
+    try {
+      if (tenantCache == null) {
+        return lookup.get();
+      }
+      return tenantCache.get(tenantId + "|" + String.join("|", keys), key -> lookup.get());
+    } catch (Exception e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  /**
+   * Instance resolved by a lookup and the products it has
+   */
+  public static final class Match {
+    private final String instanceId;
+    private final Set<String> keys;
+
+    private Match(String instanceId, Set<String> keys) {
+      this.instanceId = instanceId;
+      this.keys = keys;
+    }
+
+    /**
+     * @param instanceId id of the instance created with the products
+     * @param productIds products of the instance
+     */
+    public static Match created(String instanceId, List<ProductId> productIds) {
+      return new Match(instanceId, productIds.stream().map(InstanceLookupIndex::normalize).collect(toSet()));
+    }
+
+    /**
+     * @param instance   instance found by the products
+     * @param productIds products the instance was searched by, only the ones among its identifiers are bound to it
+     */
+    public static Match found(JsonObject instance, List<ProductId> productIds) {
+      JsonArray identifiers = instance.getJsonArray(INSTANCE_IDENTIFIERS, new JsonArray());
+      Set<String> instanceKeys = identifiers.stream()
+        .filter(JsonObject.class::isInstance)
+        .map(JsonObject.class::cast)
+        .map(identifier -> normalize(identifier.getString(INSTANCE_IDENTIFIER_TYPE_ID),
+          identifier.getString(INSTANCE_IDENTIFIER_TYPE_VALUE)))
+        .collect(toSet());
+      return new Match(instance.getString("id"), productIds.stream()
+        .map(InstanceLookupIndex::normalize)
+        .filter(instanceKeys::contains)
+        .collect(toSet()));
+    }
+
+    public String getInstanceId() {
+      return instanceId;
+    }
+
+    boolean hasKey(String key) {
+      return keys.contains(key);
+    }
+
+    boolean hasAnyOf(List<String> keys) {
+      return keys.stream().anyMatch(this::hasKey);
+    }
+  }
+}
@@ -0,0 +1,152 @@
+package org.folio.service.inventory;
+
+import static org.folio.orders.utils.BoundedAsyncMapper.getWindowSize;
+import static org.folio.orders.utils.ErrorCodes.ITEM_CREATION_FAILED;
+import static org.folio.orders.utils.HelperUtils.LANG;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.models.ItemCreationReport;
+import org.folio.orders.utils.BoundedAsyncMapper;
+import org.folio.orders.utils.BoundedAsyncMapper.Downstream;
+import org.folio.rest.core.PostResponseType;
+import org.folio.rest.core.RestClient;
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.core.models.RequestEntry;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import one.util.streamex.StreamEx;
+
+/**
+ * Creates copies of the same item record in the inventory storage.
+ * <p>
+ * Item ids are generated up front and the items are sent in batches to the synchronous batch endpoint of the storage, which
+ * either creates all items of the batch or none of them. If a batch is rejected (or the batch mode is switched off), its items
+ * are sent one by one with bounded concurrency, so the result contains the precise outcome of each item. The behavior is
+ * controlled by the following entries of the ORDERS module configuration:
+ * <ul>
+ * <li>{@value #BATCH_MODE_CONFIG} - whether items are sent in batches, default {@code true}</li>
+ * <li>{@value #BATCH_SIZE_CONFIG} - max number of items in one batch, default {@value #DEFAULT_BATCH_SIZE}</li>
+ * <li>{@value #BATCH_FALLBACK_CONFIG} - whether items of the rejected batch are resent one by one, default {@code true}</li>
+ * </ul>
+ */
+public class InventoryItemBatchCreator {
+
+  private static final Logger logger = LogManager.getLogger();
+
+  public static final String BATCH_MODE_CONFIG = "itemCreation.batchMode";
+  public static final String BATCH_SIZE_CONFIG = "itemCreation.batchSize";
+  public static final String BATCH_FALLBACK_CONFIG = "itemCreation.batchFallback";
+  static final int DEFAULT_BATCH_SIZE = 100;
+
+  static final String CREATE_ITEM_STOR_ENDPOINT = "/item-storage/items";
+  static final String CREATE_ITEMS_BATCH_STOR_ENDPOINT = "/item-storage/batch/synchronous";
+
+  private final RestClient restClient;
+
+  public InventoryItemBatchCreator(RestClient restClient) {
+    this.restClient = restClient;
+  }
+
+  /**
+   * Creates {@code quantity} copies of the item record
+   *
+   * @param itemRecord   item data to be copied, not modified
+   * @param quantity     number of items to create
+   * @param tenantConfig ORDERS module configuration of the tenant
+   * @return future with the outcome of each item
+   */
+  public CompletableFuture<ItemCreationReport> createItems(JsonObject itemRecord, int quantity, JsonObject tenantConfig,
+                                                           RequestContext requestContext) {
+    List<JsonObject> items = StreamEx.generate(() -> itemRecord.copy().put("id", UUID.randomUUID().toString()))
+      .limit(quantity)
+      .toList();
+    int windowSize = getWindowSize(tenantConfig, Downstream.INVENTORY);
+
+    if (!isBatchModeEnabled(tenantConfig)) {
+      return createOneByOne(items, windowSize, requestContext);
+    }
+
+    boolean fallbackEnabled = isFallbackEnabled(tenantConfig);
+    List<List<JsonObject>> batches = StreamEx.ofSubLists(items, getBatchSize(tenantConfig)).toList();
+    return BoundedAsyncMapper.map(batches, windowSize, batch -> createBatch(batch, requestContext)
+        .handle((v, t) -> {
+          if (t == null) {
+            ItemCreationReport report = new ItemCreationReport();
+            batch.forEach(item -> report.withCreatedItemId(item.getString("id")));
+            return CompletableFuture.completedFuture(report);
+          }
+          Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+          logger.warn("Batch of {} items was not created: {}", batch.size(), cause.getMessage());
+          if (fallbackEnabled) {
+            return createOneByOne(batch, windowSize, requestContext);
+          }
+          ItemCreationReport report = new ItemCreationReport();
+          batch.forEach(item -> report.withFailedItem(item.getString("id"), cause));
+          return CompletableFuture.completedFuture(report);
+        })
+        .thenCompose(future -> future))
+      .thenApply(reports -> reports.stream()
+        .reduce(new ItemCreationReport(), ItemCreationReport::withReport));
+  }
+
+  private CompletableFuture<Void> createBatch(List<JsonObject> items, RequestContext requestContext) {
+    RequestEntry requestEntry = new RequestEntry(CREATE_ITEMS_BATCH_STOR_ENDPOINT).withQueryParameter(LANG, "en");
+    JsonObject batch = new JsonObject().put("items", new JsonArray(new ArrayList<>(items)));
+    logger.info("Trying to create batch of {} items in inventory", items.size());
+    return restClient.post(requestEntry, batch, PostResponseType.BODY, JsonObject.class, requestContext)
+      .thenAccept(body -> logger.debug("Batch of {} items has been created", items.size()));
+  }
+
+  private CompletableFuture<ItemCreationReport> createOneByOne(List<JsonObject> items, int windowSize,
+                                                               RequestContext requestContext) {
+    return BoundedAsyncMapper.mapCollectingErrors(items, windowSize, item -> createItem(item, requestContext))
+      .thenApply(outcomes -> {
+        ItemCreationReport report = new ItemCreationReport();
+        for (int i = 0; i < outcomes.size(); i++) {
+          BoundedAsyncMapper.Outcome<String> outcome = outcomes.get(i);
+          if (outcome.isSucceeded()) {
+            report.withCreatedItemId(outcome.getResult());
+          } else {
+            logger.error(ITEM_CREATION_FAILED.getDescription(), outcome.getError());
+            report.withFailedItem(items.get(i).getString("id"), outcome.getError());
+          }
+        }
+        return report;
+      });
+  }
+
+  private CompletableFuture<String> createItem(JsonObject item, RequestContext requestContext) {
+    RequestEntry requestEntry = new RequestEntry(CREATE_ITEM_STOR_ENDPOINT).withQueryParameter(LANG, "en");
+    logger.info("Trying to create Item in inventory");
+    return restClient.post(requestEntry, item, PostResponseType.UUID, String.class, requestContext);
+  }
+
+  private static boolean isBatchModeEnabled(JsonObject tenantConfig) {
+    return getFlag(tenantConfig, BATCH_MODE_CONFIG);
+  }
+
+  private static boolean isFallbackEnabled(JsonObject tenantConfig) {
+    return getFlag(tenantConfig, BATCH_FALLBACK_CONFIG);
+  }
+
+  private static boolean getFlag(JsonObject tenantConfig, String configName) {
+    String value = tenantConfig == null ? null : tenantConfig.getString(configName);
+    return BooleanUtils.toBooleanDefaultIfNull(BooleanUtils.toBooleanObject(value), true);
+  }
+
+  private static int getBatchSize(JsonObject tenantConfig) {
+    int batchSize = tenantConfig == null ? DEFAULT_BATCH_SIZE
+      : NumberUtils.toInt(tenantConfig.getString(BATCH_SIZE_CONFIG), DEFAULT_BATCH_SIZE);
+    return batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+  }
+}
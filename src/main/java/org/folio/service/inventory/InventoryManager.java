@@ -6,9 +6,9 @@ import static java.util.concurrent.CompletableFuture.completedFuture;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
+import static org.folio.orders.utils.BoundedAsyncMapper.getWindowSize;
 import static org.folio.orders.utils.ErrorCodes.HOLDINGS_BY_INSTANCE_AND_LOCATION_NOT_FOUND;
 import static org.folio.orders.utils.ErrorCodes.ISBN_NOT_VALID;
-import static org.folio.orders.utils.ErrorCodes.ITEM_CREATION_FAILED;
 import static org.folio.orders.utils.ErrorCodes.MISSING_CONTRIBUTOR_NAME_TYPE;
 import static org.folio.orders.utils.ErrorCodes.MISSING_INSTANCE_STATUS;
 import static org.folio.orders.utils.ErrorCodes.MISSING_INSTANCE_TYPE;
@@ -19,6 +19,7 @@ import static org.folio.orders.utils.HelperUtils.buildQuery;
 import static org.folio.orders.utils.HelperUtils.collectResultsOnSuccess;
 import static org.folio.orders.utils.HelperUtils.convertIdsToCqlQuery;
 import static org.folio.orders.utils.HelperUtils.encodeQuery;
+import static org.folio.orders.utils.HelperUtils.getInstanceLocationPairs;
 import static org.folio.orders.utils.HelperUtils.groupLocationsById;
 import static org.folio.orders.utils.HelperUtils.handleGetRequest;
 import static org.folio.orders.utils.HelperUtils.isItemsUpdateRequired;
@@ -26,10 +27,14 @@ import static org.folio.orders.utils.HelperUtils.isProductIdsExist;
 import static org.folio.orders.utils.ResourcePathResolver.PIECES;
 import static org.folio.orders.utils.ResourcePathResolver.resourcesPath;
 import static org.folio.rest.RestConstants.MAX_IDS_FOR_GET_RQ;
+import static org.folio.rest.core.IdBatchPlanner.planBatches;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -40,6 +45,7 @@ import java.util.stream.Collectors;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.models.PieceItemPair;
@@ -47,6 +53,8 @@ import org.folio.models.PoLineUpdateHolder;
 import org.folio.orders.rest.exceptions.HttpException;
 import org.folio.orders.rest.exceptions.InventoryException;
 import org.folio.orders.utils.AsyncUtil;
+import org.folio.orders.utils.BoundedAsyncMapper;
+import org.folio.orders.utils.BoundedAsyncMapper.Downstream;
 import org.folio.orders.utils.ErrorCodes;
 import org.folio.orders.utils.HelperUtils;
 import org.folio.orders.utils.LocationUtil;
@@ -66,12 +74,10 @@ import org.folio.rest.jaxrs.model.PoLine;
 import org.folio.rest.jaxrs.model.ProductId;
 import org.folio.rest.jaxrs.model.ReceivedItem;
 import org.folio.rest.jaxrs.model.Title;
-import org.folio.rest.tools.utils.TenantTool;
 import org.folio.service.configuration.ConfigurationEntriesService;
 
 import com.google.common.collect.ImmutableList;
 
-import io.vertx.core.Context;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import one.util.streamex.IntStreamEx;
@@ -125,7 +131,6 @@ public class InventoryManager {
   private static final String HOLDINGS_RECORDS = "holdingsRecords";
   private static final String INSTANCES = "instances";
 
-  private static final String TENANT_SPECIFIC_KEY_FORMAT = "%s.%s.%s";
   private static final String LOOKUP_ITEM_QUERY = "purchaseOrderLineIdentifier==%s and holdingsRecordId==%s";
   private static final String CREATE_ITEM_STOR_ENDPOINT = "/item-storage/items";
   public static final String  ITEM_BY_ID_ENDPOINT = "/inventory/items/{id}";
@@ -141,10 +146,15 @@ public class InventoryManager {
 
   private ConfigurationEntriesService configurationEntriesService;
   private RestClient restClient;
+  private InventoryItemBatchCreator itemBatchCreator;
+  private ReferenceDataCache referenceDataCache;
 
-  public InventoryManager(RestClient restClient, ConfigurationEntriesService configurationEntriesService) {
+  public InventoryManager(RestClient restClient, ConfigurationEntriesService configurationEntriesService,
+                          ReferenceDataCache referenceDataCache, InventoryItemBatchCreator itemBatchCreator) {
     this.restClient = restClient;
     this.configurationEntriesService = configurationEntriesService;
+    this.itemBatchCreator = itemBatchCreator;
+    this.referenceDataCache = referenceDataCache;
   }
 
   static {
@@ -159,11 +169,16 @@ public class InventoryManager {
       REQUESTS, "/circulation/requests");
   }
 
-  public CompletableFuture<CompositePoLine> handleInstanceRecord(CompositePoLine compPOL, RequestContext requestContext) {
+  /**
+   * Populates the PO line with id of the instance with its products. The instances of the products already looked up in the
+   * index of the operation are reused
+   */
+  public CompletableFuture<CompositePoLine> handleInstanceRecord(CompositePoLine compPOL, InstanceLookupIndex instanceLookupIndex,
+                                                                 RequestContext requestContext) {
     if(compPOL.getInstanceId() != null) {
       return CompletableFuture.completedFuture(compPOL);
     } else {
-      return getInstanceRecord(compPOL, requestContext)
+      return getInstanceRecord(compPOL, instanceLookupIndex, requestContext)
                   .thenApply(compPOL::withInstanceId);
     }
   }
@@ -176,15 +191,25 @@ public class InventoryManager {
    * @return future with list of pieces with item and location id's
    */
   public CompletableFuture<List<Piece>> handleHoldingsAndItemsRecords(CompositePoLine compPOL, RequestContext requestContext) {
+    return handleHoldingsAndItemsRecords(compPOL, new HoldingsResolver(this, requestContext), requestContext);
+  }
+
+  /**
+   * Same as {@link #handleHoldingsAndItemsRecords(CompositePoLine, RequestContext)} but the holdings already resolved by the
+   * resolver are reused. The holdings of all locations of the PO line are searched with one batched query.
+   */
+  public CompletableFuture<List<Piece>> handleHoldingsAndItemsRecords(CompositePoLine compPOL, HoldingsResolver holdingsResolver,
+                                                                      RequestContext requestContext) {
     List<CompletableFuture<List<Piece>>> itemsPerHolding = new ArrayList<>();
     boolean isItemsUpdateRequired = isItemsUpdateRequired(compPOL);
 
     // Group all locations by location id because the holding should be unique for different locations
     if (HelperUtils.isHoldingsUpdateRequired(compPOL.getEresource(), compPOL.getPhysical())) {
+      CompletableFuture<Void> prefetch = holdingsResolver.prefetch(getInstanceLocationPairs(compPOL));
       groupLocationsById(compPOL)
         .forEach((locationId, polLocations) -> itemsPerHolding.add(
           // Search for or create a new holdings record and then create items for it if required
-          getOrCreateHoldingsRecord(compPOL.getInstanceId(), locationId, requestContext)
+          prefetch.thenCompose(v -> holdingsResolver.getHoldingId(compPOL.getInstanceId(), locationId))
             .thenCompose(holdingId -> {
                 // Items are not going to be created when create inventory is "Instance, Holding"
                 if (isItemsUpdateRequired) {
@@ -318,6 +343,19 @@ public class InventoryManager {
     return collectResultsOnSuccess(futures);
   }
 
+  /**
+   * Updates the item records keeping no more than {@code maxConcurrency.inventory} requests in flight
+   *
+   * @param itemRecords  item records to be updated
+   * @param tenantConfig ORDERS module configuration of the tenant
+   * @return future with the cause of failure by id of each item which is not updated, empty if all items are updated
+   */
+  public CompletableFuture<Map<String, Throwable>> updateItems(List<JsonObject> itemRecords, JsonObject tenantConfig,
+                                                              RequestContext requestContext) {
+    return BoundedAsyncMapper.mapCollectingFailures(itemRecords, getWindowSize(tenantConfig, Downstream.INVENTORY),
+        itemRecord -> itemRecord.getString(ID), itemRecord -> updateItem(itemRecord, requestContext));
+  }
+
   public CompletableFuture<Void> deleteItem(String id, RequestContext requestContext) {
     RequestEntry requestEntry = new RequestEntry(ITEM_BY_ID_ENDPOINT).withId(id);
     return restClient.delete(requestEntry, requestContext);
@@ -337,7 +375,17 @@ public class InventoryManager {
    * @return future with list of item records
    */
   public CompletableFuture<Void> receiveItem(JsonObject itemRecord, ReceivedItem receivedItem, RequestContext requestContext) {
-    // Update item record with receiving details
+    applyReceivingDetails(itemRecord, receivedItem);
+    return updateItem(itemRecord, requestContext);
+  }
+
+  /**
+   * Updates item record with receiving details, the record is not sent to Inventory
+   *
+   * @param itemRecord item record
+   * @param receivedItem item details specified by user upon receiving flow
+   */
+  public void applyReceivingDetails(JsonObject itemRecord, ReceivedItem receivedItem) {
     itemRecord.put(ITEM_STATUS, new JsonObject().put(ITEM_STATUS_NAME, receivedItem.getItemStatus().value()));
     if (StringUtils.isNotEmpty(receivedItem.getBarcode())) {
       itemRecord.put(ITEM_BARCODE, receivedItem.getBarcode());
@@ -345,12 +393,20 @@ public class InventoryManager {
     if (StringUtils.isNotEmpty(receivedItem.getCallNumber())) {
       itemRecord.put(ITEM_LEVEL_CALL_NUMBER, receivedItem.getCallNumber());
     }
-    return updateItem(itemRecord, requestContext);
   }
 
   public CompletableFuture<Void> checkinItem(JsonObject itemRecord, CheckInPiece checkinPiece, RequestContext requestContext) {
+    applyCheckinDetails(itemRecord, checkinPiece);
+    return updateItem(itemRecord, requestContext);
+  }
 
-    // Update item record with checkIn details
+  /**
+   * Updates item record with check-in details, the record is not sent to Inventory
+   *
+   * @param itemRecord item record
+   * @param checkinPiece piece details specified by user upon check-in flow
+   */
+  public void applyCheckinDetails(JsonObject itemRecord, CheckInPiece checkinPiece) {
     itemRecord.put(ITEM_STATUS, new JsonObject().put(ITEM_STATUS_NAME, checkinPiece.getItemStatus().value()));
     if (StringUtils.isNotEmpty(checkinPiece.getBarcode())) {
       itemRecord.put(ITEM_BARCODE, checkinPiece.getBarcode());
@@ -358,7 +414,6 @@ public class InventoryManager {
     if (StringUtils.isNotEmpty(checkinPiece.getCallNumber())) {
       itemRecord.put(ITEM_LEVEL_CALL_NUMBER, checkinPiece.getCallNumber());
     }
-    return updateItem(itemRecord, requestContext);
   }
 
   /**
@@ -429,11 +484,63 @@ public class InventoryManager {
       });
   }
 
+  /**
+   * Searches for the holdings of given pairs of instance id and permanent location id with as few requests as the URL length
+   * allows. Pairs without holdings are not included into the result.
+   *
+   * @param instanceLocationPairs pairs of instance id and permanent location id
+   * @return future with map of the pair to id of its holding
+   */
+  public CompletableFuture<Map<Pair<String, String>, String>> searchHoldingIds(
+      Collection<Pair<String, String>> instanceLocationPairs, RequestContext requestContext) {
+    Map<String, Pair<String, String>> pairsByTerm = new LinkedHashMap<>();
+    instanceLocationPairs.forEach(pair ->
+      pairsByTerm.put(String.format(HOLDINGS_LOOKUP_QUERY, pair.getLeft(), pair.getRight()), pair));
+
+    List<CompletableFuture<Map<Pair<String, String>, String>>> futures = planBatches(pairsByTerm.keySet(), "(%s)", " or ", 0)
+      .stream()
+      .map(terms -> searchHoldingIds(terms, pairsByTerm, requestContext))
+      .collect(toList());
+    return collectResultsOnSuccess(futures)
+      .thenApply(results -> {
+        Map<Pair<String, String>, String> holdingIds = new HashMap<>();
+        results.forEach(holdingIds::putAll);
+        return holdingIds;
+      });
+  }
+
+  private CompletableFuture<Map<Pair<String, String>, String>> searchHoldingIds(List<String> terms,
+      Map<String, Pair<String, String>> pairsByTerm, RequestContext requestContext) {
+    String query = terms.size() == 1 ? terms.get(0) : terms.stream()
+      .map(term -> "(" + term + ")")
+      .collect(joining(" or "));
+    RequestEntry requestEntry = new RequestEntry(INVENTORY_LOOKUP_ENDPOINTS.get(HOLDINGS_RECORDS))
+                                            .withQuery(query).withOffset(0).withLimit(Integer.MAX_VALUE);
+    return restClient.getAsJsonObject(requestEntry, requestContext)
+      .thenApply(holdings -> {
+        Map<Pair<String, String>, String> holdingIds = new HashMap<>();
+        JsonArray records = holdings.getJsonArray(HOLDINGS_RECORDS);
+        if (terms.size() == 1) {
+          // The query matches only the holdings of the pair, so the same holding is taken as by the single lookup
+          if (!records.isEmpty()) {
+            holdingIds.put(pairsByTerm.get(terms.get(0)), extractId(records.getJsonObject(0)));
+          }
+          return holdingIds;
+        }
+        records.stream()
+          .map(JsonObject.class::cast)
+          .forEach(holding -> holdingIds.putIfAbsent(
+            Pair.of(holding.getString(HOLDING_INSTANCE_ID), holding.getString(HOLDING_PERMANENT_LOCATION_ID)), extractId(holding)));
+        holdingIds.keySet().retainAll(pairsByTerm.values());
+        return holdingIds;
+      });
+  }
+
   public String buildLookupEndpoint(String type, Object... params) {
     return String.format(INVENTORY_LOOKUP_ENDPOINTS.get(type), params);
   }
 
-  private CompletableFuture<String> createHoldingsRecord(String instanceId, String locationId, RequestContext requestContext) {
+  public CompletableFuture<String> createHoldingsRecord(String instanceId, String locationId, RequestContext requestContext) {
     JsonObject holdingsRecJson = new JsonObject();
     holdingsRecJson.put(HOLDING_INSTANCE_ID, instanceId);
     holdingsRecJson.put(HOLDING_PERMANENT_LOCATION_ID, locationId);
@@ -604,17 +711,24 @@ public class InventoryManager {
 
   /**
    * Returns Id of the Instance Record corresponding to given PO line.
-   * Instance record is either retrieved from Inventory or a new one is created if no corresponding Record exists.
+   * Instance record is either retrieved from Inventory or a new one is created if no corresponding Record exists. The
+   * instance is searched or created only if none of the products of the PO line is looked up in the index of the operation yet
    *
    * @param compPOL PO line to retrieve Instance Record Id for
    * @return future with Instance Id
    */
-  public CompletableFuture<String> getInstanceRecord(CompositePoLine compPOL, RequestContext requestContext) {
+  public CompletableFuture<String> getInstanceRecord(CompositePoLine compPOL, InstanceLookupIndex instanceLookupIndex,
+                                                     RequestContext requestContext) {
     // proceed with new Instance Record creation if no productId is provided
     if (!isProductIdsExist(compPOL)) {
       return createInstanceRecord(compPOL, requestContext);
     }
+    return instanceLookupIndex.getInstanceId(compPOL.getDetails().getProductIds(),
+      () -> searchOrCreateInstanceRecord(compPOL, requestContext));
+  }
 
+  private CompletableFuture<InstanceLookupIndex.Match> searchOrCreateInstanceRecord(CompositePoLine compPOL,
+                                                                                     RequestContext requestContext) {
     String query = compPOL.getDetails().getProductIds().stream()
       .map(this::buildProductIdQuery)
       .collect(joining(" or "));
@@ -624,10 +738,12 @@ public class InventoryManager {
                                         .withQuery(query).withOffset(0).withLimit(Integer.MAX_VALUE);
     return restClient.getAsJsonObject(requestEntry, requestContext)
       .thenCompose(instances -> {
+        List<ProductId> productIds = compPOL.getDetails().getProductIds();
         if (!instances.getJsonArray(INSTANCES).isEmpty()) {
-          return completedFuture(extractId(getFirstObjectFromResponse(instances, INSTANCES)));
+          return completedFuture(InstanceLookupIndex.Match.found(getFirstObjectFromResponse(instances, INSTANCES), productIds));
         }
-        return createInstanceRecord(compPOL, requestContext);
+        return createInstanceRecord(compPOL, requestContext)
+          .thenApply(instanceId -> InstanceLookupIndex.Match.created(instanceId, productIds));
       });
   }
 
@@ -684,6 +800,16 @@ public class InventoryManager {
   }
 
   private CompletableFuture<List<JsonObject>> getContributorNameTypeByIds(List<String> ids, RequestContext requestContext) {
+    String key = StreamEx.of(ids).sorted().joining(",");
+    return referenceDataCache.get(CONTRIBUTOR_NAME_TYPES, key, requestContext,
+        () -> fetchContributorNameTypeByIds(ids, requestContext)
+          .thenApply(contributorNameTypes -> new JsonObject().put(CONTRIBUTOR_NAME_TYPES, new JsonArray(contributorNameTypes))))
+      .thenApply(entries -> entries.getJsonArray(CONTRIBUTOR_NAME_TYPES).stream()
+        .map(JsonObject.class::cast)
+        .collect(Collectors.toList()));
+  }
+
+  private CompletableFuture<List<JsonObject>> fetchContributorNameTypeByIds(List<String> ids, RequestContext requestContext) {
     String query = convertIdsToCqlQuery(ids);
     RequestEntry requestEntry = new RequestEntry(INVENTORY_LOOKUP_ENDPOINTS.get(CONTRIBUTOR_NAME_TYPES))
                                         .withQuery(query).withOffset(0).withLimit(ids.size());
@@ -893,39 +1019,21 @@ public class InventoryManager {
   }
 
   /**
-   * Wait for item creation requests completion and filter failed items if any
+   * Creates the items and filters failed items if any
    * @param itemRecord item record to be created
    * @param expectedCount count of the items to be created
    * @return completable future with list of item id's
    */
   private CompletableFuture<List<String>> createItemRecords(JsonObject itemRecord, int expectedCount, RequestContext requestContext) {
-    List<CompletableFuture<String>> futures = new ArrayList<>(expectedCount);
-    for (int i = 0; i < expectedCount; i++) {
-      futures.add(createItemInInventory(itemRecord, requestContext));
-    }
-
-    return collectResultsOnSuccess(futures);
-  }
-
-  /**
-   * Creates new entry in the inventory storage based on the PO line data.
-   *
-   * @param itemData json to post
-   * @return id of newly created entity Record
-   */
-  private CompletableFuture<String> createItemInInventory(JsonObject itemData, RequestContext requestContext) {
-    CompletableFuture<String> future = new CompletableFuture<>();
-    RequestEntry requestEntry = new RequestEntry(CREATE_ITEM_STOR_ENDPOINT).withQueryParameter(LANG, "en");
-    logger.info("Trying to create Item in inventory");
-    restClient.post(requestEntry, itemData, PostResponseType.UUID, String.class, requestContext)
-                     .thenApply(future::complete)
-      // In case item creation failed, return null instead of id
-      .exceptionally(throwable -> {
-        logger.error(ITEM_CREATION_FAILED.getDescription());
-        future.complete(null);
-        return null;
+    return configurationEntriesService.loadConfiguration(ORDER_CONFIG_MODULE_NAME, requestContext)
+      .thenCompose(config -> itemBatchCreator.createItems(itemRecord, expectedCount, config, requestContext))
+      .thenApply(report -> {
+        if (report.hasFailures()) {
+          logger.error("{} of {} item(s) failed to be created: {}", report.getFailedItems().size(), expectedCount,
+            report.getFailedItems().keySet());
+        }
+        return report.getCreatedItemIds();
       });
-    return future;
   }
 
   /**
@@ -1001,7 +1109,7 @@ public class InventoryManager {
   }
 
   /**
-   * Caches id's in Vert.X Context and returns it by tenantId.entryType.key.
+   * Caches id's in the shared {@link ReferenceDataCache} and returns it by tenantId.entryType.key.
    *
    * @param entryType name of object whose id we want to get from cache
    *
@@ -1009,29 +1117,11 @@ public class InventoryManager {
    */
   public CompletableFuture<JsonObject> getAndCache(String entryType, RequestContext requestContext) {
     return getEntryTypeValue(entryType, requestContext)
-      .thenCompose(key -> {
-        Context ctx = requestContext.getContext();
-        Map<String, String> okapiHeaders = requestContext.getHeaders();
-        String tenantSpecificKey = buildTenantSpecificKey(key, entryType, okapiHeaders);
-        JsonObject response = ctx.get(tenantSpecificKey);
-        if(response == null) {
+      .thenCompose(key -> referenceDataCache.get(entryType, key, requestContext, () -> {
         String endpoint = buildLookupEndpoint(entryType, encodeQuery(key, logger));
-        return handleGetRequest(endpoint, restClient.getHttpClient(requestContext.getHeaders()), okapiHeaders, logger)
-            .thenApply(entries -> {
-              JsonObject result = new JsonObject();
-              result.put(entryType, getFirstObjectFromResponse(entries, entryType).getString(ID));
-              ctx.put(tenantSpecificKey, result);
-              return result;
-            });
-        } else {
-          return completedFuture(response);
-        }
-      });
-  }
-
-  private String buildTenantSpecificKey(String key, String entryType, Map<String, String> okapiHeaders) {
-    String tenantId = TenantTool.tenantId(okapiHeaders);
-    return String.format(TENANT_SPECIFIC_KEY_FORMAT, tenantId, entryType, key);
+        return restClient.get(new RequestEntry(endpoint), true, requestContext, JsonObject.class)
+          .thenApply(entries -> new JsonObject().put(entryType, getFirstObjectFromResponse(entries, entryType).getString(ID)));
+      }));
   }
 
   /**
@@ -1059,17 +1149,17 @@ public class InventoryManager {
     // return id of already retrieved identifier type
       String endpoint = String.format("/identifier-types?limit=1&query=name==%s", identifierType);
       Map<String, String> okapiHeaders = requestContext.getHeaders();
-      return handleGetRequest(endpoint, restClient.getHttpClient(okapiHeaders), okapiHeaders, logger)
-        .thenCompose(identifierTypes -> {
-          String identifierTypeId = extractId(getFirstObjectFromResponse(identifierTypes, IDENTIFIER_TYPES));
-          return completedFuture(identifierTypeId);
-        });
+      return referenceDataCache.get(IDENTIFIER_TYPES, identifierType, requestContext,
+          () -> restClient.withHttpClient(okapiHeaders, client -> handleGetRequest(endpoint, client, okapiHeaders, logger))
+            .thenApply(identifierTypes -> new JsonObject()
+              .put(IDENTIFIER_TYPES, extractId(getFirstObjectFromResponse(identifierTypes, IDENTIFIER_TYPES)))))
+        .thenApply(identifierType -> identifierType.getString(IDENTIFIER_TYPES));
   }
 
   public CompletableFuture<String> convertToISBN13(String isbn, RequestContext requestContext) {
     String convertEndpoint = String.format("/isbn/convertTo13?isbn=%s", isbn);
     Map<String, String> okapiHeaders = requestContext.getHeaders();
-    return handleGetRequest(convertEndpoint, restClient.getHttpClient(okapiHeaders), okapiHeaders, logger)
+    return restClient.withHttpClient(okapiHeaders, client -> handleGetRequest(convertEndpoint, client, okapiHeaders, logger))
       .thenApply(json -> json.getString("isbn"))
       .exceptionally(throwable -> {
         logger.error("Can't convert {} to isbn13", isbn);
@@ -1102,7 +1192,7 @@ public class InventoryManager {
   public CompletableFuture<PieceCollection> getPieces(int limit, int offset, String query, RequestContext requestContext) {
     String endpoint = String.format(GET_PIECES_BY_QUERY, limit, offset, buildQuery(query, logger));
     Map<String, String> okapiHeaders = requestContext.getHeaders();
-    return HelperUtils.handleGetRequest(endpoint, restClient.getHttpClient(okapiHeaders), okapiHeaders, logger)
+    return restClient.withHttpClient(okapiHeaders, client -> HelperUtils.handleGetRequest(endpoint, client, okapiHeaders, logger))
       .thenCompose(json -> AsyncUtil.executeBlocking(requestContext.getContext(), false, () -> json.mapTo(PieceCollection.class)));
   }
 
@@ -1119,7 +1209,7 @@ public class InventoryManager {
     // query contains special characters so must be encoded before submitting
     String endpoint = buildLookupEndpoint(INSTANCES, encodeQuery(query, logger));
     Map<String, String> okapiHeaders = requestContext.getHeaders();
-    return handleGetRequest(endpoint, restClient.getHttpClient(okapiHeaders), okapiHeaders, logger);
+    return restClient.withHttpClient(okapiHeaders, client -> handleGetRequest(endpoint, client, okapiHeaders, logger));
   }
 
   public CompletableFuture<String> createInstanceRecord(Title title, RequestContext requestContext) {
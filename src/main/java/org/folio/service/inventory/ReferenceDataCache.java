@@ -0,0 +1,76 @@
+package org.folio.service.inventory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.folio.orders.utils.AsyncTtlCache;
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.tools.utils.TenantTool;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Inventory reference data (instance types and statuses, loan types, identifier types, contributor name types) shared by
+ * all verticle instances. Entries are kept per tenant and are bounded in time and number by the following system
+ * properties:
+ * <ul>
+ * <li>{@value #TTL_PROPERTY} - time in ms an entry is served as is, default {@value #DEFAULT_TTL_MS}</li>
+ * <li>{@value #STALE_PROPERTY} - additional time in ms an entry is served while it is reloaded, default {@value #DEFAULT_STALE_MS}</li>
+ * <li>{@value #MAX_SIZE_PROPERTY} - max number of entries for all tenants, default {@value #DEFAULT_MAX_SIZE}</li>
+ * </ul>
+ */
+public class ReferenceDataCache {
+
+  public static final String TTL_PROPERTY = "orders.cache.referenceData.ttlMs";
+  public static final String STALE_PROPERTY = "orders.cache.referenceData.staleMs";
+  public static final String MAX_SIZE_PROPERTY = "orders.cache.referenceData.maxSize";
+
+  static final long DEFAULT_TTL_MS = 600_000;
+  static final long DEFAULT_STALE_MS = 3_600_000;
+  static final int DEFAULT_MAX_SIZE = 1_000;
+
+  private static final String KEY_FORMAT = "%s.%s.%s";
+
+  private final AsyncTtlCache<String, JsonObject> cache;
+
+  public ReferenceDataCache() {
+    this(new AsyncTtlCache<>("referenceData",
+      Long.getLong(TTL_PROPERTY, DEFAULT_TTL_MS),
+      Long.getLong(STALE_PROPERTY, DEFAULT_STALE_MS),
+      Integer.getInteger(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE),
+      JsonObject::copy));
+  }
+
+  ReferenceDataCache(AsyncTtlCache<String, JsonObject> cache) {
+    this.cache = cache;
+  }
+
+  /**
+   * Returns cached entry of the tenant or loads it. Concurrent lookups of the same entry share one request.
+   *
+   * @param entryType type of reference data, e.g. instanceTypes
+   * @param key       value the entry is looked up by, e.g. code or name
+   * @param loader    loads the entry if it is not cached yet
+   */
+  public CompletableFuture<JsonObject> get(String entryType, String key, RequestContext requestContext,
+                                           Supplier<CompletableFuture<JsonObject>> loader) {
+    String tenantId = TenantTool.tenantId(requestContext.getHeaders());
+    return cache.get(String.format(KEY_FORMAT, tenantId, entryType, key), k -> loader.get());
+  }
+
+  /**
+   * Drops all entries of the tenant
+   */
+  public void invalidate(String tenantId) {
+    String prefix = tenantId + ".";
+    cache.invalidateIf(key -> key.startsWith(prefix));
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  public JsonObject getMetrics() {
+    return cache.getMetrics();
+  }
+}
@@ -1,15 +1,32 @@
 package org.folio.service.orders;
 
+import static org.folio.orders.utils.ErrorCodes.UNKNOWN_CALCULATED_FIELDS;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
 
+import org.apache.commons.collections4.CollectionUtils;
 import org.folio.models.CompositeOrderRetrieveHolder;
+import org.folio.orders.rest.exceptions.HttpException;
+import org.folio.orders.utils.PrometheusTextBuilder;
 import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.jaxrs.model.Parameter;
 
 public class CombinedOrderDataPopulateService implements CompositeOrderDynamicDataPopulateService {
 
+  private static final String FIELDS = "fields";
+  private static final String DURATION_METRIC = "mod_orders_order_populate_duration_seconds";
+  private static final String FAILURES_METRIC = "mod_orders_order_populate_failures_total";
+
   private final CompositeOrderRetrieveHolderBuilder holderBuilder;
   private final Set<CompositeOrderDynamicDataPopulateService> populateServices;
+  private final Map<String, PopulateTimer> timers = new ConcurrentHashMap<>();
 
   public CombinedOrderDataPopulateService(CompositeOrderRetrieveHolderBuilder holderBuilder,
                                           Set<CompositeOrderDynamicDataPopulateService> populateServices) {
@@ -24,11 +41,116 @@ public class CombinedOrderDataPopulateService implements CompositeOrderDynamicDa
       .thenCompose(holder -> populateAllDynamicData(holder, requestContext));
   }
 
-  private CompletableFuture<CompositeOrderRetrieveHolder> populateAllDynamicData(CompositeOrderRetrieveHolder holder,
+  /**
+   * Populates dynamic data of the holder which already has the current fiscal year resolved
+   */
+  public CompletableFuture<CompositeOrderRetrieveHolder> populateAllDynamicData(CompositeOrderRetrieveHolder holder,
       RequestContext requestContext) {
-    return CompletableFuture.allOf(populateServices.stream()
-      .map(service -> service.populate(holder, requestContext))
+    return populate(holder, populateServices, requestContext);
+  }
+
+  /**
+   * Populates the requested dynamic fields of the holder which already has the current fiscal year resolved if it is required
+   *
+   * @param fields names of the fields to populate, all fields are populated if {@code null} or empty
+   */
+  public CompletableFuture<CompositeOrderRetrieveHolder> populateDynamicData(CompositeOrderRetrieveHolder holder,
+      Set<String> fields, RequestContext requestContext) {
+    return populate(holder, getPopulateServices(fields), requestContext);
+  }
+
+  /**
+   * @param fields names of the fields to populate
+   * @throws HttpException with 400 code if some of the fields are not populated by any of the services
+   */
+  public void validateFields(Set<String> fields) {
+    if (CollectionUtils.isEmpty(fields)) {
+      return;
+    }
+    Set<String> populatedFields = getPopulatedFields();
+    List<Parameter> parameters = fields.stream()
+      .filter(field -> !populatedFields.contains(field))
+      .sorted()
+      .map(field -> new Parameter().withKey(FIELDS).withValue(field))
+      .collect(Collectors.toList());
+    if (!parameters.isEmpty()) {
+      throw new HttpException(400, UNKNOWN_CALCULATED_FIELDS.toError().withParameters(parameters));
+    }
+  }
+
+  /**
+   * @param fields names of the fields to populate, all fields are populated if {@code null} or empty
+   * @return {@code true} if the current fiscal year is needed to populate the fields
+   */
+  public boolean isFiscalYearRequired(Set<String> fields) {
+    return isFiscalYearRequired(getPopulateServices(fields));
+  }
+
+  @Override
+  public Set<String> getPopulatedFields() {
+    return populateServices.stream()
+      .flatMap(service -> service.getPopulatedFields().stream())
+      .collect(Collectors.toSet());
+  }
+
+  @Override
+  public boolean isFiscalYearRequired() {
+    return isFiscalYearRequired(populateServices);
+  }
+
+  /**
+   * Writes the number and duration of the runs of each populate service in the Prometheus text format
+   */
+  public void writeTo(PrometheusTextBuilder builder) {
+    builder.family(DURATION_METRIC, "summary", "Time spent by the services populating dynamic data of the orders");
+    timers.forEach((name, timer) -> {
+      builder.sample(DURATION_METRIC + "_sum", timer.durationNanos.sum() / 1e9, "service", name);
+      builder.sample(DURATION_METRIC + "_count", timer.count.sum(), "service", name);
+    });
+    builder.family(FAILURES_METRIC, "counter", "Failed runs of the services populating dynamic data of the orders");
+    timers.forEach((name, timer) -> builder.sample(FAILURES_METRIC, timer.failures.sum(), "service", name));
+  }
+
+  private Collection<CompositeOrderDynamicDataPopulateService> getPopulateServices(Set<String> fields) {
+    if (CollectionUtils.isEmpty(fields)) {
+      return populateServices;
+    }
+    return populateServices.stream()
+      .filter(service -> service.getPopulatedFields().stream().anyMatch(fields::contains))
+      .collect(Collectors.toList());
+  }
+
+  private boolean isFiscalYearRequired(Collection<CompositeOrderDynamicDataPopulateService> services) {
+    return services.stream().anyMatch(CompositeOrderDynamicDataPopulateService::isFiscalYearRequired);
+  }
+
+  private CompletableFuture<CompositeOrderRetrieveHolder> populate(CompositeOrderRetrieveHolder holder,
+      Collection<CompositeOrderDynamicDataPopulateService> services, RequestContext requestContext) {
+    return CompletableFuture.allOf(services.stream()
+      .map(service -> timed(service, holder, requestContext))
       .toArray(CompletableFuture[]::new))
       .thenApply(aVoid -> holder);
   }
+
+  private CompletableFuture<CompositeOrderRetrieveHolder> timed(CompositeOrderDynamicDataPopulateService service,
+      CompositeOrderRetrieveHolder holder, RequestContext requestContext) {
+    PopulateTimer timer = timers.computeIfAbsent(service.getClass().getSimpleName(), name -> new PopulateTimer());
+    long start = System.nanoTime();
+    return service.populate(holder, requestContext)
+      .whenComplete((result, t) -> timer.record(System.nanoTime() - start, t != null));
+  }
+
+  private static class PopulateTimer {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder durationNanos = new LongAdder();
+
+    void record(long elapsedNanos, boolean failed) {
+      count.increment();
+      durationNanos.add(elapsedNanos);
+      if (failed) {
+        failures.increment();
+      }
+    }
+  }
 }
@@ -1,5 +1,6 @@
 package org.folio.service.orders;
 
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 import org.folio.models.CompositeOrderRetrieveHolder;
@@ -7,4 +8,18 @@ import org.folio.rest.core.models.RequestContext;
 
 public interface CompositeOrderDynamicDataPopulateService {
     CompletableFuture<CompositeOrderRetrieveHolder> populate(CompositeOrderRetrieveHolder holder, RequestContext requestContext);
+
+    /**
+     * @return names of the composite order fields set by the service
+     */
+    default Set<String> getPopulatedFields() {
+        return Set.of();
+    }
+
+    /**
+     * @return {@code true} if the service needs the current fiscal year of the holder to calculate its fields
+     */
+    default boolean isFiscalYearRequired() {
+        return false;
+    }
 }
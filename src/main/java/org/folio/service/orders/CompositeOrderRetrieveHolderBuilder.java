@@ -1,12 +1,15 @@
 package org.folio.service.orders;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 
 import org.folio.models.CompositeOrderRetrieveHolder;
 import org.folio.orders.rest.exceptions.HttpException;
+import org.folio.rest.acq.model.finance.FiscalYear;
 import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.jaxrs.model.CompositePoLine;
 import org.folio.rest.jaxrs.model.FundDistribution;
 import org.folio.service.finance.FiscalYearService;
 
@@ -19,23 +22,32 @@ public class CompositeOrderRetrieveHolderBuilder {
 
   public CompletableFuture<CompositeOrderRetrieveHolder> withCurrentFiscalYear(CompositeOrderRetrieveHolder holder,
       RequestContext requestContext) {
-    return holder.getOrder()
-      .getCompositePoLines()
+    return getCurrentFiscalYear(holder.getOrder().getCompositePoLines(), requestContext)
+      .thenApply(fiscalYear -> Objects.nonNull(fiscalYear) ? holder.withFiscalYear(fiscalYear) : holder);
+  }
+
+  /**
+   * Resolves the current fiscal year by the first fund of the lines. Depends only on the lines, so it can be requested before
+   * the order itself is loaded.
+   *
+   * @return future with the fiscal year or {@code null} if the lines have no funds or the fiscal year is not found
+   */
+  public CompletableFuture<FiscalYear> getCurrentFiscalYear(List<CompositePoLine> poLines, RequestContext requestContext) {
+    return poLines
       .stream()
       .flatMap(poLine -> poLine.getFundDistribution()
         .stream())
       .map(FundDistribution::getFundId)
       .findFirst()
       .map(fundId -> fiscalYearService.getCurrentFiscalYearByFundId(fundId, requestContext)
-        .thenApply(holder::withFiscalYear)
         .exceptionally(t -> {
           Throwable cause = Objects.nonNull(t.getCause()) ? t.getCause() : t;
           if (cause instanceof HttpException && ((HttpException) cause).getCode() == 404) {
-            return holder;
+            return null;
           }
           throw new CompletionException(cause);
         }))
-      .orElseGet(() -> CompletableFuture.completedFuture(holder));
+      .orElseGet(() -> CompletableFuture.completedFuture(null));
   }
 
 }
@@ -11,7 +11,9 @@ import org.javamoney.moneta.Money;
 
 import javax.money.convert.ConversionQuery;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import static org.folio.orders.utils.HelperUtils.getConversionQuery;
 
@@ -39,6 +41,11 @@ public class OrderLinesSummaryPopulateService implements CompositeOrderDynamicDa
     });
   }
 
+  @Override
+  public Set<String> getPopulatedFields() {
+    return Set.of("totalEstimatedPrice", "totalItems");
+  }
+
   /**
    * Calculates PO's estimated price by summing the Estimated Price of the associated PO Lines. See MODORDERS-181 for more details.
    * At the moment assumption is that all prices could be in the different currency.
@@ -49,25 +56,30 @@ public class OrderLinesSummaryPopulateService implements CompositeOrderDynamicDa
   public CompletableFuture<Double> calculateTotalEstimatedPrice(List<CompositePoLine> compositePoLines,
       RequestContext requestContext) {
     return configurationEntriesService.getSystemCurrency(requestContext)
-      .thenApply(toCurrency -> compositePoLines.stream()
-        .map(CompositePoLine::getCost)
-        .map(cost -> {
-          Money money = Money.of(cost.getPoLineEstimatedPrice(), cost.getCurrency());
-          if (money.getCurrency()
-            .getCurrencyCode()
-            .equals(toCurrency)) {
-            return money;
-          }
-          Double exchangeRate = cost.getExchangeRate();
-          ConversionQuery conversionQuery = getConversionQuery(exchangeRate, cost.getCurrency(), toCurrency);
-          var exchangeRateProvider = exchangeRateProviderResolver.resolve(conversionQuery, requestContext);
-          var conversion = exchangeRateProvider.getCurrencyConversion(conversionQuery);
+      .thenCompose(toCurrency -> exchangeRateProviderResolver.prefetchExchangeRates(compositePoLines.stream()
+          .map(CompositePoLine::getCost)
+          .filter(cost -> !cost.getCurrency().equals(toCurrency))
+          .map(cost -> getConversionQuery(cost.getExchangeRate(), cost.getCurrency(), toCurrency))
+          .collect(Collectors.toList()), requestContext)
+        .thenApply(exchangeRates -> compositePoLines.stream()
+          .map(CompositePoLine::getCost)
+          .map(cost -> {
+            Money money = Money.of(cost.getPoLineEstimatedPrice(), cost.getCurrency());
+            if (money.getCurrency()
+              .getCurrencyCode()
+              .equals(toCurrency)) {
+              return money;
+            }
+            Double exchangeRate = cost.getExchangeRate();
+            ConversionQuery conversionQuery = getConversionQuery(exchangeRate, cost.getCurrency(), toCurrency);
+            var exchangeRateProvider = exchangeRateProviderResolver.resolve(conversionQuery, exchangeRates);
+            var conversion = exchangeRateProvider.getCurrencyConversion(conversionQuery);
 
-          return money.with(conversion);
-        })
-        .reduce(Money.of(0, toCurrency), Money::add)
-        .getNumber()
-        .doubleValue());
+            return money.with(conversion);
+          })
+          .reduce(Money.of(0, toCurrency), Money::add)
+          .getNumber()
+          .doubleValue()));
   }
 
   private int calculateTotalItemsQuantity(List<CompositePoLine> poLines) {
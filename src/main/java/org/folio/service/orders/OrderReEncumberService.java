@@ -12,6 +12,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 import javax.money.Monetary;
@@ -78,6 +79,16 @@ public class OrderReEncumberService implements CompositeOrderDynamicDataPopulate
     this.budgetRestrictionService = budgetRestrictionService;
   }
 
+  @Override
+  public Set<String> getPopulatedFields() {
+    return Set.of("needReEncumber");
+  }
+
+  @Override
+  public boolean isFiscalYearRequired() {
+    return true;
+  }
+
   public CompletableFuture<CompositeOrderRetrieveHolder> populate(CompositeOrderRetrieveHolder orderRetrieveHolder,
                                                             RequestContext requestContext) {
     orderRetrieveHolder.withNeedReEncumber(false);
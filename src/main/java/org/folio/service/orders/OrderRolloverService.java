@@ -2,10 +2,10 @@ package org.folio.service.orders;
 
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
-import static one.util.streamex.StreamEx.ofSubLists;
 import static org.folio.orders.utils.HelperUtils.calculateCostUnitsTotal;
 import static org.folio.orders.utils.HelperUtils.collectResultsOnSuccess;
-import static org.folio.rest.RestConstants.MAX_IDS_FOR_GET_RQ;
+import static org.folio.rest.core.IdBatchPlanner.encodedLength;
+import static org.folio.rest.core.IdBatchPlanner.planBatches;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
@@ -48,6 +48,7 @@ import org.folio.rest.jaxrs.model.PurchaseOrder;
 import org.folio.rest.jaxrs.model.PurchaseOrderCollection;
 import org.folio.service.configuration.ConfigurationEntriesService;
 import org.folio.service.exchange.ExchangeRateProviderResolver;
+import org.folio.service.exchange.PrefetchedExchangeRates;
 import org.folio.service.finance.FundService;
 import org.folio.service.finance.transaction.TransactionService;
 import org.javamoney.moneta.Money;
@@ -98,7 +99,9 @@ public class OrderRolloverService {
                                                                      LedgerFiscalYearRollover ledgerFYRollover, RequestContext requestContext) {
     logger.debug("Start : All order processed");
     List<CompletableFuture<List<PoLine>>> futures = new ArrayList<>();
-    ofSubLists(new ArrayList<>(orderIds), MAX_IDS_FOR_GET_RQ).forEach(chunkOrderIds ->
+    // Order ids are sent in both PO lines and encumbrances queries, the latter is the longest one
+    String fiscalYearQuery = "(" + String.format(ENCUMBR_FY_QUERY, ledgerFYRollover.getToFiscalYearId()) + ")" + AND + "()";
+    planBatches(orderIds, ENCUMBR_BY_ORDER_ID_QUERY, OR, encodedLength(fiscalYearQuery)).forEach(chunkOrderIds ->
       futures.add(rolloverPoLinesChunk(systemCurrency, chunkOrderIds, ledgerFYRollover, requestContext))
     );
     return collectResultsOnSuccess(futures).thenApply(results -> results.stream()
@@ -110,7 +113,8 @@ public class OrderRolloverService {
   private CompletableFuture<Set<String>> getFundsOrderIds(List<String> ledgerFundIds, LedgerFiscalYearRollover ledgerFYRollover,
                                                    RequestContext requestContext) {
     List<CompletableFuture<Set<String>>> futures = new ArrayList<>();
-    ofSubLists(ledgerFundIds, MAX_IDS_FOR_GET_RQ).forEach(chunkFundIds ->
+    String orderTypesQuery = "(" + buildOrderTypesQuery(ledgerFYRollover) + ")" + AND + WORKFLOW_STATUS_OPEN_QUERY + AND + "()";
+    planBatches(ledgerFundIds, PO_LINE_FUND_DISTR_QUERY, OR, encodedLength(orderTypesQuery)).forEach(chunkFundIds ->
       futures.add(getFundsOrderIdsByChunk(chunkFundIds, ledgerFYRollover, requestContext))
     );
     return collectResultsOnSuccess(futures).thenApply(results -> results.stream()
@@ -150,8 +154,9 @@ public class OrderRolloverService {
   private CompletableFuture<List<PoLine>> rolloverPoLinesChunk(String systemCurrency, List<String> orderIds, LedgerFiscalYearRollover ledgerFYRollover,
                                                                                  RequestContext requestContext) {
     return getPoLinesByOrderIds(orderIds, requestContext)
-            .thenCompose(poLines -> getEncumbrancesForRollover(orderIds, ledgerFYRollover, requestContext)
-              .thenApply(transactions -> buildPoLineEncumbrancesHolders(systemCurrency, poLines, transactions, requestContext))
+            .thenCompose(poLines -> prefetchExchangeRates(systemCurrency, poLines, requestContext)
+              .thenCompose(exchangeRates -> getEncumbrancesForRollover(orderIds, ledgerFYRollover, requestContext)
+                .thenApply(transactions -> buildPoLineEncumbrancesHolders(systemCurrency, poLines, transactions, exchangeRates)))
               .thenApply(this::applyPoLinesRolloverChanges))
             .exceptionally(t -> {
               logger.error(ErrorCodes.ROLLOVER_PO_LINES_ERROR.getDescription());
@@ -221,9 +226,16 @@ public class OrderRolloverService {
     return BigDecimal.valueOf(totalAmountAfterConversion.doubleValue());
   }
 
-  private CurrencyConversion retrieveCurrencyConversion(String systemCurrency, PoLine poLine, RequestContext requestContext) {
+  private CompletableFuture<PrefetchedExchangeRates> prefetchExchangeRates(String systemCurrency, List<PoLine> poLines, RequestContext requestContext) {
+    List<ConversionQuery> conversionQueries = poLines.stream()
+      .map(poLine -> HelperUtils.buildConversionQuery(poLine, systemCurrency))
+      .collect(toList());
+    return exchangeRateProviderResolver.prefetchExchangeRates(conversionQueries, requestContext);
+  }
+
+  private CurrencyConversion retrieveCurrencyConversion(String systemCurrency, PoLine poLine, PrefetchedExchangeRates exchangeRates) {
     ConversionQuery conversionQuery = HelperUtils.buildConversionQuery(poLine, systemCurrency);
-    ExchangeRateProvider exchangeRateProvider = exchangeRateProviderResolver.resolve(conversionQuery, requestContext);
+    ExchangeRateProvider exchangeRateProvider = exchangeRateProviderResolver.resolve(conversionQuery, exchangeRates);
     return exchangeRateProvider.getCurrencyConversion(conversionQuery);
   }
 
@@ -232,10 +244,10 @@ public class OrderRolloverService {
   }
 
   private List<PoLineEncumbrancesHolder> buildPoLineEncumbrancesHolders(String  systemCurrency, List<PoLine> poLines,
-                                                                        List<Transaction> encumbrances, RequestContext requestContext) {
+                                                                        List<Transaction> encumbrances, PrefetchedExchangeRates exchangeRates) {
     List<PoLineEncumbrancesHolder> poLineEncumbrancesHolders = new ArrayList<>();
     poLines.forEach(poLine -> {
-      CurrencyConversion currencyConversion = retrieveCurrencyConversion(systemCurrency, poLine, requestContext);
+      CurrencyConversion currencyConversion = retrieveCurrencyConversion(systemCurrency, poLine, exchangeRates);
       PoLineEncumbrancesHolder holder = new PoLineEncumbrancesHolder(poLine).withCurrencyConversion(currencyConversion);
       extractPoLineEncumbrances(poLine, encumbrances).forEach(encumbrance -> {
         holder.addEncumbrance(encumbrance);
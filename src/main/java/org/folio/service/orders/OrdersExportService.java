@@ -0,0 +1,218 @@
+package org.folio.service.orders;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.stream.Collectors.toList;
+import static org.folio.orders.utils.ErrorCodes.INVALID_EXPORT_INCLUDE;
+import static org.folio.orders.utils.HelperUtils.collectResultsOnSuccess;
+import static org.folio.orders.utils.HelperUtils.combineCqlExpressions;
+import static org.folio.orders.utils.HelperUtils.convertIdsToCqlQuery;
+import static org.folio.rest.core.IdBatchPlanner.planBatches;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.orders.rest.exceptions.HttpException;
+import org.folio.orders.utils.KeysetCursor;
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.jaxrs.model.CompositePoLine;
+import org.folio.rest.jaxrs.model.Piece;
+import org.folio.rest.jaxrs.model.PurchaseOrder;
+import org.folio.rest.jaxrs.model.PurchaseOrderCollection;
+import org.folio.rest.jaxrs.model.Title;
+import org.folio.service.AcquisitionsUnitsService;
+import org.folio.service.pieces.PiecesService;
+import org.folio.service.titles.TitlesService;
+
+import io.vertx.core.Context;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.WriteStream;
+import one.util.streamex.StreamEx;
+
+/**
+ * Streams purchase orders with their lines, and optionally titles and pieces of the lines, as newline-delimited JSON: one
+ * composite order per line. The orders are read from the storage page by page with {@link KeysetCursor}, and the next page is
+ * requested only after the previous one is written and the output has drained, so the memory used does not depend on the
+ * number of exported orders.
+ */
+public class OrdersExportService {
+
+  private static final Logger logger = LogManager.getLogger(OrdersExportService.class);
+
+  public static final String TITLES = "titles";
+  public static final String PIECES = "pieces";
+  static final int PAGE_SIZE = 100;
+
+  private static final Set<String> INCLUDE_VALUES = Set.of(TITLES, PIECES);
+  private static final String PURCHASE_ORDER_ID = "purchaseOrderId";
+  private static final String COMPOSITE_PO_LINES = "compositePoLines";
+
+  private final PurchaseOrderService purchaseOrderService;
+  private final PurchaseOrderLineService purchaseOrderLineService;
+  private final TitlesService titlesService;
+  private final PiecesService piecesService;
+  private final AcquisitionsUnitsService acquisitionsUnitsService;
+
+  public OrdersExportService(PurchaseOrderService purchaseOrderService, PurchaseOrderLineService purchaseOrderLineService,
+                             TitlesService titlesService, PiecesService piecesService,
+                             AcquisitionsUnitsService acquisitionsUnitsService) {
+    this.purchaseOrderService = purchaseOrderService;
+    this.purchaseOrderLineService = purchaseOrderLineService;
+    this.titlesService = titlesService;
+    this.piecesService = piecesService;
+    this.acquisitionsUnitsService = acquisitionsUnitsService;
+  }
+
+  /**
+   * @param include comma separated list of {@value #TITLES} and {@value #PIECES}
+   * @return the records to include into the export together with the lines
+   */
+  public static Set<String> parseInclude(String include) {
+    if (StringUtils.isBlank(include)) {
+      return Set.of();
+    }
+    Set<String> values = StreamEx.split(include, ',').map(String::trim).remove(String::isEmpty).toSet();
+    if (!INCLUDE_VALUES.containsAll(values)) {
+      throw new HttpException(400, INVALID_EXPORT_INCLUDE);
+    }
+    return values;
+  }
+
+  /**
+   * Writes all orders matching the query and visible to the user by acquisitions units to the output. The output is not ended.
+   *
+   * @param query   CQL query of purchase orders, may be sorted by a single field in ascending order
+   * @param include {@value #TITLES} and/or {@value #PIECES} to add to each line
+   * @param output  stream to write the records to, it is written on the context of the request
+   * @return number of exported orders
+   */
+  public CompletableFuture<Integer> exportOrders(String query, Set<String> include, WriteStream<Buffer> output,
+                                                 RequestContext requestContext) {
+    return acquisitionsUnitsService.buildAcqUnitsCqlExprToSearchRecords(requestContext, StringUtils.EMPTY)
+      .thenCompose(acqUnitsCqlExpr -> {
+        String exportQuery = StringUtils.isBlank(query) ? acqUnitsCqlExpr : combineCqlExpressions("and", acqUnitsCqlExpr, query);
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        exportPage(exportQuery, KeysetCursor.FIRST_PAGE, 0, include, output, future, requestContext);
+        return future;
+      });
+  }
+
+  private void exportPage(String query, String cursor, int exported, Set<String> include, WriteStream<Buffer> output,
+                          CompletableFuture<Integer> future, RequestContext requestContext) {
+    CompletableFuture<List<PurchaseOrder>> page;
+    try {
+      page = purchaseOrderService.getPurchaseOrders(KeysetCursor.parse(cursor).buildQuery(query), PAGE_SIZE, 0, requestContext)
+        .thenApply(PurchaseOrderCollection::getPurchaseOrders);
+    } catch (Exception e) {
+      future.completeExceptionally(e);
+      return;
+    }
+
+    page.thenCompose(orders -> buildRecords(orders, include, requestContext)
+        .thenCompose(records -> write(records, output, requestContext.getContext()))
+        .thenApply(v -> orders))
+      .thenAccept(orders -> {
+        String nextCursor = KeysetCursor.next(query, orders, PAGE_SIZE);
+        if (nextCursor == null) {
+          logger.info("{} orders exported", exported + orders.size());
+          future.complete(exported + orders.size());
+        } else {
+          exportPage(query, nextCursor, exported + orders.size(), include, output, future, requestContext);
+        }
+      })
+      .exceptionally(t -> {
+        logger.error("Export of orders failed after {} orders", exported, t);
+        future.completeExceptionally(t);
+        return null;
+      });
+  }
+
+  private CompletableFuture<List<JsonObject>> buildRecords(List<PurchaseOrder> orders, Set<String> include,
+                                                           RequestContext requestContext) {
+    if (orders.isEmpty()) {
+      return completedFuture(emptyList());
+    }
+    List<String> orderIds = StreamEx.of(orders).map(PurchaseOrder::getId).toList();
+    return getCompositePoLinesByOrderIds(orderIds, requestContext)
+      .thenCompose(lines -> {
+        List<String> lineIds = StreamEx.of(lines).map(CompositePoLine::getId).toList();
+        CompletableFuture<Map<String, List<Title>>> titles = include.contains(TITLES) && !lineIds.isEmpty()
+          ? titlesService.getTitlesByPoLineIds(lineIds, requestContext) : completedFuture(emptyMap());
+        CompletableFuture<Map<String, List<Piece>>> pieces = include.contains(PIECES) && !lineIds.isEmpty()
+          ? piecesService.getPiecesByPoLineIds(lineIds, requestContext) : completedFuture(emptyMap());
+
+        return titles.thenCombine(pieces, (titlesByLine, piecesByLine) -> {
+          Map<String, List<JsonObject>> linesByOrder = StreamEx.of(lines)
+            .mapToEntry(CompositePoLine::getPurchaseOrderId, line -> {
+              JsonObject jsonLine = JsonObject.mapFrom(line);
+              if (include.contains(TITLES)) {
+                jsonLine.put(TITLES, toJsonArray(titlesByLine.getOrDefault(line.getId(), emptyList())));
+              }
+              if (include.contains(PIECES)) {
+                jsonLine.put(PIECES, toJsonArray(piecesByLine.getOrDefault(line.getId(), emptyList())));
+              }
+              return jsonLine;
+            })
+            .grouping();
+
+          return orders.stream()
+            .map(order -> JsonObject.mapFrom(order)
+              .put(COMPOSITE_PO_LINES, new JsonArray(linesByOrder.getOrDefault(order.getId(), emptyList()))))
+            .collect(toList());
+        });
+      });
+  }
+
+  private CompletableFuture<List<CompositePoLine>> getCompositePoLinesByOrderIds(List<String> orderIds,
+                                                                                RequestContext requestContext) {
+    return collectResultsOnSuccess(StreamEx.of(planBatches(orderIds, PURCHASE_ORDER_ID))
+      .map(ids -> purchaseOrderLineService.getOrderLines(convertIdsToCqlQuery(ids, PURCHASE_ORDER_ID), 0, Integer.MAX_VALUE,
+        requestContext))
+      .toList())
+      .thenApply(batches -> StreamEx.of(batches).toFlatList(Function.identity()))
+      .thenCompose(lines -> purchaseOrderLineService.getCompositePoLines(lines, requestContext));
+  }
+
+  /**
+   * Writes the records on the context and completes when the output can accept more data, failed if the output fails
+   */
+  private CompletableFuture<Void> write(List<JsonObject> records, WriteStream<Buffer> output, Context context) {
+    if (records.isEmpty()) {
+      return completedFuture(null);
+    }
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    context.runOnContext(v -> {
+      try {
+        Buffer buffer = Buffer.buffer();
+        records.forEach(record -> buffer.appendString(record.encode()).appendString("\n"));
+        output.exceptionHandler(future::completeExceptionally);
+        output.write(buffer, result -> {
+          if (result.failed()) {
+            future.completeExceptionally(result.cause());
+          }
+        });
+        if (output.writeQueueFull()) {
+          output.drainHandler(drained -> future.complete(null));
+        } else {
+          future.complete(null);
+        }
+      } catch (Exception e) {
+        future.completeExceptionally(e);
+      }
+    });
+    return future;
+  }
+
+  private static JsonArray toJsonArray(List<?> records) {
+    return new JsonArray(records.stream().map(JsonObject::mapFrom).collect(toList()));
+  }
+}
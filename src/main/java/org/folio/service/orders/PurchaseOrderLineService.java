@@ -1,10 +1,21 @@
 package org.folio.service.orders;
 
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static org.folio.orders.utils.HelperUtils.ID;
 import static org.folio.orders.utils.HelperUtils.collectResultsOnSuccess;
+import static org.folio.orders.utils.HelperUtils.convertIdsToCqlQuery;
+import static org.folio.orders.utils.ResourcePathResolver.ALERTS;
+import static org.folio.orders.utils.ResourcePathResolver.REPORTING_CODES;
+import static org.folio.orders.utils.ResourcePathResolver.resourcesPath;
+import static org.folio.rest.core.IdBatchPlanner.planBatches;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -20,7 +31,9 @@ import org.folio.rest.jaxrs.model.PoLine;
 import org.folio.rest.jaxrs.model.PoLineCollection;
 
 import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import one.util.streamex.StreamEx;
 
 public class PurchaseOrderLineService {
   private static final Logger logger = LogManager.getLogger(PurchaseOrderLineService.class);
@@ -41,7 +54,7 @@ public class PurchaseOrderLineService {
 
   public CompletableFuture<PoLine> getOrderLineById(String orderLineId, RequestContext requestContext) {
     RequestEntry requestEntry = new RequestEntry(BY_ID_ENDPOINT).withId(orderLineId);
-    return restClient.get(requestEntry, requestContext, PoLine.class);
+    return restClient.get(requestEntry, true, requestContext, PoLine.class);
   }
 
   public CompletableFuture<Void> updateOrderLine(PoLine poLine, RequestContext requestContext) {
@@ -60,28 +73,84 @@ public class PurchaseOrderLineService {
 
 
   public CompletableFuture<List<CompositePoLine>> getCompositePoLinesByOrderId(String orderId, RequestContext requestContext) {
-    CompletableFuture<List<CompositePoLine>> future = new CompletableFuture<>();
-
-    getOrderLines("purchaseOrderId==" + orderId, 0, Integer.MAX_VALUE, requestContext)
-      .thenAccept(jsonLines ->
-        collectResultsOnSuccess(jsonLines.stream().map(line -> operateOnPoLine(HttpMethod.GET, line, requestContext)).collect(toList()))
-          .thenAccept(future::complete)
-          .exceptionally(t -> {
-            future.completeExceptionally(t.getCause());
-            return null;
-          })
-      )
-      .exceptionally(t -> {
-        logger.error("Exception gathering poLine data:", t);
-        future.completeExceptionally(t);
-        return null;
+    return getOrderLines("purchaseOrderId==" + orderId, 0, Integer.MAX_VALUE, requestContext)
+      .thenCompose(poLines -> getCompositePoLines(poLines, requestContext))
+      .whenComplete((poLines, t) -> {
+        if (t != null) {
+          logger.error("Exception gathering poLine data:", t);
+        }
       });
-    return future;
+  }
+
+  /**
+   * Converts the lines to composite ones with alerts and reporting codes. The sub-objects of all lines are fetched with
+   * batched id queries. Ids of sub-objects which no longer exist are dropped, the same way single sub-object lookups
+   * tolerate 404.
+   */
+  public CompletableFuture<List<CompositePoLine>> getCompositePoLines(List<PoLine> poLines, RequestContext requestContext) {
+    List<JsonObject> jsonLines = poLines.stream().map(JsonObject::mapFrom).collect(toList());
+    return getSubObjectsByIds(ALERTS, collectSubObjectIds(jsonLines, ALERTS), requestContext)
+      .thenCombine(getSubObjectsByIds(REPORTING_CODES, collectSubObjectIds(jsonLines, REPORTING_CODES), requestContext),
+        (alerts, reportingCodes) -> jsonLines.stream()
+          .map(line -> {
+            replaceIdsWithSubObjects(line, ALERTS, alerts);
+            replaceIdsWithSubObjects(line, REPORTING_CODES, reportingCodes);
+            return line.mapTo(CompositePoLine.class);
+          })
+          .collect(toList()));
   }
 
   public CompletableFuture<CompositePoLine> operateOnPoLine(HttpMethod operation, PoLine line, RequestContext requestContext) {
-    return HelperUtils.operateOnPoLine(operation, JsonObject.mapFrom(line),
-        restClient.getHttpClient(requestContext.getHeaders()), requestContext.getHeaders(), logger);
+    return restClient.withHttpClient(requestContext.getHeaders(), client -> HelperUtils.operateOnPoLine(operation,
+        JsonObject.mapFrom(line), client, requestContext.getHeaders(), logger));
+  }
+
+  private List<String> collectSubObjectIds(List<JsonObject> lines, String field) {
+    return lines.stream()
+      .map(line -> line.getJsonArray(field))
+      .filter(Objects::nonNull)
+      .flatMap(JsonArray::stream)
+      .map(Object::toString)
+      .distinct()
+      .collect(toList());
+  }
+
+  private CompletableFuture<Map<String, JsonObject>> getSubObjectsByIds(String field, List<String> ids,
+                                                                       RequestContext requestContext) {
+    if (ids.isEmpty()) {
+      return CompletableFuture.completedFuture(Collections.emptyMap());
+    }
+    return collectResultsOnSuccess(planBatches(ids, ID).stream()
+      .map(batch -> {
+        RequestEntry requestEntry = new RequestEntry(resourcesPath(field))
+          .withQuery(convertIdsToCqlQuery(batch))
+          .withOffset(0)
+          .withLimit(batch.size());
+        return restClient.getAsJsonObject(requestEntry, requestContext);
+      })
+      .collect(toList()))
+      .thenApply(collections -> {
+        Map<String, JsonObject> subObjects = collections.stream()
+          .flatMap(collection -> collection.getJsonArray(field, new JsonArray()).stream())
+          .map(JsonObject.class::cast)
+          .collect(toMap(subObject -> subObject.getString(ID), Function.identity(), (first, second) -> first));
+        if (subObjects.size() < ids.size() && logger.isWarnEnabled()) {
+          logger.warn("{} with ids {} are not found", field, StreamEx.of(ids).remove(subObjects::containsKey).toList());
+        }
+        return subObjects;
+      });
   }
-}
 
+  private void replaceIdsWithSubObjects(JsonObject line, String field, Map<String, JsonObject> subObjects) {
+    JsonArray ids = (JsonArray) line.remove(field);
+    JsonArray resolved = new JsonArray();
+    if (ids != null) {
+      ids.stream()
+        .map(id -> subObjects.get(id.toString()))
+        .filter(Objects::nonNull)
+        .map(JsonObject::copy)
+        .forEach(resolved::add);
+    }
+    line.put(field, resolved);
+  }
+}
@@ -23,7 +23,7 @@ public class PurchaseOrderService {
 
   public CompletableFuture<PurchaseOrder> getPurchaseOrderById(String id, RequestContext requestContext) {
     RequestEntry requestEntry = new RequestEntry(BY_ID_ENDPOINT).withId(id);
-    return restClient.get(requestEntry, requestContext, PurchaseOrder.class);
+    return restClient.get(requestEntry, true, requestContext, PurchaseOrder.class);
   }
 
   public CompletableFuture<PurchaseOrderCollection> getPurchaseOrders(String query, int limit, int offset, RequestContext requestContext) {
@@ -6,19 +6,20 @@ import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import javax.money.convert.ConversionQuery;
 import javax.money.convert.CurrencyConversion;
 import javax.money.convert.ExchangeRateProvider;
 
 import org.folio.models.ReEncumbranceHolder;
-import org.folio.orders.utils.AsyncUtil;
 import org.folio.orders.utils.HelperUtils;
 import org.folio.rest.acq.model.finance.Budget;
 import org.folio.rest.acq.model.finance.Encumbrance;
@@ -182,31 +183,38 @@ public class ReEncumbranceHoldersBuilder {
     if (fyCurrency.isEmpty()) {
       return CompletableFuture.completedFuture(reEncumbranceHolders);
     }
-    return AsyncUtil.executeBlocking(requestContext.getContext(), false, () -> {
-
-      Map<String, List<ReEncumbranceHolder>> currencyHoldersMap = reEncumbranceHolders.stream()
-        .collect(groupingBy(reEncumbranceHolder -> reEncumbranceHolder.getPoLine().getCost().getCurrency()));
-      currencyHoldersMap.forEach((poLineCurrency, holders) -> {
-        Double exchangeRate = holders.stream()
-                .map(ReEncumbranceHolder::getPoLine)
-                .map(CompositePoLine::getCost)
-                .map(Cost::getExchangeRate)
-                .filter(Objects::nonNull)
-                .findFirst().orElse(null);
-        ConversionQuery poLineToFYConversionQuery = HelperUtils.getConversionQuery(exchangeRate, poLineCurrency, fyCurrency.get());
-        ExchangeRateProvider exchangeRateProvider = exchangeRateProviderResolver.resolve(poLineToFYConversionQuery, requestContext);
-        CurrencyConversion poLineToFYConversion = exchangeRateProvider.getCurrencyConversion(poLineToFYConversionQuery);
-        exchangeRate = poLineToFYConversion.getExchangeRate(Money.of(0d, poLineCurrency)).getFactor().doubleValue();
-
-        double reverseRate = BigDecimal.ONE.divide(BigDecimal.valueOf(exchangeRate), DECIMAL64).doubleValue();
-
-        ConversionQuery fyToPoLineConversionQuery = HelperUtils.getConversionQuery(reverseRate, fyCurrency.get(), poLineCurrency);
-        CurrencyConversion fyToPoLineConversion = exchangeRateProvider.getCurrencyConversion(fyToPoLineConversionQuery);
-        holders.forEach(holder -> holder.withPoLineToFyConversion(poLineToFYConversion).withFyToPoLineConversion(fyToPoLineConversion));
+    Map<String, List<ReEncumbranceHolder>> currencyHoldersMap = reEncumbranceHolders.stream()
+      .collect(groupingBy(reEncumbranceHolder -> reEncumbranceHolder.getPoLine().getCost().getCurrency()));
+    Map<String, Double> currencyExchangeRateMap = new HashMap<>();
+    currencyHoldersMap.forEach((poLineCurrency, holders) -> currencyExchangeRateMap.put(poLineCurrency, holders.stream()
+      .map(ReEncumbranceHolder::getPoLine)
+      .map(CompositePoLine::getCost)
+      .map(Cost::getExchangeRate)
+      .filter(Objects::nonNull)
+      .findFirst().orElse(null)));
+    // The reverse conversion is served by the same provider, so rates of both directions are pinned
+    List<ConversionQuery> prefetchQueries = currencyExchangeRateMap.entrySet().stream()
+      .filter(entry -> entry.getValue() == null)
+      .flatMap(entry -> Stream.of(HelperUtils.getConversionQuery(null, entry.getKey(), fyCurrency.get()),
+        HelperUtils.getConversionQuery(null, fyCurrency.get(), entry.getKey())))
+      .collect(toList());
+    return exchangeRateProviderResolver.prefetchExchangeRates(prefetchQueries, requestContext)
+      .thenApply(exchangeRates -> {
+        currencyHoldersMap.forEach((poLineCurrency, holders) -> {
+          ConversionQuery poLineToFYConversionQuery = HelperUtils.getConversionQuery(currencyExchangeRateMap.get(poLineCurrency),
+            poLineCurrency, fyCurrency.get());
+          ExchangeRateProvider exchangeRateProvider = exchangeRateProviderResolver.resolve(poLineToFYConversionQuery, exchangeRates);
+          CurrencyConversion poLineToFYConversion = exchangeRateProvider.getCurrencyConversion(poLineToFYConversionQuery);
+          double exchangeRate = poLineToFYConversion.getExchangeRate(Money.of(0d, poLineCurrency)).getFactor().doubleValue();
+
+          double reverseRate = BigDecimal.ONE.divide(BigDecimal.valueOf(exchangeRate), DECIMAL64).doubleValue();
+
+          ConversionQuery fyToPoLineConversionQuery = HelperUtils.getConversionQuery(reverseRate, fyCurrency.get(), poLineCurrency);
+          CurrencyConversion fyToPoLineConversion = exchangeRateProvider.getCurrencyConversion(fyToPoLineConversionQuery);
+          holders.forEach(holder -> holder.withPoLineToFyConversion(poLineToFYConversion).withFyToPoLineConversion(fyToPoLineConversion));
+        });
+        return reEncumbranceHolders;
       });
-      return reEncumbranceHolders;
-    });
-
   }
 
   public CompletableFuture<List<ReEncumbranceHolder>> withPreviousFyEncumbrances(List<ReEncumbranceHolder> holders,
@@ -2,6 +2,7 @@ package org.folio.service.orders;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.ToDoubleFunction;
 
@@ -33,6 +34,16 @@ public class TransactionsTotalFieldsPopulateService implements CompositeOrderDyn
         .withTotalEncumbered(0d)));
   }
 
+  @Override
+  public Set<String> getPopulatedFields() {
+    return Set.of("totalEncumbered", "totalExpended");
+  }
+
+  @Override
+  public boolean isFiscalYearRequired() {
+    return true;
+  }
+
   private CompletableFuture<CompositeOrderRetrieveHolder> withTotalFields(CompositeOrderRetrieveHolder holder,
       RequestContext requestContext) {
     return getCurrentEncumbrances(holder, requestContext).thenApply(transactions -> {
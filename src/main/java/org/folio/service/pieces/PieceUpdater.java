@@ -0,0 +1,47 @@
+package org.folio.service.pieces;
+
+import static org.folio.orders.utils.BoundedAsyncMapper.getWindowSize;
+import static org.folio.orders.utils.ResourcePathResolver.PIECES;
+import static org.folio.orders.utils.ResourcePathResolver.resourcesPath;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.folio.orders.utils.BoundedAsyncMapper;
+import org.folio.orders.utils.BoundedAsyncMapper.Downstream;
+import org.folio.rest.core.RestClient;
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.core.models.RequestEntry;
+import org.folio.rest.jaxrs.model.Piece;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Stores updated piece records in the orders storage. Pieces are sent one by one with the concurrency bounded by the window of
+ * the orders storage, each piece is serialized straight to the request body by the shared codec of {@link RestClient}.
+ */
+public class PieceUpdater {
+
+  static final String PIECE_BY_ID_ENDPOINT = resourcesPath(PIECES) + "/{id}";
+
+  private final RestClient restClient;
+
+  public PieceUpdater(RestClient restClient) {
+    this.restClient = restClient;
+  }
+
+  /**
+   * Updates the pieces in the storage
+   *
+   * @param pieces       pieces to update
+   * @param tenantConfig ORDERS module configuration of the tenant
+   * @return future with the cause of failure by id of each piece which is not updated, empty if all pieces are updated
+   */
+  public CompletableFuture<Map<String, Throwable>> updatePieces(List<Piece> pieces, JsonObject tenantConfig,
+                                                               RequestContext requestContext) {
+    int windowSize = getWindowSize(tenantConfig, Downstream.ORDERS_STORAGE);
+    return BoundedAsyncMapper.mapCollectingFailures(pieces, windowSize, Piece::getId,
+        piece -> restClient.put(new RequestEntry(PIECE_BY_ID_ENDPOINT).withId(piece.getId()), piece, requestContext));
+  }
+}
@@ -6,14 +6,16 @@ import static java.util.stream.Collectors.collectingAndThen;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.summingInt;
 import static java.util.stream.Collectors.toList;
-import static org.folio.orders.utils.HelperUtils.ID;
 import static org.folio.orders.utils.HelperUtils.calculateInventoryItemsQuantity;
 import static org.folio.orders.utils.HelperUtils.calculatePiecesQuantityWithoutLocation;
+import static org.folio.orders.utils.HelperUtils.collectResultsOnSuccess;
+import static org.folio.orders.utils.HelperUtils.convertIdsToCqlQuery;
 import static org.folio.orders.utils.HelperUtils.groupLocationsById;
 import static org.folio.orders.utils.HelperUtils.isItemsUpdateRequired;
 import static org.folio.orders.utils.ProtectedOperationType.DELETE;
 import static org.folio.orders.utils.ResourcePathResolver.PIECES;
 import static org.folio.orders.utils.ResourcePathResolver.resourcesPath;
+import static org.folio.rest.core.IdBatchPlanner.planBatches;
 import static org.folio.rest.jaxrs.model.CompositePoLine.OrderFormat.ELECTRONIC_RESOURCE;
 
 import java.util.ArrayList;
@@ -30,6 +32,7 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.service.inventory.InstanceLookupIndex;
 import org.folio.service.inventory.InventoryManager;
 import org.folio.orders.events.handlers.MessageAddress;
 import org.folio.orders.rest.exceptions.HttpException;
@@ -60,6 +63,7 @@ public class PiecesService {
   private static final String INSTANCES = "instances";
   private static final String ENDPOINT = resourcesPath(PIECES);
   private static final String BY_ID_ENDPOINT = ENDPOINT + "/{id}";
+  private static final String PO_LINE_ID = "poLineId";
 
   private final TitlesService titlesService;
   private final ProtectionService protectionService;
@@ -68,11 +72,13 @@ public class PiecesService {
   private final InventoryManager inventoryManager;
   private final RestClient restClient;
   private final PieceChangeReceiptStatusPublisher receiptStatusPublisher;
+  private final PieceUpdater pieceUpdater;
 
   public PiecesService(RestClient restClient, TitlesService titlesService, ProtectionService protectionService,
                        CompositePurchaseOrderService compositePurchaseOrderService,
                        PurchaseOrderLineService purchaseOrderLineService,
-                       InventoryManager inventoryManager, PieceChangeReceiptStatusPublisher receiptStatusPublisher) {
+                       InventoryManager inventoryManager, PieceChangeReceiptStatusPublisher receiptStatusPublisher,
+                       PieceUpdater pieceUpdater) {
 
     this.titlesService = titlesService;
     this.protectionService = protectionService;
@@ -81,6 +87,7 @@ public class PiecesService {
     this.inventoryManager = inventoryManager;
     this.restClient = restClient;
     this.receiptStatusPublisher = receiptStatusPublisher;
+    this.pieceUpdater = pieceUpdater;
   }
 
   public CompletableFuture<Piece> createPiece(Piece piece, RequestContext requestContext) {
@@ -88,7 +95,8 @@ public class PiecesService {
       return getCompositeOrderByPoLineId(piece.getPoLineId(), requestContext)
         .thenCompose(order -> protectionService.isOperationRestricted(order.getAcqUnitIds(), ProtectedOperationType.CREATE, requestContext)
                                                .thenApply(v -> order))
-        .thenCompose(order -> updateInventory(order.getCompositePoLines().get(0), piece, requestContext))
+        .thenCompose(order -> updateInventory(order.getCompositePoLines().get(0), piece, new InstanceLookupIndex(requestContext),
+          requestContext))
         .thenCompose(v -> {
           RequestEntry requestEntry = new RequestEntry(ENDPOINT);
           return restClient.post(requestEntry, piece, requestContext, Piece.class);
@@ -147,11 +155,34 @@ public class PiecesService {
     return restClient.get(requestEntry, requestContext, Piece.class);
   }
 
+  public CompletableFuture<Map<String, List<Piece>>> getPiecesByPoLineIds(List<String> poLineIds, RequestContext requestContext) {
+    return collectResultsOnSuccess(StreamEx
+      .of(planBatches(poLineIds, PO_LINE_ID))
+      .map(ids -> new RequestEntry(ENDPOINT).withQuery(convertIdsToCqlQuery(ids, PO_LINE_ID))
+        .withOffset(0)
+        .withLimit(Integer.MAX_VALUE))
+      .map(requestEntry -> restClient.get(requestEntry, requestContext, PieceCollection.class))
+      .toList())
+      .thenApply(collections -> StreamEx.of(collections)
+        .flatCollection(PieceCollection::getPieces)
+        .groupingBy(Piece::getPoLineId));
+  }
+
   public CompletableFuture<Void> updatePiece(Piece piece, RequestContext requestContext) {
     RequestEntry requestEntry = new RequestEntry(BY_ID_ENDPOINT).withId(piece.getId());
     return restClient.put(requestEntry, piece, requestContext);
   }
 
+  /**
+   * Updates the pieces in the storage one by one with bounded concurrency, see {@link PieceUpdater}
+   *
+   * @return future with the cause of failure by id of each piece which is not updated
+   */
+  public CompletableFuture<Map<String, Throwable>> updatePieces(List<Piece> pieces, JsonObject tenantConfig,
+                                                               RequestContext requestContext) {
+    return pieceUpdater.updatePieces(pieces, tenantConfig, requestContext);
+  }
+
   public CompletableFuture<Void> deletePiece(String pieceId, RequestContext requestContext) {
     return getPieceById(pieceId, requestContext)
       .thenCompose(piece -> getCompositeOrderByPoLineId(piece.getPoLineId(), requestContext)
@@ -214,12 +245,14 @@ public class PiecesService {
    * Creates Inventory records associated with given PO line and updates PO line with corresponding links.
    *
    * @param compPOL Composite PO line to update Inventory for
+   * @param instanceLookupIndex index of the instances looked up by the operation
    * @return CompletableFuture with void.
    */
-  public CompletableFuture<Piece> updateInventory(CompositePoLine compPOL, Piece piece, RequestContext requestContext) {
+  public CompletableFuture<Piece> updateInventory(CompositePoLine compPOL, Piece piece, InstanceLookupIndex instanceLookupIndex,
+                                                  RequestContext requestContext) {
     if (Boolean.TRUE.equals(compPOL.getIsPackage())) {
       return titlesService.getTitleById(piece.getTitleId(), requestContext)
-        .thenCompose(title -> handleInstanceRecord(title, requestContext))
+        .thenCompose(title -> handleInstanceRecord(title, instanceLookupIndex, requestContext))
         .thenCompose(title -> titlesService.updateTitle(title, requestContext).thenApply(json -> title))
         .thenCompose(title -> handleHoldingsRecord(compPOL, piece.getLocationId(), title.getInstanceId(), requestContext))
         .thenCompose(holdingId -> createItemRecord(compPOL, holdingId, requestContext))
@@ -232,28 +265,36 @@ public class PiecesService {
     }
   }
 
-  public CompletableFuture<Title> handleInstanceRecord(Title title, RequestContext requestContext) {
+  public CompletableFuture<Title> handleInstanceRecord(Title title, InstanceLookupIndex instanceLookupIndex,
+                                                     RequestContext requestContext) {
     if (title.getInstanceId() != null) {
       return CompletableFuture.completedFuture(title);
     } else {
-      return getOrCreateInstanceRecord(title, requestContext).thenApply(title::withInstanceId);
+      return getOrCreateInstanceRecord(title, instanceLookupIndex, requestContext).thenApply(title::withInstanceId);
     }
   }
 
-  public CompletableFuture<String> getOrCreateInstanceRecord(Title title, RequestContext requestContext) {
+  /**
+   * Returns id of the instance with the products of the title, the instance is created if there is none. The instance is
+   * searched or created only if none of the products of the title is looked up in the index of the operation yet
+   */
+  public CompletableFuture<String> getOrCreateInstanceRecord(Title title, InstanceLookupIndex instanceLookupIndex,
+                                                             RequestContext requestContext) {
     // proceed with new Instance Record creation if no productId is provided
     if (!CollectionUtils.isNotEmpty(title.getProductIds())) {
       return inventoryManager.createInstanceRecord(title, requestContext);
     }
 
-    return inventoryManager.searchInstancesByProducts(title.getProductIds(), requestContext)
-      .thenCompose(instances -> {
-        if (!instances.getJsonArray(INSTANCES).isEmpty()) {
-          String instanceId = inventoryManager.getFirstObjectFromResponse(instances, INSTANCES).getString(ID);
-          return completedFuture(instanceId);
-        }
-        return inventoryManager.createInstanceRecord(title, requestContext);
-      });
+    return instanceLookupIndex.getInstanceId(title.getProductIds(),
+      () -> inventoryManager.searchInstancesByProducts(title.getProductIds(), requestContext)
+        .thenCompose(instances -> {
+          if (!instances.getJsonArray(INSTANCES).isEmpty()) {
+            JsonObject instance = inventoryManager.getFirstObjectFromResponse(instances, INSTANCES);
+            return completedFuture(InstanceLookupIndex.Match.found(instance, title.getProductIds()));
+          }
+          return inventoryManager.createInstanceRecord(title, requestContext)
+            .thenApply(instanceId -> InstanceLookupIndex.Match.created(instanceId, title.getProductIds()));
+        }));
   }
 
   /**
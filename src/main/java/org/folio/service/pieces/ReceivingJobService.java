@@ -0,0 +1,236 @@
+package org.folio.service.pieces;
+
+import static org.folio.helper.AbstractHelper.ERROR_CAUSE;
+import static org.folio.orders.utils.ErrorCodes.GENERIC_ERROR_CODE;
+import static org.folio.orders.utils.ErrorCodes.RECEIVING_JOBS_LIMIT_EXCEEDED;
+import static org.folio.orders.utils.ErrorCodes.RECEIVING_JOB_NOT_FOUND;
+import static org.folio.orders.utils.ErrorCodes.RECEIVING_JOB_RESULTS_LIMIT_EXCEEDED;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.LongSupplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.models.ReceivingJob;
+import org.folio.orders.rest.exceptions.HttpException;
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.jaxrs.model.Error;
+import org.folio.rest.jaxrs.model.Errors;
+import org.folio.rest.jaxrs.model.ReceivingResults;
+import org.folio.rest.tools.utils.TenantTool;
+
+import io.vertx.core.Context;
+
+/**
+ * Runs receiving and check-in requests in the background. At most {@value #TENANT_CONCURRENCY_PROPERTY} jobs of a tenant run
+ * at a time, the next ones wait in the queue of the tenant which holds up to {@value #MAX_QUEUED_PROPERTY} jobs. Jobs are kept
+ * in memory of the module instance which accepted them: a finished job with its results can be fetched for
+ * {@value #RETENTION_PROPERTY} ms. Up to {@value #MAX_FINISHED_PROPERTY} finished jobs which have already been fetched are
+ * kept for repeated polling, older ones are removed. Results which have not been fetched yet are never removed before the
+ * retention period is over; instead, new jobs of a tenant are rejected while it has {@value #MAX_FINISHED_PROPERTY} such
+ * results.
+ * <p>
+ * The jobs are not persisted or shared: other instances of the module do not know them, and a restart of the instance loses
+ * both the queued jobs and the results of the finished ones.
+ */
+public class ReceivingJobService {
+
+  private static final Logger logger = LogManager.getLogger();
+
+  public static final String TENANT_CONCURRENCY_PROPERTY = "orders.receiving.jobs.tenantConcurrency";
+  public static final String MAX_QUEUED_PROPERTY = "orders.receiving.jobs.maxQueued";
+  public static final String RETENTION_PROPERTY = "orders.receiving.jobs.retentionMs";
+  public static final String MAX_FINISHED_PROPERTY = "orders.receiving.jobs.maxFinished";
+  private static final int DEFAULT_TENANT_CONCURRENCY = 2;
+  private static final int DEFAULT_MAX_QUEUED = 100;
+  private static final long DEFAULT_RETENTION_MS = 24 * 60 * 60 * 1000L;
+  private static final int DEFAULT_MAX_FINISHED = 1_000;
+
+  private final int tenantConcurrency;
+  private final int maxQueued;
+  private final long retentionMs;
+  private final int maxFinished;
+  private final LongSupplier clock;
+
+  // Guarded by this; the jobs are in the order of creation
+  private final Map<String, ReceivingJob> jobs = new LinkedHashMap<>();
+  private final Map<String, TenantJobs> tenantJobs = new HashMap<>();
+
+  public ReceivingJobService() {
+    this(Integer.getInteger(TENANT_CONCURRENCY_PROPERTY, DEFAULT_TENANT_CONCURRENCY),
+      Integer.getInteger(MAX_QUEUED_PROPERTY, DEFAULT_MAX_QUEUED),
+      Long.getLong(RETENTION_PROPERTY, DEFAULT_RETENTION_MS),
+      Integer.getInteger(MAX_FINISHED_PROPERTY, DEFAULT_MAX_FINISHED),
+      System::currentTimeMillis);
+  }
+
+  ReceivingJobService(int tenantConcurrency, int maxQueued, long retentionMs, int maxFinished, LongSupplier clock) {
+    this.tenantConcurrency = Math.max(1, tenantConcurrency);
+    this.maxQueued = maxQueued;
+    this.retentionMs = retentionMs;
+    this.maxFinished = maxFinished;
+    this.clock = clock;
+  }
+
+  /**
+   * Registers the job and starts it on the context of the request as soon as the tenant has a free slot
+   *
+   * @param task processing of the request, accepts the handler of the number of processed records
+   * @return {@link CompletableFuture} with the accepted job, failed with 429 if the queue of the tenant is full or the tenant
+   *         has too many results which are not fetched yet
+   */
+  public CompletableFuture<ReceivingJob> submit(ReceivingJob.Type type, int totalRecords,
+      Function<IntConsumer, CompletableFuture<ReceivingResults>> task, RequestContext requestContext) {
+    String tenantId = getTenantId(requestContext);
+    ReceivingJob job = new ReceivingJob(UUID.randomUUID().toString(), type, tenantId, totalRecords, new Date(clock.getAsLong()));
+    PendingJob pendingJob = new PendingJob(job, task, requestContext.getContext());
+
+    synchronized (this) {
+      removeExpiredJobs();
+      if (countUnfetchedJobs(tenantId) >= maxFinished) {
+        return CompletableFuture.failedFuture(new HttpException(429, RECEIVING_JOB_RESULTS_LIMIT_EXCEEDED));
+      }
+      TenantJobs tenant = tenantJobs.computeIfAbsent(tenantId, id -> new TenantJobs());
+      if (tenant.running >= tenantConcurrency && tenant.queue.size() >= maxQueued) {
+        return CompletableFuture.failedFuture(new HttpException(429, RECEIVING_JOBS_LIMIT_EXCEEDED));
+      }
+      jobs.put(job.getId(), job);
+      if (tenant.running < tenantConcurrency) {
+        tenant.running++;
+      } else {
+        tenant.queue.add(pendingJob);
+        pendingJob = null;
+      }
+    }
+
+    logger.info("{} job {} of {} records accepted", type, job.getId(), totalRecords);
+    if (pendingJob != null) {
+      run(pendingJob);
+    }
+    return CompletableFuture.completedFuture(job);
+  }
+
+  /**
+   * @return {@link CompletableFuture} with the job of the tenant, failed with 404 if there is no such job or it has expired
+   */
+  public CompletableFuture<ReceivingJob> getJob(String id, RequestContext requestContext) {
+    ReceivingJob job;
+    synchronized (this) {
+      removeExpiredJobs();
+      job = jobs.get(id);
+    }
+    if (job == null || !job.getTenantId().equals(getTenantId(requestContext))) {
+      return CompletableFuture.failedFuture(new HttpException(404, RECEIVING_JOB_NOT_FOUND));
+    }
+    if (job.isFinished()) {
+      job.markResultFetched();
+    }
+    return CompletableFuture.completedFuture(job);
+  }
+
+  private void run(PendingJob pendingJob) {
+    ReceivingJob job = pendingJob.job;
+    pendingJob.context.runOnContext(v -> {
+      job.start(new Date(clock.getAsLong()));
+      CompletableFuture<ReceivingResults> future;
+      try {
+        future = pendingJob.task.apply(job::setProcessedRecords);
+      } catch (Exception e) {
+        future = CompletableFuture.failedFuture(e);
+      }
+      future.whenComplete((result, t) -> finish(job, result, t));
+    });
+  }
+
+  private void finish(ReceivingJob job, ReceivingResults result, Throwable t) {
+    if (t == null) {
+      job.complete(result, new Date(clock.getAsLong()));
+      logger.info("{} job {} completed", job.getType(), job.getId());
+    } else {
+      job.fail(toErrors(t), new Date(clock.getAsLong()));
+      logger.error("{} job {} failed", job.getType(), job.getId(), t);
+    }
+
+    PendingJob next;
+    synchronized (this) {
+      TenantJobs tenant = tenantJobs.get(job.getTenantId());
+      next = tenant.queue.poll();
+      if (next == null) {
+        tenant.running--;
+        if (tenant.running == 0) {
+          tenantJobs.remove(job.getTenantId());
+        }
+      }
+    }
+    if (next != null) {
+      run(next);
+    }
+  }
+
+  private void removeExpiredJobs() {
+    long expiredBefore = clock.getAsLong() - retentionMs;
+    int fetched = (int) jobs.values().stream().filter(job -> job.isFinished() && job.isResultFetched()).count();
+    Iterator<ReceivingJob> iterator = jobs.values().iterator();
+    while (iterator.hasNext()) {
+      ReceivingJob job = iterator.next();
+      if (!job.isFinished()) {
+        continue;
+      }
+      // Only the jobs with fetched results are removed to keep the number of the finished jobs under the limit
+      boolean fetchedOverLimit = job.isResultFetched() && fetched > maxFinished;
+      if (fetchedOverLimit || job.getCompletedDate().getTime() < expiredBefore) {
+        iterator.remove();
+        if (job.isResultFetched()) {
+          fetched--;
+        }
+      }
+    }
+  }
+
+  private long countUnfetchedJobs(String tenantId) {
+    return jobs.values().stream()
+      .filter(job -> job.getTenantId().equals(tenantId) && job.isFinished() && !job.isResultFetched())
+      .count();
+  }
+
+  private static Errors toErrors(Throwable t) {
+    Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+    Error error = cause instanceof HttpException ? ((HttpException) cause).getError()
+      : GENERIC_ERROR_CODE.toError().withAdditionalProperty(ERROR_CAUSE, cause.getMessage());
+    return new Errors().withErrors(List.of(error)).withTotalRecords(1);
+  }
+
+  private static String getTenantId(RequestContext requestContext) {
+    return TenantTool.calculateTenantId(requestContext.getHeaders().get(OKAPI_HEADER_TENANT));
+  }
+
+  private static class TenantJobs {
+    private int running;
+    private final Deque<PendingJob> queue = new ArrayDeque<>();
+  }
+
+  private static class PendingJob {
+    private final ReceivingJob job;
+    private final Function<IntConsumer, CompletableFuture<ReceivingResults>> task;
+    private final Context context;
+
+    PendingJob(ReceivingJob job, Function<IntConsumer, CompletableFuture<ReceivingResults>> task, Context context) {
+      this.job = job;
+      this.task = task;
+      this.context = context;
+    }
+  }
+}
@@ -5,7 +5,7 @@ import static java.util.stream.Collectors.groupingBy;
 import static org.folio.orders.utils.HelperUtils.collectResultsOnSuccess;
 import static org.folio.orders.utils.ResourcePathResolver.TITLES;
 import static org.folio.orders.utils.ResourcePathResolver.resourcesPath;
-import static org.folio.rest.RestConstants.MAX_IDS_FOR_GET_RQ;
+import static org.folio.rest.core.IdBatchPlanner.planBatches;
 
 import java.util.List;
 import java.util.Map;
@@ -78,7 +78,7 @@ public class TitlesService {
 
   public CompletableFuture<Map<String, List<Title>>> getTitlesByPoLineIds(List<String> poLineIds, RequestContext requestContext) {
     return collectResultsOnSuccess(StreamEx
-      .ofSubLists(poLineIds, MAX_IDS_FOR_GET_RQ)
+      .of(planBatches(poLineIds, "poLineId"))
       // Transform piece id's to CQL query
       .map(ids -> HelperUtils.convertFieldListToCqlQuery(ids, "poLineId", true))
       // Send get request for each CQL query
@@ -126,7 +126,7 @@ public class TitlesService {
   }
 
   private CompletableFuture<List<Title>> getTitlesByQuery(String query, RequestContext requestContext) {
-    return getTitles(MAX_IDS_FOR_GET_RQ, 0, query, requestContext)
+    return getTitles(Integer.MAX_VALUE, 0, query, requestContext)
       .thenApply(TitleCollection::getTitles)
       .exceptionally(e -> {
         logger.error("The issue happened getting PO Lines", e);
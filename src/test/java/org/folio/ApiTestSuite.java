@@ -14,8 +14,16 @@ import org.folio.helper.PurchaseOrderLineHelperTest;
 import org.folio.orders.events.handlers.CheckInOrderStatusChangeChangeHandlerTest;
 import org.folio.orders.events.handlers.ReceiptStatusConsistencyTest;
 import org.folio.orders.events.handlers.ReceiveOrderStatusChangeHandlerTest;
+import org.folio.orders.utils.AsyncTtlCacheTest;
+import org.folio.orders.utils.BoundedAsyncMapperTest;
 import org.folio.orders.utils.HelperUtilsTest;
+import org.folio.orders.utils.JsonDiffTest;
+import org.folio.orders.utils.KeysetCursorTest;
 import org.folio.orders.utils.validators.OngoingOrderValidatorTest;
+import org.folio.rest.core.HttpClientPoolTest;
+import org.folio.rest.core.IdBatchPlannerTest;
+import org.folio.rest.core.JsonCodecTest;
+import org.folio.rest.core.OutboundCallMetricsTest;
 import org.folio.rest.core.RestClientTest;
 import org.folio.rest.impl.CheckinReceivingApiTest;
 import org.folio.rest.impl.OrderTemplateTest;
@@ -33,6 +41,7 @@ import org.folio.rest.impl.protection.ReceivingCheckinProtectionTest;
 import org.folio.service.PrefixServiceTest;
 import org.folio.service.ReasonForClosureServiceTest;
 import org.folio.service.SuffixServiceTest;
+import org.folio.service.exchange.FinanceExchangeRateServiceTest;
 import org.folio.service.exchange.ManualExchangeRateProviderTest;
 import org.folio.service.finance.FundServiceTest;
 import org.folio.service.expenceclass.ExpenseClassValidationServiceTest;
@@ -41,17 +50,24 @@ import org.folio.service.finance.transaction.EncumbranceRelationsHoldersBuilderT
 import org.folio.service.finance.transaction.EncumbranceServiceTest;
 import org.folio.service.finance.transaction.OpenToPendingEncumbranceStrategyTest;
 import org.folio.service.finance.transaction.TransactionServiceTest;
+import org.folio.service.inventory.HoldingsResolverTest;
+import org.folio.service.inventory.InstanceLookupIndexTest;
+import org.folio.service.inventory.InventoryItemBatchCreatorTest;
+import org.folio.service.inventory.ReferenceDataCacheTest;
 import org.folio.service.orders.AcquisitionsUnitsServiceTest;
 import org.folio.service.orders.CombinedOrderDataPopulateServiceTest;
 import org.folio.service.orders.CompositeOrderRetrieveHolderBuilderTest;
 import org.folio.service.orders.FundsDistributionServiceTest;
 import org.folio.service.orders.OrderReEncumberServiceTest;
 import org.folio.service.orders.OrderRolloverServiceTest;
+import org.folio.service.orders.OrdersExportServiceTest;
 import org.folio.service.orders.PurchaseOrderLineServiceTest;
 import org.folio.service.orders.PurchaseOrderServiceTest;
 import org.folio.service.orders.ReEncumbranceHoldersBuilderTest;
 import org.folio.service.orders.TransactionsTotalFieldsPopulateServiceTest;
+import org.folio.service.pieces.PieceUpdaterTest;
 import org.folio.service.pieces.PiecesServiceTest;
+import org.folio.service.pieces.ReceivingJobServiceTest;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Nested;
@@ -159,6 +175,14 @@ public class ApiTestSuite {
   class PiecesServiceTestNested extends PiecesServiceTest {
   }
 
+  @Nested
+  class PieceUpdaterTestNested extends PieceUpdaterTest {
+  }
+
+  @Nested
+  class ReceivingJobServiceTestNested extends ReceivingJobServiceTest {
+  }
+
   @Nested
   class PurchaseOrderHelperTestNested extends PurchaseOrderHelperTest {
   }
@@ -187,6 +211,58 @@ public class ApiTestSuite {
   class RestClientTestNested extends RestClientTest {
   }
 
+  @Nested
+  class HttpClientPoolTestNested extends HttpClientPoolTest {
+  }
+
+  @Nested
+  class JsonCodecTestNested extends JsonCodecTest {
+  }
+
+  @Nested
+  class IdBatchPlannerTestNested extends IdBatchPlannerTest {
+  }
+
+  @Nested
+  class OutboundCallMetricsTestNested extends OutboundCallMetricsTest {
+  }
+
+  @Nested
+  class BoundedAsyncMapperTestNested extends BoundedAsyncMapperTest {
+  }
+
+  @Nested
+  class InventoryItemBatchCreatorTestNested extends InventoryItemBatchCreatorTest {
+  }
+
+  @Nested
+  class AsyncTtlCacheTestNested extends AsyncTtlCacheTest {
+  }
+
+  @Nested
+  class JsonDiffTestNested extends JsonDiffTest {
+  }
+
+  @Nested
+  class KeysetCursorTestNested extends KeysetCursorTest {
+  }
+
+  @Nested
+  class ReferenceDataCacheTestNested extends ReferenceDataCacheTest {
+  }
+
+  @Nested
+  class InstanceLookupIndexTestNested extends InstanceLookupIndexTest {
+  }
+
+  @Nested
+  class HoldingsResolverTestNested extends HoldingsResolverTest {
+  }
+
+  @Nested
+  class FinanceExchangeRateServiceTestNested extends FinanceExchangeRateServiceTest {
+  }
+
   @Nested
   class InventoryManagerTestNested extends InventoryManagerTest {
   }
@@ -207,6 +283,10 @@ public class ApiTestSuite {
   class OrderRolloverServiceTestNested extends OrderRolloverServiceTest {
   }
 
+  @Nested
+  class OrdersExportServiceTestNested extends OrdersExportServiceTest {
+  }
+
   @Nested
   class OpenToPendingEncumbranceStrategyTestNested extends OpenToPendingEncumbranceStrategyTest {
   }
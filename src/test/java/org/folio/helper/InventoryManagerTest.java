@@ -16,6 +16,7 @@ import static org.folio.TestConstants.X_OKAPI_TOKEN;
 import static org.folio.TestConstants.X_OKAPI_USER_ID;
 import static org.folio.TestUtils.getMockAsJson;
 import static org.folio.TestUtils.getMockData;
+import static org.folio.orders.utils.BoundedAsyncMapper.Downstream.INVENTORY;
 import static org.folio.service.inventory.InventoryManager.ITEMS;
 import static org.folio.service.inventory.InventoryManager.ITEM_PURCHASE_ORDER_LINE_IDENTIFIER;
 import static org.folio.rest.RestConstants.OKAPI_URL;
@@ -69,7 +70,9 @@ import org.folio.rest.jaxrs.model.PieceCollection;
 import org.folio.rest.jaxrs.model.PoLine;
 import org.folio.rest.jaxrs.model.Title;
 import org.folio.service.configuration.ConfigurationEntriesService;
+import org.folio.service.inventory.InventoryItemBatchCreator;
 import org.folio.service.inventory.InventoryManager;
+import org.folio.service.inventory.ReferenceDataCache;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -167,6 +170,24 @@ public class InventoryManagerTest {
     verify(restClient, times(0)).put(any(RequestEntry.class),any(JsonObject.class), eq(requestContext));
   }
 
+  @Test
+  void testShouldReportItemsFailedToBeUpdated() {
+    //given
+    JsonObject item1 = new JsonObject().put("id", UUID.randomUUID().toString());
+    JsonObject item2 = new JsonObject().put("id", UUID.randomUUID().toString());
+    JsonObject item3 = new JsonObject().put("id", UUID.randomUUID().toString());
+    HttpException error = new HttpException(500, "Item cannot be updated");
+    doReturn(completedFuture(null)).when(restClient).put(any(RequestEntry.class), any(JsonObject.class), eq(requestContext));
+    doReturn(CompletableFuture.failedFuture(error)).when(restClient).put(any(RequestEntry.class), eq(item2), eq(requestContext));
+    JsonObject tenantConfig = new JsonObject().put(INVENTORY.getConfigName(), "2");
+    //When
+    Map<String, Throwable> failedItems = inventoryManager.updateItems(Arrays.asList(item1, item2, item3), tenantConfig, requestContext).join();
+    //Then
+    assertEquals(1, failedItems.size());
+    assertEquals(error, failedItems.get(item2.getString("id")));
+    verify(restClient, times(3)).put(any(RequestEntry.class), any(JsonObject.class), eq(requestContext));
+  }
+
   @Test
   void testShouldDeleteAllItemOneByOneIfProvidedListNonEmpty() {
     //given
@@ -471,8 +492,19 @@ public class InventoryManagerTest {
     }
 
     @Bean
-    public InventoryManager inventoryManager(RestClient restClient, ConfigurationEntriesService configurationEntriesService) {
-      return spy(new InventoryManager(restClient, configurationEntriesService));
+    public ReferenceDataCache referenceDataCache() {
+      return new ReferenceDataCache();
+    }
+
+    @Bean
+    public InventoryItemBatchCreator inventoryItemBatchCreator(RestClient restClient) {
+      return new InventoryItemBatchCreator(restClient);
+    }
+
+    @Bean
+    public InventoryManager inventoryManager(RestClient restClient, ConfigurationEntriesService configurationEntriesService,
+                                             ReferenceDataCache referenceDataCache, InventoryItemBatchCreator itemBatchCreator) {
+      return spy(new InventoryManager(restClient, configurationEntriesService, referenceDataCache, itemBatchCreator));
     }
   }
 }
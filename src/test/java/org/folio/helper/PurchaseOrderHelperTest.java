@@ -57,6 +57,7 @@ import org.folio.service.finance.expenceclass.ExpenseClassValidationService;
 import org.folio.service.finance.transaction.OpenToPendingEncumbranceStrategy;
 import org.folio.service.inventory.InventoryManager;
 import org.folio.service.orders.CombinedOrderDataPopulateService;
+import org.folio.service.orders.CompositeOrderRetrieveHolderBuilder;
 import org.folio.service.orders.CompositeOrderDynamicDataPopulateService;
 import org.folio.service.orders.OrderInvoiceRelationService;
 import org.folio.service.orders.OrderLinesSummaryPopulateService;
@@ -247,6 +248,11 @@ public class PurchaseOrderHelperTest {
       return mock(CombinedOrderDataPopulateService.class);
     }
 
+    @Bean
+    CompositeOrderRetrieveHolderBuilder compositeOrderRetrieveHolderBuilder() {
+      return mock(CompositeOrderRetrieveHolderBuilder.class);
+    }
+
     @Bean
     PurchaseOrderLineService purchaseOrderLineService() {
       return mock(PurchaseOrderLineService.class);
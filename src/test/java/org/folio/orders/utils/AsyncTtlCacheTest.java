@@ -0,0 +1,151 @@
+package org.folio.orders.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonObject;
+
+public class AsyncTtlCacheTest {
+
+  private static final long TTL = 1_000;
+  private static final long STALE = 10_000;
+
+  private final AtomicLong now = new AtomicLong();
+  private final AtomicInteger loads = new AtomicInteger();
+  private AsyncTtlCache<String, JsonObject> cache;
+
+  @BeforeEach
+  void initCache() {
+    now.set(0);
+    loads.set(0);
+    cache = new AsyncTtlCache<>("test", TTL, STALE, 2, JsonObject::copy, now::get);
+  }
+
+  @Test
+  void testFreshValueShouldBeServedFromCache() {
+    assertEquals(1, get("tenant").getInteger("version"));
+    now.set(TTL - 1);
+    assertEquals(1, get("tenant").getInteger("version"));
+
+    assertEquals(1, loads.get());
+    JsonObject metrics = cache.getMetrics();
+    assertEquals(1L, metrics.getLong("hits"));
+    assertEquals(1L, metrics.getLong("misses"));
+  }
+
+  @Test
+  void testCachedValueShouldBeCopied() {
+    JsonObject first = get("tenant");
+    first.put("version", 100);
+
+    JsonObject second = get("tenant");
+    assertNotSame(first, second);
+    assertEquals(1, second.getInteger("version"));
+  }
+
+  @Test
+  void testStaleValueShouldBeServedWhileReloaded() {
+    get("tenant");
+    now.set(TTL + 1);
+
+    // Stale value is returned and reload is started
+    assertEquals(1, get("tenant").getInteger("version"));
+    assertEquals(2, loads.get());
+    // Reloaded value is served afterwards
+    assertEquals(2, get("tenant").getInteger("version"));
+    assertEquals(1L, cache.getMetrics().getLong("staleHits"));
+  }
+
+  @Test
+  void testExpiredValueShouldBeLoaded() {
+    get("tenant");
+    now.set(TTL + STALE);
+
+    assertEquals(2, get("tenant").getInteger("version"));
+    assertEquals(2L, cache.getMetrics().getLong("misses"));
+  }
+
+  @Test
+  void testConcurrentLoadsShouldShareOneRequest() {
+    CompletableFuture<JsonObject> pending = new CompletableFuture<>();
+    AtomicInteger pendingLoads = new AtomicInteger();
+
+    CompletableFuture<JsonObject> first = cache.get("tenant", key -> {
+      pendingLoads.incrementAndGet();
+      return pending;
+    });
+    CompletableFuture<JsonObject> second = cache.get("tenant", key -> {
+      pendingLoads.incrementAndGet();
+      return pending;
+    });
+    pending.complete(new JsonObject().put("version", 1));
+
+    assertEquals(1, pendingLoads.get());
+    assertEquals(1, first.join().getInteger("version"));
+    assertEquals(1, second.join().getInteger("version"));
+  }
+
+  @Test
+  void testFailedLoadShouldNotBeCached() {
+    CompletableFuture<JsonObject> failed = cache.get("tenant",
+      key -> CompletableFuture.failedFuture(new IllegalStateException("failed")));
+
+    CompletionException exception = assertThrows(CompletionException.class, failed::join);
+    assertSame(IllegalStateException.class, exception.getCause().getClass());
+    assertEquals(1, get("tenant").getInteger("version"));
+    assertEquals(1L, cache.getMetrics().getLong("loadFailures"));
+  }
+
+  @Test
+  void testInvalidatedValueShouldBeReloaded() {
+    get("tenant:ORDERS");
+    get("another:ORDERS");
+
+    cache.invalidateIf(key -> key.startsWith("tenant:"));
+
+    assertEquals(2, get("tenant:ORDERS").getInteger("version"));
+    assertEquals(1, get("another:ORDERS").getInteger("version"));
+  }
+
+  @Test
+  void testLeastRecentlyUsedEntryShouldBeEvicted() {
+    get("first");
+    get("second");
+    get("first");
+    get("third");
+
+    JsonObject metrics = cache.getMetrics();
+    assertEquals(2, metrics.getInteger("size"));
+    assertEquals(1L, metrics.getLong("evictions"));
+    get("first");
+    assertEquals(3, loads.get());
+    get("second");
+    assertEquals(4, loads.get());
+  }
+
+  @Test
+  void testValueShouldNotBeCopiedWithoutCopier() {
+    AsyncTtlCache<String, JsonObject> sharedCache = new AsyncTtlCache<>("shared", TTL, STALE, 2, UnaryOperator.identity(), now::get);
+    JsonObject value = new JsonObject();
+
+    sharedCache.get("tenant", key -> CompletableFuture.completedFuture(value)).join();
+
+    assertSame(value, sharedCache.get("tenant", key -> CompletableFuture.completedFuture(new JsonObject())).join());
+  }
+
+  private JsonObject get(String key) {
+    return cache.get(key, k -> CompletableFuture.completedFuture(new JsonObject().put("version", loads.incrementAndGet())))
+      .join();
+  }
+}
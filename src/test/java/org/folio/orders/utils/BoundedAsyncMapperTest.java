@@ -0,0 +1,118 @@
+package org.folio.orders.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.folio.HttpStatus;
+import org.folio.orders.rest.exceptions.HttpException;
+import org.folio.orders.utils.BoundedAsyncMapper.Downstream;
+import org.folio.orders.utils.BoundedAsyncMapper.Outcome;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonObject;
+
+public class BoundedAsyncMapperTest {
+
+  @Test
+  void testResultsShouldKeepOrderAndRespectWindow() throws Exception {
+    List<CompletableFuture<Integer>> pending = new ArrayList<>();
+    AtomicInteger active = new AtomicInteger();
+    AtomicInteger maxActive = new AtomicInteger();
+
+    CompletableFuture<List<Integer>> result = BoundedAsyncMapper.map(List.of(1, 2, 3, 4, 5), 2, item -> {
+      maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+      CompletableFuture<Integer> future = new CompletableFuture<>();
+      pending.add(future);
+      return future.thenApply(value -> {
+        active.decrementAndGet();
+        return value;
+      });
+    });
+
+    assertEquals(2, pending.size());
+    // Complete operations in reverse order of start
+    int[] values = {10, 20, 30, 40, 50};
+    int completed = 0;
+    while (completed < values.length) {
+      int index = pending.size() - 1;
+      while (index >= 0 && pending.get(index).isDone()) {
+        index--;
+      }
+      pending.get(index).complete(values[index]);
+      completed++;
+    }
+
+    assertThat(result.get(), contains(10, 20, 30, 40, 50));
+    assertEquals(2, maxActive.get());
+  }
+
+  @Test
+  void testFailFastShouldStopLaunchingOperations() {
+    AtomicInteger started = new AtomicInteger();
+
+    CompletableFuture<List<Integer>> result = BoundedAsyncMapper.map(List.of(1, 2, 3, 4), 1, item -> {
+      started.incrementAndGet();
+      return item == 2
+        ? CompletableFuture.failedFuture(new HttpException(HttpStatus.HTTP_BAD_REQUEST.toInt(), "failed"))
+        : CompletableFuture.completedFuture(item);
+    });
+
+    ExecutionException exception = assertThrows(ExecutionException.class, result::get);
+    assertThat(exception.getCause(), instanceOf(HttpException.class));
+    assertEquals(2, started.get());
+  }
+
+  @Test
+  void testCollectingErrorsShouldReturnOutcomeOfEachItem() throws Exception {
+    List<Outcome<Integer>> outcomes = BoundedAsyncMapper.mapCollectingErrors(List.of(1, 2, 3), 2,
+      item -> item == 2
+        ? CompletableFuture.<Integer>failedFuture(new IllegalStateException("failed"))
+        : CompletableFuture.completedFuture(item * 10))
+      .get();
+
+    assertEquals(3, outcomes.size());
+    assertTrue(outcomes.get(0).isSucceeded());
+    assertEquals(10, outcomes.get(0).getResult());
+    assertFalse(outcomes.get(1).isSucceeded());
+    assertNull(outcomes.get(1).getResult());
+    assertThat(outcomes.get(1).getError(), instanceOf(IllegalStateException.class));
+    assertEquals(30, outcomes.get(2).getResult());
+  }
+
+  @Test
+  void testCollectingFailuresShouldReturnCauseByKeyOfFailedItems() throws Exception {
+    Map<String, Throwable> failures = BoundedAsyncMapper.mapCollectingFailures(List.of(1, 2, 3, 4), 2, item -> "item-" + item,
+      item -> item % 2 == 0
+        ? CompletableFuture.<Integer>failedFuture(new IllegalStateException("failed"))
+        : CompletableFuture.completedFuture(item))
+      .get();
+
+    assertThat(failures.keySet(), contains("item-2", "item-4"));
+    assertThat(failures.get("item-2"), instanceOf(IllegalStateException.class));
+  }
+
+  @Test
+  void testWindowSizeShouldBeTakenFromTenantConfig() {
+    JsonObject config = new JsonObject()
+      .put(Downstream.INVENTORY.getConfigName(), "3")
+      .put(Downstream.ORDERS_STORAGE.getConfigName(), "invalid");
+
+    assertEquals(3, BoundedAsyncMapper.getWindowSize(config, Downstream.INVENTORY));
+    assertEquals(BoundedAsyncMapper.DEFAULT_WINDOW_SIZE, BoundedAsyncMapper.getWindowSize(config, Downstream.ORDERS_STORAGE));
+    assertEquals(BoundedAsyncMapper.DEFAULT_WINDOW_SIZE, BoundedAsyncMapper.getWindowSize(new JsonObject(), Downstream.INVENTORY));
+    assertEquals(BoundedAsyncMapper.DEFAULT_WINDOW_SIZE, BoundedAsyncMapper.getWindowSize(null, Downstream.INVENTORY));
+  }
+}
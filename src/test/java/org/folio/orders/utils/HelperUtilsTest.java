@@ -2,13 +2,19 @@ package org.folio.orders.utils;
 
 import static org.folio.service.exchange.ExchangeRateProviderResolver.RATE_KEY;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.isEmptyOrNullString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
 import javax.money.convert.ConversionQuery;
+import org.apache.commons.lang3.tuple.Pair;
+import org.folio.rest.jaxrs.model.CompositePoLine;
 import org.folio.rest.jaxrs.model.Cost;
+import org.folio.rest.jaxrs.model.Location;
+import org.folio.rest.jaxrs.model.Physical;
 import org.folio.rest.jaxrs.model.PoLine;
 import org.junit.jupiter.api.Test;
 import java.util.List;
@@ -50,4 +56,22 @@ public class HelperUtilsTest {
     assertEquals(actQuery.getCurrency().getCurrencyCode(), systemCurrency);
     assertEquals(Double.valueOf(2d), actQuery.get(RATE_KEY, Double.class));
   }
+
+  @Test
+  public void testShouldReturnDistinctInstanceLocationPairsOfHoldingsToCreate(){
+    String instanceId = UUID.randomUUID().toString();
+    String locationId = UUID.randomUUID().toString();
+    CompositePoLine poLine = new CompositePoLine()
+      .withInstanceId(instanceId)
+      .withOrderFormat(CompositePoLine.OrderFormat.PHYSICAL_RESOURCE)
+      .withPhysical(new Physical().withCreateInventory(Physical.CreateInventory.INSTANCE_HOLDING))
+      .withLocations(List.of(new Location().withLocationId(locationId).withQuantityPhysical(1),
+        new Location().withLocationId(locationId).withQuantityPhysical(2),
+        new Location().withLocationId(UUID.randomUUID().toString()).withQuantityPhysical(0)));
+
+    assertThat(HelperUtils.getInstanceLocationPairs(poLine), contains(Pair.of(instanceId, locationId)));
+
+    poLine.getPhysical().setCreateInventory(Physical.CreateInventory.INSTANCE);
+    assertThat(HelperUtils.getInstanceLocationPairs(poLine), empty());
+  }
 }
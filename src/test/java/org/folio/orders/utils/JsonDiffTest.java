@@ -0,0 +1,77 @@
+package org.folio.orders.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.folio.orders.rest.exceptions.HttpException;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+public class JsonDiffTest {
+
+  private static final Set<String> IGNORED_FIELDS = Set.of("metadata");
+
+  @Test
+  void testSameRecordsShouldHaveNoChanges() {
+    JsonObject before = new JsonObject()
+      .put("cost", new JsonObject().put("listUnitPrice", 10).put("currency", "USD"))
+      .put("alerts", new JsonArray().add(new JsonObject().put("alert", "Receipt overdue").put("metadata", new JsonObject())))
+      .put("metadata", new JsonObject().put("updatedDate", "2021-01-01"));
+    JsonObject after = new JsonObject()
+      .put("cost", new JsonObject().put("listUnitPrice", 10.0).put("currency", "USD"))
+      .put("alerts", new JsonArray().add(new JsonObject().put("alert", "Receipt overdue")))
+      .put("eresource", new JsonObject());
+
+    JsonDiff diff = JsonDiff.compare(before, after, IGNORED_FIELDS);
+
+    assertTrue(diff.isEmpty());
+  }
+
+  @Test
+  void testChangedFieldsShouldBeReportedByPath() {
+    JsonObject before = new JsonObject()
+      .put("cost", new JsonObject().put("listUnitPrice", 10).put("currency", "USD"))
+      .put("details", new JsonObject().put("productIds", new JsonArray().add("1")))
+      .put("rush", false);
+    JsonObject after = new JsonObject()
+      .put("cost", new JsonObject().put("listUnitPrice", 12).put("currency", "USD"))
+      .put("details", new JsonObject().put("productIds", new JsonArray().add("1").add("2")))
+      .put("rush", false)
+      .put("eresource", new JsonObject().put("trial", true));
+
+    JsonDiff diff = JsonDiff.compare(before, after, IGNORED_FIELDS);
+
+    assertThat(diff.getChangedPaths(), contains("cost.listUnitPrice", "details.productIds", "eresource.trial"));
+    assertTrue(diff.isChanged("cost"));
+    assertTrue(diff.isChanged("details.productIds"));
+    assertFalse(diff.isChanged("cost.currency"));
+    assertFalse(diff.isChanged("rush"));
+    assertThat(diff.getChangedFields(List.of("rush", "eresource.trial", "details.productIds")),
+      containsInAnyOrder("eresource.trial", "details.productIds"));
+  }
+
+  @Test
+  void testProtectedFieldsShouldBeVerifiedWithDiff() {
+    JsonObject before = new JsonObject().put("acquisitionMethod", "Purchase").put("description", "old");
+    JsonObject after = new JsonObject().put("acquisitionMethod", "Purchase").put("description", "new");
+    List<String> protectedFields = List.of("acquisitionMethod");
+
+    HelperUtils.verifyProtectedFieldsChanged(protectedFields, JsonDiff.compare(before, after, IGNORED_FIELDS));
+
+    after.put("acquisitionMethod", "Gift");
+    JsonDiff diff = JsonDiff.compare(before, after, IGNORED_FIELDS);
+    HttpException exception = assertThrows(HttpException.class,
+      () -> HelperUtils.verifyProtectedFieldsChanged(protectedFields, diff));
+    assertEquals(400, exception.getCode());
+  }
+}
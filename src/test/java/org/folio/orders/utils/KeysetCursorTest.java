@@ -0,0 +1,62 @@
+package org.folio.orders.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.folio.orders.rest.exceptions.HttpException;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonObject;
+
+public class KeysetCursorTest {
+
+  private static final String LAST_ID = "c0d08448-347b-418a-8c2f-5fb50248d67e";
+
+  @Test
+  void testFirstPageShouldBeSortedById() {
+    KeysetCursor cursor = KeysetCursor.parse(KeysetCursor.FIRST_PAGE);
+
+    assertEquals("(cql.allRecords=1) sortBy id", cursor.buildQuery(null));
+    assertEquals("(workflowStatus==Open) sortBy poNumber id", cursor.buildQuery("workflowStatus==Open sortBy poNumber"));
+  }
+
+  @Test
+  void testNextPageShouldStartAfterLastRecord() {
+    List<JsonObject> records = List.of(new JsonObject().put("id", "1").put("poNumber", "10000"),
+      new JsonObject().put("id", LAST_ID).put("poNumber", "100\"01"));
+    String query = "workflowStatus==Open sortBy poNumber/sort.ascending";
+
+    String next = KeysetCursor.next(query, records, 2);
+
+    assertEquals("(workflowStatus==Open) and (poNumber > \"100\\\"01\" or (poNumber == \"100\\\"01\" and id > \"" + LAST_ID + "\")"
+        + " or (cql.allRecords=1 NOT poNumber=\"\")) sortBy poNumber id",
+      KeysetCursor.parse(next).buildQuery(query));
+  }
+
+  @Test
+  void testNextPageOfUnsortedQueryShouldStartAfterLastId() {
+    String next = KeysetCursor.next(null, List.of(new JsonObject().put("id", LAST_ID)), 1);
+
+    assertEquals("(cql.allRecords=1) and (id > \"" + LAST_ID + "\") sortBy id", KeysetCursor.parse(next).buildQuery(null));
+  }
+
+  @Test
+  void testLastPageShouldHaveNoNextCursor() {
+    assertNull(KeysetCursor.next(null, List.of(new JsonObject().put("id", LAST_ID)), 2));
+    assertNull(KeysetCursor.parse(null));
+  }
+
+  @Test
+  void testNotSupportedOrForeignCursorShouldBeRejected() {
+    String next = KeysetCursor.next("cql.allRecords=1 sortBy poNumber", List.of(new JsonObject().put("id", LAST_ID)), 1);
+    KeysetCursor cursor = KeysetCursor.parse(next);
+
+    assertEquals(400, assertThrows(HttpException.class, () -> cursor.buildQuery("cql.allRecords=1 sortBy orderType")).getCode());
+    assertEquals(400, assertThrows(HttpException.class,
+      () -> cursor.buildQuery("cql.allRecords=1 sortBy poNumber/sort.descending")).getCode());
+    assertEquals(400, assertThrows(HttpException.class, () -> KeysetCursor.parse("not a cursor")).getCode());
+  }
+}
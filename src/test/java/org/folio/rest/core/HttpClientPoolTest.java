@@ -0,0 +1,121 @@
+package org.folio.rest.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.folio.rest.tools.client.interfaces.HttpClientInterface;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonObject;
+
+public class HttpClientPoolTest {
+
+  private static final String OKAPI_URL = "http://localhost:9130";
+
+  private static class TestHttpClientPool extends HttpClientPool {
+
+    TestHttpClientPool(int maxPoolSize, long idleTimeoutMs) {
+      this(maxPoolSize, 100, idleTimeoutMs);
+    }
+
+    TestHttpClientPool(int maxPoolSize, int maxLeased, long idleTimeoutMs) {
+      super(maxPoolSize, maxLeased, idleTimeoutMs, 1000);
+    }
+
+    @Override
+    HttpClientInterface createClient(String okapiUrl, String tenantId) {
+      return mock(HttpClientInterface.class);
+    }
+
+    @Override
+    HttpClientInterface createUnpooledClient(String okapiUrl, String tenantId) {
+      return mock(HttpClientInterface.class);
+    }
+  }
+
+  @Test
+  void testReleasedClientShouldBeReusedForSameTenant() {
+    HttpClientPool pool = new TestHttpClientPool(5, 60_000);
+
+    HttpClientInterface client = pool.lease(OKAPI_URL, "tenant");
+    pool.release(client);
+
+    assertSame(client, pool.lease(OKAPI_URL, "tenant"));
+    verify(client, never()).closeClient();
+
+    JsonObject metrics = pool.getMetrics();
+    assertEquals(1L, metrics.getLong("created"));
+    assertEquals(1L, metrics.getLong("reused"));
+  }
+
+  @Test
+  void testClientShouldNotBeSharedBetweenTenants() {
+    HttpClientPool pool = new TestHttpClientPool(5, 60_000);
+
+    HttpClientInterface client = pool.lease(OKAPI_URL, "tenant");
+    pool.release(client);
+
+    assertNotSame(client, pool.lease(OKAPI_URL, "another_tenant"));
+  }
+
+  @Test
+  void testClientShouldBeClosedWhenPoolIsFull() {
+    HttpClientPool pool = new TestHttpClientPool(1, 60_000);
+
+    HttpClientInterface first = pool.lease(OKAPI_URL, "tenant");
+    HttpClientInterface second = pool.lease(OKAPI_URL, "tenant");
+    pool.release(first);
+    pool.release(second);
+
+    verify(first, never()).closeClient();
+    verify(second).closeClient();
+    assertEquals(1, pool.getMetrics().getInteger("idle"));
+  }
+
+  @Test
+  void testExpiredClientShouldBeEvicted() {
+    HttpClientPool pool = new TestHttpClientPool(5, 0);
+
+    HttpClientInterface client = pool.lease(OKAPI_URL, "tenant");
+    pool.release(client);
+
+    assertNotSame(client, pool.lease(OKAPI_URL, "tenant"));
+    verify(client).closeClient();
+    assertEquals(1L, pool.getMetrics().getLong("evicted"));
+  }
+
+  @Test
+  void testForeignClientShouldBeClosedOnRelease() {
+    HttpClientPool pool = new TestHttpClientPool(5, 60_000);
+    HttpClientInterface client = mock(HttpClientInterface.class);
+
+    pool.release(client);
+
+    verify(client).closeClient();
+    assertEquals(0, pool.getMetrics().getInteger("idle"));
+  }
+
+  @Test
+  void testUnpooledClientShouldBeLeasedWhenMaxLeasedIsReached() {
+    HttpClientPool pool = new TestHttpClientPool(5, 1, 60_000);
+
+    HttpClientInterface pooled = pool.lease(OKAPI_URL, "tenant");
+    HttpClientInterface unpooled = pool.lease(OKAPI_URL, "tenant");
+    JsonObject metrics = pool.getMetrics();
+    assertEquals(1L, metrics.getLong("created"));
+    assertEquals(1L, metrics.getLong("unpooled"));
+    assertEquals(1, metrics.getInteger("leased"));
+
+    pool.release(unpooled);
+    verify(unpooled).closeClient();
+    pool.release(pooled);
+    verify(pooled, never()).closeClient();
+    assertEquals(0, pool.getMetrics().getInteger("leased"));
+
+    assertSame(pooled, pool.lease(OKAPI_URL, "tenant"));
+  }
+}
@@ -0,0 +1,65 @@
+package org.folio.rest.core;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.folio.orders.utils.HelperUtils;
+import org.junit.jupiter.api.Test;
+
+public class IdBatchPlannerTest {
+
+  private static final int MAX_URL_LENGTH = 1000;
+
+  @Test
+  void testBatchesShouldFitIntoUrlBudget() {
+    List<String> ids = Stream.generate(() -> UUID.randomUUID().toString()).limit(100).collect(Collectors.toList());
+
+    int wrapperLength = IdBatchPlanner.encodedLength("id==(") + IdBatchPlanner.encodedLength(")");
+    List<List<String>> batches = IdBatchPlanner.planBatches(ids, "%s", " or ", wrapperLength, MAX_URL_LENGTH, 1000);
+
+    assertThat(batches.size(), greaterThan(1));
+    assertEquals(ids, batches.stream().flatMap(List::stream).collect(Collectors.toList()));
+    batches.forEach(batch -> {
+      String encodedQuery = URLEncoder.encode(HelperUtils.convertIdsToCqlQuery(batch), StandardCharsets.UTF_8);
+      assertThat(encodedQuery.length(), lessThanOrEqualTo(MAX_URL_LENGTH - IdBatchPlanner.DEFAULT_RESERVED_LENGTH));
+    });
+  }
+
+  @Test
+  void testBatchSizeShouldBeLimited() {
+    List<String> ids = Stream.generate(() -> UUID.randomUUID().toString()).limit(25).collect(Collectors.toList());
+
+    List<List<String>> batches = IdBatchPlanner.planBatches(ids, "%s", " or ", 0, 100_000, 10);
+
+    assertThat(batches, hasSize(3));
+    assertThat(batches.get(2), hasSize(5));
+  }
+
+  @Test
+  void testDuplicatesShouldBeSkipped() {
+    String id = UUID.randomUUID().toString();
+
+    List<List<String>> batches = IdBatchPlanner.planBatches(List.of(id, id), "id");
+
+    assertThat(batches, hasSize(1));
+    assertThat(batches.get(0), contains(id));
+  }
+
+  @Test
+  void testEmptyIdsShouldProduceNoBatches() {
+    assertThat(IdBatchPlanner.planBatches(Collections.emptyList(), "id"), empty());
+  }
+}
@@ -0,0 +1,31 @@
+package org.folio.rest.core;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.UUID;
+
+import org.folio.rest.acq.model.finance.Transaction;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+
+public class JsonCodecTest {
+
+  @Test
+  void testEncodeShouldProduceSameJsonAsMapFrom() {
+    Transaction transaction = new Transaction().withId(UUID.randomUUID().toString()).withAmount(10d);
+
+    Buffer buffer = JsonCodec.encode(transaction);
+
+    assertThat(new JsonObject(buffer), equalTo(JsonObject.mapFrom(transaction)));
+  }
+
+  @Test
+  void testJsonObjectShouldBePassedThrough() {
+    JsonObject json = new JsonObject().put("id", UUID.randomUUID().toString());
+
+    assertThat(JsonCodec.encode(json), equalTo(json.toBuffer()));
+  }
+}
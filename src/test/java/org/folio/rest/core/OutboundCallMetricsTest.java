@@ -0,0 +1,118 @@
+package org.folio.rest.core;
+
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.folio.orders.rest.exceptions.HttpException;
+import org.folio.orders.utils.PrometheusTextBuilder;
+import org.folio.rest.tools.client.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.http.HttpMethod;
+
+public class OutboundCallMetricsTest {
+
+  private static final Map<String, String> HEADERS = Map.of(OKAPI_HEADER_TENANT, "diku");
+
+  private final AtomicLong nanoTime = new AtomicLong();
+  private OutboundCallMetrics metrics;
+
+  @BeforeEach
+  void initMetrics() {
+    nanoTime.set(0);
+    metrics = new OutboundCallMetrics(3, nanoTime::get);
+  }
+
+  @Test
+  void testEndpointShouldBeNormalized() {
+    String id = UUID.randomUUID().toString();
+
+    assertEquals("/orders-storage/po-lines/{id}", OutboundCallMetrics.normalizeEndpoint("/orders-storage/po-lines/" + id + "?lang=en"));
+    assertEquals("/orders-storage/purchase-orders/{id}/lines",
+      OutboundCallMetrics.normalizeEndpoint("/orders-storage/purchase-orders/" + id + "/lines"));
+    assertEquals("/item-storage/items", OutboundCallMetrics.normalizeEndpoint("/item-storage/items?query=id==" + id));
+  }
+
+  @Test
+  void testCallsShouldBeRecordedPerEndpointTemplate() throws Exception {
+    call(HttpMethod.GET, "/orders-storage/po-lines/" + UUID.randomUUID(), 0, 200, 3_000_000);
+    call(HttpMethod.GET, "/orders-storage/po-lines/" + UUID.randomUUID(), 0, 404, 300_000_000);
+    call(HttpMethod.PUT, "/orders-storage/po-lines/" + UUID.randomUUID(), 120, 204, 1_000_000);
+
+    String text = export();
+
+    assertThat(text, containsString(series("mod_orders_outbound_requests_total", "GET", "status=\"200\"") + " 1"));
+    assertThat(text, containsString(series("mod_orders_outbound_requests_total", "GET", "status=\"404\"") + " 1"));
+    assertThat(text, containsString(series("mod_orders_outbound_request_duration_seconds_bucket", "GET", "le=\"0.005\"") + " 1"));
+    assertThat(text, containsString(series("mod_orders_outbound_request_duration_seconds_bucket", "GET", "le=\"0.5\"") + " 2"));
+    assertThat(text, containsString(series("mod_orders_outbound_request_duration_seconds_bucket", "GET", "le=\"+Inf\"") + " 2"));
+    assertThat(text, containsString(series("mod_orders_outbound_request_payload_bytes_total", "PUT", null) + " 120"));
+  }
+
+  @Test
+  void testFailedCallShouldBeRecordedWithErrorStatus() throws Exception {
+    metrics.record(HttpMethod.DELETE, "/orders-storage/pieces/1", HEADERS, 0,
+      () -> CompletableFuture.failedFuture(new HttpException(500, "Internal error")));
+    metrics.record(HttpMethod.DELETE, "/orders-storage/pieces/2", HEADERS, 0,
+      () -> CompletableFuture.failedFuture(new IllegalStateException("Connection refused")));
+
+    String text = export();
+
+    assertThat(text, containsString("endpoint=\"/orders-storage/pieces/{id}\",tenant=\"diku\",status=\"500\"} 1"));
+    assertThat(text, containsString("endpoint=\"/orders-storage/pieces/{id}\",tenant=\"diku\",status=\"0\"} 1"));
+  }
+
+  @Test
+  void testSeriesShouldBeBounded() throws Exception {
+    call(HttpMethod.GET, "/first", 0, 200, 0);
+    call(HttpMethod.GET, "/second", 0, 200, 0);
+    call(HttpMethod.GET, "/third", 0, 200, 0);
+    call(HttpMethod.GET, "/fourth", 0, 200, 0);
+
+    String text = export();
+
+    assertThat(text, not(containsString("endpoint=\"/fourth\"")));
+    assertThat(text, containsString("endpoint=\"other\""));
+  }
+
+  @Test
+  void testSeriesOfOtherTenantsShouldNotBeExported() throws Exception {
+    call(HttpMethod.GET, "/orders-storage/po-lines/" + UUID.randomUUID(), 0, 200, 0);
+    metrics.record(HttpMethod.GET, "/orders-storage/po-lines", Map.of(OKAPI_HEADER_TENANT, "other"), 0,
+      () -> CompletableFuture.completedFuture(new Response()));
+
+    String text = export();
+
+    assertThat(text, containsString("tenant=\"diku\""));
+    assertThat(text, not(containsString("tenant=\"other\"")));
+  }
+
+  private void call(HttpMethod method, String endpoint, long payloadBytes, int status, long elapsedNanos) throws Exception {
+    CompletableFuture<Response> future = new CompletableFuture<>();
+    metrics.record(method, endpoint, HEADERS, payloadBytes, () -> future);
+    nanoTime.addAndGet(elapsedNanos);
+    Response response = new Response();
+    response.setCode(status);
+    future.complete(response);
+  }
+
+  private String export() {
+    PrometheusTextBuilder builder = new PrometheusTextBuilder();
+    metrics.writeTo(builder, "diku");
+    return builder.build();
+  }
+
+  private String series(String name, String method, String extraLabel) {
+    return name + "{method=\"" + method + "\",endpoint=\"/orders-storage/po-lines/{id}\",tenant=\"diku\""
+      + (extraLabel == null ? "" : "," + extraLabel) + "}";
+  }
+}
@@ -9,11 +9,13 @@ import static org.folio.rest.RestConstants.OKAPI_URL;
 import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.util.HashMap;
@@ -78,6 +80,56 @@ public class RestClientTest {
     assertThat(actTransaction, equalTo(expTransaction));
   }
 
+  @Test
+  void testConcurrentCoalescedGetsShouldShareOneRequest() {
+    RestClient restClient = Mockito.spy(new RestClient());
+    String uuid = UUID.randomUUID().toString();
+    String endpoint = resourcesPath(PURCHASE_ORDER) + "/{id}";
+    Transaction expTransaction = new Transaction().withId(uuid);
+    Response response = new Response();
+    response.setBody(JsonObject.mapFrom(expTransaction));
+    response.setCode(200);
+    CompletableFuture<Response> responseFuture = new CompletableFuture<>();
+
+    doReturn(httpClient).when(restClient).getHttpClient(okapiHeaders);
+    doReturn(responseFuture).when(httpClient).request(eq(HttpMethod.GET), anyString(), eq(okapiHeaders));
+
+    CompletableFuture<Transaction> first = restClient.getById(endpoint, uuid, true, requestContext, Transaction.class);
+    CompletableFuture<Transaction> second = restClient.getById(endpoint, uuid, true, requestContext, Transaction.class);
+    responseFuture.complete(response);
+
+    assertThat(first.join(), equalTo(expTransaction));
+    assertThat(second.join(), equalTo(expTransaction));
+    assertNotSame(first.join(), second.join());
+    verify(httpClient, times(1)).request(eq(HttpMethod.GET), anyString(), eq(okapiHeaders));
+  }
+
+  @Test
+  void testConcurrentCoalescedGetsWithDifferentTokensShouldNotShareRequest() {
+    RestClient restClient = Mockito.spy(new RestClient());
+    String uuid = UUID.randomUUID().toString();
+    String endpoint = resourcesPath(PURCHASE_ORDER) + "/{id}";
+    Response response = new Response();
+    response.setBody(JsonObject.mapFrom(new Transaction().withId(uuid)));
+    response.setCode(200);
+    CompletableFuture<Response> responseFuture = new CompletableFuture<>();
+    Map<String, String> otherTokenHeaders = new HashMap<>(okapiHeaders);
+    otherTokenHeaders.put(X_OKAPI_TOKEN.getName(), "other-token");
+
+    doReturn(httpClient).when(restClient).getHttpClient(any());
+    doReturn(responseFuture).when(httpClient).request(eq(HttpMethod.GET), anyString(), any());
+
+    CompletableFuture<Transaction> first = restClient.getById(endpoint, uuid, true, requestContext, Transaction.class);
+    CompletableFuture<Transaction> second = restClient.getById(endpoint, uuid, true,
+      new RequestContext(ctxMock, otherTokenHeaders), Transaction.class);
+    responseFuture.complete(response);
+
+    first.join();
+    second.join();
+    verify(httpClient, times(1)).request(eq(HttpMethod.GET), anyString(), eq(okapiHeaders));
+    verify(httpClient, times(1)).request(eq(HttpMethod.GET), anyString(), eq(otherTokenHeaders));
+  }
+
   @Test
   void testGetShouldThrowExceptionWhenSearchById() {
     RestClient restClient = Mockito.spy(new RestClient());
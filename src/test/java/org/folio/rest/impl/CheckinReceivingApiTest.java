@@ -7,6 +7,7 @@ import static org.folio.TestConfig.clearServiceInteractions;
 import static org.folio.TestConfig.initSpringContext;
 import static org.folio.TestConfig.isVerticleNotDeployed;
 import static org.folio.TestConstants.EXIST_CONFIG_X_OKAPI_TENANT_LIMIT_10;
+import static org.folio.TestConstants.EXIST_CONFIG_X_OKAPI_TENANT_PIECE_WINDOW_10;
 import static org.folio.TestConstants.ORDERS_CHECKIN_ENDPOINT;
 import static org.folio.TestConstants.ORDERS_RECEIVING_ENDPOINT;
 import static org.folio.TestUtils.getMockAsJson;
@@ -51,9 +52,11 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.emptyString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.isIn;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
@@ -79,8 +82,8 @@ import org.apache.logging.log4j.Logger;
 import org.folio.ApiTestSuite;
 import org.folio.HttpStatus;
 import org.folio.config.ApplicationConfig;
-import org.folio.helper.AbstractHelper;
 import org.folio.rest.acq.model.PieceCollection;
+import org.folio.rest.core.IdBatchPlanner;
 import org.folio.rest.jaxrs.model.CheckInPiece;
 import org.folio.rest.jaxrs.model.CheckinCollection;
 import org.folio.rest.jaxrs.model.CompositePoLine;
@@ -170,10 +173,10 @@ public class CheckinReceivingApiTest {
     assertThat(polSearches, not(nullValue()));
     assertThat(polUpdates, not(nullValue()));
 
-    int expectedSearchRqQty = Math.floorDiv(checkInRq.getTotalRecords(), AbstractHelper.MAX_IDS_FOR_GET_RQ) + 1;
+    int expectedSearchRqQty = getExpectedPieceSearchesQty(checkInRq);
 
-    // The piece searches should be made 2 times: 1st time to get all required piece records, 2nd time to calculate expected PO Line status
-    assertThat(pieceSearches, hasSize(expectedSearchRqQty + pieceIdsByPol.size()));
+    // The piece searches should be made 2 times: 1st time to get all required piece records, 2nd time to calculate expected status of all PO Lines
+    assertThat(pieceSearches, hasSize(expectedSearchRqQty + 1));
     assertThat(pieceUpdates, hasSize(checkInRq.getTotalRecords()));
     assertThat(polSearches, hasSize(pieceIdsByPol.size()));
     assertThat(polUpdates, hasSize(pieceIdsByPol.size()));
@@ -281,7 +284,7 @@ public class CheckinReceivingApiTest {
 
     // The piece searches should be made 2 times: 1st time to get piece record,
     // 2nd time to calculate expected PO Line status
-    assertThat(pieceSearches, hasSize(3));
+    assertThat(pieceSearches, hasSize(2));
     assertThat(pieceUpdates, hasSize(1));
     assertThat(itemsSearches, hasSize(1));
     assertThat(itemUpdates, hasSize(1));
@@ -331,7 +334,7 @@ public class CheckinReceivingApiTest {
 
     assertThat(polSearches, not(nullValue()));
 
-    int expectedSearchRqQty = Math.floorDiv(receivingRq.getTotalRecords(), AbstractHelper.MAX_IDS_FOR_GET_RQ) + 1;
+    int expectedSearchRqQty = getExpectedPieceSearchesQty(receivingRq);
 
     // The piece searches should be made 1 time: 1st time to get all required piece records
     assertThat(pieceSearches, hasSize(expectedSearchRqQty));
@@ -444,10 +447,10 @@ public class CheckinReceivingApiTest {
     assertThat(polSearches, not(nullValue()));
     assertThat(polUpdates, not(nullValue()));
 
-    int expectedSearchRqQty = Math.floorDiv(receivingRq.getTotalRecords(), AbstractHelper.MAX_IDS_FOR_GET_RQ) + 1;
+    int expectedSearchRqQty = getExpectedPieceSearchesQty(receivingRq);
 
-    // The piece searches should be made 2 times: 1st time to get all required piece records, 2nd time to calculate expected PO Line status
-    assertThat(pieceSearches, hasSize(expectedSearchRqQty + pieceIdsByPol.size()));
+    // The piece searches should be made 2 times: 1st time to get all required piece records, 2nd time to calculate expected status of all PO Lines
+    assertThat(pieceSearches, hasSize(expectedSearchRqQty + 1));
     assertThat(pieceUpdates, hasSize(receivingRq.getTotalRecords()));
     assertThat(itemsSearches, hasSize(expectedSearchRqQty));
     assertThat(itemUpdates, hasSize(receivingRq.getTotalRecords()));
@@ -470,6 +473,52 @@ public class CheckinReceivingApiTest {
     verifyOrderStatusUpdateEvent(1);
   }
 
+  @Test
+  void testPostReceivingPhysicalAllInSeveralWindows() {
+    logger.info("=== Test POST Receiving - Receive physical resources in windows of 10 pieces ===");
+
+    CompositePoLine poLines = getMockAsJson(POLINES_COLLECTION).getJsonArray("poLines").getJsonObject(2).mapTo(CompositePoLine.class);
+    MockServer.addMockTitles(Collections.singletonList(poLines));
+
+    ReceivingCollection receivingRq = getMockAsJson(RECEIVING_RQ_MOCK_DATA_PATH + "receive-physical-all-resources.json").mapTo(ReceivingCollection.class);
+    Set<String> requestedPieceIds = receivingRq.getToBeReceived().stream()
+      .flatMap(toBeReceived -> toBeReceived.getReceivedItems().stream())
+      .map(ReceivedItem::getPieceId)
+      .collect(Collectors.toSet());
+    int windowsQty = (requestedPieceIds.size() + 9) / 10;
+    assertThat(windowsQty, greaterThan(1));
+
+    ReceivingResults results = verifyPostResponse(ORDERS_RECEIVING_ENDPOINT, JsonObject.mapFrom(receivingRq).encode(),
+      prepareHeaders(EXIST_CONFIG_X_OKAPI_TENANT_PIECE_WINDOW_10), APPLICATION_JSON, 200).as(ReceivingResults.class);
+
+    assertThat(results.getTotalRecords(), equalTo(receivingRq.getTotalRecords()));
+    Map<String, Set<String>> pieceIdsByPol = verifyReceivingSuccessRs(results);
+
+    List<JsonObject> pieceSearches = getPieceSearches();
+    List<JsonObject> pieceUpdates = getPieceUpdates();
+    List<JsonObject> itemUpdates = getItemUpdates();
+    List<JsonObject> polUpdates = getPoLineUpdates();
+
+    // One piece search per window and one more to calculate receipt status of the PO Line after all the windows
+    assertThat(pieceSearches, hasSize(windowsQty + 1));
+    Set<String> retrievedPieceIds = new HashSet<>();
+    pieceSearches.subList(0, windowsQty).forEach(search -> {
+      List<Object> windowPieces = search.getJsonArray("pieces").getList();
+      assertThat(windowPieces, hasSize(lessThanOrEqualTo(10)));
+      search.getJsonArray("pieces").stream()
+        .map(JsonObject.class::cast)
+        .forEach(piece -> retrievedPieceIds.add(piece.getString("id")));
+    });
+    assertThat(retrievedPieceIds, equalTo(requestedPieceIds));
+
+    assertThat(pieceUpdates, hasSize(receivingRq.getTotalRecords()));
+    assertThat(itemUpdates, hasSize(receivingRq.getTotalRecords()));
+    assertThat(polUpdates, hasSize(pieceIdsByPol.size()));
+    polUpdates.forEach(pol -> assertThat(pol.mapTo(PoLine.class).getReceiptStatus(), is(PoLine.ReceiptStatus.FULLY_RECEIVED)));
+
+    verifyOrderStatusUpdateEvent(1);
+  }
+
   @Test
   void testPostCheckinElectronicPhysicalChangeLocationIdHoldingIsCreatedForPhysicalPiece() {
 
@@ -707,10 +756,10 @@ public class CheckinReceivingApiTest {
     assertThat(polSearches, not(nullValue()));
     assertThat(polUpdates, not(nullValue()));
 
-    int expectedSearchRqQty = Math.floorDiv(receiving.getTotalRecords(), AbstractHelper.MAX_IDS_FOR_GET_RQ) + 1;
+    int expectedSearchRqQty = getExpectedPieceSearchesQty(receiving);
 
-    // The piece searches should be made 2 times: 1st time to get all required piece records, 2nd time to calculate expected PO Line status
-    assertThat(pieceSearches, hasSize(expectedSearchRqQty + pieceIdsByPol.size()));
+    // The piece searches should be made 2 times: 1st time to get all required piece records, 2nd time to calculate expected status of all PO Lines
+    assertThat(pieceSearches, hasSize(expectedSearchRqQty + 1));
     assertThat(pieceUpdates, hasSize(receiving.getTotalRecords()));
     assertThat(polSearches, hasSize(pieceIdsByPol.size()));
     assertThat(polUpdates, hasSize(pieceIdsByPol.size()));
@@ -941,8 +990,8 @@ public class CheckinReceivingApiTest {
     assertThat(polSearches, not(nullValue()));
     assertThat(polUpdates, not(nullValue()));
 
-    // The piece searches should be made 3 times: 1st time to get all required piece records, 2nd and 3rd times to calculate expected PO Line status
-    assertThat(pieceSearches, hasSize(3));
+    // The piece searches should be made 2 times: 1st time to get all required piece records, 2nd time to calculate expected PO Line status
+    assertThat(pieceSearches, hasSize(2));
     // In total 4 pieces required update
     assertThat(pieceUpdates, hasSize(4));
     assertThat(itemsSearches, hasSize(1));
@@ -996,8 +1045,8 @@ public class CheckinReceivingApiTest {
     assertThat(polSearches, not(nullValue()));
     assertThat(polUpdates, not(nullValue()));
 
-    // The piece searches should be made 3 times: 1st time to get piece record, 2nd and 3rd times to calculate expected PO Line status
-    assertThat(pieceSearches, hasSize(3));
+    // The piece searches should be made 2 times: 1st time to get piece record, 2nd time to calculate expected PO Line status
+    assertThat(pieceSearches, hasSize(2));
     assertThat(pieceUpdates, hasSize(1));
     assertThat(itemsSearches, hasSize(1));
     assertThat(itemUpdates, hasSize(1));
@@ -1065,4 +1114,20 @@ public class CheckinReceivingApiTest {
     }
     return pieceIdsByPol;
   }
+
+  private int getExpectedPieceSearchesQty(ReceivingCollection receivingRq) {
+    List<String> pieceIds = receivingRq.getToBeReceived().stream()
+      .flatMap(toBeReceived -> toBeReceived.getReceivedItems().stream())
+      .map(ReceivedItem::getPieceId)
+      .collect(Collectors.toList());
+    return IdBatchPlanner.planBatches(pieceIds, "id").size();
+  }
+
+  private int getExpectedPieceSearchesQty(CheckinCollection checkinRq) {
+    List<String> pieceIds = checkinRq.getToBeCheckedIn().stream()
+      .flatMap(toBeCheckedIn -> toBeCheckedIn.getCheckInPieces().stream())
+      .map(CheckInPiece::getId)
+      .collect(Collectors.toList());
+    return IdBatchPlanner.planBatches(pieceIds, "id").size();
+  }
 }
@@ -88,17 +88,21 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -107,6 +111,8 @@ import java.util.stream.Collectors;
 import javax.ws.rs.core.Response;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.HttpStatus;
@@ -214,6 +220,11 @@ public class MockServer {
   static final String LEDGER_NOT_FOUND_FOR_TRANSACTION_TENANT = "Ledger not found for transaction";
   static final String BUDGET_NOT_FOUND_FOR_TRANSACTION_TENANT = "Budget not found for transaction";
   static final Header PO_NUMBER_ERROR_X_OKAPI_TENANT = new Header(OKAPI_HEADER_TENANT, PO_NUMBER_ERROR_TENANT);
+  // Storage returning up to PO_LINE_NUMBERS_RANGE_SIZE line numbers at once, in descending order
+  static final Header PO_LINE_NUMBERS_RANGE_X_OKAPI_TENANT = new Header(OKAPI_HEADER_TENANT, "po_line_numbers_range_tenant");
+  // Storage failing to return several line numbers at once
+  static final Header PO_LINE_NUMBERS_RANGE_ERROR_X_OKAPI_TENANT = new Header(OKAPI_HEADER_TENANT, "po_line_numbers_range_error_tenant");
+  static final int PO_LINE_NUMBERS_RANGE_SIZE = 3;
   public static final Header X_OKAPI_ORDER_WITHOUT_LINES = new Header("ORDER_QITHOUT_LINES", "true");
 
   private static final String TOTAL_RECORDS = "totalRecords";
@@ -237,6 +248,9 @@ public class MockServer {
   private static final String ITEM_HOLDINGS_RECORD_ID = "holdingsRecordId";
 
   public static Table<String, HttpMethod, List<JsonObject>> serverRqRs = HashBasedTable.create();
+  private static final Map<String, List<Integer>> poLineNumberSequences = new ConcurrentHashMap<>();
+  private static final Pattern KEYSET_SORTING_PATTERN = Pattern.compile("sortBy\\s+(?:([\\w.]+)\\s+)?id$");
+  private static final Pattern KEYSET_LAST_ID_PATTERN = Pattern.compile("\\bid > \"([^\"]+)\"");
   public static HashMap<String, List<String>> serverRqQueries = new HashMap<>();
 
   private final int port;
@@ -289,6 +303,10 @@ public class MockServer {
     return serverRqRs.get(PO_LINES, HttpMethod.PUT);
   }
 
+  public static List<JsonObject> getPoLineNumberRequests() {
+    return serverRqRs.get(PO_LINE_NUMBER, HttpMethod.GET);
+  }
+
   public static List<JsonObject> getPoLineSearches() {
     return serverRqRs.get(PO_LINES, HttpMethod.GET);
   }
@@ -426,6 +444,7 @@ public class MockServer {
 
   public static void release() {
     serverRqRs.clear();
+    poLineNumberSequences.clear();
     serverRqQueries.clear();
   }
 
@@ -466,6 +485,7 @@ public class MockServer {
     router.post(resourcesPath(PURCHASE_ORDER)).handler(this::handlePostPurchaseOrder);
     router.post("/inventory/instances").handler(this::handlePostInstanceRecord);
     router.post("/item-storage/items").handler(this::handlePostItemStorRecord);
+    router.post("/item-storage/batch/synchronous").handler(this::handlePostItemStorBatch);
     router.post("/holdings-storage/holdings").handler(this::handlePostHoldingRecord);
     router.post(resourcesPath(PO_LINES)).handler(this::handlePostPOLine);
     router.post(resourcesPath(ALERTS)).handler(ctx -> handlePostGenericSubObj(ctx, ALERTS));
@@ -500,6 +520,8 @@ public class MockServer {
     router.get("/circulation/requests").handler(this::handleGetItemRequests);
     router.get(resourcesPath(PO_LINES)).handler(ctx -> handleGetPoLines(ctx, PO_LINES));
     router.get(resourcePath(PO_LINES)).handler(this::handleGetPoLineById);
+    router.get(resourcesPath(ALERTS)).handler(ctx -> handleGetGenericSubObjsByIds(ctx, ALERTS));
+    router.get(resourcesPath(REPORTING_CODES)).handler(ctx -> handleGetGenericSubObjsByIds(ctx, REPORTING_CODES));
     router.get(resourcePath(ALERTS)).handler(ctx -> handleGetGenericSubObj(ctx, ALERTS));
     router.get(resourcePath(REPORTING_CODES)).handler(ctx -> handleGetGenericSubObj(ctx, REPORTING_CODES));
     router.get(resourcesPath(PO_NUMBER)).handler(this::handleGetPoNumber);
@@ -829,11 +851,34 @@ public class MockServer {
   }
 
   private void handleGetPoLineNumber(RoutingContext ctx) {
-    if(PO_NUMBER_ERROR_TENANT.equals(ctx.request().getHeader(OKAPI_HEADER_TENANT))) {
+    String tenant = ctx.request().getHeader(OKAPI_HEADER_TENANT);
+    if(PO_NUMBER_ERROR_TENANT.equals(tenant)) {
       ctx.response()
         .setStatusCode(500)
         .putHeader(HttpHeaders.CONTENT_TYPE, APPLICATION_JSON)
         .end();
+    } else if (PO_LINE_NUMBERS_RANGE_X_OKAPI_TENANT.getValue().equals(tenant)
+        || PO_LINE_NUMBERS_RANGE_ERROR_X_OKAPI_TENANT.getValue().equals(tenant)) {
+      String orderId = ctx.request().getParam("purchaseOrderId");
+      String requestedQty = ctx.request().getParam("poLineNumbers");
+      addServerRqRsData(HttpMethod.GET, PO_LINE_NUMBER, new JsonObject().put("purchaseOrderId", orderId)
+        .put("poLineNumbers", requestedQty));
+      List<Integer> sequence = poLineNumberSequences.computeIfAbsent(orderId, id -> new ArrayList<>());
+      if (requestedQty == null) {
+        sequence.add(sequence.size() + 1);
+        SequenceNumber seqNumber = new SequenceNumber();
+        seqNumber.setSequenceNumber(String.valueOf(sequence.size()));
+        serverResponse(ctx, 200, APPLICATION_JSON, JsonObject.mapFrom(seqNumber).encodePrettily());
+      } else if (PO_LINE_NUMBERS_RANGE_ERROR_X_OKAPI_TENANT.getValue().equals(tenant)) {
+        serverResponse(ctx, 500, APPLICATION_JSON, INTERNAL_SERVER_ERROR.getReasonPhrase());
+      } else {
+        JsonArray sequenceNumbers = new JsonArray();
+        for (int i = 0; i < Math.min(Integer.parseInt(requestedQty), PO_LINE_NUMBERS_RANGE_SIZE); i++) {
+          sequence.add(sequence.size() + 1);
+          sequenceNumbers.add(0, String.valueOf(sequence.size()));
+        }
+        serverResponse(ctx, 200, APPLICATION_JSON, new JsonObject().put("sequenceNumbers", sequenceNumbers).encodePrettily());
+      }
     } else {
       SequenceNumber seqNumber = new SequenceNumber();
       seqNumber.setSequenceNumber(PO_LINE_NUMBER_VALUE);
@@ -881,7 +926,9 @@ public class MockServer {
       serverResponse(ctx, 500, APPLICATION_JSON, INTERNAL_SERVER_ERROR.getReasonPhrase());
     } else {
       JsonObject bodyAsJson = ctx.getBodyAsJson();
-      bodyAsJson.put(ID, UUID.randomUUID().toString());
+      if (!bodyAsJson.containsKey(ID)) {
+        bodyAsJson.put(ID, UUID.randomUUID().toString());
+      }
       addServerRqRsData(HttpMethod.POST, ITEM_RECORDS, bodyAsJson);
       ctx.response()
         .setStatusCode(201)
@@ -891,6 +938,23 @@ public class MockServer {
     }
   }
 
+  private void handlePostItemStorBatch(RoutingContext ctx) {
+    String bodyAsString = ctx.getBodyAsString();
+    logger.info("handlePostItemStorBatch got: " + bodyAsString);
+
+    // The batch is processed in a single transaction, so either all items are created or none of them
+    if (bodyAsString.contains(ID_FOR_INTERNAL_SERVER_ERROR)) {
+      serverResponse(ctx, 500, APPLICATION_JSON, INTERNAL_SERVER_ERROR.getReasonPhrase());
+    } else {
+      ctx.getBodyAsJson().getJsonArray(ITEMS).stream()
+        .map(JsonObject.class::cast)
+        .forEach(item -> addServerRqRsData(HttpMethod.POST, ITEM_RECORDS, item));
+      ctx.response()
+        .setStatusCode(201)
+        .end();
+    }
+  }
+
   private void handleGetInstanceRecord(RoutingContext ctx) {
     logger.info("handleGetInstanceRecord got: " + ctx.request().path());
 
@@ -1601,6 +1665,33 @@ public class MockServer {
     }
   }
 
+  private void handleGetGenericSubObjsByIds(RoutingContext ctx, String subObj) {
+    logger.info("got: " + ctx.request().path());
+
+    String query = StringUtils.trimToEmpty(ctx.request().getParam(QUERY));
+    addServerRqQuery(subObj, query);
+
+    if (query.contains(ID_FOR_INTERNAL_SERVER_ERROR)) {
+      serverResponse(ctx, 500, APPLICATION_JSON, INTERNAL_SERVER_ERROR.getReasonPhrase());
+    } else {
+      // Records which do not exist are just missing in the collection
+      JsonArray records = new JsonArray();
+      extractIdsFromQuery(query).stream()
+        .filter(id -> !ID_DOES_NOT_EXIST.equals(id))
+        .forEach(id -> {
+          JsonObject data = new JsonObject().put(ID, id);
+          addServerRqRsData(HttpMethod.GET, subObj, data);
+          records.add(data);
+        });
+      JsonObject collection = new JsonObject().put(subObj, records).put("totalRecords", records.size());
+
+      ctx.response()
+        .setStatusCode(200)
+        .putHeader(HttpHeaders.CONTENT_TYPE, APPLICATION_JSON)
+        .end(collection.encodePrettily());
+    }
+  }
+
   private void handleGetPieceById(RoutingContext ctx) {
 
     logger.info("handleGetPiecesById got: " + ctx.request()
@@ -1637,12 +1728,31 @@ public class MockServer {
       serverResponse(ctx, 500, APPLICATION_JSON, Response.Status.INTERNAL_SERVER_ERROR.getReasonPhrase());
     } else {
       PieceCollection pieces;
+      Integer pagedTotalRecords = null;
       if (getMockEntries(PIECES, Piece.class).isPresent()) {
         pieces = new PieceCollection().withPieces(getMockEntries(PIECES, Piece.class).get());
         pieces.setTotalRecords(pieces.getPieces().size());
       } else {
         try {
-          if (query.contains("poLineId==")) {
+          if (query.contains("poLineId==(") && query.contains("receivingStatus==(")) {
+            // Pieces of several PO lines filtered by any of receiving statuses
+            List<Piece.ReceivingStatus> statuses = StreamEx.of(extractValuesFromQuery("receivingStatus", query))
+              .map(Piece.ReceivingStatus::fromValue)
+              .toList();
+            pieces = new PieceCollection();
+            for (String polId : extractValuesFromQuery("poLineId", query)) {
+              String path = PIECE_RECORDS_MOCK_DATA_PATH + String.format("pieceRecords-%s.json", polId);
+              try {
+                pieces.getPieces().addAll(new JsonObject(getMockData(path)).mapTo(PieceCollection.class).getPieces());
+              } catch (IOException e) {
+                logger.info("No pieces found for PO line {}", polId);
+              }
+            }
+            pieces.getPieces().removeIf(piece -> !statuses.contains(piece.getReceivingStatus()));
+            pagedTotalRecords = pieces.getPieces().size();
+            int limit = Integer.parseInt(StringUtils.defaultIfEmpty(ctx.request().getParam("limit"), "10"));
+            pieces.setPieces(new ArrayList<>(getKeysetPage(pieces.getPieces(), query, limit)));
+          } else if (query.contains("poLineId==")) {
             List<String> conditions = StreamEx
               .split(query, " or ")
               .flatMap(s -> StreamEx.split(s, " and "))
@@ -1689,7 +1799,7 @@ public class MockServer {
             pieces = new PieceCollection();
           }
 
-          pieces.setTotalRecords(pieces.getPieces().size());
+          pieces.setTotalRecords(pagedTotalRecords != null ? pagedTotalRecords : pieces.getPieces().size());
 
         } catch (Exception e) {
           pieces = new PieceCollection();
@@ -1847,13 +1957,13 @@ public class MockServer {
     List<JsonObject> postedOrders = serverRqRs.column(HttpMethod.SEARCH).get(orderType);
 
     if (postedOrders != null) {
+      List<PurchaseOrder> orders = postedOrders.stream()
+        .peek(order -> order.remove(COMPOSITE_PO_LINES))
+        .map(order -> order.mapTo(PurchaseOrder.class))
+        .collect(Collectors.toList());
       orderCollection
-        .withPurchaseOrders(
-          postedOrders.stream()
-            .peek(order -> order.remove(COMPOSITE_PO_LINES))
-            .map(order -> order.mapTo(PurchaseOrder.class))
-            .collect(Collectors.toList()))
-        .withTotalRecords(orderCollection.getPurchaseOrders().size());
+        .withPurchaseOrders(getKeysetPage(orders, query, NumberUtils.toInt(ctx.request().getParam("limit"), Integer.MAX_VALUE)))
+        .withTotalRecords(orders.size());
       po = JsonObject.mapFrom(orderCollection);
       po.remove(COMPOSITE_PO_LINES);
       po.remove("totalEstimatedPrice");
@@ -1888,6 +1998,47 @@ public class MockServer {
     serverResponse(ctx, 200, APPLICATION_JSON, po.encodePrettily());
   }
 
+  /**
+   * Emulates keyset pagination of the storage for queries built by {@link org.folio.orders.utils.KeysetCursor}: records are
+   * sorted by the sort field and id, and only {@code limit} records following the cursor of the query are returned.
+   */
+  private <T> List<T> getKeysetPage(List<T> records, String query, int limit) {
+    Matcher sorting = KEYSET_SORTING_PATTERN.matcher(query);
+    if (!sorting.find()) {
+      return records;
+    }
+    String sortField = sorting.group(1);
+    Function<T, Pair<String, String>> getKey = record -> {
+      JsonObject json = JsonObject.mapFrom(record);
+      return Pair.of(sortField == null ? null : getJsonValue(json, sortField), json.getString(ID));
+    };
+    Comparator<Pair<String, String>> keyComparator = Comparator
+      .comparing((Pair<String, String> key) -> key.getLeft(), Comparator.nullsLast(Comparator.naturalOrder()))
+      .thenComparing(Pair::getRight);
+
+    Matcher lastId = KEYSET_LAST_ID_PATTERN.matcher(query);
+    Pair<String, String> cursorKey = null;
+    if (lastId.find()) {
+      Matcher lastValue = sortField == null ? null
+        : Pattern.compile(Pattern.quote(sortField) + " > \"([^\"]*)\"").matcher(query);
+      cursorKey = Pair.of(lastValue != null && lastValue.find() ? lastValue.group(1) : null, lastId.group(1));
+    }
+    Pair<String, String> after = cursorKey;
+    return records.stream()
+      .filter(record -> after == null || keyComparator.compare(getKey.apply(record), after) > 0)
+      .sorted(Comparator.comparing(getKey, keyComparator))
+      .limit(limit)
+      .collect(Collectors.toList());
+  }
+
+  private static String getJsonValue(JsonObject json, String path) {
+    Object value = json;
+    for (String field : path.split("\\.")) {
+      value = value instanceof JsonObject ? ((JsonObject) value).getValue(field) : null;
+    }
+    return value == null ? null : value.toString();
+  }
+
   private void handlePostPurchaseOrder(RoutingContext ctx) {
     logger.info("got: " + ctx.getBodyAsString());
     String id = UUID.randomUUID().toString();
@@ -76,7 +76,10 @@ import static org.folio.rest.impl.MockServer.getLoanTypesSearches;
 import static org.folio.rest.impl.MockServer.getPieceSearches;
 import static org.folio.rest.impl.MockServer.getPurchaseOrderUpdates;
 import static org.folio.rest.impl.MockServer.getQueryParams;
+import static org.folio.service.inventory.InventoryManager.HOLDING_INSTANCE_ID;
+import static org.folio.service.inventory.InventoryManager.HOLDING_PERMANENT_LOCATION_ID;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.empty;
@@ -86,6 +89,7 @@ import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
@@ -102,6 +106,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -126,6 +131,7 @@ import org.folio.helper.VendorHelper;
 import org.folio.orders.utils.AcqDesiredPermissions;
 import org.folio.orders.utils.ErrorCodes;
 import org.folio.orders.utils.HelperUtils;
+import org.folio.orders.utils.KeysetCursor;
 import org.folio.orders.utils.POLineProtectedFields;
 import org.folio.orders.utils.POProtectedFields;
 import org.folio.rest.acq.model.Ongoing;
@@ -872,6 +878,69 @@ public class PurchaseOrdersApiTest {
     assertNull(resp.getDateOrdered());
   }
 
+  @Test
+  void testPostOrderWithMoreLinesThanOneLineNumbersBatch() {
+    logger.info("=== Test POST Order - line numbers which are not reserved at once are requested one by one ===");
+
+    int linesQty = 7;
+    CompositePurchaseOrder resp = postPendingOrderWithLines(linesQty, MockServer.PO_LINE_NUMBERS_RANGE_X_OKAPI_TENANT);
+
+    verifyPoLineNumbersOrder(resp, linesQty);
+
+    List<JsonObject> lineNumberRequests = MockServer.getPoLineNumberRequests();
+    int singleRequestsQty = linesQty - MockServer.PO_LINE_NUMBERS_RANGE_SIZE;
+    assertThat(lineNumberRequests, hasSize(1 + singleRequestsQty));
+    assertThat(lineNumberRequests.stream().filter(request -> request.getString("poLineNumbers") != null)
+      .map(request -> request.getString("poLineNumbers"))
+      .collect(toList()), contains(String.valueOf(linesQty)));
+  }
+
+  @Test
+  void testPostOrderLineNumbersFallBackToSingleRequestsWhenBatchFails() {
+    logger.info("=== Test POST Order - line numbers are requested one by one if they cannot be reserved at once ===");
+
+    int linesQty = 5;
+    CompositePurchaseOrder resp = postPendingOrderWithLines(linesQty, MockServer.PO_LINE_NUMBERS_RANGE_ERROR_X_OKAPI_TENANT);
+
+    verifyPoLineNumbersOrder(resp, linesQty);
+
+    List<JsonObject> lineNumberRequests = MockServer.getPoLineNumberRequests();
+    assertThat(lineNumberRequests, hasSize(1 + linesQty));
+    assertThat(lineNumberRequests.stream().filter(request -> request.getString("poLineNumbers") == null).count(),
+      is((long) linesQty));
+  }
+
+  private CompositePurchaseOrder postPendingOrderWithLines(int linesQty, Header tenant) {
+    CompositePurchaseOrder reqData = getMockDraftOrder().mapTo(CompositePurchaseOrder.class);
+    prepareOrderForPostRequest(reqData);
+    reqData.setWorkflowStatus(CompositePurchaseOrder.WorkflowStatus.PENDING);
+
+    List<CompositePoLine> lines = reqData.getCompositePoLines();
+    CompositePoLine template = lines.get(0);
+    while (lines.size() < linesQty) {
+      CompositePoLine line = JsonObject.mapFrom(template).mapTo(CompositePoLine.class);
+      line.setId(null);
+      line.setPoLineNumber(null);
+      lines.add(line);
+    }
+    // Titles identify the lines in the response
+    for (int i = 0; i < lines.size(); i++) {
+      lines.get(i).setTitleOrPackage("Line " + (i + 1));
+    }
+
+    return verifyPostResponse(COMPOSITE_ORDERS_PATH, JsonObject.mapFrom(reqData).encodePrettily(),
+      prepareHeaders(tenant, X_OKAPI_USER_ID), APPLICATION_JSON, 201).as(CompositePurchaseOrder.class);
+  }
+
+  private void verifyPoLineNumbersOrder(CompositePurchaseOrder order, int linesQty) {
+    List<CompositePoLine> lines = order.getCompositePoLines();
+    assertThat(lines, hasSize(linesQty));
+    for (int i = 0; i < linesQty; i++) {
+      assertThat(lines.get(i).getTitleOrPackage(), equalTo("Line " + (i + 1)));
+      assertThat(lines.get(i).getPoLineNumber(), equalTo(order.getPoNumber() + "-" + (i + 1)));
+    }
+  }
+
   @Test
   void testPostOpenOrderInventoryUpdateWithOrderFormatOther() throws Exception {
     logger.info("=== Test POST Order By Id to change status of Order to Open - inventory interaction required only for first POL ===");
@@ -991,6 +1060,48 @@ public class PurchaseOrdersApiTest {
     verifyCalculatedData(resp);
   }
 
+  @Test
+  void testPostOpenOrderLinesWithSameProductShareInstanceAndHoldings() throws Exception {
+    logger.info("=== Test POST Open Order - lines with the same product and locations share one instance and holdings ===");
+
+    CompositePurchaseOrder reqData = getMockDraftOrder().mapTo(CompositePurchaseOrder.class);
+    MockServer.addMockTitles(reqData.getCompositePoLines());
+    reqData.setWorkflowStatus(CompositePurchaseOrder.WorkflowStatus.OPEN);
+    assertThat(reqData.getCompositePoLines(), hasSize(2));
+
+    // Both lines have the same product and one location in common
+    CompositePoLine firstPol = reqData.getCompositePoLines().get(0);
+    CompositePoLine secondPol = reqData.getCompositePoLines().get(1);
+    secondPol.getDetails().setProductIds(firstPol.getDetails().getProductIds());
+    secondPol.getLocations().get(0).setLocationId(firstPol.getLocations().get(2).getLocationId());
+    Set<String> locationIds = reqData.getCompositePoLines().stream()
+      .flatMap(poLine -> poLine.getLocations().stream())
+      .map(Location::getLocationId)
+      .collect(Collectors.toSet());
+    assertThat(locationIds, hasSize(4));
+
+    final CompositePurchaseOrder resp = verifyPostResponse(COMPOSITE_ORDERS_PATH, JsonObject.mapFrom(reqData).toString(),
+      prepareHeaders(EXIST_CONFIG_X_OKAPI_TENANT_LIMIT_10, X_OKAPI_USER_ID), APPLICATION_JSON, 201).as(CompositePurchaseOrder.class);
+
+    // One lookup per distinct product and one batched holdings search for all distinct (instance, location) pairs
+    assertThat(getInstancesSearches(), hasSize(1));
+    assertThat(getHoldingsSearches(), hasSize(1));
+
+    String instanceId = resp.getCompositePoLines().get(0).getInstanceId();
+    assertNotNull(instanceId);
+    assertEquals(instanceId, resp.getCompositePoLines().get(1).getInstanceId());
+
+    List<JsonObject> createdHoldings = getCreatedHoldings();
+    assertThat(createdHoldings, hasSize(locationIds.size()));
+    createdHoldings.forEach(holding -> assertEquals(instanceId, holding.getString(HOLDING_INSTANCE_ID)));
+    assertEquals(locationIds, createdHoldings.stream()
+      .map(holding -> holding.getString(HOLDING_PERMANENT_LOCATION_ID))
+      .collect(Collectors.toSet()));
+
+    verifyInventoryInteraction(resp, 1);
+    verifyCalculatedData(resp);
+  }
+
   @Test
   void testPutOrdersByIdPEMixFormat() {
     logger.info("=== Test Put Order By Id create Pieces with P/E Mix format ===");
@@ -1464,6 +1575,37 @@ public class PurchaseOrdersApiTest {
     assertEquals(calculateTotalQuantity(resp.getCompositePoLines().get(0)), resp.getTotalItems().intValue());
   }
 
+  @Test
+  void testGetOrderByIdWithRequestedFields() {
+    logger.info("=== Test Get Order By Id - only requested calculated fields are populated ===");
+
+    String id = PO_ID_CLOSED_STATUS;
+    CompositePurchaseOrder order = getMockAsJson(COMP_ORDER_MOCK_DATA_PATH, id).mapTo(CompositePurchaseOrder.class);
+    MockServer.addMockTitles(order.getCompositePoLines());
+    String url = String.format(COMPOSITE_ORDERS_BY_ID_PATH, id) + "?fields=totalItems";
+    final CompositePurchaseOrder resp = verifySuccessGet(url, CompositePurchaseOrder.class);
+
+    assertEquals(id, resp.getId());
+    assertEquals(calculateTotalQuantity(resp.getCompositePoLines().get(0)), resp.getTotalItems().intValue());
+    assertNull(resp.getTotalEncumbered());
+    assertNull(resp.getTotalExpended());
+  }
+
+  @Test
+  void testGetOrderByIdWithUnknownFields() {
+    logger.info("=== Test Get Order By Id - unknown calculated fields are rejected - 400 ===");
+
+    String url = String.format(COMPOSITE_ORDERS_BY_ID_PATH, PO_ID_CLOSED_STATUS) + "?fields=totalItems,vendor";
+    final Errors errors = verifyGet(url, APPLICATION_JSON, 400).as(Errors.class);
+
+    assertThat(errors.getErrors(), hasSize(1));
+    Error error = errors.getErrors().get(0);
+    assertEquals(UNKNOWN_CALCULATED_FIELDS.getCode(), error.getCode());
+    assertThat(error.getParameters(), hasSize(1));
+    assertEquals("vendor", error.getParameters().get(0).getValue());
+    assertThat(MockServer.serverRqRs.get(PURCHASE_ORDER, HttpMethod.GET), nullValue());
+  }
+
   @Test
   void testGetOrderByIdIncorrectIdFormat() {
     logger.info("=== Test Get Order By Id - Incorrect Id format - 400 ===");
@@ -1565,6 +1707,32 @@ public class PurchaseOrdersApiTest {
     assertEquals(MockServer.getPoLineUpdates().size(), sameLinesCount);
   }
 
+  @Test
+  void testPutOrdersByIdUpdatesOnlyChangedPoLines() throws IOException {
+    logger.info("=== Test Put Order By Id - only changed PO lines are sent to storage ===");
+
+    JsonObject ordersList = new JsonObject(getMockData(ORDERS_MOCK_DATA_PATH));
+    String id = ordersList.getJsonArray("compositePurchaseOrders").getJsonObject(0).getString(ID);
+    String url = String.format(COMPOSITE_ORDERS_BY_ID_PATH, id);
+    CompositePurchaseOrder order = getMockAsJson(COMP_ORDER_MOCK_DATA_PATH, id).mapTo(CompositePurchaseOrder.class);
+    MockServer.addMockTitles(order.getCompositePoLines());
+
+    // The order is sent back as it is stored except the description of one line
+    CompositePurchaseOrder reqData = verifySuccessGet(url, CompositePurchaseOrder.class);
+    assertThat(reqData.getCompositePoLines(), hasSize(greaterThan(1)));
+    CompositePoLine changedLine = reqData.getCompositePoLines().get(0);
+    changedLine.setPoLineDescription("Updated description");
+
+    verifyPut(url, JsonObject.mapFrom(reqData), "", 204);
+
+    List<JsonObject> poLineUpdates = MockServer.getPoLineUpdates();
+    assertThat(poLineUpdates, hasSize(1));
+    assertEquals(changedLine.getId(), poLineUpdates.get(0).getString(ID));
+    assertEquals("Updated description", poLineUpdates.get(0).getString("poLineDescription"));
+    assertNull(MockServer.serverRqRs.get(PO_LINES, HttpMethod.POST));
+    assertNull(MockServer.serverRqRs.get(PO_LINES, HttpMethod.DELETE));
+  }
+
   @Test
   void testUpdateOrderWithDefaultStatus() throws IOException {
     logger.info("=== Test Put Order By Id - Make sure that default status is used ===");
@@ -2568,6 +2736,47 @@ public class PurchaseOrdersApiTest {
       .forEach(member -> assertThat(queryToStorage, containsString(member.getAcquisitionsUnitId())));
   }
 
+  @Test
+  void testGetOrdersByCursor() {
+    logger.info("=== Test Get Orders - pages by cursor keep records with the same sort value ===");
+
+    List<String> expectedIds = new ArrayList<>();
+    String[] createdDates = { "2026-01-01T10:00:00.000+00:00", "2026-01-01T10:00:00.000+00:00",
+      "2026-01-01T10:00:00.000+00:00", "2026-01-02T10:00:00.000+00:00", "2025-12-31T10:00:00.000+00:00" };
+    for (String createdDate : createdDates) {
+      String id = UUID.randomUUID().toString();
+      expectedIds.add(id);
+      addMockEntry(PURCHASE_ORDER, JsonObject.mapFrom(getMinimalContentCompositePurchaseOrder().withId(id))
+        .put("metadata", new JsonObject().put("createdDate", createdDate)));
+    }
+
+    int limit = 2;
+    String query = "sortBy metadata.createdDate";
+    List<String> retrievedIds = new ArrayList<>();
+    String cursor = KeysetCursor.FIRST_PAGE;
+    int pagesQty = 0;
+    while (cursor != null) {
+      String endpoint = String.format("%s?limit=%d&cursor=%s&query=%s", COMPOSITE_ORDERS_PATH, limit, cursor, query);
+      Response response = verifyGet(endpoint, APPLICATION_JSON, 200, PROTECTED_READ_ONLY_TENANT);
+      List<PurchaseOrder> orders = response.as(PurchaseOrderCollection.class).getPurchaseOrders();
+      assertThat(orders.size(), lessThanOrEqualTo(limit));
+      orders.forEach(order -> retrievedIds.add(order.getId()));
+      cursor = response.getHeader(KeysetCursor.NEXT_CURSOR_HEADER);
+      pagesQty++;
+    }
+
+    // The last page is not full, so it has no cursor of the next page
+    assertThat(pagesQty, is(3));
+    assertThat(retrievedIds, hasSize(createdDates.length));
+    assertThat(retrievedIds, containsInAnyOrder(expectedIds.toArray()));
+    assertThat(retrievedIds.get(0), equalTo(expectedIds.get(4)));
+    assertThat(retrievedIds.get(retrievedIds.size() - 1), equalTo(expectedIds.get(3)));
+
+    List<String> queryParams = getQueryParams(PURCHASE_ORDER);
+    assertThat(queryParams, hasSize(pagesQty));
+    queryParams.forEach(queryToStorage -> assertThat(queryToStorage, endsWith("sortBy metadata.createdDate id")));
+  }
+
   @Test
   void testGetOrdersBadQuery() {
     logger.info("=== Test Get Orders by query - unprocessable query to emulate 400 from storage ===");
@@ -0,0 +1,90 @@
+package org.folio.service.exchange;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.money.convert.ConversionQueryBuilder;
+import javax.money.convert.CurrencyConversion;
+import javax.money.convert.CurrencyConversionException;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.folio.rest.acq.model.finance.ExchangeRate;
+import org.folio.rest.core.RestClient;
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.core.models.RequestEntry;
+import org.javamoney.moneta.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class FinanceExchangeRateServiceTest {
+
+  @Mock
+  private RestClient restClient;
+
+  private FinanceExchangeRateService financeExchangeRateService;
+  private final RequestContext requestContext = new RequestContext(null, Map.of(OKAPI_HEADER_TENANT, "tenant"));
+  private final List<String> requestedPairs = Collections.synchronizedList(new ArrayList<>());
+
+  @BeforeEach
+  public void initMocks() {
+    MockitoAnnotations.openMocks(this);
+    financeExchangeRateService = new FinanceExchangeRateService(restClient);
+
+    doAnswer(invocation -> {
+      RequestEntry requestEntry = invocation.getArgument(0);
+      String from = (String) requestEntry.getQueryParams().get("from");
+      String to = (String) requestEntry.getQueryParams().get("to");
+      requestedPairs.add(from + "-" + to);
+      return completedFuture(new ExchangeRate().withFrom(from).withTo(to).withExchangeRate(1.5));
+    }).when(restClient).get(any(RequestEntry.class), eq(requestContext), eq(ExchangeRate.class));
+  }
+
+  @Test
+  void testPrefetchShouldLoadEachDistinctPairOnce() {
+    financeExchangeRateService.prefetchExchangeRates(List.of(Pair.of("EUR", "USD"), Pair.of("GBP", "USD"),
+      Pair.of("EUR", "USD")), requestContext).join();
+
+    assertThat(requestedPairs, containsInAnyOrder("EUR-USD", "GBP-USD"));
+  }
+
+  @Test
+  void testPrefetchedRateShouldBeServedFromCache() {
+    financeExchangeRateService.prefetchExchangeRates(List.of(Pair.of("EUR", "USD")), requestContext).join();
+
+    ExchangeRate exchangeRate = financeExchangeRateService.getExchangeRate("EUR", "USD", requestContext).join();
+
+    assertEquals(1.5, exchangeRate.getExchangeRate());
+    assertEquals(1, requestedPairs.size());
+    assertEquals(1L, financeExchangeRateService.getCacheMetrics().getLong("hits"));
+  }
+
+  @Test
+  void testPrefetchedRatesShouldBePinnedToConversions() {
+    PrefetchedExchangeRates exchangeRates = financeExchangeRateService
+      .prefetchExchangeRates(List.of(Pair.of("EUR", "USD")), requestContext).join();
+    CurrencyConversion conversion = new FinanceApiExchangeRateProvider(exchangeRates)
+      .getCurrencyConversion(ConversionQueryBuilder.of().setBaseCurrency("EUR").setTermCurrency("USD").build());
+
+    assertEquals(1.5, conversion.getExchangeRate(Money.of(0d, "EUR")).getFactor().doubleValue());
+    assertEquals(1, requestedPairs.size());
+
+    CurrencyConversion notPrefetched = new FinanceApiExchangeRateProvider(exchangeRates)
+      .getCurrencyConversion(ConversionQueryBuilder.of().setBaseCurrency("GBP").setTermCurrency("USD").build());
+    assertThrows(CurrencyConversionException.class, () -> notPrefetched.getExchangeRate(Money.of(0d, "GBP")));
+    assertEquals(1, requestedPairs.size());
+  }
+}
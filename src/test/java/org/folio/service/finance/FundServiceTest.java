@@ -2,7 +2,6 @@ package org.folio.service.finance;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.folio.orders.utils.ErrorCodes.FUNDS_NOT_FOUND;
-import static org.folio.rest.RestConstants.MAX_IDS_FOR_GET_RQ;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -113,7 +112,7 @@ public class FundServiceTest {
     RequestEntry requestEntry = argumentCaptor.getValue();
     assertEquals(query, requestEntry.getQueryParams().get("query"));
     assertEquals(0, requestEntry.getQueryParams().get("offset"));
-    assertEquals(MAX_IDS_FOR_GET_RQ, requestEntry.getQueryParams().get("limit"));
+    assertEquals(fundIds.size(), requestEntry.getQueryParams().get("limit"));
     assertThat(actFund, equalTo(fundCollection.getFunds()));
   }
 
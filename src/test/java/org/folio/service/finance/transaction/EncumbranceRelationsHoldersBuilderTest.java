@@ -54,6 +54,7 @@ import org.folio.rest.jaxrs.model.Ongoing;
 import org.folio.service.exchange.ExchangeRateProviderResolver;
 import org.folio.service.exchange.ManualCurrencyConversion;
 import org.folio.service.exchange.ManualExchangeRateProvider;
+import org.folio.service.exchange.PrefetchedExchangeRates;
 import org.folio.service.finance.FiscalYearService;
 import org.folio.service.finance.FundService;
 import org.folio.service.finance.LedgerService;
@@ -440,6 +441,7 @@ public class EncumbranceRelationsHoldersBuilderTest {
     holders.add(holder3.withCurrency(currency));
     ExchangeRateProvider exchangeRateProvider = mock(ManualExchangeRateProvider.class);
     when(exchangeRateProviderResolver.resolve(any(), any())).thenReturn(exchangeRateProvider);
+    when(exchangeRateProviderResolver.prefetchExchangeRates(any(), any())).thenReturn(CompletableFuture.completedFuture(PrefetchedExchangeRates.EMPTY));
     when(exchangeRateProvider.getCurrencyConversion(any(ConversionQuery.class))).thenAnswer(invocation -> {
       ConversionQuery conversionQuery = invocation.getArgument(0);
       return mock(ManualCurrencyConversion.class, conversionQuery.getBaseCurrency().getCurrencyCode());
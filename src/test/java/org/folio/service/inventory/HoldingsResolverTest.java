@@ -0,0 +1,112 @@
+package org.folio.service.inventory;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.folio.orders.rest.exceptions.InventoryException;
+import org.folio.rest.core.models.RequestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+public class HoldingsResolverTest {
+
+  private static final String INSTANCE_ID = "5294d737-a04b-4158-857a-3f3c555bcc60";
+  private static final String LOCATION_ID_1 = "fcd64ce1-6995-48f0-840e-89ffa2288371";
+  private static final String LOCATION_ID_2 = "53cf956f-c1df-410b-8bea-27f712cca7c0";
+
+  @Mock
+  private InventoryManager inventoryManager;
+  @Mock
+  private RequestContext requestContext;
+
+  private HoldingsResolver holdingsResolver;
+
+  @BeforeEach
+  public void initMocks() {
+    MockitoAnnotations.openMocks(this);
+    holdingsResolver = new HoldingsResolver(inventoryManager, requestContext);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testPrefetchShouldSearchAllPairsOnceAndCreateMissingHoldings() {
+    Pair<String, String> existing = Pair.of(INSTANCE_ID, LOCATION_ID_1);
+    Pair<String, String> missing = Pair.of(INSTANCE_ID, LOCATION_ID_2);
+    when(inventoryManager.searchHoldingIds(anyCollection(), eq(requestContext)))
+      .thenReturn(completedFuture(Map.of(existing, "holding-1")));
+    when(inventoryManager.createHoldingsRecord(INSTANCE_ID, LOCATION_ID_2, requestContext))
+      .thenReturn(completedFuture("holding-2"));
+
+    holdingsResolver.prefetch(List.of(existing, missing, existing)).join();
+
+    assertEquals("holding-1", holdingsResolver.getHoldingId(INSTANCE_ID, LOCATION_ID_1).join());
+    assertEquals("holding-2", holdingsResolver.getHoldingId(INSTANCE_ID, LOCATION_ID_2).join());
+    ArgumentCaptor<Collection<Pair<String, String>>> searchedPairs = ArgumentCaptor.forClass(Collection.class);
+    verify(inventoryManager).searchHoldingIds(searchedPairs.capture(), eq(requestContext));
+    assertThat(searchedPairs.getValue(), containsInAnyOrder(existing, missing));
+    verify(inventoryManager, times(1)).createHoldingsRecord(any(), any(), any());
+    verify(inventoryManager, never()).getOrCreateHoldingsRecord(any(), any(), any());
+  }
+
+  @Test
+  void testConcurrentRequestsForSamePairShouldShareOneLookup() {
+    CompletableFuture<String> pendingLookup = new CompletableFuture<>();
+    when(inventoryManager.getOrCreateHoldingsRecord(INSTANCE_ID, LOCATION_ID_1, requestContext)).thenReturn(pendingLookup);
+
+    CompletableFuture<String> first = holdingsResolver.getHoldingId(INSTANCE_ID, LOCATION_ID_1);
+    CompletableFuture<String> second = holdingsResolver.getHoldingId(INSTANCE_ID, LOCATION_ID_1);
+    holdingsResolver.prefetch(List.of(Pair.of(INSTANCE_ID, LOCATION_ID_1)));
+    pendingLookup.complete("holding-1");
+
+    assertEquals("holding-1", first.join());
+    assertEquals("holding-1", second.join());
+    verify(inventoryManager, times(1)).getOrCreateHoldingsRecord(any(), any(), any());
+    verify(inventoryManager, never()).searchHoldingIds(any(), any());
+  }
+
+  @Test
+  void testFailedSearchShouldFallBackToSingleLookups() {
+    when(inventoryManager.searchHoldingIds(anyCollection(), eq(requestContext)))
+      .thenReturn(CompletableFuture.failedFuture(new InventoryException("Inventory is not available")));
+    when(inventoryManager.getOrCreateHoldingsRecord(INSTANCE_ID, LOCATION_ID_1, requestContext))
+      .thenReturn(completedFuture("holding-1"));
+
+    holdingsResolver.prefetch(List.of(Pair.of(INSTANCE_ID, LOCATION_ID_1))).join();
+
+    assertEquals("holding-1", holdingsResolver.getHoldingId(INSTANCE_ID, LOCATION_ID_1).join());
+    verify(inventoryManager, times(1)).getOrCreateHoldingsRecord(any(), any(), any());
+  }
+
+  @Test
+  void testFailedLookupShouldBeRetried() {
+    when(inventoryManager.getOrCreateHoldingsRecord(INSTANCE_ID, LOCATION_ID_1, requestContext))
+      .thenReturn(CompletableFuture.failedFuture(new InventoryException("Holding cannot be created")))
+      .thenReturn(completedFuture("holding-1"));
+
+    CompletionException exception = assertThrows(CompletionException.class,
+      () -> holdingsResolver.getHoldingId(INSTANCE_ID, LOCATION_ID_1).join());
+    assertEquals(InventoryException.class, exception.getCause().getClass());
+
+    assertEquals("holding-1", holdingsResolver.getHoldingId(INSTANCE_ID, LOCATION_ID_1).join());
+  }
+}
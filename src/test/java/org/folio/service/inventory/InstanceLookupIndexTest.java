@@ -0,0 +1,150 @@
+package org.folio.service.inventory;
+
+import static org.folio.service.inventory.InventoryManager.INSTANCE_IDENTIFIERS;
+import static org.folio.service.inventory.InventoryManager.INSTANCE_IDENTIFIER_TYPE_ID;
+import static org.folio.service.inventory.InventoryManager.INSTANCE_IDENTIFIER_TYPE_VALUE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import org.folio.orders.utils.AsyncTtlCache;
+import org.folio.rest.jaxrs.model.ProductId;
+import org.folio.service.inventory.InstanceLookupIndex.Match;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+public class InstanceLookupIndexTest {
+
+  private static final String ISBN_TYPE = "8261054f-be78-422d-bd51-4ed9f33c3422";
+  private static final String ISSN_TYPE = "913300b2-03ed-469a-8179-c1092c991227";
+
+  private final AtomicInteger lookups = new AtomicInteger();
+
+  @Test
+  void testSameProductShouldBeLookedUpOnce() {
+    InstanceLookupIndex index = new InstanceLookupIndex("diku", null);
+    CompletableFuture<Match> pendingLookup = new CompletableFuture<>();
+    List<ProductId> productIds = List.of(productId(ISBN_TYPE, "978-0-19-852663-6"));
+
+    CompletableFuture<String> first = index.getInstanceId(productIds, () -> {
+      lookups.incrementAndGet();
+      return pendingLookup;
+    });
+    CompletableFuture<String> second = getInstanceId(index, List.of(productId(ISBN_TYPE.toUpperCase(), " 9780198526636")));
+    CompletableFuture<String> third = getInstanceId(index, List.of(productId(ISSN_TYPE, "0317-8471"),
+      productId(ISBN_TYPE, "9780198526636")));
+    pendingLookup.complete(Match.created("instance-1", productIds));
+
+    assertEquals(1, lookups.get());
+    assertEquals("instance-1", first.join());
+    assertEquals("instance-1", second.join());
+    assertEquals("instance-1", third.join());
+  }
+
+  @Test
+  void testProductsOfReusedInstanceShouldNotBeBoundTransitively() {
+    InstanceLookupIndex index = new InstanceLookupIndex("diku", null);
+    List<ProductId> productIds = List.of(productId(ISBN_TYPE, "9780198526636"));
+
+    getInstanceId(index, productIds).join();
+    String reused = getInstanceId(index, List.of(productId(ISSN_TYPE, "0317-8471"),
+      productId(ISBN_TYPE, "9780198526636"))).join();
+    String issnOnly = getInstanceId(index, List.of(productId(ISSN_TYPE, "03178471"))).join();
+
+    assertEquals("instance-1", reused);
+    assertEquals("instance-2", issnOnly);
+    assertEquals(2, lookups.get());
+  }
+
+  @Test
+  void testFoundInstanceShouldBindOnlyMatchedProducts() {
+    InstanceLookupIndex index = new InstanceLookupIndex("diku", null);
+    JsonObject instance = new JsonObject()
+      .put("id", "instance-found")
+      .put(INSTANCE_IDENTIFIERS, new JsonArray()
+        .add(new JsonObject().put(INSTANCE_IDENTIFIER_TYPE_ID, ISBN_TYPE).put(INSTANCE_IDENTIFIER_TYPE_VALUE, "9780198526636")));
+    List<ProductId> productIds = List.of(productId(ISBN_TYPE, "978-0-19-852663-6"), productId(ISSN_TYPE, "0317-8471"));
+
+    String found = index.getInstanceId(productIds, () -> {
+      lookups.incrementAndGet();
+      return CompletableFuture.completedFuture(Match.found(instance, productIds));
+    }).join();
+    String byIsbn = getInstanceId(index, List.of(productId(ISBN_TYPE, "9780198526636"))).join();
+    String byIssn = getInstanceId(index, List.of(productId(ISSN_TYPE, "0317-8471"))).join();
+
+    assertEquals("instance-found", found);
+    assertEquals("instance-found", byIsbn);
+    assertEquals("instance-2", byIssn);
+    assertEquals(2, lookups.get());
+  }
+
+  @Test
+  void testPendingLookupShouldBeRetriedIfInstanceDoesNotHaveProducts() {
+    InstanceLookupIndex index = new InstanceLookupIndex("diku", null);
+    CompletableFuture<Match> pendingLookup = new CompletableFuture<>();
+    List<ProductId> productIds = List.of(productId(ISBN_TYPE, "9780198526636"), productId(ISSN_TYPE, "0317-8471"));
+
+    CompletableFuture<String> first = index.getInstanceId(productIds, () -> {
+      lookups.incrementAndGet();
+      return pendingLookup;
+    });
+    CompletableFuture<String> issnOnly = getInstanceId(index, List.of(productId(ISSN_TYPE, "0317-8471")));
+    pendingLookup.complete(Match.found(new JsonObject().put("id", "instance-found"), productIds));
+
+    assertEquals("instance-found", first.join());
+    assertEquals("instance-2", issnOnly.join());
+    assertEquals(2, lookups.get());
+  }
+
+  @Test
+  void testDifferentProductsShouldBeLookedUpSeparately() {
+    InstanceLookupIndex index = new InstanceLookupIndex("diku", null);
+
+    getInstanceId(index, List.of(productId(ISBN_TYPE, "9780198526636"))).join();
+    getInstanceId(index, List.of(productId(ISSN_TYPE, "9780198526636"))).join();
+
+    assertEquals(2, lookups.get());
+  }
+
+  @Test
+  void testFailedLookupShouldBeRetried() {
+    InstanceLookupIndex index = new InstanceLookupIndex("diku", null);
+    List<ProductId> productIds = List.of(productId(ISBN_TYPE, "9780198526636"));
+
+    CompletableFuture<String> failed = index.getInstanceId(productIds,
+      () -> CompletableFuture.failedFuture(new IllegalStateException("Inventory is not available")));
+    CompletionException exception = assertThrows(CompletionException.class, failed::join);
+    assertTrue(exception.getCause() instanceof IllegalStateException);
+
+    assertEquals("instance-1", getInstanceId(index, productIds).join());
+  }
+
+  @Test
+  void testResolvedIdShouldBeSharedThroughTenantCache() {
+    AsyncTtlCache<String, Match> cache = new AsyncTtlCache<>("instanceLookup", 60_000, 0, 10, UnaryOperator.identity());
+    List<ProductId> productIds = List.of(productId(ISBN_TYPE, "9780198526636"));
+
+    getInstanceId(new InstanceLookupIndex("diku", cache), productIds).join();
+    getInstanceId(new InstanceLookupIndex("diku", cache), productIds).join();
+    getInstanceId(new InstanceLookupIndex("other", cache), productIds).join();
+
+    assertEquals(2, lookups.get());
+  }
+
+  private CompletableFuture<String> getInstanceId(InstanceLookupIndex index, List<ProductId> productIds) {
+    return index.getInstanceId(productIds,
+      () -> CompletableFuture.completedFuture(Match.created("instance-" + lookups.incrementAndGet(), productIds)));
+  }
+
+  private ProductId productId(String type, String value) {
+    return new ProductId().withProductIdType(type).withProductId(value);
+  }
+}
@@ -0,0 +1,143 @@
+package org.folio.service.inventory;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.service.inventory.InventoryItemBatchCreator.BATCH_FALLBACK_CONFIG;
+import static org.folio.service.inventory.InventoryItemBatchCreator.BATCH_MODE_CONFIG;
+import static org.folio.service.inventory.InventoryItemBatchCreator.BATCH_SIZE_CONFIG;
+import static org.folio.service.inventory.InventoryItemBatchCreator.CREATE_ITEMS_BATCH_STOR_ENDPOINT;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.folio.HttpStatus;
+import org.folio.models.ItemCreationReport;
+import org.folio.orders.rest.exceptions.HttpException;
+import org.folio.rest.core.PostResponseType;
+import org.folio.rest.core.RestClient;
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.core.models.RequestEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import io.vertx.core.json.JsonObject;
+
+public class InventoryItemBatchCreatorTest {
+
+  private static final String POL_ID = UUID.randomUUID().toString();
+
+  @Mock
+  private RestClient restClient;
+  @Mock
+  private RequestContext requestContext;
+
+  private InventoryItemBatchCreator itemBatchCreator;
+
+  // Stand-in of the item storage recording the requests it receives
+  private final List<Integer> batchRequests = Collections.synchronizedList(new ArrayList<>());
+  private final List<String> singleRequests = Collections.synchronizedList(new ArrayList<>());
+  private boolean batchEndpointAvailable = true;
+
+  @BeforeEach
+  public void initMocks() {
+    MockitoAnnotations.openMocks(this);
+    itemBatchCreator = new InventoryItemBatchCreator(restClient);
+
+    doAnswer(invocation -> {
+      RequestEntry requestEntry = invocation.getArgument(0);
+      JsonObject body = invocation.getArgument(1);
+      if (CREATE_ITEMS_BATCH_STOR_ENDPOINT.equals(requestEntry.getBaseEndpoint())) {
+        batchRequests.add(body.getJsonArray("items").size());
+        return batchEndpointAvailable ? completedFuture(null)
+          : CompletableFuture.failedFuture(new HttpException(HttpStatus.HTTP_NOT_FOUND.toInt(), "Not found"));
+      }
+      String itemId = body.getString("id");
+      singleRequests.add(itemId);
+      return completedFuture(itemId);
+    }).when(restClient).post(any(RequestEntry.class), any(JsonObject.class), any(PostResponseType.class), any(), eq(requestContext));
+  }
+
+  @Test
+  void testItemsShouldBeCreatedInBatches() {
+    JsonObject config = new JsonObject().put(BATCH_SIZE_CONFIG, "100");
+
+    ItemCreationReport report = itemBatchCreator.createItems(itemRecord(), 1000, config, requestContext).join();
+
+    assertThat(report.getCreatedItemIds(), hasSize(1000));
+    assertThat(report.getCreatedItemIds().stream().distinct().count(), is(1000L));
+    assertFalse(report.hasFailures());
+    // 10 round-trips instead of 1000
+    assertThat(batchRequests, hasSize(10));
+    assertThat(singleRequests, empty());
+  }
+
+  @Test
+  void testRejectedBatchShouldFallBackToSingleRequestsWithPerItemReport() {
+    batchEndpointAvailable = false;
+
+    ItemCreationReport report = itemBatchCreator.createItems(itemRecord(), 5, new JsonObject(), requestContext).join();
+
+    assertThat(batchRequests, contains(5));
+    assertThat(singleRequests, hasSize(5));
+    assertThat(report.getCreatedItemIds(), containsInAnyOrder(singleRequests.toArray()));
+    assertFalse(report.hasFailures());
+  }
+
+  @Test
+  void testFailedSingleRequestShouldBeReported() {
+    JsonObject config = new JsonObject().put(BATCH_MODE_CONFIG, "false");
+    JsonObject itemRecord = itemRecord();
+
+    doAnswer(invocation -> {
+      JsonObject body = invocation.getArgument(1);
+      String itemId = body.getString("id");
+      singleRequests.add(itemId);
+      return singleRequests.size() == 2
+        ? CompletableFuture.failedFuture(new HttpException(HttpStatus.HTTP_INTERNAL_SERVER_ERROR.toInt(), "Failed"))
+        : completedFuture(itemId);
+    }).when(restClient).post(any(RequestEntry.class), any(JsonObject.class), any(PostResponseType.class), any(), eq(requestContext));
+
+    ItemCreationReport report = itemBatchCreator.createItems(itemRecord, 3, config, requestContext).join();
+
+    assertThat(batchRequests, empty());
+    assertThat(report.getCreatedItemIds(), hasSize(2));
+    assertTrue(report.hasFailures());
+    assertEquals(1, report.getFailedItems().size());
+    assertThat(report.getFailedItems().values().iterator().next(), instanceOf(HttpException.class));
+    // The source record must stay untouched
+    assertFalse(itemRecord.containsKey("id"));
+  }
+
+  @Test
+  void testRejectedBatchShouldBeReportedWhenFallbackDisabled() {
+    batchEndpointAvailable = false;
+    JsonObject config = new JsonObject().put(BATCH_FALLBACK_CONFIG, "false");
+
+    ItemCreationReport report = itemBatchCreator.createItems(itemRecord(), 3, config, requestContext).join();
+
+    assertThat(report.getCreatedItemIds(), empty());
+    assertEquals(3, report.getFailedItems().size());
+    assertThat(singleRequests, empty());
+  }
+
+  private JsonObject itemRecord() {
+    return new JsonObject().put("purchaseOrderLineIdentifier", POL_ID);
+  }
+}
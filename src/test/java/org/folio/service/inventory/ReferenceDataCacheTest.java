@@ -0,0 +1,58 @@
+package org.folio.service.inventory;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.folio.rest.core.models.RequestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.json.JsonObject;
+
+public class ReferenceDataCacheTest {
+
+  private static final String ENTRY_TYPE = "instanceTypes";
+
+  private final AtomicInteger loads = new AtomicInteger();
+  private ReferenceDataCache referenceDataCache;
+
+  @BeforeEach
+  void initCache() {
+    loads.set(0);
+    referenceDataCache = new ReferenceDataCache();
+  }
+
+  @Test
+  void testEntryShouldBeLoadedOncePerTenant() {
+    get("tenant", "zzz");
+    get("tenant", "zzz");
+    get("another_tenant", "zzz");
+
+    assertEquals(2, loads.get());
+    JsonObject metrics = referenceDataCache.getMetrics();
+    assertEquals(1L, metrics.getLong("hits"));
+    assertEquals(2L, metrics.getLong("misses"));
+  }
+
+  @Test
+  void testInvalidateShouldFlushOnlyEntriesOfTenant() {
+    get("tenant", "zzz");
+    get("another_tenant", "zzz");
+
+    referenceDataCache.invalidate("tenant");
+
+    assertEquals(3, get("tenant", "zzz").getInteger("version"));
+    assertEquals(2, get("another_tenant", "zzz").getInteger("version"));
+  }
+
+  private JsonObject get(String tenantId, String key) {
+    RequestContext requestContext = new RequestContext(null, Map.of(OKAPI_HEADER_TENANT, tenantId));
+    return referenceDataCache.get(ENTRY_TYPE, key, requestContext,
+        () -> completedFuture(new JsonObject().put("version", loads.incrementAndGet())))
+      .join();
+  }
+}
@@ -1,14 +1,27 @@
 package org.folio.service.orders;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Collections;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 import org.folio.models.CompositeOrderRetrieveHolder;
+import org.folio.orders.rest.exceptions.HttpException;
+import org.folio.orders.utils.PrometheusTextBuilder;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.jaxrs.model.CompositePurchaseOrder;
 import org.junit.jupiter.api.BeforeEach;
@@ -53,4 +66,38 @@ public class CombinedOrderDataPopulateServiceTest {
 
   }
 
+  @Test
+  void shouldRunOnlyServicesPopulatingRequestedFieldsWithoutFiscalYear() {
+    CompositeOrderDynamicDataPopulateService summaryService = mock(CompositeOrderDynamicDataPopulateService.class);
+    CompositeOrderDynamicDataPopulateService totalsService = mock(CompositeOrderDynamicDataPopulateService.class);
+    when(summaryService.getPopulatedFields()).thenReturn(Set.of("totalEstimatedPrice", "totalItems"));
+    when(totalsService.getPopulatedFields()).thenReturn(Set.of("totalEncumbered", "totalExpended"));
+    when(totalsService.isFiscalYearRequired()).thenReturn(true);
+
+    CompositeOrderRetrieveHolder holder = new CompositeOrderRetrieveHolder(new CompositePurchaseOrder());
+    when(summaryService.populate(any(), any())).thenReturn(CompletableFuture.completedFuture(holder));
+    CombinedOrderDataPopulateService service = new CombinedOrderDataPopulateService(holderBuilder,
+      Set.of(summaryService, totalsService));
+
+    service.populateDynamicData(holder, Set.of("totalItems"), requestContext).join();
+
+    verify(summaryService).populate(holder, requestContext);
+    verify(totalsService, never()).populate(any(), any());
+    verify(holderBuilder, never()).withCurrentFiscalYear(any(), any());
+    assertFalse(service.isFiscalYearRequired(Set.of("totalItems")));
+    assertTrue(service.isFiscalYearRequired(Set.of("totalItems", "totalEncumbered")));
+    assertTrue(service.isFiscalYearRequired(Collections.emptySet()));
+
+    service.validateFields(Set.of("totalItems", "totalEncumbered"));
+    HttpException exception = assertThrows(HttpException.class, () -> service.validateFields(Set.of("totalItems", "unknown")));
+    assertEquals(400, exception.getCode());
+    assertThat(exception.getError().getParameters(), hasSize(1));
+    assertEquals("unknown", exception.getError().getParameters().get(0).getValue());
+
+    PrometheusTextBuilder builder = new PrometheusTextBuilder();
+    service.writeTo(builder);
+    assertThat(builder.build(), containsString("mod_orders_order_populate_duration_seconds_count{service=\""
+      + summaryService.getClass().getSimpleName() + "\"} 1"));
+  }
+
 }
@@ -405,7 +405,7 @@ public class OrderReEncumberServiceTest {
     when(rolloverErrorService.deleteRolloverErrors(anyList(), any())).thenReturn(completedFuture(null));
     when(purchaseOrderLineService.updateOrderLines(anyList(), any())).thenReturn(completedFuture(null));
     ConversionQuery conversionQuery = ConversionQueryBuilder.of().setBaseCurrency("USD").setTermCurrency("USD").build();
-    when(exchangeRateProviderResolver.resolve(conversionQuery, requestContext)).thenReturn(exchangeRateProvider);
+    when(exchangeRateProviderResolver.resolve(eq(conversionQuery), any())).thenReturn(exchangeRateProvider);
     CompletableFuture<Void> future = orderReEncumberService.reEncumber(orderId, requestContext);
 
     future.join();
@@ -613,8 +613,8 @@ public class OrderReEncumberServiceTest {
     when(rolloverRetrieveService.getRolloversProgress(eq(rolloverId), any()))
         .thenReturn(completedFuture(Collections.singletonList(success)));
 
-    when(exchangeRateProviderResolver.resolve(conversionPoLineToFyQuery, requestContext)).thenReturn(exchangeRateProvider);
-    when(exchangeRateProviderResolver.resolve(conversionFyToPoLineQuery, requestContext)).thenReturn(exchangeRateProvider);
+    when(exchangeRateProviderResolver.resolve(eq(conversionPoLineToFyQuery), any())).thenReturn(exchangeRateProvider);
+    when(exchangeRateProviderResolver.resolve(eq(conversionFyToPoLineQuery), any())).thenReturn(exchangeRateProvider);
     when(transactionService.getTransactions(anyString(), eq(0), eq(Integer.MAX_VALUE), eq(requestContext)))
         .thenReturn(completedFuture(toTransactionCollection));
     when(transactionSummaryService.updateOrderTransactionSummary(eq(orderId), anyInt(), eq(requestContext))).thenReturn(completedFuture(null));
@@ -44,6 +44,7 @@ import org.folio.service.configuration.ConfigurationEntriesService;
 import org.folio.service.exchange.ExchangeRateProviderResolver;
 import org.folio.service.exchange.ManualCurrencyConversion;
 import org.folio.service.exchange.ManualExchangeRateProvider;
+import org.folio.service.exchange.PrefetchedExchangeRates;
 import org.folio.service.finance.FundService;
 import org.folio.service.finance.transaction.TransactionService;
 import org.javamoney.moneta.spi.DefaultNumberValue;
@@ -159,7 +160,8 @@ public class OrderRolloverServiceTest {
     ManualCurrencyConversion manualCurrencyConversion = new ManualCurrencyConversion(actQuery, exchangeRateProvider, ConversionContext.of());
     ExchangeRate exchangeRate = mock(ExchangeRate.class);
 
-    doReturn(exchangeRateProvider).when(exchangeRateProviderResolver).resolve(any(ConversionQuery.class), eq(requestContext));
+    doReturn(exchangeRateProvider).when(exchangeRateProviderResolver).resolve(any(ConversionQuery.class), eq(PrefetchedExchangeRates.EMPTY));
+    doReturn(completedFuture(PrefetchedExchangeRates.EMPTY)).when(exchangeRateProviderResolver).prefetchExchangeRates(any(), eq(requestContext));
     doReturn(manualCurrencyConversion).when(exchangeRateProvider).getCurrencyConversion(any(ConversionQuery.class));
     doReturn(exchangeRate).when(exchangeRateProvider).getExchangeRate(any(ConversionQuery.class));
     when(exchangeRate.getContext()).thenReturn(ConversionContext.of());
@@ -253,7 +255,8 @@ public class OrderRolloverServiceTest {
     ManualCurrencyConversion manualCurrencyConversion = new ManualCurrencyConversion(actQuery, exchangeRateProvider, ConversionContext.of());
     ExchangeRate exchangeRate = mock(ExchangeRate.class);
 
-    doReturn(exchangeRateProvider).when(exchangeRateProviderResolver).resolve(any(ConversionQuery.class), eq(requestContext));
+    doReturn(exchangeRateProvider).when(exchangeRateProviderResolver).resolve(any(ConversionQuery.class), eq(PrefetchedExchangeRates.EMPTY));
+    doReturn(completedFuture(PrefetchedExchangeRates.EMPTY)).when(exchangeRateProviderResolver).prefetchExchangeRates(any(), eq(requestContext));
     doReturn(manualCurrencyConversion).when(exchangeRateProvider).getCurrencyConversion(any(ConversionQuery.class));
     doReturn(exchangeRate).when(exchangeRateProvider).getExchangeRate(any(ConversionQuery.class));
     when(exchangeRate.getContext()).thenReturn(ConversionContext.of());
@@ -348,7 +351,8 @@ public class OrderRolloverServiceTest {
     ManualCurrencyConversion manualCurrencyConversion = new ManualCurrencyConversion(actQuery, exchangeRateProvider, ConversionContext.of());
     ExchangeRate exchangeRate = mock(ExchangeRate.class);
 
-    doReturn(exchangeRateProvider).when(exchangeRateProviderResolver).resolve(any(ConversionQuery.class), eq(requestContext));
+    doReturn(exchangeRateProvider).when(exchangeRateProviderResolver).resolve(any(ConversionQuery.class), eq(PrefetchedExchangeRates.EMPTY));
+    doReturn(completedFuture(PrefetchedExchangeRates.EMPTY)).when(exchangeRateProviderResolver).prefetchExchangeRates(any(), eq(requestContext));
     doReturn(manualCurrencyConversion).when(exchangeRateProvider).getCurrencyConversion(any(ConversionQuery.class));
     doReturn(exchangeRate).when(exchangeRateProvider).getExchangeRate(any(ConversionQuery.class));
     when(exchangeRate.getContext()).thenReturn(ConversionContext.of());
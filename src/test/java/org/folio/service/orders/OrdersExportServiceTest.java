@@ -0,0 +1,203 @@
+package org.folio.service.orders;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.folio.orders.rest.exceptions.HttpException;
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.jaxrs.model.CompositePoLine;
+import org.folio.rest.jaxrs.model.Piece;
+import org.folio.rest.jaxrs.model.PoLine;
+import org.folio.rest.jaxrs.model.PurchaseOrder;
+import org.folio.rest.jaxrs.model.PurchaseOrderCollection;
+import org.folio.rest.jaxrs.model.Title;
+import org.folio.service.AcquisitionsUnitsService;
+import org.folio.service.pieces.PiecesService;
+import org.folio.service.titles.TitlesService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.WriteStream;
+
+public class OrdersExportServiceTest {
+
+  private static final String ACQ_UNITS_CQL = "cql.allRecords=1 NOT acqUnitIds=\"\"";
+
+  @Mock
+  private PurchaseOrderService purchaseOrderService;
+  @Mock
+  private PurchaseOrderLineService purchaseOrderLineService;
+  @Mock
+  private TitlesService titlesService;
+  @Mock
+  private PiecesService piecesService;
+  @Mock
+  private AcquisitionsUnitsService acquisitionsUnitsService;
+  @Mock
+  private Context context;
+  @Mock
+  private WriteStream<Buffer> output;
+
+  private OrdersExportService ordersExportService;
+  private RequestContext requestContext;
+  private final List<String> writtenRecords = new ArrayList<>();
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  public void initMocks() {
+    MockitoAnnotations.openMocks(this);
+    ordersExportService = new OrdersExportService(purchaseOrderService, purchaseOrderLineService, titlesService, piecesService,
+      acquisitionsUnitsService);
+    requestContext = new RequestContext(context, new HashMap<>());
+
+    doAnswer(invocation -> {
+      ((Handler<Void>) invocation.getArgument(0)).handle(null);
+      return null;
+    }).when(context).runOnContext(any());
+    doAnswer(invocation -> {
+      writtenRecords.addAll(List.of(((Buffer) invocation.getArgument(0)).toString().split("\n")));
+      return null;
+    }).when(output).write(any(Buffer.class), any());
+    when(acquisitionsUnitsService.buildAcqUnitsCqlExprToSearchRecords(requestContext, ""))
+      .thenReturn(completedFuture(ACQ_UNITS_CQL));
+    when(purchaseOrderLineService.getOrderLines(anyString(), anyInt(), anyInt(), eq(requestContext)))
+      .thenReturn(completedFuture(List.of()));
+    when(purchaseOrderLineService.getCompositePoLines(anyList(), eq(requestContext)))
+      .thenAnswer(invocation -> completedFuture(((List<PoLine>) invocation.getArgument(0)).stream()
+        .map(line -> JsonObject.mapFrom(line).mapTo(CompositePoLine.class))
+        .collect(Collectors.toList())));
+  }
+
+  @Test
+  void testExportShouldReadOrdersPageByPageAfterLastId() {
+    List<PurchaseOrder> firstPage = createOrders(OrdersExportService.PAGE_SIZE);
+    List<PurchaseOrder> secondPage = createOrders(1);
+    String lastId = firstPage.get(firstPage.size() - 1).getId();
+    when(purchaseOrderService.getPurchaseOrders(anyString(), anyInt(), anyInt(), eq(requestContext)))
+      .thenReturn(completedFuture(new PurchaseOrderCollection().withPurchaseOrders(firstPage)))
+      .thenReturn(completedFuture(new PurchaseOrderCollection().withPurchaseOrders(secondPage)));
+
+    int exported = ordersExportService.exportOrders("workflowStatus==Open", Set.of(), output, requestContext).join();
+
+    assertEquals(OrdersExportService.PAGE_SIZE + 1, exported);
+    assertEquals(OrdersExportService.PAGE_SIZE + 1, writtenRecords.size());
+    ArgumentCaptor<String> queries = ArgumentCaptor.forClass(String.class);
+    verify(purchaseOrderService, times(2)).getPurchaseOrders(queries.capture(), eq(OrdersExportService.PAGE_SIZE), eq(0),
+      eq(requestContext));
+    assertEquals("((" + ACQ_UNITS_CQL + ") and (workflowStatus==Open)) sortBy id", queries.getAllValues().get(0));
+    assertThat(queries.getAllValues().get(1), containsString("id > \"" + lastId + "\""));
+    verify(titlesService, never()).getTitlesByPoLineIds(any(), any());
+    verify(piecesService, never()).getPiecesByPoLineIds(any(), any());
+  }
+
+  @Test
+  void testExportShouldJoinLinesWithTitlesAndPieces() {
+    PurchaseOrder order = createOrders(1).get(0);
+    PoLine line = new PoLine().withId(UUID.randomUUID().toString()).withPurchaseOrderId(order.getId());
+    when(purchaseOrderService.getPurchaseOrders(anyString(), anyInt(), anyInt(), eq(requestContext)))
+      .thenReturn(completedFuture(new PurchaseOrderCollection().withPurchaseOrders(List.of(order))));
+    when(purchaseOrderLineService.getOrderLines(anyString(), anyInt(), anyInt(), eq(requestContext)))
+      .thenReturn(completedFuture(List.of(line)));
+    when(titlesService.getTitlesByPoLineIds(List.of(line.getId()), requestContext))
+      .thenReturn(completedFuture(Map.of(line.getId(), List.of(new Title().withTitle("Title").withPoLineId(line.getId())))));
+    when(piecesService.getPiecesByPoLineIds(List.of(line.getId()), requestContext))
+      .thenReturn(completedFuture(Map.of(line.getId(), List.of(new Piece().withPoLineId(line.getId())))));
+
+    ordersExportService.exportOrders(null, OrdersExportService.parseInclude("titles, pieces"), output, requestContext).join();
+
+    assertEquals(1, writtenRecords.size());
+    JsonObject record = new JsonObject(writtenRecords.get(0));
+    assertEquals(order.getId(), record.getString("id"));
+    JsonObject jsonLine = record.getJsonArray("compositePoLines").getJsonObject(0);
+    assertEquals(line.getId(), jsonLine.getString("id"));
+    assertEquals("Title", jsonLine.getJsonArray("titles").getJsonObject(0).getString("title"));
+    assertEquals(1, jsonLine.getJsonArray("pieces").size());
+    verify(purchaseOrderService).getPurchaseOrders(startsWith("(" + ACQ_UNITS_CQL + ")"), anyInt(), anyInt(), eq(requestContext));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testNextPageShouldBeRequestedOnlyWhenOutputIsDrained() {
+    when(purchaseOrderService.getPurchaseOrders(anyString(), anyInt(), anyInt(), eq(requestContext)))
+      .thenReturn(completedFuture(new PurchaseOrderCollection().withPurchaseOrders(createOrders(OrdersExportService.PAGE_SIZE))))
+      .thenReturn(completedFuture(new PurchaseOrderCollection().withPurchaseOrders(List.of())));
+    when(output.writeQueueFull()).thenReturn(true);
+
+    CompletableFuture<Integer> export = ordersExportService.exportOrders(null, Set.of(), output, requestContext);
+
+    ArgumentCaptor<Handler<Void>> drainHandler = ArgumentCaptor.forClass(Handler.class);
+    verify(output).drainHandler(drainHandler.capture());
+    verify(purchaseOrderService, times(1)).getPurchaseOrders(anyString(), anyInt(), anyInt(), any());
+    assertFalse(export.isDone());
+
+    drainHandler.getValue().handle(null);
+
+    assertEquals(OrdersExportService.PAGE_SIZE, export.join());
+    verify(purchaseOrderService, times(2)).getPurchaseOrders(anyString(), anyInt(), anyInt(), any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testFailedWriteShouldStopExport() {
+    when(purchaseOrderService.getPurchaseOrders(anyString(), anyInt(), anyInt(), eq(requestContext)))
+      .thenReturn(completedFuture(new PurchaseOrderCollection().withPurchaseOrders(createOrders(OrdersExportService.PAGE_SIZE))));
+    when(output.writeQueueFull()).thenReturn(true);
+    doAnswer(invocation -> {
+      ((Handler<AsyncResult<Void>>) invocation.getArgument(1)).handle(Future.failedFuture("Connection was closed"));
+      return null;
+    }).when(output).write(any(Buffer.class), any());
+
+    CompletableFuture<Integer> export = ordersExportService.exportOrders(null, Set.of(), output, requestContext);
+
+    assertTrue(export.isCompletedExceptionally());
+    verify(purchaseOrderService, times(1)).getPurchaseOrders(anyString(), anyInt(), anyInt(), any());
+  }
+
+  @Test
+  void testNotSupportedIncludeShouldBeRejected() {
+    assertEquals(Set.of("titles"), OrdersExportService.parseInclude("titles,"));
+    assertEquals(400, assertThrows(HttpException.class, () -> OrdersExportService.parseInclude("titles,invoices")).getCode());
+  }
+
+  private List<PurchaseOrder> createOrders(int count) {
+    return IntStream.range(0, count)
+      .mapToObj(i -> new PurchaseOrder().withId(UUID.randomUUID().toString()))
+      .sorted((first, second) -> first.getId().compareTo(second.getId()))
+      .collect(Collectors.toList());
+  }
+}
@@ -1,5 +1,6 @@
 package org.folio.service.orders;
 
+import static java.util.stream.Collectors.toList;
 import static org.folio.TestConfig.clearServiceInteractions;
 import static org.folio.TestConfig.getFirstContextFromVertx;
 import static org.folio.TestConfig.getVertx;
@@ -8,11 +9,17 @@ import static org.folio.TestConfig.isVerticleNotDeployed;
 import static org.folio.TestConfig.mockPort;
 import static org.folio.TestConstants.X_OKAPI_TOKEN;
 import static org.folio.TestConstants.X_OKAPI_USER_ID;
+import static org.folio.orders.utils.ResourcePathResolver.ALERTS;
+import static org.folio.orders.utils.ResourcePathResolver.REPORTING_CODES;
+import static org.folio.orders.utils.ResourcePathResolver.resourcesPath;
 import static org.folio.rest.RestConstants.OKAPI_URL;
 import static org.folio.rest.impl.PurchaseOrdersApiTest.X_OKAPI_TENANT;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -30,8 +37,11 @@ import org.folio.config.ApplicationConfig;
 import org.folio.rest.core.RestClient;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.core.models.RequestEntry;
+import org.folio.rest.jaxrs.model.Alert;
+import org.folio.rest.jaxrs.model.CompositePoLine;
 import org.folio.rest.jaxrs.model.PoLine;
 import org.folio.rest.jaxrs.model.PoLineCollection;
+import org.folio.rest.jaxrs.model.ReportingCode;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -41,6 +51,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import io.vertx.core.Context;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 
 public class PurchaseOrderLineServiceTest {
   @InjectMocks
@@ -132,4 +144,30 @@ public class PurchaseOrderLineServiceTest {
     verify(restClientMock).put(any(), eq(purchaseOrderLines.get(0)), eq(requestContext));
     verify(restClientMock).put(any(), eq(purchaseOrderLines.get(1)), eq(requestContext));
   }
+
+  @Test
+  void shouldResolveSubObjectsOfAllLinesWithBatchedRequests() {
+    String alertId = UUID.randomUUID().toString();
+    String missingAlertId = UUID.randomUUID().toString();
+    String reportingCodeId = UUID.randomUUID().toString();
+    List<PoLine> poLines = List.of(
+      new PoLine().withId(UUID.randomUUID().toString()).withAlerts(List.of(alertId, missingAlertId)).withReportingCodes(List.of(reportingCodeId)),
+      new PoLine().withId(UUID.randomUUID().toString()).withAlerts(List.of(alertId)));
+
+    doAnswer(invocation -> {
+      RequestEntry requestEntry = invocation.getArgument(0);
+      String field = requestEntry.getBaseEndpoint().equals(resourcesPath(ALERTS)) ? ALERTS : REPORTING_CODES;
+      String id = ALERTS.equals(field) ? alertId : reportingCodeId;
+      return CompletableFuture.completedFuture(new JsonObject().put(field, new JsonArray().add(new JsonObject().put("id", id))));
+    }).when(restClientMock).getAsJsonObject(any(RequestEntry.class), eq(requestContext));
+
+    List<CompositePoLine> compositePoLines = purchaseOrderLineService.getCompositePoLines(poLines, requestContext).join();
+
+    // One request per sub-object type for all lines
+    verify(restClientMock, times(2)).getAsJsonObject(any(RequestEntry.class), eq(requestContext));
+    assertEquals(List.of(alertId), compositePoLines.get(0).getAlerts().stream().map(Alert::getId).collect(toList()));
+    assertEquals(List.of(reportingCodeId), compositePoLines.get(0).getReportingCodes().stream().map(ReportingCode::getId).collect(toList()));
+    assertEquals(List.of(alertId), compositePoLines.get(1).getAlerts().stream().map(Alert::getId).collect(toList()));
+    assertTrue(compositePoLines.get(1).getReportingCodes().isEmpty());
+  }
 }
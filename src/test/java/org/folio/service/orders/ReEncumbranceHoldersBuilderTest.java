@@ -57,6 +57,7 @@ import org.folio.service.FundsDistributionService;
 import org.folio.service.exchange.ExchangeRateProviderResolver;
 import org.folio.service.exchange.ManualCurrencyConversion;
 import org.folio.service.exchange.ManualExchangeRateProvider;
+import org.folio.service.exchange.PrefetchedExchangeRates;
 import org.folio.service.finance.budget.BudgetService;
 import org.folio.service.finance.FiscalYearService;
 import org.folio.service.finance.FundService;
@@ -71,7 +72,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
-import io.vertx.core.Vertx;
 import org.mockito.Spy;
 
 public class ReEncumbranceHoldersBuilderTest {
@@ -441,7 +441,7 @@ public class ReEncumbranceHoldersBuilderTest {
     when(poLineToFyConversion.getCurrency()).thenReturn(Monetary.getCurrency("EUR"));
     when(poLineToFyConversion.getExchangeRate(any())).thenReturn(exchangeRate);
     when(poFyToPoLineConversion.getCurrency()).thenReturn(Monetary.getCurrency("USD"));
-    when(requestContext.getContext()).thenReturn(Vertx.vertx().getOrCreateContext());
+    when(exchangeRateProviderResolver.prefetchExchangeRates(any(), any())).thenReturn(CompletableFuture.completedFuture(PrefetchedExchangeRates.EMPTY));
 
     List<ReEncumbranceHolder> resultHolders = reEncumbranceHoldersBuilder.withConversions(holders, requestContext).join();
 
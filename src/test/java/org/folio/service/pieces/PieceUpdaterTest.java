@@ -0,0 +1,109 @@
+package org.folio.service.pieces;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.folio.orders.utils.BoundedAsyncMapper.Downstream.ORDERS_STORAGE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.folio.HttpStatus;
+import org.folio.orders.rest.exceptions.HttpException;
+import org.folio.rest.core.RestClient;
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.core.models.RequestEntry;
+import org.folio.rest.jaxrs.model.Piece;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import io.vertx.core.json.JsonObject;
+
+public class PieceUpdaterTest {
+
+  @Mock
+  private RestClient restClient;
+  @Mock
+  private RequestContext requestContext;
+
+  private PieceUpdater pieceUpdater;
+
+  // Stand-in of the pieces storage recording the requests it receives and holding single updates until they are released
+  private final List<String> singleRequests = Collections.synchronizedList(new ArrayList<>());
+  private final List<CompletableFuture<Void>> pendingSingleRequests = Collections.synchronizedList(new ArrayList<>());
+  private boolean holdSingleRequests;
+  private String failingPieceId;
+
+  @BeforeEach
+  public void initMocks() {
+    MockitoAnnotations.openMocks(this);
+    pieceUpdater = new PieceUpdater(restClient);
+
+    doAnswer(invocation -> {
+      String pieceId = ((Piece) invocation.getArgument(1)).getId();
+      singleRequests.add(pieceId);
+      if (pieceId.equals(failingPieceId)) {
+        return CompletableFuture.failedFuture(new HttpException(HttpStatus.HTTP_INTERNAL_SERVER_ERROR.toInt(), "Failed"));
+      }
+      if (holdSingleRequests) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        pendingSingleRequests.add(future);
+        return future;
+      }
+      return completedFuture(null);
+    }).when(restClient).put(any(RequestEntry.class), any(Object.class), eq(requestContext));
+  }
+
+  @Test
+  void testPiecesShouldBeUpdatedOneByOneWithinWindow() {
+    List<Piece> pieces = createPieces(5);
+    holdSingleRequests = true;
+
+    CompletableFuture<Map<String, Throwable>> result = pieceUpdater.updatePieces(pieces,
+      new JsonObject().put(ORDERS_STORAGE.getConfigName(), "2"), requestContext);
+
+    // Only the window of the orders storage is in flight, the next piece is sent when one of them is completed
+    assertEquals(2, singleRequests.size());
+    while (!result.isDone()) {
+      pendingSingleRequests.remove(0).complete(null);
+    }
+
+    assertThat(result.join().keySet(), is(empty()));
+    assertThat(singleRequests, contains(getIds(pieces).toArray()));
+  }
+
+  @Test
+  void testFailedPiecesShouldBeReported() {
+    List<Piece> pieces = createPieces(3);
+    failingPieceId = pieces.get(1).getId();
+
+    Map<String, Throwable> failedPieces = pieceUpdater.updatePieces(pieces, null, requestContext).join();
+
+    assertThat(failedPieces.keySet(), contains(failingPieceId));
+    assertEquals(3, singleRequests.size());
+  }
+
+  private static List<Piece> createPieces(int count) {
+    return IntStream.range(0, count)
+      .mapToObj(i -> new Piece().withId(UUID.randomUUID().toString()))
+      .collect(Collectors.toList());
+  }
+
+  private static List<String> getIds(List<Piece> pieces) {
+    return pieces.stream().map(Piece::getId).collect(Collectors.toList());
+  }
+}
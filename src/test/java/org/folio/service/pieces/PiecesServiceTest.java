@@ -35,6 +35,7 @@ import java.util.concurrent.TimeoutException;
 
 import io.vertx.core.Context;
 import org.folio.ApiTestSuite;
+import org.folio.service.inventory.InstanceLookupIndex;
 import org.folio.service.inventory.InventoryManager;
 import org.folio.orders.events.handlers.MessageAddress;
 import org.folio.orders.utils.ProtectedOperationType;
@@ -178,11 +179,11 @@ public class PiecesServiceTest {
     Title title = getMockAsJson(TILES_PATH,"title").mapTo(Title.class);
     title.setInstanceId(null);
     PiecesService piecesService = mock(PiecesService.class, CALLS_REAL_METHODS);
-    doReturn(completedFuture(UUID.randomUUID().toString())).when(piecesService).getOrCreateInstanceRecord(any(Title.class), eq(requestContext));
+    doReturn(completedFuture(UUID.randomUUID().toString())).when(piecesService).getOrCreateInstanceRecord(any(Title.class), any(InstanceLookupIndex.class), eq(requestContext));
     //When
-    piecesService.handleInstanceRecord(title, requestContext).get();
+    piecesService.handleInstanceRecord(title, new InstanceLookupIndex(requestContext), requestContext).get();
     //Then
-    verify(piecesService, times(1)).getOrCreateInstanceRecord(title, requestContext);
+    verify(piecesService, times(1)).getOrCreateInstanceRecord(eq(title), any(InstanceLookupIndex.class), eq(requestContext));
   }
 
   @Test
@@ -190,7 +191,7 @@ public class PiecesServiceTest {
     //given
     Title title = getMockAsJson(TILES_PATH,"title").mapTo(Title.class);
     //When
-    CompletableFuture<Title> result = piecesService.handleInstanceRecord(title, requestContext);
+    CompletableFuture<Title> result = piecesService.handleInstanceRecord(title, new InstanceLookupIndex(requestContext), requestContext);
     //Then
     Title actTitle = result.get();
     assertEquals(title, actTitle);
@@ -255,7 +256,7 @@ public class PiecesServiceTest {
     doReturn(completedFuture(null))
       .when(inventoryManager).updateItemWithPoLineId(piece.getItemId(), piece.getPoLineId(), requestContext);
     //When
-    Piece result = piecesService.updateInventory(line, piece, requestContext).get();
+    Piece result = piecesService.updateInventory(line, piece, new InstanceLookupIndex(requestContext), requestContext).get();
     //Then
     assertEquals(piece.getId(), result.getId());
     assertNull(result.getTitleId());
@@ -268,7 +269,7 @@ public class PiecesServiceTest {
     title.setProductIds(null);
     doReturn(completedFuture(UUID.randomUUID().toString())).when(inventoryManager).createInstanceRecord(any(Title.class), eq(requestContext));
     //When
-    piecesService.getOrCreateInstanceRecord(title, requestContext).get();
+    piecesService.getOrCreateInstanceRecord(title, new InstanceLookupIndex(requestContext), requestContext).get();
     //Thenа
     verify(inventoryManager, times(1)).createInstanceRecord(any(Title.class), eq(requestContext));
   }
@@ -280,7 +281,7 @@ public class PiecesServiceTest {
     doReturn(completedFuture(new JsonObject("{\"instances\" : []}"))).when(inventoryManager).searchInstancesByProducts(any(List.class), eq(requestContext));
     doReturn(completedFuture(UUID.randomUUID().toString())).when(inventoryManager).createInstanceRecord(any(Title.class), eq(requestContext));
     //When
-    piecesService.getOrCreateInstanceRecord(title, requestContext).get();
+    piecesService.getOrCreateInstanceRecord(title, new InstanceLookupIndex(requestContext), requestContext).get();
     //Thenа
     verify(inventoryManager, times(1)).createInstanceRecord(any(Title.class), eq(requestContext));
   }
@@ -299,14 +300,14 @@ public class PiecesServiceTest {
     doReturn(completedFuture(null)).when(titlesService).updateTitle(title, requestContext);
 
     doReturn(completedFuture(title.withInstanceId(UUID.randomUUID().toString())))
-      .when(piecesService).handleInstanceRecord(any(Title.class), eq(requestContext));
+      .when(piecesService).handleInstanceRecord(any(Title.class), any(InstanceLookupIndex.class), eq(requestContext));
     doReturn(completedFuture(holdingId))
       .when(piecesService).handleHoldingsRecord(any(CompositePoLine.class), eq(piece.getLocationId()), eq(title.getInstanceId()), eq(requestContext));
     doReturn(completedFuture(itemId)).when(piecesService).createItemRecord(any(CompositePoLine.class), eq(holdingId), eq(requestContext));
 
     doReturn(completedFuture(itemId)).when(inventoryManager).createInstanceRecord(eq(title), eq(requestContext));
     //When
-    piecesService.updateInventory(line, piece, requestContext).get();
+    piecesService.updateInventory(line, piece, new InstanceLookupIndex(requestContext), requestContext).get();
     //Then
     assertEquals(piece.getItemId(), itemId);
     assertEquals(piece.getPoLineId(), line.getId());
@@ -410,12 +411,18 @@ public class PiecesServiceTest {
       return mock(PieceChangeReceiptStatusPublisher.class);
     }
 
+    @Bean
+    PieceUpdater pieceUpdater(RestClient restClient) {
+      return new PieceUpdater(restClient);
+    }
+
     @Bean
     PiecesService piecesService(RestClient restClient, TitlesService titlesService, ProtectionService protectionService,
                                 CompositePurchaseOrderService compositePurchaseOrderService, PurchaseOrderLineService purchaseOrderLineService,
-                                InventoryManager inventoryManager, PieceChangeReceiptStatusPublisher receiptStatusPublisher) {
+                                InventoryManager inventoryManager, PieceChangeReceiptStatusPublisher receiptStatusPublisher,
+                                PieceUpdater pieceUpdater) {
       return spy(new PiecesService(restClient, titlesService, protectionService, compositePurchaseOrderService, purchaseOrderLineService,
-                                    inventoryManager, receiptStatusPublisher));
+                                    inventoryManager, receiptStatusPublisher, pieceUpdater));
     }
   }
 }
@@ -0,0 +1,162 @@
+package org.folio.service.pieces;
+
+import static org.folio.orders.utils.ErrorCodes.RECEIVING_JOB_NOT_FOUND;
+import static org.folio.orders.utils.ErrorCodes.RECEIVING_JOB_RESULTS_LIMIT_EXCEEDED;
+import static org.folio.orders.utils.ErrorCodes.RECEIVING_JOBS_LIMIT_EXCEEDED;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+import org.folio.models.ReceivingJob;
+import org.folio.orders.rest.exceptions.HttpException;
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.jaxrs.model.ReceivingResults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+
+public class ReceivingJobServiceTest {
+
+  private static final long RETENTION_MS = 1_000;
+
+  @Mock
+  private Context context;
+
+  private final AtomicLong clock = new AtomicLong(1_000_000);
+  private final List<CompletableFuture<ReceivingResults>> startedTasks = new ArrayList<>();
+  private final List<IntConsumer> progressHandlers = new ArrayList<>();
+  private ReceivingJobService receivingJobService;
+  private RequestContext diku;
+  private RequestContext otherTenant;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  public void initMocks() {
+    MockitoAnnotations.openMocks(this);
+    doAnswer(invocation -> {
+      ((Handler<Void>) invocation.getArgument(0)).handle(null);
+      return null;
+    }).when(context).runOnContext(any());
+    receivingJobService = new ReceivingJobService(1, 1, RETENTION_MS, 10, clock::get);
+    diku = new RequestContext(context, Map.of(OKAPI_HEADER_TENANT, "diku"));
+    otherTenant = new RequestContext(context, Map.of(OKAPI_HEADER_TENANT, "other"));
+  }
+
+  @Test
+  void testJobsOfTenantShouldRunOneAfterAnotherUpToConcurrencyLimit() {
+    ReceivingJob first = submit(diku).join();
+    ReceivingJob second = submit(diku).join();
+    ReceivingJob otherTenantJob = submit(otherTenant).join();
+
+    assertEquals(2, startedTasks.size());
+    assertEquals(ReceivingJob.Status.IN_PROGRESS, first.getStatus());
+    assertEquals(ReceivingJob.Status.PENDING, second.getStatus());
+    assertEquals(ReceivingJob.Status.IN_PROGRESS, otherTenantJob.getStatus());
+
+    startedTasks.get(0).complete(new ReceivingResults().withTotalRecords(5));
+
+    assertEquals(ReceivingJob.Status.COMPLETED, first.getStatus());
+    assertEquals(5, first.getResult().getTotalRecords());
+    assertEquals(ReceivingJob.Status.IN_PROGRESS, second.getStatus());
+    assertEquals(3, startedTasks.size());
+  }
+
+  @Test
+  void testJobShouldBeRejectedWhenQueueOfTenantIsFull() {
+    submit(diku).join();
+    submit(diku).join();
+
+    CompletableFuture<ReceivingJob> rejected = submit(diku);
+
+    assertTrue(rejected.isCompletedExceptionally());
+    HttpException exception = (HttpException) getCause(rejected);
+    assertEquals(429, exception.getCode());
+    assertEquals(RECEIVING_JOBS_LIMIT_EXCEEDED.getCode(), exception.getError().getCode());
+    assertFalse(submit(otherTenant).isCompletedExceptionally());
+  }
+
+  @Test
+  void testJobShouldReportProgressAndErrors() {
+    ReceivingJob job = submit(diku).join();
+
+    progressHandlers.get(0).accept(3);
+    assertEquals(3, receivingJobService.getJob(job.getId(), diku).join().getProcessedRecords());
+
+    startedTasks.get(0).completeExceptionally(new CompletionException(new HttpException(422, "Pieces are not valid")));
+
+    assertEquals(ReceivingJob.Status.FAILED, job.getStatus());
+    assertEquals("Pieces are not valid", job.getErrors().getErrors().get(0).getMessage());
+    assertNull(job.getResult());
+  }
+
+  @Test
+  void testJobShouldBeVisibleToItsTenantUntilExpired() {
+    ReceivingJob job = submit(diku).join();
+    startedTasks.get(0).complete(new ReceivingResults());
+
+    assertSame(job, receivingJobService.getJob(job.getId(), diku).join());
+    assertEquals(404, ((HttpException) getCause(receivingJobService.getJob(job.getId(), otherTenant))).getCode());
+
+    clock.addAndGet(RETENTION_MS + 1);
+
+    HttpException expired = (HttpException) getCause(receivingJobService.getJob(job.getId(), diku));
+    assertEquals(RECEIVING_JOB_NOT_FOUND.getCode(), expired.getError().getCode());
+  }
+
+  @Test
+  void testOnlyFetchedJobsShouldBeRemovedByFinishedJobsLimit() {
+    receivingJobService = new ReceivingJobService(1, 1, RETENTION_MS, 1, clock::get);
+    ReceivingJob first = submit(diku).join();
+    startedTasks.get(0).complete(new ReceivingResults());
+
+    // The result of the first job is not fetched yet, so the next job is rejected instead of removing it
+    HttpException rejected = (HttpException) getCause(submit(diku));
+    assertEquals(429, rejected.getCode());
+    assertEquals(RECEIVING_JOB_RESULTS_LIMIT_EXCEEDED.getCode(), rejected.getError().getCode());
+    assertFalse(submit(otherTenant).isCompletedExceptionally());
+
+    assertSame(first, receivingJobService.getJob(first.getId(), diku).join());
+    ReceivingJob second = submit(diku).join();
+    startedTasks.get(2).complete(new ReceivingResults());
+    assertSame(second, receivingJobService.getJob(second.getId(), diku).join());
+
+    // Both results are fetched, the older one is removed to keep the limit
+    assertEquals(404, ((HttpException) getCause(receivingJobService.getJob(first.getId(), diku))).getCode());
+    assertSame(second, receivingJobService.getJob(second.getId(), diku).join());
+  }
+
+  private CompletableFuture<ReceivingJob> submit(RequestContext requestContext) {
+    return receivingJobService.submit(ReceivingJob.Type.RECEIVE, 5, progressHandler -> {
+      CompletableFuture<ReceivingResults> task = new CompletableFuture<>();
+      startedTasks.add(task);
+      progressHandlers.add(progressHandler);
+      return task;
+    }, requestContext);
+  }
+
+  private static Throwable getCause(CompletableFuture<?> future) {
+    try {
+      future.join();
+      return null;
+    } catch (CompletionException e) {
+      return e.getCause();
+    }
+  }
+}